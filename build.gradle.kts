@@ -3,6 +3,7 @@ plugins {
 	id("application")
 	id("org.beryx.jlink") version "3.2.0"
 	id("com.google.osdetector") version "1.7.3"  // see https://github.com/google/osdetector-gradle-plugin
+	id("me.champeau.jmh") version "0.7.3"  // see https://github.com/melix/jmh-gradle-plugin
 }
 
 group = "org.tsitle.demo_cli_app_critical_path"
@@ -87,11 +88,33 @@ tasks.test {
 	useJUnitPlatform()
 }
 
+// run with "./gradlew jmh" (optionally with "-PjmhIncludes=<regex>" to select benchmarks)
+jmh {
+	jmhVersion = "1.37"
+	if (project.hasProperty("jmhIncludes")) {
+		includes = listOf(project.property("jmhIncludes").toString())
+	}
+	// allocation profiling ("gc.alloc.rate.norm" = bytes allocated per operation)
+	profilers = listOf("gc")
+	jvmArgs = listOf("-Xms2g", "-Xmx8g")
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+}
+
 application {
 	mainClass = "org.tsitle.demo_cli_app_critical_path.Main"
 	mainModule = "org.tsitle.demo_cli_app_critical_path"
 }
 
+// run with e.g. "./gradlew runGenerator --args='--tasks=100000 build/synthetic'"
+tasks.register<JavaExec>("runGenerator") {
+	group = "application"
+	description = "Generates synthetic input data for load-testing"
+	classpath = sourceSets["main"].runtimeClasspath
+	mainModule = "org.tsitle.demo_cli_app_critical_path"
+	mainClass = "org.tsitle.demo_cli_app_critical_path.GeneratorMain"
+}
+
 tasks.jar {
 	manifest {
 		attributes["Main-Class"] = "org.tsitle.demo_cli_app_critical_path.Main"
@@ -105,6 +128,16 @@ jlink {
 	// name of the launcher script produced in the launcher image
 	launcher {
 		name = propProjName
+		// use the class data sharing archive that is created by the task 'trainAppCds'
+		// ('-Xshare:auto' silently ignores the archive if it doesn't match the JVM)
+		jvmArgs = listOf("-XX:SharedArchiveFile={{BIN_DIR}}/../lib/${propProjName}.jsa", "-Xshare:auto")
+	}
+
+	// launcher for the generator of synthetic input data
+	secondaryLauncher {
+		name = "${propProjName}_generator"
+		mainClass = "org.tsitle.demo_cli_app_critical_path.GeneratorMain"
+		moduleName = "org.tsitle.demo_cli_app_critical_path"
 	}
 
 	// output directory and ZIP filename for the launcher image
@@ -112,5 +145,36 @@ jlink {
 	imageZip = File(layout.buildDirectory.get().toString(), "${propProjName}-${osName}-${cpuArch}-${version}.zip")
 
 	// reduce the size of the launcher image
-	options.set(listOf("--strip-debug", "--compress", "zip-6", "--no-header-files", "--no-man-pages"))
+	// and add the default class data sharing archive for the JDK classes
+	options.set(listOf("--strip-debug", "--compress", "zip-6", "--no-header-files", "--no-man-pages", "--generate-cds-archive"))
+}
+
+// creates an application class data sharing archive for the launcher image by running the bundled
+// example configuration once, so the classes of the application and its libraries don't have
+// to be loaded, parsed and verified again on every start
+val trainAppCds = tasks.register<Exec>("trainAppCds") {
+	group = "build"
+	description = "Creates the AppCDS archive for the launcher image"
+	val imageDirPath = jlink.imageDir.get().asFile
+	val javaExe = File(imageDirPath, "bin/" + (if (osName == "win") "java.exe" else "java"))
+	val cdsArchive = File(imageDirPath, "lib/${propProjName}.jsa")
+	val trainingOutputHtml = layout.buildDirectory.file("tmp/trainAppCds/output.html").get().asFile
+	doFirst {
+		trainingOutputHtml.parentFile.mkdirs()
+	}
+	commandLine(
+			javaExe.absolutePath,
+			"-XX:ArchiveClassesAtExit=${cdsArchive.absolutePath}",
+			"-m", "org.tsitle.demo_cli_app_critical_path/org.tsitle.demo_cli_app_critical_path.Main",
+			"--output-html=${trainingOutputHtml.absolutePath}",
+			"rsc:config-a.json"
+		)
+}
+
+tasks.named("jlink") {
+	finalizedBy(trainAppCds)
+}
+
+tasks.named("jlinkZip") {
+	dependsOn(trainAppCds)
 }
@@ -0,0 +1,94 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import org.jspecify.annotations.NonNull;
+import org.tsitle.demo_cli_app_critical_path.generator.SyntheticInputGenerator;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Writes synthetic input files of a given size into a temporary directory
+ * and provides the matching {@link AppConfig} objects for the benchmarks
+ */
+final class BenchmarkFixture {
+	private static final int TASKS_PER_LAYER = 100;
+	private static final int MAX_DEPENDENCIES_PER_TASK = 2;
+	private static final int AMOUNT_RGROUPS = 10;
+	private static final int RUNITS_PER_RGROUP = 5;
+	private static final int MAX_DURATION = 10;
+	private static final int AMOUNT_RUNITS_BASIC = 20;
+	private static final long RANDOM_SEED = 4711L;
+
+	private final Path tempDir;
+	private final @NonNull AppConfig appConfigBasic;
+	private final @NonNull AppConfig appConfigAdvanced;
+
+	BenchmarkFixture(int amountTasks) throws IOException {
+		this(amountTasks, AppConfig.IndicesType.NUM);
+	}
+
+	BenchmarkFixture(int amountTasks, AppConfig.@NonNull IndicesType indicesType) throws IOException {
+		tempDir = Files.createTempDirectory("cpm_bench_");
+
+		final SyntheticInputGenerator generator = new SyntheticInputGenerator(
+				new SyntheticInputGenerator.Settings(
+						amountTasks,
+						SyntheticInputGenerator.DagShape.LAYERED,
+						TASKS_PER_LAYER,
+						MAX_DEPENDENCIES_PER_TASK,
+						AMOUNT_RGROUPS,
+						RUNITS_PER_RGROUP,
+						MAX_DURATION,
+						indicesType,
+						RANDOM_SEED
+					),
+				tempDir,
+				"bench"
+			);
+		final Path configPath = generator.generate();
+
+		appConfigAdvanced = Deserializer.readAppConfigFromFile(configPath.toString());
+		appConfigBasic = new AppConfig(
+				appConfigAdvanced.debugging(),
+				appConfigAdvanced.timeUnit(),
+				appConfigAdvanced.offDutyTimes(),
+				new AppConfig.InputData(
+						appConfigAdvanced.inputData().indicesType(),
+						appConfigAdvanced.inputData().filenameTasks(),
+						true,
+						new AppConfig.InputDataBasic(AMOUNT_RUNITS_BASIC),
+						appConfigAdvanced.inputData().inputDataAdvanced()
+					)
+			);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@NonNull AppConfig getAppConfig(boolean useBasicInputData) {
+		return (useBasicInputData ? appConfigBasic : appConfigAdvanced);
+	}
+
+	@NonNull Path getTempDir() {
+		return tempDir;
+	}
+
+	static @NonNull PrintStream createNullPrintStream() {
+		return new PrintStream(OutputStream.nullOutputStream());
+	}
+
+	void deleteTempDir() throws IOException {
+		try (Stream<Path> paths = Files.walk(tempDir)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import io.github.tsitle.criticalpath.CriticalPathGraph;
+import io.github.tsitle.criticalpath.cpmresults.CpmResult;
+import io.github.tsitle.criticalpath.rawdata.RawDataForGraph;
+import org.openjdk.jmh.annotations.*;
+import org.tsitle.demo_cli_app_critical_path.html.CpmResultsToHtml;
+import org.tsitle.demo_cli_app_critical_path.input.IdDictionary;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.results.ColumnarResults;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the single stages of {@link CliApp#start()}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CliAppPipelineBenchmark {
+	@State(Scope.Benchmark)
+	public static class FixtureState {
+		@Param({"1000", "10000", "100000", "1000000"})
+		public int amountTasks;
+
+		BenchmarkFixture fixture;
+
+		@Setup(Level.Trial)
+		public void setUpFixture() throws IOException {
+			fixture = new BenchmarkFixture(amountTasks);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDownFixture() throws IOException {
+			fixture.deleteTempDir();
+		}
+
+		CliApp createCliApp(boolean useBasicInputData) {
+			return new CliApp(
+					fixture.getAppConfig(useBasicInputData),
+					CliAppOptions.defaults(),
+					BenchmarkFixture.createNullPrintStream(),
+					null
+				);
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@State(Scope.Thread)
+	public static class ReadInputDataState {
+		CliApp cliApp;
+
+		@Setup(Level.Invocation)
+		public void setUp(FixtureState fixtureState) {
+			cliApp = fixtureState.createCliApp(false);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class BuildGraphState {
+		CliApp cliApp;
+
+		@Setup(Level.Trial)
+		public void setUp(FixtureState fixtureState) throws IOException {
+			cliApp = fixtureState.createCliApp(false);
+			cliApp.readInputData();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ComputeState {
+		@Param({"BASIC", "ADVANCED"})
+		public String inputDataMode;
+
+		CliApp cliApp;
+		CriticalPathGraph cpGraph;
+
+		@Setup(Level.Trial)
+		public void setUpTrial(FixtureState fixtureState) throws IOException {
+			cliApp = fixtureState.createCliApp(inputDataMode.equals("BASIC"));
+			cliApp.readInputData();
+		}
+
+		/**
+		 * The computation may modify the graph, so every invocation gets a fresh one
+		 */
+		@Setup(Level.Invocation)
+		public void setUpInvocation() {
+			cpGraph = cliApp.buildCriticalPathGraph(cliApp.getInputRawDataForGraph());
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ResultsState {
+		AppConfig appConfig;
+		CliApp cliApp;
+		CpmResult cpmResult;
+		String outputHtmlFilename;
+
+		@Setup(Level.Trial)
+		public void setUp(FixtureState fixtureState) throws IOException {
+			appConfig = fixtureState.fixture.getAppConfig(false);
+			cliApp = fixtureState.createCliApp(false);
+			cliApp.readInputData();
+			cpmResult = cliApp.computeCpmResult(cliApp.buildCriticalPathGraph(cliApp.getInputRawDataForGraph()));
+			outputHtmlFilename = fixtureState.fixture.getTempDir().resolve("output.html").toString();
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Benchmark
+	public RawDataForGraph readInputData(ReadInputDataState state) throws IOException {
+		state.cliApp.readInputData();
+		return state.cliApp.getInputRawDataForGraph();
+	}
+
+	@Benchmark
+	public CriticalPathGraph buildCriticalPathGraph(BuildGraphState state) {
+		return state.cliApp.buildCriticalPathGraph(state.cliApp.getInputRawDataForGraph());
+	}
+
+	@Benchmark
+	public CpmResult computeCpmResult(ComputeState state) {
+		return state.cliApp.computeCpmResult(state.cpGraph);
+	}
+
+	@Benchmark
+	public void printResults(ResultsState state) {
+		state.cliApp.printResults(state.cpmResult);
+	}
+
+	/**
+	 * Includes the post-processing of the results and building their columnar view for the {@link CpmResultsToHtml}
+	 */
+	@Benchmark
+	public void outputHtml(ResultsState state) throws IOException {
+		final ColumnarResults results = ColumnarResults.of(state.cpmResult, IdDictionary.IDENTITY)
+				.withPostProcessedResult(state.cliApp.postProcessResults(state.cpmResult));
+		CpmResultsToHtml cpmResultsToHtml = state.cliApp.buildCpmResultsToHtml(
+				state.appConfig,
+				results,
+				state.outputHtmlFilename
+			);
+		cpmResultsToHtml.output();
+	}
+}
@@ -0,0 +1,27 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import org.openjdk.jmh.annotations.*;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the first run of {@link CliApp#start()} with the bundled example configuration in a fresh JVM.
+ * <p>
+ * Every fork measures a single cold invocation, which includes loading and initializing the classes.
+ * Pass e.g. {@code -XX:SharedArchiveFile=<file>.jsa} via the JMH JVM arguments to compare with an AppCDS archive.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+	@Benchmark
+	public void readConfigAndStart() throws IOException {
+		final AppConfig appConfig = Deserializer.readAppConfigFromFile("rsc:config-a.json");
+		new CliApp(appConfig, CliAppOptions.defaults(), BenchmarkFixture.createNullPrintStream(), null).start();
+	}
+}
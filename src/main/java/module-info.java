@@ -4,7 +4,11 @@ module org.tsitle.demo_cli_app_critical_path {
 	requires io.github.tsitle.criticalpath;
 	requires com.google.gson;
 	requires info.picocli;
+	requires java.management;
+	requires jdk.management;
 
 	opens org.tsitle.demo_cli_app_critical_path to info.picocli;
 	opens org.tsitle.demo_cli_app_critical_path.json to com.google.gson;
+	opens org.tsitle.demo_cli_app_critical_path.metrics to com.google.gson;
+	opens org.tsitle.demo_cli_app_critical_path.portfolio to com.google.gson;
 }
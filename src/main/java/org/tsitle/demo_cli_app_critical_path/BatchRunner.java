@@ -0,0 +1,133 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.input.RawInputCache;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.BatchManifest;
+import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs all jobs of a {@link BatchManifest} concurrently in the same JVM.
+ * <p>
+ * Input files that are referenced by more than one configuration are only parsed once.
+ * The console output of every job is buffered and printed in the order of the manifest.
+ */
+final class BatchRunner {
+	private record JobResult(
+				int jobIx,
+				@NonNull String configJsonFilename,
+				@NonNull String consoleOutput,
+				@Nullable String errorMessage,
+				long durationMillis
+			) { }
+
+	private final String CLASS_NAME = getClass().getSimpleName();
+	private final @NonNull BatchManifest batchManifest;
+	private final @NonNull RawInputCache rawInputCache = new RawInputCache();
+
+	BatchRunner(@NonNull BatchManifest batchManifest) {
+		this.batchManifest = batchManifest;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return Amount of jobs that failed
+	 * @throws InterruptedException If the current thread was interrupted while waiting for the jobs
+	 */
+	int run() throws InterruptedException {
+		final long timeStart = System.nanoTime();
+		final int parallelism = batchManifest.effectiveParallelism();
+		defaultOutput("Running " + batchManifest.jobs().size() + " jobs with parallelism " + parallelism);
+
+		int amountFailed = 0;
+		try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+			List<Future<JobResult>> futures = new ArrayList<>();
+			for (int jobIx = 0; jobIx < batchManifest.jobs().size(); jobIx++) {
+				final int finalJobIx = jobIx;
+				futures.add(executor.submit(() -> runJob(finalJobIx, batchManifest.jobs().get(finalJobIx))));
+			}
+
+			for (Future<JobResult> future : futures) {
+				final JobResult jobResult;
+				try {
+					jobResult = future.get();
+				} catch (ExecutionException e) {
+					// runJob() catches all exceptions
+					throw new IllegalStateException(e.getCause());
+				}
+				printJobResult(jobResult);
+				if (jobResult.errorMessage() != null) {
+					amountFailed++;
+				}
+			}
+		}
+
+		final long durationMillis = (System.nanoTime() - timeStart) / 1_000_000L;
+		defaultOutput("Finished " + batchManifest.jobs().size() + " jobs (" + amountFailed + " failed) in " +
+				durationMillis + " ms, parsed " + rawInputCache.size() + " distinct input files");
+		return amountFailed;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private void defaultOutput(String msg) {
+		System.out.println(CLASS_NAME + ": " + msg);
+	}
+
+	private @NonNull JobResult runJob(int jobIx, BatchManifest.@NonNull Job job) {
+		final long timeStart = System.nanoTime();
+		final ByteArrayOutputStream outputBuffer = new ByteArrayOutputStream();
+		String errorMessage = null;
+		try (PrintStream jobOutput = new PrintStream(outputBuffer, false, StandardCharsets.UTF_8)) {
+			try {
+				final AppConfig appConfig = Deserializer.readAppConfigFromFile(job.configJsonFilename());
+				final CliApp cliApp = new CliApp(
+						appConfig,
+						CliAppOptions.builder().outputHtmlFilename(job.outputHtmlFilename()).build(),
+						jobOutput,
+						rawInputCache
+					);
+				cliApp.start();
+			} catch (IOException e) {
+				errorMessage = e.getMessage();
+			} catch (InvalidInputDataException e) {
+				errorMessage = "InvalidInputDataException: " + e.getMessage();
+			} catch (RuntimeException e) {
+				errorMessage = e.getClass().getSimpleName() + ": " + e.getMessage();
+			}
+		}
+		return new JobResult(
+				jobIx,
+				job.configJsonFilename(),
+				outputBuffer.toString(StandardCharsets.UTF_8),
+				errorMessage,
+				(System.nanoTime() - timeStart) / 1_000_000L
+			);
+	}
+
+	private void printJobResult(@NonNull JobResult jobResult) {
+		defaultOutput("--- Job #" + (jobResult.jobIx() + 1) + " '" + jobResult.configJsonFilename() + "' " +
+				(jobResult.errorMessage() == null ? "succeeded" : "FAILED") +
+				" (" + jobResult.durationMillis() + " ms)");
+		System.out.print(jobResult.consoleOutput());
+		if (jobResult.errorMessage() != null) {
+			defaultOutput("Error: " + jobResult.errorMessage());
+		}
+	}
+}
@@ -5,10 +5,11 @@ import io.github.tsitle.criticalpath.rawdata.filereaders.*;
 import io.github.tsitle.criticalpath.CpmTimeUnit;
 import io.github.tsitle.criticalpath.CriticalPathCompute;
 import io.github.tsitle.criticalpath.CriticalPathGraph;
+import io.github.tsitle.criticalpath.ResultsPostProcessing;
+import io.github.tsitle.criticalpath.cpmresults.CpmPostProcessedResult;
+import io.github.tsitle.criticalpath.cpmresults.CpmPostProcessedSubResultTask;
 import io.github.tsitle.criticalpath.cpmresults.CpmResult;
-import io.github.tsitle.criticalpath.cpmresults.CpmSubResultRgroup;
-import io.github.tsitle.criticalpath.cpmresults.CpmSubResultRunit;
-import io.github.tsitle.criticalpath.cpmresults.CpmSubResultTask;
+import io.github.tsitle.criticalpath.dateformatters.DateFormatters;
 import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
 import io.github.tsitle.criticalpath.internaldata.ConvertRawToInternalDataForGraph;
 import io.github.tsitle.criticalpath.rawdata.RawDataForCompute;
@@ -16,34 +17,142 @@ import io.github.tsitle.criticalpath.rawdata.RawDataForGraph;
 import io.github.tsitle.criticalpath.rawdata.containers.BaseRawData;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.calendar.OffDutyTimesCache;
+import org.tsitle.demo_cli_app_critical_path.concurrent.ParallelMap;
+import org.tsitle.demo_cli_app_critical_path.export.ResultsExporter;
 import org.tsitle.demo_cli_app_critical_path.html.CpmResultsToHtml;
+import org.tsitle.demo_cli_app_critical_path.html.HtmlTableMode;
+import org.tsitle.demo_cli_app_critical_path.input.ChunkedCsvFileReader;
+import org.tsitle.demo_cli_app_critical_path.input.ComponentDecomposer;
+import org.tsitle.demo_cli_app_critical_path.input.CsvRecordReader;
+import org.tsitle.demo_cli_app_critical_path.input.CsvRecordStream;
+import org.tsitle.demo_cli_app_critical_path.input.IdDictionary;
+import org.tsitle.demo_cli_app_critical_path.input.InputFilePatterns;
+import org.tsitle.demo_cli_app_critical_path.input.InputFilenames;
+import org.tsitle.demo_cli_app_critical_path.input.InputValidator;
+import org.tsitle.demo_cli_app_critical_path.input.RawDataSnapshot;
+import org.tsitle.demo_cli_app_critical_path.input.RawInputCache;
 import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Serializer;
+import org.tsitle.demo_cli_app_critical_path.metrics.RunMetrics;
+import org.tsitle.demo_cli_app_critical_path.results.ColumnarResults;
+import org.tsitle.demo_cli_app_critical_path.sweep.RunitsOptimizer;
+import org.tsitle.demo_cli_app_critical_path.sweep.RunitsSweep;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntToLongFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * Command line tool for using the Critical Path Method
  */
 public final class CliApp {
+	/**
+	 * Kinds of input files
+	 */
+	enum InputKind { TASKS, RUNITS, RGROUPS, ASSOC_RUNITS_WITH_RGROUPS, ASSOC_RGROUPS_WITH_TASKS }
+
+	/**
+	 * Amounts of input data that are printed in the overview of the results
+	 */
+	private record InputAmounts(int tasks, int rgroups, int runits) { }
+
+	/** amount of input problems that are listed in the error message */
+	private static final int MAX_REPORTED_PROBLEMS = 100;
+	/** buffered console output is written once it reaches this amount of characters */
+	private static final int CONSOLE_BUFFER_SIZE = 64 * 1024;
+	/** rough upper estimate of the heap that one graph and its computation need per task (basic input data) */
+	private static final long ESTIMATED_GRAPH_BYTES_PER_TASK = 4 * 1024;
+
 	private final String CLASS_NAME = getClass().getSimpleName();
 	private final @NonNull AppConfig appConfig;
 	private final @NonNull String filenameHtmlOutput;
+	private final @Nullable String filenameCsvOutput;
+	private final @Nullable String filenameNdjsonOutput;
+	private final @Nullable String rawDataSnapshotDir;
+	private final @Nullable String metricsFilename;
+	private final @Nullable List<@NonNull Integer> sweepAmountsRunits;
+	private final @Nullable LocalDateTime optimizeDeadline;
+	private final @NonNull HtmlTableMode htmlTableMode;
+	private final @NonNull ConsoleOutputLevel consoleOutputLevel;
+	private final int consoleTopN;
+	private final boolean decomposeComponents;
+	private final boolean encodeStrIds;
 
 	private final RawDataForGraph inputRawDataForGraph = new RawDataForGraph();
 	private final RawDataForCompute inputRawDataForCompute = new RawDataForCompute();
+	/** maps the codes of the raw data back to the string IDs of the input files (only with {@link #encodeStrIds}) */
+	private @NonNull IdDictionary idDictionary = IdDictionary.IDENTITY;
 
 	private final LocalDateTime presentDateTime;
+	/** built once, since the graph, the post-processing and the HTML output all need the off-duty times */
+	private final @NonNull OffDutyTimesCache offDutyTimesCache;
+
+	private final @NonNull PrintStream consoleOutput;
+	/** lines for {@link #consoleOutput} that haven't been written yet */
+	private final @NonNull StringBuilder consoleBuffer = new StringBuilder(CONSOLE_BUFFER_SIZE);
+	private final @Nullable RawInputCache rawInputCache;
+	/** keeps the scanned input files, so only the files of the kinds that are read again have to be scanned again */
+	private final @NonNull InputValidator inputValidator;
+	/** kinds whose current files have been scanned by {@link #inputValidator} */
+	private final @NonNull Set<InputKind> kindsScannedByValidator = EnumSet.noneOf(InputKind.class);
+	/** graph for the next recomputation in watch mode, built in the background while waiting for changes */
+	private @Nullable CompletableFuture<CriticalPathGraph> spareGraph = null;
+	/** the metrics are always recorded (the overhead is negligible) but only reported if requested */
+	private final @NonNull RunMetrics runMetrics = new RunMetrics();
 
 	public CliApp(@NonNull AppConfig appConfig, @Nullable String filenameHtmlOutput) {
+		this(appConfig, CliAppOptions.builder().outputHtmlFilename(filenameHtmlOutput).build(), System.out, null);
+	}
+
+	public CliApp(@NonNull AppConfig appConfig, @NonNull CliAppOptions options) {
+		this(appConfig, options, System.out, null);
+	}
+
+	/**
+	 * Constructor that allows redirecting the console output (e.g. for benchmarks)
+	 * and sharing parsed input files between several instances
+	 */
+	CliApp(
+				@NonNull AppConfig appConfig,
+				@NonNull CliAppOptions options,
+				@NonNull PrintStream consoleOutput,
+				@Nullable RawInputCache rawInputCache
+			) {
 		this.appConfig = appConfig;
-		this.filenameHtmlOutput = (filenameHtmlOutput == null ? "" : filenameHtmlOutput);
+		this.filenameHtmlOutput = (options.outputHtmlFilename() == null ? "" : options.outputHtmlFilename());
+		this.filenameCsvOutput = options.outputCsvFilename();
+		this.filenameNdjsonOutput = options.outputNdjsonFilename();
+		this.rawDataSnapshotDir = options.rawDataSnapshotDir();
+		this.metricsFilename = options.metricsFilename();
+		this.sweepAmountsRunits = options.sweepAmountsRunits();
+		this.optimizeDeadline = options.optimizeDeadline();
+		this.htmlTableMode = options.htmlTableMode();
+		this.consoleOutputLevel = options.consoleOutputLevel();
+		this.consoleTopN = options.consoleTopN();
+		this.decomposeComponents = options.decomposeComponents();
+		this.encodeStrIds = options.encodeStrIds();
+		this.consoleOutput = consoleOutput;
+		this.rawInputCache = rawInputCache;
+		this.inputValidator = new InputValidator(appConfig.inputData().indicesType() == AppConfig.IndicesType.NUM);
 
 		presentDateTime = determinePresentDateTime();
+		offDutyTimesCache = new OffDutyTimesCache(appConfig.timeUnit(), appConfig.offDutyTimes());
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -55,19 +164,64 @@ public final class CliApp {
 		final boolean debugMainOrCpg = (debugMain || appConfig.debugging().debugCpgInternals());
 		final boolean debugMainOrCpgOrCpc = (debugMainOrCpg || appConfig.debugging().debugCpcInternals());
 
+		if (encodeStrIds && appConfig.inputData().indicesType() == AppConfig.IndicesType.NUM) {
+			throw new InvalidInputDataException("--encode-str-ids requires string IDs (\"indicesType\": \"STR\")");
+		}
+
+		// compute the independent components separately instead of the whole project at once
+		ComponentDecomposer.Component wholeProject = null;
+		if (decomposeComponents) {
+			final List<ComponentDecomposer.Component> components = decomposeInputData();
+			if (components.size() > 1) {
+				runDecomposed(components);
+				writeMetricsIfRequested();
+				return;
+			}
+			defaultOutput("The project has no independent components, computing it as a whole");
+			wholeProject = components.get(0);
+		}
+
 		// read input files
-		readInputData();
+		final RunMetrics.StageTimer stageReadInput = runMetrics.startStage("readInputData");
+		if (wholeProject == null) {
+			readInputData();
+		} else {
+			readWholeProjectInputData(wholeProject);
+		}
+		stageReadInput
+				.count("tasks", inputRawDataForGraph.tasks.size())
+				.count("runits", inputRawDataForCompute.runits.size())
+				.count("rgroups", inputRawDataForCompute.rgroups.size())
+				.count("assocRunitsWithRgroups", inputRawDataForCompute.assocRunitsWithRgroups.size())
+				.count("assocRgroupsWithTasks", inputRawDataForCompute.assocRgroupsWithTasks.size())
+				.stop();
 
 		if (debugVerboseMain) {
 			debugOutput(CLASS_NAME + ": Raw graph:");
 			inputRawDataForGraph.tasks.forEach((item) -> debugOutput(CLASS_NAME + ":   - " + item));
 		}
 
+		// what-if sweep instead of a single computation
+		if (sweepAmountsRunits != null) {
+			runRunitsSweep(sweepAmountsRunits);
+			writeMetricsIfRequested();
+			return;
+		}
+
+		// search the smallest amount of resource units instead of a single computation
+		if (optimizeDeadline != null) {
+			runRunitsOptimizer(optimizeDeadline);
+			writeMetricsIfRequested();
+			return;
+		}
+
 		// create graph
 		if (debugMainOrCpg) {
 			debugOutput(CLASS_NAME + ": Create CPM graph...");
 		}
+		final RunMetrics.StageTimer stageBuildGraph = runMetrics.startStage("buildGraph");
 		CriticalPathGraph cpGraph = buildCriticalPathGraph(inputRawDataForGraph);
+		stageBuildGraph.count("tasks", inputRawDataForGraph.tasks.size()).stop();
 
 		if (debugVerboseMain) {
 			cpGraph.printGraph(this::debugOutput, true);
@@ -80,88 +234,687 @@ public final class CliApp {
 		if (debugMainOrCpgOrCpc) {
 			debugOutput(CLASS_NAME + ": Compute CPM results...");
 		}
+		final RunMetrics.StageTimer stageCompute = runMetrics.startStage("computeCpmResults");
 		final CpmResult cpmResult = computeCpmResult(cpGraph);
+		stageCompute
+				.count("resultsTasks", cpmResult.resultsTasks().size())
+				.count("resultsRgroups", cpmResult.resultsRgroups().size())
+				.count("resultsRunits", cpmResult.resultsRunits().size())
+				.stop();
+
+		// print results and output them as an HTML file
+		outputResults(appConfig, cpmResult);
+
+		// output metrics
+		writeMetricsIfRequested();
+	}
+
+	/**
+	 * @param appConfigForOutput Configuration that is shown in the HTML output
+	 */
+	private void outputResults(@NonNull AppConfig appConfigForOutput, @NonNull CpmResult cpmResult) throws IOException {
+		outputResults(
+				appConfigForOutput,
+				() -> ColumnarResults.of(cpmResult, idDictionary),
+				buildInputAmounts(),
+				(results) -> results.withPostProcessedResult(postProcessResults(cpmResult))
+			);
+	}
 
-		// print results
-		printResults(cpmResult);
+	/**
+	 * @param resultsBuilder Builds the columnar view of the results that is shared by all outputs
+	 * @param inputAmounts Amounts that are printed in the overview
+	 * @param postProcessor Adds the post-processed results to the view (only called if a file is written)
+	 */
+	private void outputResults(
+				@NonNull AppConfig appConfigForOutput,
+				@NonNull Supplier<ColumnarResults> resultsBuilder,
+				@NonNull InputAmounts inputAmounts,
+				@NonNull UnaryOperator<ColumnarResults> postProcessor
+			) throws IOException {
+		// print results (the columnar view of the results is shared by all outputs)
+		final RunMetrics.StageTimer stagePrint = runMetrics.startStage("printResults");
+		final ColumnarResults results = resultsBuilder.get();
+		printResults(results, inputAmounts);
+		stagePrint.stop();
+
+		if (filenameHtmlOutput.isEmpty() && filenameCsvOutput == null && filenameNdjsonOutput == null) {
+			defaultOutput("(not writing results to HTML file)");
+			return;
+		}
+
+		// the post-processing is shared by all file outputs,
+		// only its columns are kept so the post-processed tasks can be garbage-collected right away
+		final RunMetrics.StageTimer stagePostProcessing = runMetrics.startStage("postProcessResults");
+		final ColumnarResults postProcessedResults = postProcessor.apply(results);
+		stagePostProcessing.count("tasks", postProcessedResults.getTaskCount()).stop();
 
 		// output results as an HTML file
 		if (filenameHtmlOutput.isEmpty()) {
 			defaultOutput("(not writing results to HTML file)");
+		} else {
+			defaultOutput("Writing results to HTML file '" + filenameHtmlOutput + "'");
+			final RunMetrics.StageTimer stageWriteHtml = runMetrics.startStage("writeHtml");
+			final long amountBytes = buildCpmResultsToHtml(appConfigForOutput, postProcessedResults, filenameHtmlOutput).output();
+			stageWriteHtml.count("outputBytes", amountBytes).stop();
+		}
+
+		// export results for other tools
+		if (filenameCsvOutput != null) {
+			exportResults(postProcessedResults, filenameCsvOutput, ResultsExporter.Format.CSV);
+		}
+		if (filenameNdjsonOutput != null) {
+			exportResults(postProcessedResults, filenameNdjsonOutput, ResultsExporter.Format.NDJSON);
+		}
+	}
+
+	/**
+	 * @param results Results including the post-processed tasks
+	 */
+	private void exportResults(
+				@NonNull ColumnarResults results,
+				@NonNull String filenameTasks,
+				ResultsExporter.@NonNull Format format
+			) throws IOException {
+		defaultOutput("Exporting results to " + format + " file '" + filenameTasks + "' (and sibling files)");
+		final RunMetrics.StageTimer stageExport = runMetrics.startStage("export" + format);
+		final List<String> filenames = new ResultsExporter(results).export(filenameTasks, format);
+		long outputBytes = 0;
+		for (String filename : filenames) {
+			outputBytes += Files.size(Paths.get(filename));
+		}
+		stageExport
+				.count("tasks", results.getTaskCount())
+				.count("outputBytes", outputBytes)
+				.stop();
+	}
+
+	/**
+	 * Redo only the stages that depend on the changed input files (used by the watch mode).
+	 * The graph is only rebuilt if the tasks have changed.
+	 */
+	void recompute(@NonNull Set<InputKind> changedKinds) throws IOException, InvalidInputDataException {
+		// the spare graph reads the raw tasks, so it has to be finished before any input data is modified
+		final CriticalPathGraph preparedGraph = takeSpareGraph();
+
+		readInputData(changedKinds);
+
+		final CriticalPathGraph cpGraph;
+		if (preparedGraph != null && ! changedKinds.contains(InputKind.TASKS)) {
+			cpGraph = preparedGraph;
+		} else {
+			if (appConfig.debugging().debugMain()) {
+				debugOutput(CLASS_NAME + ": Create CPM graph...");
+			}
+			cpGraph = buildCriticalPathGraph(inputRawDataForGraph);
+		}
+		final CpmResult cpmResult = computeCpmResult(cpGraph);
+		outputResults(appConfig, cpmResult);
+	}
+
+	/**
+	 * Build a graph for the next {@link #recompute(Set)} in the background.
+	 * The computation may modify a graph, so every computation needs a fresh one.
+	 */
+	void prepareSpareGraph() {
+		spareGraph = CompletableFuture.supplyAsync(() -> buildCriticalPathGraph(inputRawDataForGraph));
+	}
+
+	private @Nullable CriticalPathGraph takeSpareGraph() {
+		if (spareGraph == null) {
+			return null;
+		}
+		final CompletableFuture<CriticalPathGraph> future = spareGraph;
+		spareGraph = null;
+		try {
+			return future.join();
+		} catch (CompletionException | CancellationException e) {
+			// the graph is simply built again
+			return null;
+		}
+	}
+
+	private void writeMetricsIfRequested() throws IOException {
+		if (metricsFilename == null) {
+			return;
+		}
+		final String filename = metricsFilename;
+		final RunMetrics.Report report = runMetrics.buildReport();
+		RunMetrics.printSummary(report, this::defaultOutput);
+
+		defaultOutput("Writing metrics to JSON file '" + filename + "'");
+		try (Writer writer = Files.newBufferedWriter(Paths.get(filename), StandardCharsets.UTF_8)) {
+			writer.write(Serializer.runMetricsReportToJsonString(report));
+			writer.write(System.lineSeparator());
+		} catch (IOException e) {
+			throw new IOException("IOException while writing to '" + filename + "': " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Check the input files for unknown IDs, dependency cycles and missing resource associations.
+	 * Only the files of the kinds that have just been read are scanned again (and those of kinds that haven't been
+	 * scanned yet). With a {@link RawInputCache} a combination of files that has already passed isn't checked again.
+	 * @param readKinds Kinds whose files have just been read
+	 * @throws InvalidInputDataException Listing all problems (up to {@link #MAX_REPORTED_PROBLEMS})
+	 */
+	private void validateInputData(@NonNull Set<InputKind> readKinds) throws IOException, InvalidInputDataException {
+		final RunMetrics.StageTimer stageValidate = runMetrics.startStage("validateInput");
+		final InputFilenames inputFilenames = buildInputFilenames();
+		final int[] amountProblems = {0};
+		final RawInputCache.Check check = () -> {
+				final List<InputValidator.Problem> problems = scanAndCheckInputData(inputFilenames, readKinds);
+				amountProblems[0] = problems.size();
+				throwIfInputProblems(problems);
+			};
+		try {
+			if (rawInputCache == null) {
+				check.run();
+			} else if (! rawInputCache.checkOnce(buildCheckedInputFiles(inputFilenames), check)) {
+				stageValidate.count("skipped", 1);
+			}
+		} finally {
+			stageValidate.count("problems", amountProblems[0]).stop();
+		}
+	}
+
+	private @NonNull List<InputValidator.@NonNull Problem> scanAndCheckInputData(
+				@NonNull InputFilenames inputFilenames,
+				@NonNull Set<InputKind> readKinds
+			) throws IOException, InvalidInputDataException {
+		for (InputKind kind : InputKind.values()) {
+			if (! readKinds.contains(kind) && kindsScannedByValidator.contains(kind)) {
+				continue;
+			}
+			kindsScannedByValidator.remove(kind);
+			switch (kind) {
+				case TASKS -> inputValidator.scanTasks(inputFilenames.tasks());
+				case RUNITS -> inputValidator.scanRunits(inputFilenames.runits());
+				case RGROUPS -> inputValidator.scanRgroups(inputFilenames.rgroups());
+				case ASSOC_RUNITS_WITH_RGROUPS ->
+						inputValidator.scanAssocRunitsWithRgroups(inputFilenames.assocRunitsWithRgroups());
+				case ASSOC_RGROUPS_WITH_TASKS ->
+						inputValidator.scanAssocRgroupsWithTasks(inputFilenames.assocRgroupsWithTasks());
+			}
+			kindsScannedByValidator.add(kind);
+		}
+		return inputValidator.check();
+	}
+
+	private static void throwIfInputProblems(@NonNull List<InputValidator.@NonNull Problem> problems)
+			throws InvalidInputDataException {
+		if (problems.isEmpty()) {
 			return;
 		}
-		defaultOutput("Writing results to HTML file '" + filenameHtmlOutput + "'");
-		CpmResultsToHtml cpmResultsToHtml = buildCpmResultsToHtml(cpmResult, filenameHtmlOutput);
-		cpmResultsToHtml.output();
+		final StringBuilder sb = new StringBuilder("the input files have ").append(problems.size())
+				.append(problems.size() == 1 ? " problem:" : " problems:");
+		problems.stream()
+				.limit(MAX_REPORTED_PROBLEMS)
+				.forEach((problem) -> sb.append(System.lineSeparator()).append("  - ").append(problem));
+		if (problems.size() > MAX_REPORTED_PROBLEMS) {
+			sb.append(System.lineSeparator()).append("  (and ").append(problems.size() - MAX_REPORTED_PROBLEMS).append(" more)");
+		}
+		throw new InvalidInputDataException(sb.toString());
+	}
+
+	/**
+	 * @return All input files with their kind and the indices type (both change the result of the validation)
+	 */
+	private @NonNull List<RawInputCache.@NonNull CheckedFile> buildCheckedInputFiles(
+				@NonNull InputFilenames inputFilenames
+			) {
+		final String rolePrefix = "validate:" + appConfig.inputData().indicesType() + ":";
+		final List<RawInputCache.CheckedFile> resList = new ArrayList<>();
+		inputFilenames.tasks().forEach((filename) ->
+				resList.add(new RawInputCache.CheckedFile(filename, rolePrefix + InputKind.TASKS)));
+		inputFilenames.runits().forEach((filename) ->
+				resList.add(new RawInputCache.CheckedFile(filename, rolePrefix + InputKind.RUNITS)));
+		inputFilenames.rgroups().forEach((filename) ->
+				resList.add(new RawInputCache.CheckedFile(filename, rolePrefix + InputKind.RGROUPS)));
+		inputFilenames.assocRunitsWithRgroups().forEach((filename) ->
+				resList.add(new RawInputCache.CheckedFile(filename, rolePrefix + InputKind.ASSOC_RUNITS_WITH_RGROUPS)));
+		inputFilenames.assocRgroupsWithTasks().forEach((filename) ->
+				resList.add(new RawInputCache.CheckedFile(filename, rolePrefix + InputKind.ASSOC_RGROUPS_WITH_TASKS)));
+		return resList;
+	}
+
+	/**
+	 * Compute the results for several amounts of resource units concurrently and print a comparison table
+	 */
+	private void runRunitsSweep(@NonNull List<@NonNull Integer> amountsRunits) {
+		if (! appConfig.inputData().useBasicInputData()) {
+			throw new InvalidInputDataException("the sweep over the amount of resource units requires basic input data");
+		}
+		defaultOutput("Sweeping over " + amountsRunits.size() + " amounts of resource units...");
+
+		final RunMetrics.StageTimer stageSweep = runMetrics.startStage("sweepRunits");
+		final int maxConcurrentGraphs = determineMaxConcurrentGraphs();
+		final List<RunitsSweep.Entry> entries = ParallelMap.map(
+				amountsRunits,
+				(amountRunits) -> new RunitsSweep.Entry(amountRunits, computeCpmResultBasicWithOwnGraph(amountRunits)),
+				maxConcurrentGraphs
+			);
+		stageSweep
+				.count("tasks", inputRawDataForGraph.tasks.size())
+				.count("amountsRunits", amountsRunits.size())
+				.count("maxConcurrentGraphs", maxConcurrentGraphs)
+				.stop();
+
+		// the smallest amount of resource units that reaches the shortest time
+		final long minTimePassed = entries.stream().mapToLong((entry) -> entry.cpmResult().timePassed()).min().orElse(0);
+		final int bestAmountRunits = entries.stream()
+				.filter((entry) -> entry.cpmResult().timePassed() == minTimePassed)
+				.mapToInt(RunitsSweep.Entry::amountRunits)
+				.min()
+				.orElse(0);
+
+		final String timeUnitLabel = appConfig.timeUnit().getLabel();
+		defaultOutput("Sweep results:");
+		defaultOutput(String.format("  %8s | %14s | %14s | %15s", "Runits", "Time passed", "Time idled", "Max runits used"));
+		defaultOutput("  " + "-".repeat(8) + "-+-" + "-".repeat(14) + "-+-" + "-".repeat(14) + "-+-" + "-".repeat(15));
+		for (RunitsSweep.Entry entry : entries) {
+			final CpmResult cpmResult = entry.cpmResult();
+			defaultOutput(String.format("  %8d | %14s | %14s | %15d%s",
+					entry.amountRunits(),
+					cpmResult.timePassed() + timeUnitLabel,
+					cpmResult.timeIdled() + timeUnitLabel,
+					cpmResult.maxRunitsUsed(),
+					(entry.amountRunits() == bestAmountRunits ? "  <- fewest resource units with the shortest time" : "")));
+		}
+	}
+
+	/**
+	 * Search the smallest amount of resource units that meets the deadline and output its results
+	 */
+	private void runRunitsOptimizer(@NonNull LocalDateTime deadline) throws IOException {
+		if (! appConfig.inputData().useBasicInputData()) {
+			throw new InvalidInputDataException("the deadline optimizer requires basic input data");
+		}
+		// more resource units than tasks can't shorten the schedule
+		final int maxAmountRunits = Math.max(1, inputRawDataForGraph.tasks.size());
+		defaultOutput("Searching the smallest amount of resource units (1.." + maxAmountRunits + ") " +
+				"that finishes by " + deadline.format(DateFormatters.dateAndTime) + "...");
+
+		final RunMetrics.StageTimer stageOptimize = runMetrics.startStage("optimizeRunits");
+		final RunitsOptimizer.Outcome outcome = RunitsOptimizer.findSmallestAmountRunits(
+				maxAmountRunits,
+				deadline,
+				this::computeCpmResultBasicWithOwnGraph,
+				this::determineProjectEnd,
+				determineMaxConcurrentGraphs()
+			);
+		stageOptimize
+				.count("tasks", inputRawDataForGraph.tasks.size())
+				.count("evaluations", outcome.amountEvaluations())
+				.count("rounds", outcome.amountRounds())
+				.count("postProcessed", outcome.amountPostProcessed())
+				.stop();
+
+		defaultOutput("Evaluated " + outcome.amountEvaluations() + " amounts of resource units in " +
+				outcome.amountRounds() + " rounds");
+		final RunitsOptimizer.Evaluation best = outcome.best();
+		if (best == null) {
+			final RunitsOptimizer.Evaluation evalMax = outcome.evaluationOfMaxAmount();
+			throw new InvalidInputDataException("the deadline " + deadline.format(DateFormatters.dateAndTime) +
+					" can't be met: even with " + evalMax.amountRunits() + " resource units the project ends " +
+					evalMax.projectEnd().format(DateFormatters.dateAndTime));
+		}
+		defaultOutput("Smallest amount of resource units: " + best.amountRunits() + " (project ends " +
+				best.projectEnd().format(DateFormatters.dateAndTime) + ")");
+
+		outputResults(appConfig.withAmountResourceUnits(best.amountRunits()), best.cpmResult());
+	}
+
+	/**
+	 * @return Post-processed date and time when the last task is finished
+	 */
+	private @NonNull LocalDateTime determineProjectEnd(@NonNull CpmResult cpmResult) {
+		final CpmPostProcessedResult postProcessedResult = postProcessResults(cpmResult);
+		LocalDateTime projectEnd = presentDateTime;
+		for (CpmPostProcessedSubResultTask ppTask : postProcessedResult.postProcessedTasks()) {
+			if (ppTask.taskFinishedAdjustedDateTime().isAfter(projectEnd)) {
+				projectEnd = ppTask.taskFinishedAdjustedDateTime();
+			}
+		}
+		return projectEnd;
+	}
+
+	/**
+	 * Thread-safe: every call builds its own graph from the (read-only) raw data,
+	 * since the computation may modify the graph (see {@link #determineMaxConcurrentGraphs()})
+	 */
+	private @NonNull CpmResult computeCpmResultBasicWithOwnGraph(int amountRunits) {
+		final CriticalPathGraph cpGraph = buildCriticalPathGraph(inputRawDataForGraph);
+		return buildCriticalPathComputeBasic(cpGraph, amountRunits).computeCpmResults();
+	}
+
+	/**
+	 * @return Amount of graphs that may be built and computed at the same time by
+	 *         {@link #computeCpmResultBasicWithOwnGraph(int)}: one per CPU core, but only as many as fit into half
+	 *         of the heap (every graph holds all tasks)
+	 */
+	private int determineMaxConcurrentGraphs() {
+		final long bytesPerGraph = Math.max(1, inputRawDataForGraph.tasks.size()) * ESTIMATED_GRAPH_BYTES_PER_TASK;
+		final long maxByHeap = Runtime.getRuntime().maxMemory() / 2 / bytesPerGraph;
+		return (int)Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), maxByHeap));
+	}
+
+	/**
+	 * Split the input files into independent components (see {@link ComponentDecomposer})
+	 */
+	private @NonNull List<ComponentDecomposer.@NonNull Component> decomposeInputData() throws IOException {
+		if (appConfig.inputData().useBasicInputData()) {
+			throw new InvalidInputDataException("the decomposition into independent components requires advanced input data");
+		}
+
+		final RunMetrics.StageTimer stageDecompose = runMetrics.startStage("decomposeComponents");
+		final List<ComponentDecomposer.Component> components = ComponentDecomposer.decompose(buildInputFilenames());
+		stageDecompose
+				.count("tasks", components.stream().mapToInt(ComponentDecomposer.Component::amountTasks).sum())
+				.count("components", components.size())
+				.stop();
+		return components;
+	}
+
+	/**
+	 * Compute the independent components of the project concurrently and output the merged results of all components
+	 */
+	private void runDecomposed(@NonNull List<ComponentDecomposer.@NonNull Component> components) throws IOException {
+		// report all inconsistencies of the input files at once instead of failing on the first one
+		validateInputData(EnumSet.allOf(InputKind.class));
+		defaultOutput("Computing " + components.size() + " independent components concurrently...");
+
+		final RunMetrics.StageTimer stageCompute = runMetrics.startStage("computeComponents");
+		final List<CpmResult> componentResults;
+		try {
+			componentResults = ParallelMap.map(
+					components,
+					this::computeComponent,
+					Runtime.getRuntime().availableProcessors()
+				);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		stageCompute
+				.count("tasks", components.stream().mapToInt(ComponentDecomposer.Component::amountTasks).sum())
+				.count("components", components.size())
+				.stop();
+
+		// the results of all components are output as the results of one project
+		final List<ColumnarResults> componentViews = componentResults.stream()
+				.map((cpmResult) -> ColumnarResults.of(cpmResult, idDictionary))
+				.toList();
+		outputResults(
+				appConfig,
+				() -> ColumnarResults.merge(componentViews),
+				new InputAmounts(
+						components.stream().mapToInt(ComponentDecomposer.Component::amountTasks).sum(),
+						components.stream().mapToInt(ComponentDecomposer.Component::amountRgroups).sum(),
+						components.stream().mapToInt(ComponentDecomposer.Component::amountRunits).sum()
+					),
+				(mergedResults) -> ColumnarResults.merge(IntStream.range(0, componentResults.size())
+						.mapToObj((componentIx) -> componentViews.get(componentIx)
+								.withPostProcessedResult(postProcessResults(componentResults.get(componentIx))))
+						.toList())
+			);
+	}
+
+	/**
+	 * Thread-safe: every component is parsed into its own raw data
+	 */
+	private @NonNull CpmResult computeComponent(ComponentDecomposer.@NonNull Component component) {
+		final RawDataForGraph componentRawDataForGraph = new RawDataForGraph();
+		final RawDataForCompute componentRawDataForCompute = new RawDataForCompute();
+		try {
+			readComponentInputData(component, componentRawDataForGraph, componentRawDataForCompute);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		final CriticalPathGraph cpGraph = buildCriticalPathGraph(componentRawDataForGraph);
+		return buildCriticalPathComputeAdvanced(cpGraph, componentRawDataForCompute).computeCpmResults();
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
 	// -----------------------------------------------------------------------------------------------------------------
 
 	private void defaultOutput(String msg) {
-		System.out.println(CLASS_NAME + ": " + msg);
+		bufferedOutput(msg);
+		flushConsoleOutput();
 	}
 
 	private void debugOutput(String msg) {
-		System.out.println(CLASS_NAME + "_DEBUG: " + msg);
+		consoleOutput.println(CLASS_NAME + "_DEBUG: " + msg);
+	}
+
+	/**
+	 * Like {@link #defaultOutput(String)}, but the line is only written once the buffer is full
+	 * or {@link #flushConsoleOutput()} is called (for long listings)
+	 */
+	private void bufferedOutput(@NonNull CharSequence msg) {
+		synchronized (consoleBuffer) {
+			consoleBuffer.append(CLASS_NAME).append(": ").append(msg).append('\n');
+			if (consoleBuffer.length() >= CONSOLE_BUFFER_SIZE) {
+				flushConsoleOutput();
+			}
+		}
+	}
+
+	private void flushConsoleOutput() {
+		synchronized (consoleBuffer) {
+			if (! consoleBuffer.isEmpty()) {
+				consoleOutput.print(consoleBuffer);
+				consoleOutput.flush();
+				consoleBuffer.setLength(0);
+			}
+		}
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
 
-	private @NonNull CpmResult computeCpmResult(@NonNull CriticalPathGraph criticalPathGraph) {
+	/**
+	 * @return The configured filenames or glob patterns of every kind of input file that is used
+	 */
+	@NonNull Map<InputKind, List<String>> getInputFilenamesOrPatterns() {
+		final Map<InputKind, List<String>> resMap = new EnumMap<>(InputKind.class);
+		resMap.put(InputKind.TASKS, appConfig.inputData().filenameTasks());
+		if (! appConfig.inputData().useBasicInputData()) {
+			final AppConfig.InputDataAdvanced inputDataAdvanced = appConfig.inputData().inputDataAdvanced();
+			resMap.put(InputKind.RUNITS, inputDataAdvanced.filenameRunits());
+			resMap.put(InputKind.RGROUPS, inputDataAdvanced.filenameRgroups());
+			resMap.put(InputKind.ASSOC_RUNITS_WITH_RGROUPS, inputDataAdvanced.filenameAssocRunitsWithRgroups());
+			resMap.put(InputKind.ASSOC_RGROUPS_WITH_TASKS, inputDataAdvanced.filenameAssocRgroupsWithTasks());
+		}
+		return resMap;
+	}
+
+	@NonNull RawDataForGraph getInputRawDataForGraph() {
+		return inputRawDataForGraph;
+	}
+
+	@NonNull RunMetrics getRunMetrics() {
+		return runMetrics;
+	}
+
+	/**
+	 * @return Date and time at which the project starts
+	 */
+	@NonNull LocalDateTime getPresentDateTime() {
+		return presentDateTime;
+	}
+
+	@NonNull CpmResult computeCpmResult(@NonNull CriticalPathGraph criticalPathGraph) {
 		final CriticalPathCompute cpCompute;
 		if (appConfig.inputData().useBasicInputData()) {
-			cpCompute = buildCriticalPathComputeBasic(criticalPathGraph);
+			cpCompute = buildCriticalPathComputeBasic(
+					criticalPathGraph,
+					appConfig.inputData().inputDataBasic().amountResourceUnits()
+				);
 		} else {
-			cpCompute = buildCriticalPathComputeAdvanced(criticalPathGraph);
+			cpCompute = buildCriticalPathComputeAdvanced(criticalPathGraph, inputRawDataForCompute);
 		}
 
 		//
 		return cpCompute.computeCpmResults();
 	}
 
-	private void printResults(@NonNull CpmResult cpmResult) {
+	void printResults(@NonNull CpmResult cpmResult) {
+		printResults(ColumnarResults.of(cpmResult, idDictionary), buildInputAmounts());
+	}
+
+	private void printResults(@NonNull ColumnarResults results, @NonNull InputAmounts inputAmounts) {
+		switch (consoleOutputLevel) {
+			case SUMMARY -> defaultOutput("Results:");
+			case TOP -> printResultsTop(results);
+			case FULL -> printResultsFull(results);
+		}
+
+		defaultOutput("  Overview:");
+		defaultOutput("    - Tasks                    " + inputAmounts.tasks());
+		defaultOutput("    - Resource Groups          " + inputAmounts.rgroups());
+		defaultOutput("    - Resource Units           " + inputAmounts.runits());
+		defaultOutput("    - Minimum time requirement " + results.getTimePassed() + " " +
+				appConfig.timeUnit().toString().toLowerCase());
+	}
+
+	private void printResultsFull(@NonNull ColumnarResults results) {
 		defaultOutput("Full results:");
 
 		final String timeUnitLabel = appConfig.timeUnit().getLabel();
+		// a single builder for all lines, the lines are written in large chunks
+		final StringBuilder sb = new StringBuilder();
 
-		defaultOutput("  Tasks:");
-		for (CpmSubResultTask tempResultsTask : cpmResult.resultsTasks()) {
-			@SuppressWarnings("StringBufferReplaceableByString") StringBuilder sb = new StringBuilder();
-			sb.append("    - Task id=").append(tempResultsTask.id());
-			sb.append(", extId=").append(tempResultsTask.externalId());
-			sb.append(", started=").append(tempResultsTask.timeStarted()).append(timeUnitLabel)
-					.append(", finished=").append(tempResultsTask.timeFinished()).append(timeUnitLabel)
-					.append(", runitId=").append(tempResultsTask.idOfRunitThatFinishedTask());
-			defaultOutput(sb.toString());
-		}
-
-		defaultOutput("  Resource Groups:");
-		for (CpmSubResultRgroup tempResultsRgroup : cpmResult.resultsRgroups()) {
-			@SuppressWarnings("StringBufferReplaceableByString") StringBuilder sb = new StringBuilder();
-			sb.append("    - Resource Group id=").append(tempResultsRgroup.id());
-			sb.append(", extId=").append(tempResultsRgroup.externalId())
-					.append(", timeIdled=").append(tempResultsRgroup.timeIdled()).append(timeUnitLabel)
-					.append(", timeBusy=").append(tempResultsRgroup.timeBusy()).append(timeUnitLabel)
-					.append(", maxRunitsUsed=").append(tempResultsRgroup.maxRunitsUsed());
-			defaultOutput(sb.toString());
-			for (CpmSubResultRunit tempResultsRunit : tempResultsRgroup.resultsRunits()) {
-				@SuppressWarnings("StringBufferReplaceableByString") StringBuilder sb2 = new StringBuilder();
-				sb2.append("      - Resource Unit id=").append(tempResultsRunit.id());
-				sb2.append(", extId=").append(tempResultsRunit.externalId())
-						.append(", timeIdled=").append(tempResultsRunit.timeIdled()).append(timeUnitLabel)
-						.append(", timeBusy=").append(tempResultsRunit.timeBusy()).append(timeUnitLabel)
-						.append(", tasksCompleted=").append(tempResultsRunit.tasksCompleted());
-				defaultOutput(sb2.toString());
+		bufferedOutput("  Tasks:");
+		for (int taskIx = 0; taskIx < results.getTaskCount(); taskIx++) {
+			sb.setLength(0);
+			appendTaskLine(sb.append("    - "), results, taskIx, timeUnitLabel);
+			bufferedOutput(sb);
+		}
+
+		bufferedOutput("  Resource Groups:");
+		for (int rgroupIx = 0; rgroupIx < results.getRgroupCount(); rgroupIx++) {
+			sb.setLength(0);
+			appendRgroupLine(sb.append("    - "), results, rgroupIx, timeUnitLabel);
+			bufferedOutput(sb);
+			for (int memberIx = 0; memberIx < results.getRgroupRunitCount(rgroupIx); memberIx++) {
+				sb.setLength(0);
+				appendRunitLine(sb.append("      - "), results, results.getRgroupRunitIx(rgroupIx, memberIx), timeUnitLabel);
+				bufferedOutput(sb);
 			}
 		}
+		flushConsoleOutput();
+	}
 
-		defaultOutput("  Overview:");
-		defaultOutput("    - Tasks                    " + inputRawDataForGraph.tasks.size());
-		defaultOutput("    - Resource Groups          " + inputRawDataForCompute.rgroups.size());
-		defaultOutput("    - Resource Units           " + inputRawDataForCompute.runits.size());
-		defaultOutput("    - Minimum time requirement " + cpmResult.timePassed() + " " +
-				appConfig.timeUnit().toString().toLowerCase());
+	/**
+	 * Print the longest tasks and the most idle resource groups and units
+	 */
+	private void printResultsTop(@NonNull ColumnarResults results) {
+		defaultOutput("Top results:");
+
+		final String timeUnitLabel = appConfig.timeUnit().getLabel();
+		final StringBuilder sb = new StringBuilder();
+
+		bufferedOutput("  Longest Tasks:");
+		for (int taskIx : selectTop(results.getTaskCount(),
+				(ix) -> results.getTaskTimeFinished(ix) - results.getTaskTimeStarted(ix))) {
+			sb.setLength(0);
+			appendTaskLine(sb.append("    - "), results, taskIx, timeUnitLabel);
+			sb.append(", duration=").append(results.getTaskTimeFinished(taskIx) - results.getTaskTimeStarted(taskIx))
+					.append(timeUnitLabel);
+			bufferedOutput(sb);
+		}
+
+		bufferedOutput("  Most Idle Resource Groups:");
+		for (int rgroupIx : selectTop(results.getRgroupCount(), results::getRgroupTimeIdled)) {
+			sb.setLength(0);
+			appendRgroupLine(sb.append("    - "), results, rgroupIx, timeUnitLabel);
+			bufferedOutput(sb);
+		}
+
+		bufferedOutput("  Most Idle Resource Units:");
+		for (int runitIx : selectTop(results.getRunitCount(), results::getRunitTimeIdled)) {
+			sb.setLength(0);
+			appendRunitLine(sb.append("    - "), results, runitIx, timeUnitLabel);
+			bufferedOutput(sb);
+		}
+		flushConsoleOutput();
+	}
+
+	/**
+	 * Select the {@link #consoleTopN} largest entries by insertion into a small sorted array instead of sorting all entries
+	 * @param amountEntries Entries are the indices 0 to {@code amountEntries - 1}
+	 * @return Indices of the largest entries in descending order (entries that compare equal keep their original order)
+	 */
+	private int @NonNull [] selectTop(int amountEntries, @NonNull IntToLongFunction keyFct) {
+		final int[] topIxs = new int[Math.min(consoleTopN, amountEntries)];
+		final long[] topKeys = new long[topIxs.length];
+		int amountTop = 0;
+		for (int ix = 0; ix < amountEntries; ix++) {
+			final long key = keyFct.applyAsLong(ix);
+			if (amountTop == topIxs.length && key <= topKeys[amountTop - 1]) {
+				continue;
+			}
+			// the last entry is replaced if the array is full, later entries go behind equal keys
+			int insertIx = Math.min(amountTop, topIxs.length - 1);
+			while (insertIx > 0 && topKeys[insertIx - 1] < key) {
+				topIxs[insertIx] = topIxs[insertIx - 1];
+				topKeys[insertIx] = topKeys[insertIx - 1];
+				insertIx--;
+			}
+			topIxs[insertIx] = ix;
+			topKeys[insertIx] = key;
+			if (amountTop < topIxs.length) {
+				amountTop++;
+			}
+		}
+		return topIxs;
+	}
+
+	private static void appendTaskLine(
+				@NonNull StringBuilder sb,
+				@NonNull ColumnarResults results,
+				int taskIx,
+				@NonNull String timeUnitLabel
+			) {
+		final int runitIx = results.getTaskRunitIx(taskIx);
+		sb.append("Task id=").append(results.getTaskId(taskIx));
+		sb.append(", extId=").append(results.getTaskExternalId(taskIx));
+		sb.append(", started=").append(results.getTaskTimeStarted(taskIx)).append(timeUnitLabel)
+				.append(", finished=").append(results.getTaskTimeFinished(taskIx)).append(timeUnitLabel)
+				.append(", runitId=").append(runitIx != ColumnarResults.NO_IX ? results.getRunitId(runitIx) : null);
+	}
+
+	private static void appendRgroupLine(
+				@NonNull StringBuilder sb,
+				@NonNull ColumnarResults results,
+				int rgroupIx,
+				@NonNull String timeUnitLabel
+			) {
+		sb.append("Resource Group id=").append(results.getRgroupId(rgroupIx));
+		sb.append(", extId=").append(results.getRgroupExternalId(rgroupIx))
+				.append(", timeIdled=").append(results.getRgroupTimeIdled(rgroupIx)).append(timeUnitLabel)
+				.append(", timeBusy=").append(results.getRgroupTimeBusy(rgroupIx)).append(timeUnitLabel)
+				.append(", maxRunitsUsed=").append(results.getRgroupMaxRunitsUsed(rgroupIx));
+	}
+
+	private static void appendRunitLine(
+				@NonNull StringBuilder sb,
+				@NonNull ColumnarResults results,
+				int runitIx,
+				@NonNull String timeUnitLabel
+			) {
+		sb.append("Resource Unit id=").append(results.getRunitId(runitIx));
+		sb.append(", extId=").append(results.getRunitExternalId(runitIx))
+				.append(", timeIdled=").append(results.getRunitTimeIdled(runitIx)).append(timeUnitLabel)
+				.append(", timeBusy=").append(results.getRunitTimeBusy(runitIx)).append(timeUnitLabel)
+				.append(", tasksCompleted=[");
+		// same format as the string representation of a set
+		for (int completedIx = 0; completedIx < results.getRunitTasksCompletedCount(runitIx); completedIx++) {
+			if (completedIx > 0) {
+				sb.append(", ");
+			}
+			sb.append(results.getRunitTaskCompletedId(runitIx, completedIx));
+		}
+		sb.append(']');
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -169,7 +922,23 @@ public final class CliApp {
 	private <T extends BaseRawData> void readInputDataForContainerType(
 				String filename,
 				Set<T> outputSet,
-				AbstractReadRawData<?, T> reader
+				Supplier<? extends AbstractReadRawData<?, T>> readerSupplier
+			) throws IOException, InvalidInputDataException {
+		if (rawInputCache != null) {
+			outputSet.addAll(rawInputCache.getOrLoad(
+					filename,
+					readerSupplier.get().getClass().getName(),
+					(cacheSet) -> readInputDataFromFile(filename, cacheSet, readerSupplier)
+				));
+			return;
+		}
+		readInputDataFromFile(filename, outputSet, readerSupplier);
+	}
+
+	private <T extends BaseRawData> void readInputDataFromFile(
+				String filename,
+				Set<T> outputSet,
+				Supplier<? extends AbstractReadRawData<?, T>> readerSupplier
 			) throws IOException, InvalidInputDataException {
 		if (appConfig.debugging().debugMain()) {
 			debugOutput(CLASS_NAME + ": Read raw data file '" + filename + "'...");
@@ -177,54 +946,396 @@ public final class CliApp {
 		if (! filename.startsWith("rsc:")) {
 			Path path = Paths.get(filename).normalize();
 			File file = path.toFile();
-			try (InputStream is = new FileInputStream(file)) {  // throws FileNotFoundException
-				reader.readFromStream(is, outputSet);
+			if (file.isFile() && file.length() >= ChunkedCsvFileReader.MIN_FILE_SIZE_FOR_CHUNKING) {
+				// large files are parsed in chunks on several threads
+				ChunkedCsvFileReader.read(path, outputSet, readerSupplier);
+				return;
+			}
+			try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {  // throws FileNotFoundException
+				readerSupplier.get().readFromStream(is, outputSet);
 			} catch (FileNotFoundException e) {
 				throw new IOException("file '" + filename + "' not found (absolute path '" + path.toAbsolutePath() + "')");
 			}
 		} else {
-			reader.readFromResourcesFile(filename.substring(4), outputSet);
+			readerSupplier.get().readFromResourcesFile(filename.substring(4), outputSet);
+		}
+	}
+
+	/**
+	 * One input file that is read concurrently with the other input files
+	 */
+	private final class InputFileJob<T extends BaseRawData> {
+		private final @NonNull String filename;
+		private final @NonNull Set<T> outputSet;
+		private final @NonNull Supplier<? extends AbstractReadRawData<?, T>> readerSupplier;
+		private final @NonNull Set<T> readSet = new LinkedHashSet<>();
+
+		InputFileJob(
+					@NonNull String filename,
+					@NonNull Set<T> outputSet,
+					@NonNull Supplier<? extends AbstractReadRawData<?, T>> readerSupplier
+				) {
+			this.filename = filename;
+			this.outputSet = outputSet;
+			this.readerSupplier = readerSupplier;
+		}
+
+		void read() throws IOException, InvalidInputDataException {
+			// readers are not shared between threads, so every read operation creates its own reader
+			readInputDataForContainerType(filename, readSet, readerSupplier);
+		}
+
+		void mergeIntoOutputSet() {
+			outputSet.addAll(readSet);
 		}
 	}
 
-	private void readInputData() throws IOException, InvalidInputDataException {
-		String currentFilename = "----";
+	/**
+	 * Add one job per file that matches one of the filenames (which may be glob patterns)
+	 */
+	private <T extends BaseRawData> void addInputFileJobs(
+				@NonNull List<InputFileJob<?>> jobs,
+				@NonNull List<String> filenamesOrPatterns,
+				@NonNull Set<T> outputSet,
+				@NonNull Supplier<? extends AbstractReadRawData<?, T>> readerSupplier
+			) throws IOException {
 		try {
-			final boolean areIndicesNumerical = (appConfig.inputData().indicesType() == AppConfig.IndicesType.NUM);
-
-			currentFilename = appConfig.inputData().filenameTasks();
-			final AbstractReadRawDataTasks<?> rrg1 =
-					(areIndicesNumerical ? new ReadRawTasksOfIdLong() : new ReadRawTasksOfIdString());
-			readInputDataForContainerType(currentFilename, inputRawDataForGraph.tasks, rrg1);
-
-			if (! appConfig.inputData().useBasicInputData()) {
-				currentFilename = appConfig.inputData().inputDataAdvanced().filenameRunits();
-				final AbstractReadRawDataRunits<?> rrg2 =
-						(areIndicesNumerical ? new ReadRawRunitsOfIdLong() : new ReadRawRunitsOfIdString());
-				readInputDataForContainerType(currentFilename, inputRawDataForCompute.runits, rrg2);
-
-				currentFilename = appConfig.inputData().inputDataAdvanced().filenameRgroups();
-				final AbstractReadRawDataRgroups<?> rrg3 =
-						(areIndicesNumerical ? new ReadRawRgroupsOfIdLong() : new ReadRawRgroupsOfIdString());
-				readInputDataForContainerType(currentFilename, inputRawDataForCompute.rgroups, rrg3);
-
-				currentFilename = appConfig.inputData().inputDataAdvanced().filenameAssocRunitsWithRgroups();
-				final AbstractReadRawDataAssociateRunitsWithRgroups<?> rrg4 =
-						(areIndicesNumerical ? new ReadRawAssociateRunitsWithRgroupsOfIdLong() :
-								new ReadRawAssociateRunitsWithRgroupsOfIdString());
-				readInputDataForContainerType(currentFilename, inputRawDataForCompute.assocRunitsWithRgroups, rrg4);
-
-				currentFilename = appConfig.inputData().inputDataAdvanced().filenameAssocRgroupsWithTasks();
-				final AbstractReadRawDataAssociateRgroupsWithTasks<?> rrg5 =
-						(areIndicesNumerical ? new ReadRawAssociateRgroupsWithTasksOfIdLong() :
-								new ReadRawAssociateRgroupsWithTasksOfIdString());
-				readInputDataForContainerType(currentFilename, inputRawDataForCompute.assocRgroupsWithTasks, rrg5);
+			for (String filename : InputFilePatterns.expand(filenamesOrPatterns)) {
+				jobs.add(new InputFileJob<>(filename, outputSet, readerSupplier));
 			}
 		} catch (IOException e) {
-			throw new IOException("IOException while reading from '" + currentFilename + "': " + e.getMessage());
-		} catch (InvalidInputDataException e) {
-			throw new InvalidInputDataException("InvalidInputDataException while reading from '" +
-					currentFilename + "': " + e.getMessage());
+			throw new IOException("IOException while reading from '" + String.join("', '", filenamesOrPatterns) + "': " +
+					e.getMessage());
+		}
+	}
+
+	private @NonNull InputAmounts buildInputAmounts() {
+		return new InputAmounts(
+				inputRawDataForGraph.tasks.size(),
+				inputRawDataForCompute.rgroups.size(),
+				inputRawDataForCompute.runits.size()
+			);
+	}
+
+	/**
+	 * @return Input files of every kind (the lists of the resource files are empty for basic input data)
+	 */
+	private @NonNull InputFilenames buildInputFilenames() throws IOException {
+		final List<String> filenamesTasks = InputFilePatterns.expand(appConfig.inputData().filenameTasks());
+		if (appConfig.inputData().useBasicInputData()) {
+			return new InputFilenames(filenamesTasks, List.of(), List.of(), List.of(), List.of());
+		}
+		final AppConfig.InputDataAdvanced inputDataAdvanced = appConfig.inputData().inputDataAdvanced();
+		return new InputFilenames(
+				filenamesTasks,
+				InputFilePatterns.expand(inputDataAdvanced.filenameRunits()),
+				InputFilePatterns.expand(inputDataAdvanced.filenameRgroups()),
+				InputFilePatterns.expand(inputDataAdvanced.filenameAssocRunitsWithRgroups()),
+				InputFilePatterns.expand(inputDataAdvanced.filenameAssocRgroupsWithTasks())
+			);
+	}
+
+	/**
+	 * Parse the records of one component with the same readers as the input files
+	 */
+	private void readComponentInputData(
+				ComponentDecomposer.@NonNull Component component,
+				@NonNull RawDataForGraph outputRawDataForGraph,
+				@NonNull RawDataForCompute outputRawDataForCompute
+			) throws IOException, InvalidInputDataException {
+		final boolean areIndicesNumerical = (appConfig.inputData().indicesType() == AppConfig.IndicesType.NUM);
+		readComponentRecords(component.tasks(), outputRawDataForGraph.tasks,
+				(areIndicesNumerical ? new ReadRawTasksOfIdLong() : new ReadRawTasksOfIdString()));
+		readComponentRecords(component.runits(), outputRawDataForCompute.runits,
+				(areIndicesNumerical ? new ReadRawRunitsOfIdLong() : new ReadRawRunitsOfIdString()));
+		readComponentRecords(component.rgroups(), outputRawDataForCompute.rgroups,
+				(areIndicesNumerical ? new ReadRawRgroupsOfIdLong() : new ReadRawRgroupsOfIdString()));
+		readComponentRecords(component.assocRunitsWithRgroups(), outputRawDataForCompute.assocRunitsWithRgroups,
+				(areIndicesNumerical ? new ReadRawAssociateRunitsWithRgroupsOfIdLong() :
+						new ReadRawAssociateRunitsWithRgroupsOfIdString()));
+		readComponentRecords(component.assocRgroupsWithTasks(), outputRawDataForCompute.assocRgroupsWithTasks,
+				(areIndicesNumerical ? new ReadRawAssociateRgroupsWithTasksOfIdLong() :
+						new ReadRawAssociateRgroupsWithTasksOfIdString()));
+	}
+
+	/**
+	 * The records are written to the reader one chunk after the other (see {@link CsvRecordStream})
+	 */
+	private static <T extends BaseRawData> void readComponentRecords(
+				CsvRecordReader.@NonNull Table table,
+				@NonNull Set<T> outputSet,
+				@NonNull AbstractReadRawData<?, T> reader
+			) throws IOException, InvalidInputDataException {
+		try (InputStream is = CsvRecordStream.of(table.columnNames(), table.records())) {
+			reader.readFromStream(is, outputSet);
+		}
+	}
+
+	/**
+	 * Parse the records that the decomposition has already read instead of reading the input files again
+	 * (the project has only one component). String IDs that are to be encoded are read from the files,
+	 * since the codes are assigned while the files are transcoded.
+	 */
+	private void readWholeProjectInputData(ComponentDecomposer.@NonNull Component wholeProject)
+			throws IOException, InvalidInputDataException {
+		if (encodeStrIds && appConfig.inputData().indicesType() != AppConfig.IndicesType.NUM) {
+			readInputData();
+			return;
+		}
+		inputRawDataForGraph.tasks.clear();
+		inputRawDataForCompute.runits.clear();
+		inputRawDataForCompute.rgroups.clear();
+		inputRawDataForCompute.assocRunitsWithRgroups.clear();
+		inputRawDataForCompute.assocRgroupsWithTasks.clear();
+		readComponentInputData(wholeProject, inputRawDataForGraph, inputRawDataForCompute);
+		// report all inconsistencies of the input files at once instead of failing on the first one
+		validateInputData(EnumSet.allOf(InputKind.class));
+	}
+
+	void readInputData() throws IOException, InvalidInputDataException {
+		readInputData(EnumSet.allOf(InputKind.class));
+	}
+
+	/**
+	 * (Re-)read the input files of the given kinds and validate them. The data of all other kinds is kept.
+	 * Data that is loaded from a snapshot isn't validated again, since only validated data is saved in snapshots.
+	 */
+	void readInputData(@NonNull Set<InputKind> kinds) throws IOException, InvalidInputDataException {
+		final boolean areIndicesNumerical = (appConfig.inputData().indicesType() == AppConfig.IndicesType.NUM);
+		if (encodeStrIds && ! areIndicesNumerical) {
+			// the codes depend on the IDs of all files, so the files of all kinds are read again
+			readInputDataEncoded();
+			validateInputData(EnumSet.allOf(InputKind.class));
+			return;
+		}
+		final List<InputFileJob<?>> jobs = new ArrayList<>();
+
+		if (kinds.contains(InputKind.TASKS)) {
+			final Supplier<AbstractReadRawDataTasks<?>> rrg1 =
+					(areIndicesNumerical ? ReadRawTasksOfIdLong::new : ReadRawTasksOfIdString::new);
+			inputRawDataForGraph.tasks.clear();
+			addInputFileJobs(jobs, appConfig.inputData().filenameTasks(), inputRawDataForGraph.tasks, rrg1);
+		}
+
+		if (! appConfig.inputData().useBasicInputData()) {
+			final AppConfig.InputDataAdvanced inputDataAdvanced = appConfig.inputData().inputDataAdvanced();
+
+			if (kinds.contains(InputKind.RUNITS)) {
+				final Supplier<AbstractReadRawDataRunits<?>> rrg2 =
+						(areIndicesNumerical ? ReadRawRunitsOfIdLong::new : ReadRawRunitsOfIdString::new);
+				inputRawDataForCompute.runits.clear();
+				addInputFileJobs(jobs, inputDataAdvanced.filenameRunits(), inputRawDataForCompute.runits, rrg2);
+			}
+
+			if (kinds.contains(InputKind.RGROUPS)) {
+				final Supplier<AbstractReadRawDataRgroups<?>> rrg3 =
+						(areIndicesNumerical ? ReadRawRgroupsOfIdLong::new : ReadRawRgroupsOfIdString::new);
+				inputRawDataForCompute.rgroups.clear();
+				addInputFileJobs(jobs, inputDataAdvanced.filenameRgroups(), inputRawDataForCompute.rgroups, rrg3);
+			}
+
+			if (kinds.contains(InputKind.ASSOC_RUNITS_WITH_RGROUPS)) {
+				final Supplier<AbstractReadRawDataAssociateRunitsWithRgroups<?>> rrg4 =
+						(areIndicesNumerical ? ReadRawAssociateRunitsWithRgroupsOfIdLong::new :
+								ReadRawAssociateRunitsWithRgroupsOfIdString::new);
+				inputRawDataForCompute.assocRunitsWithRgroups.clear();
+				addInputFileJobs(jobs, inputDataAdvanced.filenameAssocRunitsWithRgroups(),
+						inputRawDataForCompute.assocRunitsWithRgroups, rrg4);
+			}
+
+			if (kinds.contains(InputKind.ASSOC_RGROUPS_WITH_TASKS)) {
+				final Supplier<AbstractReadRawDataAssociateRgroupsWithTasks<?>> rrg5 =
+						(areIndicesNumerical ? ReadRawAssociateRgroupsWithTasksOfIdLong::new :
+								ReadRawAssociateRgroupsWithTasksOfIdString::new);
+				inputRawDataForCompute.assocRgroupsWithTasks.clear();
+				addInputFileJobs(jobs, inputDataAdvanced.filenameAssocRgroupsWithTasks(),
+						inputRawDataForCompute.assocRgroupsWithTasks, rrg5);
+			}
+		}
+
+		// snapshots always contain the data of all kinds
+		if (! kinds.containsAll(EnumSet.allOf(InputKind.class))) {
+			readInputFileJobs(jobs);
+			validateInputData(kinds);
+			return;
+		}
+
+		final RawDataSnapshot rawDataSnapshot = (rawDataSnapshotDir == null ? null : buildRawDataSnapshot(jobs));
+		if (rawDataSnapshot != null && loadRawDataSnapshot(rawDataSnapshot)) {
+			return;
+		}
+
+		readInputFileJobs(jobs);
+		// report all inconsistencies of the input files at once instead of failing on the first one
+		validateInputData(kinds);
+
+		if (rawDataSnapshot != null) {
+			saveRawDataSnapshot(rawDataSnapshot);
+		}
+	}
+
+	/**
+	 * Read the input files with string IDs as if they had numerical IDs (see {@link IdDictionary}).
+	 * The transcoded files are parsed one after the other, since the encoder isn't thread-safe.
+	 */
+	private void readInputDataEncoded() throws IOException, InvalidInputDataException {
+		final InputFilenames inputFilenames = buildInputFilenames();
+		final IdDictionary.Encoder encoder = IdDictionary.encoder(inputFilenames);
+
+		readEncodedInputFiles(inputFilenames.tasks(), encoder::transcodeTasks,
+				inputRawDataForGraph.tasks, ReadRawTasksOfIdLong::new);
+		if (! appConfig.inputData().useBasicInputData()) {
+			readEncodedInputFiles(inputFilenames.runits(), encoder::transcodeRunits,
+					inputRawDataForCompute.runits, ReadRawRunitsOfIdLong::new);
+			readEncodedInputFiles(inputFilenames.rgroups(), encoder::transcodeRgroups,
+					inputRawDataForCompute.rgroups, ReadRawRgroupsOfIdLong::new);
+			readEncodedInputFiles(inputFilenames.assocRunitsWithRgroups(), encoder::transcodeAssocRunitsWithRgroups,
+					inputRawDataForCompute.assocRunitsWithRgroups, ReadRawAssociateRunitsWithRgroupsOfIdLong::new);
+			readEncodedInputFiles(inputFilenames.assocRgroupsWithTasks(), encoder::transcodeAssocRgroupsWithTasks,
+					inputRawDataForCompute.assocRgroupsWithTasks, ReadRawAssociateRgroupsWithTasksOfIdLong::new);
+		}
+		idDictionary = encoder.buildDictionary();
+		if (appConfig.debugging().debugMain()) {
+			debugOutput(CLASS_NAME + ": Encoded " + idDictionary.size() + " string IDs");
+		}
+	}
+
+	/**
+	 * Opens a file as a stream of CSV text with numerical IDs (transcoded while the stream is read)
+	 */
+	@FunctionalInterface
+	private interface CsvTranscoder {
+		@NonNull InputStream transcode(@NonNull String filename) throws IOException;
+	}
+
+	private <T extends BaseRawData> void readEncodedInputFiles(
+				@NonNull List<@NonNull String> filenames,
+				@NonNull CsvTranscoder transcoder,
+				@NonNull Set<T> outputSet,
+				@NonNull Supplier<? extends AbstractReadRawData<?, T>> readerSupplier
+			) throws IOException, InvalidInputDataException {
+		outputSet.clear();
+		for (String filename : filenames) {
+			if (appConfig.debugging().debugMain()) {
+				debugOutput(CLASS_NAME + ": Read and encode raw data file '" + filename + "'...");
+			}
+			try (InputStream is = transcoder.transcode(filename)) {
+				readerSupplier.get().readFromStream(is, outputSet);
+			} catch (IOException e) {
+				throw new IOException("IOException while reading from '" + filename + "': " + e.getMessage());
+			} catch (InvalidInputDataException e) {
+				throw new InvalidInputDataException("InvalidInputDataException while reading from '" + filename + "': " +
+						e.getMessage());
+			}
+		}
+	}
+
+	private void readInputFileJobs(@NonNull List<InputFileJob<?>> jobs) throws IOException, InvalidInputDataException {
+		// the files are independent of each other, so they can be read concurrently
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (InputFileJob<?> job : jobs) {
+				futures.add(executor.submit(() -> {
+						job.read();
+						return null;
+					}));
+			}
+			for (int jobIx = 0; jobIx < jobs.size(); jobIx++) {
+				final String currentFilename = jobs.get(jobIx).filename;
+				try {
+					futures.get(jobIx).get();
+				} catch (ExecutionException e) {
+					executor.shutdownNow();
+					switch (e.getCause()) {
+						case IOException ioException -> throw new IOException("IOException while reading from '" +
+								currentFilename + "': " + ioException.getMessage());
+						case InvalidInputDataException invalidInputDataException -> throw new InvalidInputDataException(
+								"InvalidInputDataException while reading from '" + currentFilename + "': " +
+								invalidInputDataException.getMessage());
+						case RuntimeException runtimeException -> throw runtimeException;
+						default -> throw new IllegalStateException(e.getCause());
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("interrupted while reading from '" + currentFilename + "'");
+				}
+			}
+		}
+
+		// merge in the order of the configuration (and of the sorted shard filenames)
+		jobs.forEach(InputFileJob::mergeIntoOutputSet);
+	}
+
+	/**
+	 * @return All sets that are filled by {@link #readInputData()}, in a fixed order
+	 */
+	private @NonNull List<Set<?>> getInputRawDataSets() {
+		if (appConfig.inputData().useBasicInputData()) {
+			return List.of(inputRawDataForGraph.tasks);
+		}
+		return List.of(
+				inputRawDataForGraph.tasks,
+				inputRawDataForCompute.runits,
+				inputRawDataForCompute.rgroups,
+				inputRawDataForCompute.assocRunitsWithRgroups,
+				inputRawDataForCompute.assocRgroupsWithTasks
+			);
+	}
+
+	private @NonNull RawDataSnapshot buildRawDataSnapshot(@NonNull List<InputFileJob<?>> jobs) throws IOException {
+		assert (rawDataSnapshotDir != null);
+
+		final List<String> keyParts = new ArrayList<>();
+		keyParts.add("indicesType=" + appConfig.inputData().indicesType());
+		keyParts.add("useBasicInputData=" + appConfig.inputData().useBasicInputData());
+		keyParts.add("filenameTasks=" + appConfig.inputData().filenameTasks());
+		if (! appConfig.inputData().useBasicInputData()) {
+			final AppConfig.InputDataAdvanced inputDataAdvanced = appConfig.inputData().inputDataAdvanced();
+			keyParts.add("filenameRunits=" + inputDataAdvanced.filenameRunits());
+			keyParts.add("filenameRgroups=" + inputDataAdvanced.filenameRgroups());
+			keyParts.add("filenameAssocRunitsWithRgroups=" + inputDataAdvanced.filenameAssocRunitsWithRgroups());
+			keyParts.add("filenameAssocRgroupsWithTasks=" + inputDataAdvanced.filenameAssocRgroupsWithTasks());
+		}
+		return RawDataSnapshot.forInputFiles(
+				Paths.get(rawDataSnapshotDir),
+				keyParts,
+				jobs.stream().map((job) -> job.filename).toList()
+			);
+	}
+
+	private boolean loadRawDataSnapshot(@NonNull RawDataSnapshot rawDataSnapshot) {
+		try {
+			if (! rawDataSnapshot.loadInto(getInputRawDataSets())) {
+				if (appConfig.debugging().debugMain()) {
+					debugOutput(CLASS_NAME + ": No raw data snapshot '" + rawDataSnapshot.getSnapshotFile() + "' yet");
+				}
+				return false;
+			}
+		} catch (IOException e) {
+			defaultOutput("Warning: ignoring raw data snapshot: " + e.getMessage());
+			return false;
+		}
+		if (appConfig.debugging().debugMain()) {
+			debugOutput(CLASS_NAME + ": Loaded raw data snapshot '" + rawDataSnapshot.getSnapshotFile() + "'");
+		}
+		return true;
+	}
+
+	/**
+	 * A snapshot that can't be written is not an error, the input files are simply parsed again next time
+	 */
+	private void saveRawDataSnapshot(@NonNull RawDataSnapshot rawDataSnapshot) {
+		try {
+			rawDataSnapshot.save(getInputRawDataSets());
+		} catch (NotSerializableException e) {
+			defaultOutput("Warning: the input data can't be stored in a snapshot (" + e.getMessage() + " is not serializable)");
+			return;
+		} catch (IOException e) {
+			defaultOutput("Warning: could not write raw data snapshot: " + e.getMessage());
+			return;
+		}
+		if (appConfig.debugging().debugMain()) {
+			debugOutput(CLASS_NAME + ": Wrote raw data snapshot '" + rawDataSnapshot.getSnapshotFile() + "'");
 		}
 	}
 
@@ -246,15 +1357,15 @@ public final class CliApp {
 
 	private @NonNull ConvertRawToInternalDataForGraph buildConverterForGraph() {
 		return new ConvertRawToInternalDataForGraph(
-				appConfig.timeUnit(),
-				appConfig.offDutyTimes().workDays(),
-				appConfig.offDutyTimes().workHours(),
-				appConfig.offDutyTimes().holidaysAsLocalDates(),
+				offDutyTimesCache.getTimeUnit(),
+				offDutyTimesCache.getWorkDays(),
+				offDutyTimesCache.getWorkHours(),
+				offDutyTimesCache.getHolidays(),
 				presentDateTime
 			);
 	}
 
-	private @NonNull CriticalPathGraph buildCriticalPathGraph(@NonNull RawDataForGraph inputRawDataForGraph) {
+	@NonNull CriticalPathGraph buildCriticalPathGraph(@NonNull RawDataForGraph inputRawDataForGraph) {
 		return new CriticalPathGraph(
 				appConfig.debugging().debugCpgInternals(),
 				Objects.equals(true, appConfig.debugging().debugCpgVerboseInternals()),
@@ -264,15 +1375,37 @@ public final class CliApp {
 			);
 	}
 
-	private @NonNull CpmResultsToHtml buildCpmResultsToHtml(@NonNull CpmResult cpmResult, @NonNull String filenameOutput) {
+	/**
+	 * @param results Results including the post-processed tasks
+	 */
+	@NonNull CpmResultsToHtml buildCpmResultsToHtml(
+				@NonNull AppConfig appConfigForOutput,
+				@NonNull ColumnarResults results,
+				@NonNull String filenameOutput
+			) {
 		return new CpmResultsToHtml(
-				appConfig,
-				cpmResult,
-				presentDateTime,
-				filenameOutput
+				appConfigForOutput,
+				results,
+				offDutyTimesCache,
+				filenameOutput,
+				htmlTableMode
 			);
 	}
 
+	/**
+	 * Thread-safe
+	 */
+	@NonNull CpmPostProcessedResult postProcessResults(@NonNull CpmResult cpmResult) {
+		return new ResultsPostProcessing(
+				offDutyTimesCache.getTimeUnit(),
+				offDutyTimesCache.getWorkDays(),
+				offDutyTimesCache.getWorkHours(),
+				offDutyTimesCache.getHolidays(),
+				presentDateTime,
+				cpmResult
+			).processTasks();
+	}
+
 	private @NonNull ConvertRawToInternalDataForCompute buildConverterForCompute() {
 		return new ConvertRawToInternalDataForCompute(
 				appConfig.debugging().debugCpcInternals(),
@@ -280,7 +1413,10 @@ public final class CliApp {
 			);
 	}
 
-	private @NonNull CriticalPathCompute buildCriticalPathComputeBasic(@NonNull CriticalPathGraph criticalPathGraph) {
+	private @NonNull CriticalPathCompute buildCriticalPathComputeBasic(
+				@NonNull CriticalPathGraph criticalPathGraph,
+				int amountResourceUnits
+			) {
 		assert (appConfig.inputData().useBasicInputData());
 
 		return new CriticalPathCompute(
@@ -288,17 +1424,20 @@ public final class CliApp {
 				Objects.equals(true, appConfig.debugging().debugCpcVerboseInternals()),
 				this::debugOutput,
 				criticalPathGraph,
-				appConfig.inputData().inputDataBasic().amountResourceUnits(),
+				amountResourceUnits,
 				buildConverterForCompute()
 			);
 	}
 
-	private @NonNull CriticalPathCompute buildCriticalPathComputeAdvanced(@NonNull CriticalPathGraph criticalPathGraph) {
+	private @NonNull CriticalPathCompute buildCriticalPathComputeAdvanced(
+				@NonNull CriticalPathGraph criticalPathGraph,
+				@NonNull RawDataForCompute rawDataForCompute
+			) {
 		assert (! appConfig.inputData().useBasicInputData());
 
 		return new CriticalPathCompute(
 				criticalPathGraph,
-				inputRawDataForCompute,
+				rawDataForCompute,
 				buildConverterForCompute()
 			);
 	}
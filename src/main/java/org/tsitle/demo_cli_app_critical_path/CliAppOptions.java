@@ -0,0 +1,235 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.html.HtmlTableMode;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Options for a run of {@link CliApp} that are not part of the configuration file.
+ * <p>
+ * Instances are immutable and created with a {@link Builder}, e.g.
+ * {@code CliAppOptions.builder().outputHtmlFilename("out.html").build()}.
+ */
+public final class CliAppOptions {
+	/** default for {@link #consoleTopN()} */
+	public static final int DEFAULT_CONSOLE_TOP_N = 10;
+
+	private final @Nullable String outputHtmlFilename;
+	private final @Nullable String outputCsvFilename;
+	private final @Nullable String outputNdjsonFilename;
+	private final @Nullable String rawDataSnapshotDir;
+	private final @Nullable String metricsFilename;
+	private final @Nullable List<@NonNull Integer> sweepAmountsRunits;
+	private final @Nullable LocalDateTime optimizeDeadline;
+	private final @NonNull HtmlTableMode htmlTableMode;
+	private final @NonNull ConsoleOutputLevel consoleOutputLevel;
+	private final int consoleTopN;
+	private final boolean decomposeComponents;
+	private final boolean encodeStrIds;
+
+	private CliAppOptions(@NonNull Builder builder) {
+		outputHtmlFilename = builder.outputHtmlFilename;
+		outputCsvFilename = builder.outputCsvFilename;
+		outputNdjsonFilename = builder.outputNdjsonFilename;
+		rawDataSnapshotDir = builder.rawDataSnapshotDir;
+		metricsFilename = builder.metricsFilename;
+		sweepAmountsRunits = (builder.sweepAmountsRunits == null ? null : List.copyOf(builder.sweepAmountsRunits));
+		optimizeDeadline = builder.optimizeDeadline;
+		htmlTableMode = builder.htmlTableMode;
+		consoleOutputLevel = builder.consoleOutputLevel;
+		consoleTopN = builder.consoleTopN;
+		decomposeComponents = builder.decomposeComponents;
+		encodeStrIds = builder.encodeStrIds;
+	}
+
+	public static @NonNull Builder builder() {
+		return new Builder();
+	}
+
+	public static @NonNull CliAppOptions defaults() {
+		return builder().build();
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return Optional: write results to this HTML file
+	 */
+	public @Nullable String outputHtmlFilename() {
+		return outputHtmlFilename;
+	}
+
+	/**
+	 * @return Optional: export results to this CSV file (and two sibling files for the statistics)
+	 */
+	public @Nullable String outputCsvFilename() {
+		return outputCsvFilename;
+	}
+
+	/**
+	 * @return Optional: export results to this NDJSON file (and two sibling files for the statistics)
+	 */
+	public @Nullable String outputNdjsonFilename() {
+		return outputNdjsonFilename;
+	}
+
+	/**
+	 * @return Optional: directory for binary snapshots of the parsed input files
+	 */
+	public @Nullable String rawDataSnapshotDir() {
+		return rawDataSnapshotDir;
+	}
+
+	/**
+	 * @return Optional: record metrics for every stage and write them to this JSON file
+	 */
+	public @Nullable String metricsFilename() {
+		return metricsFilename;
+	}
+
+	/**
+	 * @return Optional: instead of a single computation compare the results for these
+	 *         amounts of resource units (only in basic mode)
+	 */
+	public @Nullable List<@NonNull Integer> sweepAmountsRunits() {
+		return sweepAmountsRunits;
+	}
+
+	/**
+	 * @return Optional: search the smallest amount of resource units whose schedule
+	 *         ends no later than this (only in basic mode)
+	 */
+	public @Nullable LocalDateTime optimizeDeadline() {
+		return optimizeDeadline;
+	}
+
+	/**
+	 * @return How the tables are written to the HTML file
+	 */
+	public @NonNull HtmlTableMode htmlTableMode() {
+		return htmlTableMode;
+	}
+
+	/**
+	 * @return How much of the results is printed to the console
+	 */
+	public @NonNull ConsoleOutputLevel consoleOutputLevel() {
+		return consoleOutputLevel;
+	}
+
+	/**
+	 * @return Amount of entries per list for {@link ConsoleOutputLevel#TOP}
+	 */
+	public int consoleTopN() {
+		return consoleTopN;
+	}
+
+	/**
+	 * @return Compute the independent components of the project concurrently (only in advanced mode)
+	 */
+	public boolean decomposeComponents() {
+		return decomposeComponents;
+	}
+
+	/**
+	 * @return Map string IDs to dense numerical IDs while the input files are read
+	 *         and map them back only for the output (only for string IDs)
+	 */
+	public boolean encodeStrIds() {
+		return encodeStrIds;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Mutable holder for the options. Every option that isn't set keeps its default value.
+	 */
+	public static final class Builder {
+		private @Nullable String outputHtmlFilename = null;
+		private @Nullable String outputCsvFilename = null;
+		private @Nullable String outputNdjsonFilename = null;
+		private @Nullable String rawDataSnapshotDir = null;
+		private @Nullable String metricsFilename = null;
+		private @Nullable List<@NonNull Integer> sweepAmountsRunits = null;
+		private @Nullable LocalDateTime optimizeDeadline = null;
+		private @NonNull HtmlTableMode htmlTableMode = HtmlTableMode.AUTO;
+		private @NonNull ConsoleOutputLevel consoleOutputLevel = ConsoleOutputLevel.FULL;
+		private int consoleTopN = DEFAULT_CONSOLE_TOP_N;
+		private boolean decomposeComponents = false;
+		private boolean encodeStrIds = false;
+
+		private Builder() { }
+
+		public @NonNull Builder outputHtmlFilename(@Nullable String value) {
+			outputHtmlFilename = value;
+			return this;
+		}
+
+		public @NonNull Builder outputCsvFilename(@Nullable String value) {
+			outputCsvFilename = value;
+			return this;
+		}
+
+		public @NonNull Builder outputNdjsonFilename(@Nullable String value) {
+			outputNdjsonFilename = value;
+			return this;
+		}
+
+		public @NonNull Builder rawDataSnapshotDir(@Nullable String value) {
+			rawDataSnapshotDir = value;
+			return this;
+		}
+
+		public @NonNull Builder metricsFilename(@Nullable String value) {
+			metricsFilename = value;
+			return this;
+		}
+
+		public @NonNull Builder sweepAmountsRunits(@Nullable List<@NonNull Integer> value) {
+			sweepAmountsRunits = value;
+			return this;
+		}
+
+		public @NonNull Builder optimizeDeadline(@Nullable LocalDateTime value) {
+			optimizeDeadline = value;
+			return this;
+		}
+
+		public @NonNull Builder htmlTableMode(@NonNull HtmlTableMode value) {
+			htmlTableMode = value;
+			return this;
+		}
+
+		public @NonNull Builder consoleOutputLevel(@NonNull ConsoleOutputLevel value) {
+			consoleOutputLevel = value;
+			return this;
+		}
+
+		public @NonNull Builder consoleTopN(int value) {
+			consoleTopN = value;
+			return this;
+		}
+
+		public @NonNull Builder decomposeComponents(boolean value) {
+			decomposeComponents = value;
+			return this;
+		}
+
+		public @NonNull Builder encodeStrIds(boolean value) {
+			encodeStrIds = value;
+			return this;
+		}
+
+		/**
+		 * @return Immutable options (later changes to this builder don't affect them)
+		 */
+		public @NonNull CliAppOptions build() {
+			return new CliAppOptions(this);
+		}
+	}
+}
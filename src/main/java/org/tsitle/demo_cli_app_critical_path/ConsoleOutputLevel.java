@@ -0,0 +1,13 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+/**
+ * How much of the results is printed to the console
+ */
+public enum ConsoleOutputLevel {
+	/** only the overview (amounts and minimum time requirement) */
+	SUMMARY,
+	/** the overview plus the N longest tasks and the N most idle resource groups and units */
+	TOP,
+	/** every task, resource group and resource unit plus the overview */
+	FULL
+}
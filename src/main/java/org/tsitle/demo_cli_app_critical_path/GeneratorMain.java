@@ -0,0 +1,114 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.tsitle.demo_cli_app_critical_path.generator.SyntheticInputGenerator;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool for generating synthetic input data for load-testing the Critical Path Method application
+ */
+@CommandLine.Command(
+		name = "cpm_generator",
+		description = "%nCommand line tool for generating synthetic input data for the Critical Path Method application%n",
+		mixinStandardHelpOptions = true,
+		versionProvider = Main.ManifestVersionProvider.class
+	)
+public class GeneratorMain implements Runnable {
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--tasks"}, defaultValue = "1000",
+			description = "amount of tasks (default: ${DEFAULT-VALUE})")
+	private int amountTasks;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--shape"}, defaultValue = "LAYERED",
+			description = "shape of the dependency graph: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+	private SyntheticInputGenerator.DagShape dagShape;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--shape-width"}, defaultValue = "100",
+			description = "length of the chains (CHAINS), parallel tasks per fan (FAN) or tasks per layer (LAYERED) " +
+					"(default: ${DEFAULT-VALUE})")
+	private int shapeWidth;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--max-dependencies"}, defaultValue = "3",
+			description = "maximum amount of dependencies per task for LAYERED (default: ${DEFAULT-VALUE})")
+	private int maxDependencies;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--rgroups"}, defaultValue = "10",
+			description = "amount of resource groups (default: ${DEFAULT-VALUE})")
+	private int amountRgroups;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--runits-per-rgroup"}, defaultValue = "5",
+			description = "amount of resource units per resource group (default: ${DEFAULT-VALUE})")
+	private int runitsPerRgroup;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--max-duration"}, defaultValue = "10",
+			description = "maximum duration of a task (default: ${DEFAULT-VALUE})")
+	private int maxDuration;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--indices-type"}, defaultValue = "NUM",
+			description = "type of the IDs: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+	private AppConfig.IndicesType indicesType;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--seed"}, defaultValue = "1",
+			description = "seed for the random number generator (default: ${DEFAULT-VALUE})")
+	private long seed;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--prefix"}, defaultValue = "synthetic",
+			description = "prefix for the output filenames (default: ${DEFAULT-VALUE})")
+	private String filenamePrefix;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Parameters(description = "output directory")
+	private String outputDir;
+
+	public static void main(String[] args) {
+		int resI = new CommandLine(new GeneratorMain())
+				.setExecutionExceptionHandler(new Main.PrintExceptionMessageHandler())
+				.execute(args);
+		System.exit(resI);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Override
+	public void run() {
+		final Path outputPath = Paths.get(outputDir).normalize();
+		try {
+			final SyntheticInputGenerator generator = new SyntheticInputGenerator(
+					new SyntheticInputGenerator.Settings(
+							amountTasks,
+							dagShape,
+							shapeWidth,
+							maxDependencies,
+							amountRgroups,
+							runitsPerRgroup,
+							maxDuration,
+							indicesType,
+							seed
+						),
+					outputPath,
+					filenamePrefix
+				);
+			final Path configPath = generator.generate();
+			System.out.println("Wrote configuration file '" + configPath + "'");
+		} catch (IOException e) {
+			throw new RuntimeException("G: " + e.getMessage());
+		} catch (InvalidInputDataException e) {
+			throw new RuntimeException("G: InvalidInputDataException: " + e.getMessage());
+		}
+	}
+}
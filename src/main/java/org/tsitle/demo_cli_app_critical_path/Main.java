@@ -1,12 +1,21 @@
 package org.tsitle.demo_cli_app_critical_path;
 
 import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.html.HtmlTableMode;
 import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.BatchManifest;
 import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+import org.tsitle.demo_cli_app_critical_path.json.PortfolioConfig;
+import org.tsitle.demo_cli_app_critical_path.sweep.RunitsOptimizer;
+import org.tsitle.demo_cli_app_critical_path.sweep.RunitsSweep;
 import picocli.CommandLine;
 
 import java.io.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Command line tool for using the Critical Path Method library
@@ -26,12 +35,120 @@ public class Main implements Runnable {
 	boolean doPrintVersion;
 
 	@SuppressWarnings("unused")
-	@CommandLine.Option(names = {"--output-html"}, description = "optional: write results to an HTML file")
+	@CommandLine.Option(names = {"--output-html"}, description = "optional: write results to an HTML file (GZIP-compressed if the filename ends with '.gz')")
 	private @Nullable String outputHtmlFilename;
 
 	@SuppressWarnings("unused")
-	@CommandLine.Parameters(description = "path to the JSON configuration file (may be prefixed with 'rsc:')")
-	private String configJsonFilename;
+	@CommandLine.Option(names = {"--output-csv"}, paramLabel = "<file>",
+			description = "optional: export results to a CSV file " +
+					"(plus '<file>-rgroups.csv' and '<file>-runits.csv' with the statistics)")
+	private @Nullable String outputCsvFilename;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--output-ndjson"}, paramLabel = "<file>",
+			description = "optional: export results to an NDJSON file (one JSON object per line, " +
+					"plus '<file>-rgroups.ndjson' and '<file>-runits.ndjson' with the statistics)")
+	private @Nullable String outputNdjsonFilename;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--html-tables"}, paramLabel = "<mode>",
+			description = "optional: how the tables are written to the HTML file: DOM (one element per cell), " +
+					"VIRTUAL (data arrays that are rendered on demand, with sort and filter) " +
+					"or AUTO (VIRTUAL for large projects, the default)")
+	private @Nullable HtmlTableMode htmlTableMode;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--print-results"}, paramLabel = "<level>",
+			description = "optional: how much of the results is printed to the console: SUMMARY (only the overview), " +
+					"TOP (the longest tasks and the most idle resource groups and units) or FULL (everything, the default)")
+	private @Nullable ConsoleOutputLevel consoleOutputLevel;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--print-top"}, paramLabel = "<n>",
+			description = "optional: amount of entries per list for '--print-results=TOP' (default: " +
+					CliAppOptions.DEFAULT_CONSOLE_TOP_N + ")")
+	private @Nullable Integer consoleTopN;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--raw-data-cache"}, paramLabel = "<dir>",
+			description = "optional: keep binary snapshots of the parsed input files in this directory " +
+					"and use them instead of the input files as long as those are unchanged")
+	private @Nullable String rawDataCacheDir;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--metrics"}, arity = "0..1", paramLabel = "<file>",
+			fallbackValue = "cpm_demo-metrics.json",
+			description = "optional: record time, CPU time, allocations, GC activity and row counts for every stage, " +
+					"print a summary and write a JSON report (default file: ${FALLBACK-VALUE})")
+	private @Nullable String metricsFilename;
+
+	@SuppressWarnings("unused")
+	@CommandLine.Option(names = {"--encode-str-ids"},
+			description = "optional (string IDs only): map the string IDs to numerical IDs while reading the input files " +
+					"to reduce the memory usage (the output still shows the string IDs)")
+	private boolean doEncodeStrIds;
+
+	/**
+	 * What is processed: exactly one of these
+	 */
+	static class InputArgs {
+		@SuppressWarnings("unused")
+		@CommandLine.Parameters(arity = "1",
+				description = "path to the JSON configuration file (may be prefixed with 'rsc:')")
+		private @Nullable String configJsonFilename;
+
+		@SuppressWarnings("unused")
+		@CommandLine.Option(names = {"--batch"},
+				description = "optional: process all configuration files listed in a JSON batch manifest file " +
+						"(instead of a single configuration file)")
+		private @Nullable String batchManifestFilename;
+
+		@SuppressWarnings("unused")
+		@CommandLine.Option(names = {"--portfolio"}, paramLabel = "<file>",
+				description = "optional: schedule the projects listed in a JSON portfolio file jointly against one " +
+						"shared resource pool, compare their priority orders and output the best one " +
+						"(instead of a single configuration file)")
+		private @Nullable String portfolioConfigFilename;
+	}
+
+	/**
+	 * How a single project is processed besides computing it once: at most one of these
+	 */
+	static class RunModeArgs {
+		@SuppressWarnings("unused")
+		@CommandLine.Option(names = {"--sweep-runits"}, paramLabel = "<spec>",
+				description = "optional (basic input data only): compare the results for several amounts of resource units, " +
+						"e.g. '1-20', '2-32:2' or '3,5,8'")
+		private @Nullable String sweepRunitsSpec;
+
+		@SuppressWarnings("unused")
+		@CommandLine.Option(names = {"--optimize-deadline"}, paramLabel = "<date>",
+				description = "optional (basic input data only): search the smallest amount of resource units " +
+						"that finishes by this date ('YYYY-MM-DD' or 'YYYY-MM-DDTHH:MM') and output its results " +
+						"(assumes that more resource units never end later)")
+		private @Nullable String optimizeDeadlineStr;
+
+		@SuppressWarnings("unused")
+		@CommandLine.Option(names = {"--decompose"},
+				description = "optional (advanced input data only): split the project into independent components " +
+						"(no shared dependencies or resources), compute them concurrently and output their merged results")
+		private boolean doDecompose;
+
+		@SuppressWarnings("unused")
+		@CommandLine.Option(names = {"--watch"},
+				description = "optional: keep running and recompute the results whenever the configuration file " +
+						"or one of the input files changes")
+		private boolean doWatch;
+	}
+
+	@CommandLine.Spec
+	private CommandLine.Model.CommandSpec commandSpec;
+
+	@CommandLine.ArgGroup(exclusive = true, multiplicity = "1")
+	private InputArgs inputArgs;
+
+	@CommandLine.ArgGroup(exclusive = true, multiplicity = "0..1")
+	private @Nullable RunModeArgs runModeArgs;
 
 	private final static String APP_NAME = "cpm_demo";
 
@@ -47,6 +164,77 @@ public class Main implements Runnable {
 
 	@Override
 	public void run() {
+		// the options of the exclusive argument groups are checked by picocli,
+		// these are the combinations of options that don't make sense across the groups
+		if (inputArgs.batchManifestFilename != null) {
+			// the jobs of the manifest have their own options
+			checkNotCombined("--batch", "--output-html", "--output-csv", "--output-ndjson", "--html-tables",
+					"--print-results", "--print-top", "--raw-data-cache", "--metrics", "--sweep-runits",
+					"--optimize-deadline", "--decompose", "--watch", "--encode-str-ids");
+			runBatch();
+			return;
+		}
+		checkNotCombined("--portfolio", "--raw-data-cache", "--sweep-runits", "--optimize-deadline", "--watch",
+				"--encode-str-ids");
+		checkNotCombined("--decompose", "--raw-data-cache", "--encode-str-ids");
+		checkNotCombined("--encode-str-ids", "--raw-data-cache");
+		checkNotCombined("--watch", "--metrics");
+		checkNotCombined("--sweep-runits", "--output-html", "--output-csv", "--output-ndjson");
+		if (htmlTableMode != null && outputHtmlFilename == null) {
+			throw new RuntimeException("M: --html-tables requires --output-html");
+		}
+		if (consoleTopN != null && consoleOutputLevel != ConsoleOutputLevel.TOP) {
+			throw new RuntimeException("M: --print-top requires --print-results=TOP");
+		}
+		if (consoleTopN != null && consoleTopN < 1) {
+			throw new RuntimeException("M: Invalid value for --print-top: must be at least 1");
+		}
+
+		final RunModeArgs runMode = (runModeArgs != null ? runModeArgs : new RunModeArgs());
+		final String sweepRunitsSpec = runMode.sweepRunitsSpec;
+		final String optimizeDeadlineStr = runMode.optimizeDeadlineStr;
+		List<Integer> sweepAmountsRunits = null;
+		if (sweepRunitsSpec != null) {
+			try {
+				sweepAmountsRunits = RunitsSweep.parseSpec(sweepRunitsSpec);
+			} catch (IllegalArgumentException e) {
+				throw new RuntimeException("M: Invalid value for --sweep-runits: " + e.getMessage());
+			}
+		}
+		LocalDateTime optimizeDeadline = null;
+		if (optimizeDeadlineStr != null) {
+			try {
+				optimizeDeadline = RunitsOptimizer.parseDeadline(optimizeDeadlineStr);
+			} catch (IllegalArgumentException e) {
+				throw new RuntimeException("M: Invalid value for --optimize-deadline: " + e.getMessage());
+			}
+		}
+
+		final CliAppOptions cliAppOptions = CliAppOptions.builder()
+				.outputHtmlFilename(outputHtmlFilename)
+				.outputCsvFilename(outputCsvFilename)
+				.outputNdjsonFilename(outputNdjsonFilename)
+				.rawDataSnapshotDir(rawDataCacheDir)
+				.metricsFilename(metricsFilename)
+				.sweepAmountsRunits(sweepAmountsRunits)
+				.optimizeDeadline(optimizeDeadline)
+				.htmlTableMode(htmlTableMode != null ? htmlTableMode : HtmlTableMode.AUTO)
+				.consoleOutputLevel(consoleOutputLevel != null ? consoleOutputLevel : ConsoleOutputLevel.FULL)
+				.consoleTopN(consoleTopN != null ? consoleTopN : CliAppOptions.DEFAULT_CONSOLE_TOP_N)
+				.decomposeComponents(runMode.doDecompose)
+				.encodeStrIds(doEncodeStrIds)
+				.build();
+		if (inputArgs.portfolioConfigFilename != null) {
+			runPortfolio(inputArgs.portfolioConfigFilename, cliAppOptions);
+			return;
+		}
+		final String configJsonFilename = inputArgs.configJsonFilename;
+		assert (configJsonFilename != null);
+		if (runMode.doWatch) {
+			runWatch(configJsonFilename, cliAppOptions);
+			return;
+		}
+
 		final AppConfig appConfig;
 		try {
 			appConfig = Deserializer.readAppConfigFromFile(configJsonFilename);
@@ -56,7 +244,7 @@ public class Main implements Runnable {
 			throw new RuntimeException("M: InvalidInputDataException: " + e.getMessage());
 		}
 
-		final CliApp cliApp = new CliApp(appConfig, outputHtmlFilename);
+		final CliApp cliApp = new CliApp(appConfig, cliAppOptions);
 
 		try {
 			cliApp.start();
@@ -67,10 +255,72 @@ public class Main implements Runnable {
 		}
 	}
 
+	private void runWatch(@NonNull String configJsonFilename, @NonNull CliAppOptions cliAppOptions) {
+		try {
+			new WatchRunner(configJsonFilename, cliAppOptions).run();
+		} catch (IOException e) {
+			throw new RuntimeException("M: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("M: interrupted while watching for changes");
+		}
+	}
+
+	private void runPortfolio(@NonNull String portfolioConfigFilename, @NonNull CliAppOptions cliAppOptions) {
+		try {
+			final PortfolioConfig portfolioConfig = Deserializer.readPortfolioConfigFromFile(portfolioConfigFilename);
+			new PortfolioRunner(portfolioConfig, cliAppOptions).run();
+		} catch (IOException e) {
+			throw new RuntimeException("M: " + e.getMessage());
+		} catch (InvalidInputDataException e) {
+			throw new RuntimeException("M: InvalidInputDataException: " + e.getMessage());
+		}
+	}
+
+	private void runBatch() {
+		final String batchManifestFilename = inputArgs.batchManifestFilename;
+		assert (batchManifestFilename != null);
+
+		final BatchManifest batchManifest;
+		try {
+			batchManifest = Deserializer.readBatchManifestFromFile(batchManifestFilename);
+		} catch (IOException e) {
+			throw new RuntimeException("M: " + e.getMessage());
+		} catch (InvalidInputDataException e) {
+			throw new RuntimeException("M: InvalidInputDataException: " + e.getMessage());
+		}
+
+		final int amountFailed;
+		try {
+			amountFailed = new BatchRunner(batchManifest).run();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("M: interrupted while running batch");
+		}
+		if (amountFailed > 0) {
+			throw new RuntimeException("M: " + amountFailed + " of " + batchManifest.jobs().size() + " jobs failed");
+		}
+	}
+
+	/**
+	 * @param option Option that can't be combined with any of {@code otherOptions}
+	 * @throws RuntimeException If {@code option} is combined with any of {@code otherOptions}
+	 */
+	private void checkNotCombined(@NonNull String option, @NonNull String... otherOptions) {
+		final CommandLine.ParseResult parseResult = commandSpec.commandLine().getParseResult();
+		if (! parseResult.hasMatchedOption(option)) {
+			return;
+		}
+		final List<String> combinedOptions = Arrays.stream(otherOptions).filter(parseResult::hasMatchedOption).toList();
+		if (! combinedOptions.isEmpty()) {
+			throw new RuntimeException("M: " + option + " can't be combined with " + String.join(", ", combinedOptions));
+		}
+	}
+
 	// -----------------------------------------------------------------------------------------------------------------
 	// -----------------------------------------------------------------------------------------------------------------
 
-	private static class PrintExceptionMessageHandler implements CommandLine.IExecutionExceptionHandler {
+	static class PrintExceptionMessageHandler implements CommandLine.IExecutionExceptionHandler {
 		public int handleExecutionException(Exception ex, CommandLine cmd, CommandLine.ParseResult parseResult) {
 			// bold red error message
 			cmd.getErr().println(cmd.getColorScheme().errorText(ex.getMessage()));
@@ -0,0 +1,382 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import io.github.tsitle.criticalpath.cpmresults.CpmPostProcessedSubResultTask;
+import io.github.tsitle.criticalpath.cpmresults.CpmResult;
+import io.github.tsitle.criticalpath.cpmresults.CpmSubResultRgroup;
+import io.github.tsitle.criticalpath.cpmresults.CpmSubResultRunit;
+import io.github.tsitle.criticalpath.cpmresults.CpmSubResultTask;
+import io.github.tsitle.criticalpath.dateformatters.DateFormatters;
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.tsitle.demo_cli_app_critical_path.concurrent.ParallelMap;
+import org.tsitle.demo_cli_app_critical_path.input.RawInputCache;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+import org.tsitle.demo_cli_app_critical_path.json.PortfolioConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Serializer;
+import org.tsitle.demo_cli_app_critical_path.portfolio.PortfolioInputMerger;
+import org.tsitle.demo_cli_app_critical_path.portfolio.PortfolioReport;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Schedules the tasks of all projects of a {@link PortfolioConfig} jointly against one shared resource pool.
+ * <p>
+ * Every priority order of the projects is evaluated on a worker pool: the task files of the projects are merged
+ * in that order (see {@link PortfolioInputMerger}) and the joint schedule is computed.
+ * The shared input files are only parsed once.
+ * The best priority order (shortest joint schedule, then smallest sum of the project ends) is reported
+ * with the end of every project and the utilization of every resource, and its joint schedule is output
+ * like a single project.
+ */
+final class PortfolioRunner {
+	/**
+	 * @param projectIxOrder Indices of the projects (in the portfolio configuration), highest priority first
+	 * @param projectEnds End of every project (indexed like the portfolio configuration)
+	 * @param projectEndDateTimes Post-processed date and time of every entry of {@code projectEnds}
+	 */
+	private record OrderEvaluation(
+				@NonNull List<@NonNull Integer> projectIxOrder,
+				PortfolioInputMerger.@NonNull MergedInput mergedInput,
+				@NonNull CpmResult cpmResult,
+				long @NonNull [] projectEnds,
+				@NonNull List<@NonNull LocalDateTime> projectEndDateTimes
+			) {
+		long sumOfProjectEnds() {
+			return Arrays.stream(projectEnds).sum();
+		}
+	}
+
+	private static final Comparator<OrderEvaluation> BEST_ORDER_FIRST = Comparator
+			.comparingLong((OrderEvaluation evaluation) -> evaluation.cpmResult().timePassed())
+			.thenComparingLong(OrderEvaluation::sumOfProjectEnds);
+
+	private final String CLASS_NAME = getClass().getSimpleName();
+	private final @NonNull PortfolioConfig portfolioConfig;
+	private final @NonNull CliAppOptions cliAppOptions;
+	private final @NonNull RawInputCache rawInputCache = new RawInputCache();
+
+	/**
+	 * @param cliAppOptions Options for the output of the joint schedule of the best priority order
+	 */
+	PortfolioRunner(@NonNull PortfolioConfig portfolioConfig, @NonNull CliAppOptions cliAppOptions) {
+		this.portfolioConfig = portfolioConfig;
+		this.cliAppOptions = cliAppOptions;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	void run() throws IOException, InvalidInputDataException {
+		final AppConfig appConfig = Deserializer.readAppConfigFromFile(portfolioConfig.configJsonFilename());
+		if (appConfig.inputData().useBasicInputData()) {
+			throw new InvalidInputDataException("the portfolio mode requires advanced input data (the shared " +
+					"resource pool) in '" + portfolioConfig.configJsonFilename() + "'");
+		}
+		final PortfolioInputMerger merger = PortfolioInputMerger.read(
+				portfolioConfig.projects(),
+				appConfig.inputData().indicesType()
+			);
+
+		final List<List<Integer>> priorityOrders = buildPriorityOrders();
+		final int parallelism = portfolioConfig.effectiveParallelism();
+		defaultOutput("Evaluating " + priorityOrders.size() + " priority orders of " +
+				portfolioConfig.projects().size() + " projects with parallelism " + parallelism);
+
+		final long timeStart = System.nanoTime();
+		final Path tempDir = Files.createTempDirectory("cpm_demo-portfolio-");
+		try {
+			final List<OrderEvaluation> evaluations;
+			try {
+				evaluations = ParallelMap.map(
+						IntStream.range(0, priorityOrders.size()).boxed().toList(),
+						(orderIx) -> evaluateOrder(appConfig, merger, priorityOrders.get(orderIx), tempDir, orderIx),
+						parallelism
+					);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			final long durationMillis = (System.nanoTime() - timeStart) / 1_000_000L;
+			defaultOutput("Evaluated " + evaluations.size() + " priority orders in " + durationMillis + " ms");
+
+			// the sort is stable, so equal orders keep the order in which they were generated
+			final List<OrderEvaluation> rankedEvaluations = new ArrayList<>(evaluations);
+			rankedEvaluations.sort(BEST_ORDER_FIRST);
+			final OrderEvaluation best = rankedEvaluations.get(0);
+
+			final PortfolioReport report = buildReport(appConfig, merger, rankedEvaluations);
+			printReport(report, appConfig.timeUnit().getLabel());
+			if (portfolioConfig.outputReportFilename() != null) {
+				writeReport(report, portfolioConfig.outputReportFilename());
+			}
+
+			defaultOutput("Joint schedule of the best priority order " + formatOrder(best.projectIxOrder()) + ":");
+			final CliApp cliApp = new CliApp(
+					appConfig.withTaskInputFiles(
+							best.mergedInput().filenameTasks(),
+							best.mergedInput().filenameAssocRgroupsWithTasks()
+						),
+					cliAppOptions,
+					System.out,
+					rawInputCache
+				);
+			cliApp.start();
+		} finally {
+			deleteTempDir(tempDir);
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private void defaultOutput(String msg) {
+		System.out.println(CLASS_NAME + ": " + msg);
+	}
+
+	/**
+	 * @return Configured priority orders or, if there are none, all permutations of the projects
+	 *         if they don't exceed the maximum amount of priority orders,
+	 *         else the configured order, each project moved to the front and the reversed order
+	 */
+	private @NonNull List<@NonNull List<@NonNull Integer>> buildPriorityOrders() {
+		final List<PortfolioConfig.Project> projects = portfolioConfig.projects();
+		final List<List<String>> configuredOrders = portfolioConfig.priorityOrders();
+		if (configuredOrders != null) {
+			final Map<String, Integer> projectIxByName = new HashMap<>();
+			for (int projectIx = 0; projectIx < projects.size(); projectIx++) {
+				projectIxByName.put(projects.get(projectIx).name(), projectIx);
+			}
+			return configuredOrders.stream()
+					.map((order) -> order.stream().map(projectIxByName::get).toList())
+					.toList();
+		}
+
+		final int maxAmountOrders = portfolioConfig.effectiveMaxPriorityOrders();
+		long amountPermutations = 1;
+		for (int factor = 2; factor <= projects.size() && amountPermutations <= maxAmountOrders; factor++) {
+			amountPermutations *= factor;
+		}
+		final Set<List<Integer>> resSet = new LinkedHashSet<>();
+		final int[] order = IntStream.range(0, projects.size()).toArray();
+		if (amountPermutations <= maxAmountOrders) {
+			do {
+				resSet.add(Arrays.stream(order).boxed().toList());
+			} while (nextPermutation(order));
+		} else {
+			resSet.add(Arrays.stream(order).boxed().toList());
+			for (int projectIx = 1; projectIx < projects.size() && resSet.size() < maxAmountOrders; projectIx++) {
+				final int frontIx = projectIx;
+				resSet.add(Stream.concat(
+						Stream.of(frontIx),
+						IntStream.range(0, projects.size()).filter((ix) -> ix != frontIx).boxed()
+					).toList());
+			}
+			if (resSet.size() < maxAmountOrders) {
+				resSet.add(IntStream.range(0, projects.size()).map((ix) -> projects.size() - 1 - ix).boxed().toList());
+			}
+		}
+		return List.copyOf(resSet);
+	}
+
+	/**
+	 * Rearrange to the next permutation in lexicographic order
+	 * @return false if the array already was the last permutation
+	 */
+	private static boolean nextPermutation(int @NonNull [] arr) {
+		int pivotIx = arr.length - 2;
+		while (pivotIx >= 0 && arr[pivotIx] >= arr[pivotIx + 1]) {
+			pivotIx--;
+		}
+		if (pivotIx < 0) {
+			return false;
+		}
+		int swapIx = arr.length - 1;
+		while (arr[swapIx] <= arr[pivotIx]) {
+			swapIx--;
+		}
+		swap(arr, pivotIx, swapIx);
+		for (int leftIx = pivotIx + 1, rightIx = arr.length - 1; leftIx < rightIx; leftIx++, rightIx--) {
+			swap(arr, leftIx, rightIx);
+		}
+		return true;
+	}
+
+	private static void swap(int @NonNull [] arr, int ix1, int ix2) {
+		final int tmp = arr[ix1];
+		arr[ix1] = arr[ix2];
+		arr[ix2] = tmp;
+	}
+
+	/**
+	 * Thread-safe: every evaluation writes its own merged input files and uses its own {@link CliApp}
+	 */
+	private @NonNull OrderEvaluation evaluateOrder(
+				@NonNull AppConfig appConfig,
+				@NonNull PortfolioInputMerger merger,
+				@NonNull List<@NonNull Integer> projectIxOrder,
+				@NonNull Path tempDir,
+				int orderIx
+			) {
+		try {
+			final PortfolioInputMerger.MergedInput mergedInput = merger.writeMergedInput(
+					projectIxOrder,
+					tempDir,
+					"order" + (orderIx + 1)
+				);
+			final CliApp cliApp = new CliApp(
+					appConfig.withTaskInputFiles(mergedInput.filenameTasks(), mergedInput.filenameAssocRgroupsWithTasks()),
+					CliAppOptions.defaults(),
+					new PrintStream(OutputStream.nullOutputStream()),
+					rawInputCache
+				);
+			cliApp.readInputData();
+			final CpmResult cpmResult = cliApp.computeCpmResult(cliApp.buildCriticalPathGraph(cliApp.getInputRawDataForGraph()));
+			// only the shared input files are worth keeping in the cache
+			rawInputCache.evict(mergedInput.filenameTasks());
+			rawInputCache.evict(mergedInput.filenameAssocRgroupsWithTasks());
+
+			final long[] projectEnds = new long[portfolioConfig.projects().size()];
+			for (CpmSubResultTask srTask : cpmResult.resultsTasks()) {
+				final int projectIx = mergedInput.findProjectIx(srTask.externalId());
+				projectEnds[projectIx] = Math.max(projectEnds[projectIx], srTask.timeFinished());
+			}
+			final LocalDateTime[] projectEndDateTimes = new LocalDateTime[projectEnds.length];
+			Arrays.fill(projectEndDateTimes, cliApp.getPresentDateTime());
+			for (CpmPostProcessedSubResultTask ppTask : cliApp.postProcessResults(cpmResult).postProcessedTasks()) {
+				final int projectIx = mergedInput.findProjectIx(ppTask.srTask().externalId());
+				if (ppTask.taskFinishedAdjustedDateTime().isAfter(projectEndDateTimes[projectIx])) {
+					projectEndDateTimes[projectIx] = ppTask.taskFinishedAdjustedDateTime();
+				}
+			}
+			return new OrderEvaluation(projectIxOrder, mergedInput, cpmResult, projectEnds, List.of(projectEndDateTimes));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private @NonNull PortfolioReport buildReport(
+				@NonNull AppConfig appConfig,
+				@NonNull PortfolioInputMerger merger,
+				@NonNull List<@NonNull OrderEvaluation> rankedEvaluations
+			) {
+		final List<PortfolioReport.OrderScore> orderScores = rankedEvaluations.stream()
+				.map((evaluation) -> new PortfolioReport.OrderScore(
+						evaluation.projectIxOrder().stream()
+								.map((projectIx) -> portfolioConfig.projects().get(projectIx).name())
+								.toList(),
+						evaluation.cpmResult().timePassed(),
+						evaluation.sumOfProjectEnds()
+					))
+				.toList();
+
+		final OrderEvaluation best = rankedEvaluations.get(0);
+		final List<PortfolioReport.ProjectEnd> projectEnds = new ArrayList<>();
+		for (int projectIx = 0; projectIx < portfolioConfig.projects().size(); projectIx++) {
+			projectEnds.add(new PortfolioReport.ProjectEnd(
+					portfolioConfig.projects().get(projectIx).name(),
+					merger.getAmountTasks(projectIx),
+					best.projectEnds()[projectIx],
+					best.projectEndDateTimes().get(projectIx).format(DateFormatters.dateAndTime)
+				));
+		}
+
+		final List<PortfolioReport.ResourceUtilization> rgroups = new ArrayList<>();
+		for (CpmSubResultRgroup srRgroup : best.cpmResult().resultsRgroups()) {
+			rgroups.add(PortfolioReport.ResourceUtilization.of(
+					srRgroup.externalId(), srRgroup.name(), srRgroup.timeBusy(), srRgroup.timeIdled()));
+		}
+		final List<PortfolioReport.ResourceUtilization> runits = new ArrayList<>();
+		for (CpmSubResultRunit srRunit : best.cpmResult().resultsRunits()) {
+			runits.add(PortfolioReport.ResourceUtilization.of(
+					srRunit.externalId(), srRunit.name(), srRunit.timeBusy(), srRunit.timeIdled()));
+		}
+
+		return new PortfolioReport(
+				LocalDateTime.now().format(DateFormatters.dateAndTime),
+				appConfig.timeUnit().toString(),
+				orderScores,
+				projectEnds,
+				rgroups,
+				runits
+			);
+	}
+
+	private void printReport(@NonNull PortfolioReport report, @NonNull String timeUnitLabel) {
+		defaultOutput("Priority orders (best first):");
+		final PortfolioReport.OrderScore bestScore = report.priorityOrders().get(0);
+		for (int rank = 0; rank < report.priorityOrders().size(); rank++) {
+			final PortfolioReport.OrderScore orderScore = report.priorityOrders().get(rank);
+			final boolean isTiedWithBest = (rank > 0 &&
+					orderScore.timePassed() == bestScore.timePassed() &&
+					orderScore.sumOfProjectEnds() == bestScore.sumOfProjectEnds());
+			defaultOutput(String.format("  #%-3d %s: timePassed=%d%s, sumOfProjectEnds=%d%s%s",
+					rank + 1,
+					String.join(" > ", orderScore.projectNames()),
+					orderScore.timePassed(), timeUnitLabel,
+					orderScore.sumOfProjectEnds(), timeUnitLabel,
+					(rank == 0 ? "  <- best" : (isTiedWithBest ? "  (same as the best)" : ""))));
+		}
+
+		defaultOutput("Projects (best priority order):");
+		for (PortfolioReport.ProjectEnd projectEnd : report.projects()) {
+			defaultOutput("  - " + projectEnd.name() + ": tasks=" + projectEnd.amountTasks() +
+					", finished=" + projectEnd.timeFinished() + timeUnitLabel + " (" + projectEnd.finishedAt() + ")");
+		}
+
+		defaultOutput("Resource Groups (best priority order):");
+		report.resourceGroups().forEach((utilization) -> printUtilization("Resource Group", utilization, timeUnitLabel));
+		defaultOutput("Resource Units (best priority order):");
+		report.resourceUnits().forEach((utilization) -> printUtilization("Resource Unit", utilization, timeUnitLabel));
+	}
+
+	private void printUtilization(
+				@NonNull String label,
+				PortfolioReport.@NonNull ResourceUtilization utilization,
+				@NonNull String timeUnitLabel
+			) {
+		defaultOutput(String.format("  - %s extId=%s, name=%s, timeBusy=%d%s, timeIdled=%d%s, utilization=%.1f%%",
+				label,
+				utilization.externalId(),
+				utilization.name(),
+				utilization.timeBusy(), timeUnitLabel,
+				utilization.timeIdled(), timeUnitLabel,
+				utilization.utilization() * 100.0));
+	}
+
+	private void writeReport(@NonNull PortfolioReport report, @NonNull String filename) throws IOException {
+		defaultOutput("Writing portfolio report to JSON file '" + filename + "'");
+		try (Writer writer = Files.newBufferedWriter(Paths.get(filename), StandardCharsets.UTF_8)) {
+			writer.write(Serializer.portfolioReportToJsonString(report));
+			writer.write(System.lineSeparator());
+		} catch (IOException e) {
+			throw new IOException("IOException while writing to '" + filename + "': " + e.getMessage());
+		}
+	}
+
+	private @NonNull String formatOrder(@NonNull List<@NonNull Integer> projectIxOrder) {
+		final StringJoiner sj = new StringJoiner(" > ", "'", "'");
+		projectIxOrder.forEach((projectIx) -> sj.add(portfolioConfig.projects().get(projectIx).name()));
+		return sj.toString();
+	}
+
+	/**
+	 * A directory that can't be deleted is not an error, it is only left behind in the temporary directory
+	 */
+	private void deleteTempDir(@NonNull Path tempDir) {
+		try (Stream<Path> paths = Files.walk(tempDir)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(path);
+			}
+		} catch (IOException e) {
+			defaultOutput("Warning: could not delete temporary directory '" + tempDir + "': " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.input.InputFilePatterns;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the application running and recomputes the results whenever the configuration file
+ * or one of the input files changes.
+ * <p>
+ * Only the input files that have changed are read again and the graph is only rebuilt if the tasks have changed.
+ * A change of the configuration file restarts the whole run.
+ */
+final class WatchRunner {
+	/** changes that happen within this time are processed together (editors often write a file in several steps) */
+	private static final long DEBOUNCE_MILLIS = 300;
+
+	private final String CLASS_NAME = getClass().getSimpleName();
+	private final @NonNull String configJsonFilename;
+	private final @NonNull CliAppOptions cliAppOptions;
+
+	WatchRunner(@NonNull String configJsonFilename, @NonNull CliAppOptions cliAppOptions) {
+		this.configJsonFilename = configJsonFilename;
+		this.cliAppOptions = cliAppOptions;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Runs until the current thread is interrupted (e.g. by Ctrl+C)
+	 * @throws IOException If the files can't be watched
+	 * @throws InterruptedException If the current thread was interrupted
+	 */
+	void run() throws IOException, InterruptedException {
+		//noinspection InfiniteLoopStatement
+		while (true) {
+			final AppConfig appConfig = tryReadAppConfig();
+			final CliApp cliApp = (appConfig != null ? new CliApp(appConfig, cliAppOptions) : null);
+			final Map<CliApp.InputKind, List<String>> inputFilenames =
+					(cliApp != null ? cliApp.getInputFilenamesOrPatterns() : Map.of());
+
+			// the directories are registered before the first run, so no change gets lost
+			try (WatchService watchService = createWatchService(inputFilenames)) {
+				if (cliApp == null) {
+					//noinspection StatementWithEmptyBody
+					while (waitForChanges(watchService, inputFilenames) != null) {
+						// wait for the configuration file to change
+					}
+					continue;
+				}
+
+				final boolean succeeded = runGuarded(cliApp::start);
+				if (succeeded) {
+					cliApp.prepareSpareGraph();
+				}
+				runWatchLoop(watchService, cliApp, inputFilenames, succeeded);
+			}
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private interface Stage {
+		void run() throws IOException, InvalidInputDataException;
+	}
+
+	private void defaultOutput(String msg) {
+		System.out.println(CLASS_NAME + ": " + msg);
+	}
+
+	/**
+	 * Watch the input files of the configuration until the configuration file changes
+	 * @param isUpToDate Whether the last run succeeded. Otherwise, all input files are read again after the next change.
+	 */
+	private void runWatchLoop(
+				@NonNull WatchService watchService,
+				@NonNull CliApp cliApp,
+				@NonNull Map<CliApp.InputKind, List<String>> inputFilenames,
+				boolean isUpToDate
+			) throws InterruptedException {
+		final Set<CliApp.InputKind> pendingKinds = EnumSet.noneOf(CliApp.InputKind.class);
+		if (! isUpToDate) {
+			pendingKinds.addAll(inputFilenames.keySet());
+		}
+
+		while (true) {
+			final Set<CliApp.InputKind> changedKinds = waitForChanges(watchService, inputFilenames);
+			if (changedKinds == null) {
+				// the configuration file has changed
+				return;
+			}
+			pendingKinds.addAll(changedKinds);
+
+			defaultOutput("Change detected, reading " + pendingKinds + " again...");
+			final long timeStart = System.nanoTime();
+			final Set<CliApp.InputKind> kindsToRead = EnumSet.copyOf(pendingKinds);
+			if (runGuarded(() -> cliApp.recompute(kindsToRead))) {
+				pendingKinds.clear();
+				defaultOutput("Recomputed in " + (System.nanoTime() - timeStart) / 1_000_000L + " ms");
+				cliApp.prepareSpareGraph();
+			}
+		}
+	}
+
+	/**
+	 * Errors are printed but don't end the watch mode, since the files are often invalid while being edited
+	 * @return Whether the stage succeeded
+	 */
+	private boolean runGuarded(@NonNull Stage stage) {
+		try {
+			stage.run();
+			return true;
+		} catch (IOException e) {
+			defaultOutput("Error: " + e.getMessage());
+		} catch (InvalidInputDataException e) {
+			defaultOutput("Error: InvalidInputDataException: " + e.getMessage());
+		} catch (RuntimeException e) {
+			defaultOutput("Error: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+		}
+		defaultOutput("Waiting for the files to change...");
+		return false;
+	}
+
+	private @Nullable AppConfig tryReadAppConfig() {
+		try {
+			return Deserializer.readAppConfigFromFile(configJsonFilename);
+		} catch (IOException e) {
+			defaultOutput("Error: " + e.getMessage());
+		} catch (InvalidInputDataException e) {
+			defaultOutput("Error: InvalidInputDataException: " + e.getMessage());
+		}
+		defaultOutput("Waiting for the configuration file to change...");
+		return null;
+	}
+
+	/**
+	 * @param inputFilenames Input filenames or patterns ('rsc:' files are not watched)
+	 */
+	private @NonNull WatchService createWatchService(
+				@NonNull Map<CliApp.InputKind, List<String>> inputFilenames
+			) throws IOException {
+		final Set<Path> dirs = new LinkedHashSet<>();
+		if (! configJsonFilename.startsWith("rsc:")) {
+			dirs.add(InputFilePatterns.getBaseDir(configJsonFilename));
+		}
+		for (List<String> filenamesOrPatterns : inputFilenames.values()) {
+			for (String filenameOrPattern : filenamesOrPatterns) {
+				if (! filenameOrPattern.startsWith("rsc:")) {
+					addDirsToWatch(dirs, filenameOrPattern);
+				}
+			}
+		}
+		if (dirs.isEmpty()) {
+			throw new IOException("there are no files to watch (all files are Java resources)");
+		}
+
+		final WatchService watchService = FileSystems.getDefault().newWatchService();
+		try {
+			for (Path dir : dirs) {
+				dir.register(
+						watchService,
+						StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY,
+						StandardWatchEventKinds.ENTRY_DELETE
+					);
+			}
+		} catch (IOException e) {
+			watchService.close();
+			throw e;
+		}
+		defaultOutput("Watching " + dirs.size() + " directories for changes (press Ctrl+C to stop)");
+		return watchService;
+	}
+
+	/**
+	 * Block until the configuration file or one of the input files changes
+	 * @param inputFilenames Input filenames or patterns ('rsc:' files are not watched)
+	 * @return Kinds of the changed input files or null if the configuration file has changed
+	 */
+	private @Nullable Set<CliApp.InputKind> waitForChanges(
+				@NonNull WatchService watchService,
+				@NonNull Map<CliApp.InputKind, List<String>> inputFilenames
+			) throws InterruptedException {
+		final boolean isConfigWatched = ! configJsonFilename.startsWith("rsc:");
+		while (true) {
+			final Set<Path> changedPaths = new LinkedHashSet<>();
+			boolean hasOverflowed = collectChangedPaths(watchService.take(), changedPaths);
+			// debounce
+			WatchKey watchKey;
+			while ((watchKey = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+				hasOverflowed |= collectChangedPaths(watchKey, changedPaths);
+			}
+
+			// lost events are handled like a change of the configuration file, i.e. by a complete run
+			if (hasOverflowed || (isConfigWatched && changedPaths.stream()
+					.anyMatch((path) -> InputFilePatterns.matches(configJsonFilename, path)))) {
+				return null;
+			}
+			final Set<CliApp.InputKind> resSet = EnumSet.noneOf(CliApp.InputKind.class);
+			inputFilenames.forEach((kind, filenamesOrPatterns) -> {
+					if (filenamesOrPatterns.stream().anyMatch((filenameOrPattern) ->
+							! filenameOrPattern.startsWith("rsc:") && changedPaths.stream()
+									.anyMatch((path) -> InputFilePatterns.matches(filenameOrPattern, path)))) {
+						resSet.add(kind);
+					}
+				});
+			if (! resSet.isEmpty()) {
+				return resSet;
+			}
+		}
+	}
+
+	/**
+	 * @return Whether events have been lost
+	 */
+	private static boolean collectChangedPaths(@NonNull WatchKey watchKey, @NonNull Set<Path> changedPaths) {
+		boolean hasOverflowed = false;
+		final Path dir = (Path)watchKey.watchable();
+		for (WatchEvent<?> event : watchKey.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				hasOverflowed = true;
+			} else if (event.context() instanceof Path relPath) {
+				changedPaths.add(dir.resolve(relPath));
+			}
+		}
+		watchKey.reset();
+		return hasOverflowed;
+	}
+
+	/**
+	 * A {@link WatchService} only watches single directories, so patterns that descend into subdirectories
+	 * need all of those (existing) subdirectories
+	 */
+	private static void addDirsToWatch(@NonNull Set<Path> dirs, @NonNull String filenameOrPattern) throws IOException {
+		final Path baseDir = InputFilePatterns.getBaseDir(filenameOrPattern);
+		if (! Files.isDirectory(baseDir)) {
+			throw new IOException("directory '" + baseDir + "' not found");
+		}
+		try (Stream<Path> paths = Files.walk(baseDir, InputFilePatterns.getMaxDepth(filenameOrPattern) - 1)) {
+			paths.filter(Files::isDirectory).forEach(dirs::add);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package org.tsitle.demo_cli_app_critical_path.calendar;
+
+import io.github.tsitle.criticalpath.CpmHourInterval;
+import io.github.tsitle.criticalpath.CpmTimeUnit;
+import org.jspecify.annotations.NonNull;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Off-duty times of {@link AppConfig.OffDutyTimes} in the form that the library and the HTML output need,
+ * built once per run instead of once per use (the holidays are evaluated from their templates only here).
+ * <p>
+ * This is no working-time index: dates and times of the results are still converted by the post-processing
+ * of the library.
+ * <p>
+ * Thread-safe
+ */
+public final class OffDutyTimesCache {
+	private final @NonNull CpmTimeUnit timeUnit;
+	private final @NonNull Set<@NonNull DayOfWeek> workDays;
+	private final @NonNull Set<@NonNull CpmHourInterval> workHours;
+	private final @NonNull SortedSet<@NonNull LocalDate> holidays;
+
+	public OffDutyTimesCache(@NonNull CpmTimeUnit timeUnit, AppConfig.@NonNull OffDutyTimes offDutyTimes) {
+		this.timeUnit = timeUnit;
+		final Set<DayOfWeek> tmpWorkDays = EnumSet.noneOf(DayOfWeek.class);
+		tmpWorkDays.addAll(offDutyTimes.workDays());
+		this.workDays = Collections.unmodifiableSet(tmpWorkDays);
+		this.workHours = Collections.unmodifiableSet(new LinkedHashSet<>(offDutyTimes.workHours()));
+		this.holidays = Collections.unmodifiableSortedSet(new TreeSet<>(offDutyTimes.holidaysAsLocalDates()));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	public @NonNull CpmTimeUnit getTimeUnit() {
+		return timeUnit;
+	}
+
+	public @NonNull Set<@NonNull DayOfWeek> getWorkDays() {
+		return workDays;
+	}
+
+	public @NonNull Set<@NonNull CpmHourInterval> getWorkHours() {
+		return workHours;
+	}
+
+	/**
+	 * @return Holidays in ascending order (built once, unlike {@link AppConfig.OffDutyTimes#holidaysAsLocalDates()})
+	 */
+	public @NonNull SortedSet<@NonNull LocalDate> getHolidays() {
+		return holidays;
+	}
+
+	public boolean isWorkDay(@NonNull DayOfWeek dayOfWeek) {
+		return workDays.contains(dayOfWeek);
+	}
+}
@@ -0,0 +1,44 @@
+package org.tsitle.demo_cli_app_critical_path.concurrent;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Applies a function to all items of a list concurrently, in a pool of its own
+ */
+public final class ParallelMap {
+	private ParallelMap() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param items Items to apply the function to
+	 * @param function Is called concurrently from several threads. Its exceptions are rethrown by this method.
+	 * @param parallelism Maximum amount of concurrent calls of {@code function}
+	 * @return Results in the order of {@code items}
+	 */
+	public static <T, R> @NonNull List<R> map(
+				@NonNull List<T> items,
+				@NonNull Function<? super T, ? extends R> function,
+				int parallelism
+			) {
+		try (ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, items.size())))) {
+			final List<ForkJoinTask<? extends R>> tasks = new ArrayList<>(items.size());
+			for (T item : items) {
+				tasks.add(pool.submit(() -> function.apply(item)));
+			}
+			final List<R> resList = new ArrayList<>(items.size());
+			for (ForkJoinTask<? extends R> task : tasks) {
+				// rethrows the exception of the function
+				resList.add(task.join());
+			}
+			return resList;
+		}
+	}
+}
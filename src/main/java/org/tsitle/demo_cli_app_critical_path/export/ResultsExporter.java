@@ -0,0 +1,383 @@
+package org.tsitle.demo_cli_app_critical_path.export;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import io.github.tsitle.criticalpath.cpmresults.*;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.input.IdDictionary;
+import org.tsitle.demo_cli_app_critical_path.results.ColumnarResults;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Writes the results as machine-readable files for other tools (e.g. to feed the schedule back into an issue tracker).
+ * <p>
+ * Besides the file for the tasks there are two files with the statistics per resource group and per resource unit,
+ * e.g. {@code results.csv}, {@code results-rgroups.csv} and {@code results-runits.csv}.
+ * Every row is written as soon as it has been built, so the memory usage doesn't depend on the amount of tasks.
+ * <p>
+ * See {@code docs/results_export.md} for the columns.
+ */
+public final class ResultsExporter {
+	public enum Format {
+		/** comma separated values with a header row (same quoting as the input files) */
+		CSV,
+		/** one JSON object per line */
+		NDJSON
+	}
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+	private static final List<String> COLUMNS_TASKS = List.of(
+			"TaskId", "Name", "Duration", "DurationDelta", "TimeStarted", "TimeFinished",
+			"StartedAt", "FinishedAt", "ProgressPercent", "RunitId", "RgroupId"
+		);
+	private static final List<String> COLUMNS_RGROUPS = List.of(
+			"RgroupId", "Name", "TimeIdled", "TimeBusy", "MaxRunitsUsed", "AmountRunits", "TasksCompleted"
+		);
+	private static final List<String> COLUMNS_RUNITS = List.of(
+			"RunitId", "Name", "TimeIdled", "TimeBusy", "TasksCompleted", "RgroupIdList"
+		);
+
+	private final @NonNull ColumnarResults results;
+
+	public ResultsExporter(@NonNull CpmResult cpmResult, @NonNull CpmPostProcessedResult postProcessedResult) {
+		this(cpmResult, postProcessedResult, IdDictionary.IDENTITY);
+	}
+
+	/**
+	 * @param idDictionary Maps the external IDs of the results back to the string IDs of the input files
+	 */
+	public ResultsExporter(
+				@NonNull CpmResult cpmResult,
+				@NonNull CpmPostProcessedResult postProcessedResult,
+				@NonNull IdDictionary idDictionary
+			) {
+		this(ColumnarResults.of(cpmResult, idDictionary).withPostProcessedResult(postProcessedResult));
+	}
+
+	/**
+	 * @param results Results including the post-processed tasks
+	 */
+	public ResultsExporter(@NonNull ColumnarResults results) {
+		if (! results.hasPostProcessedResult()) {
+			throw new IllegalArgumentException("the results have not been post-processed");
+		}
+		this.results = results;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Get the filename of the file with the statistics per resource group or unit
+	 * @param filenameTasks Filename of the tasks file (e.g. {@code results.csv})
+	 * @param suffix {@code rgroups} or {@code runits}
+	 * @return E.g. {@code results-rgroups.csv}
+	 */
+	public static @NonNull String getSiblingFilename(@NonNull String filenameTasks, @NonNull String suffix) {
+		final Path path = Paths.get(filenameTasks);
+		final String name = path.getFileName().toString();
+		final int dotIx = name.lastIndexOf('.');
+		final String siblingName = (dotIx > 0 ?
+				name.substring(0, dotIx) + "-" + suffix + name.substring(dotIx) :
+				name + "-" + suffix);
+		return path.resolveSibling(siblingName).toString();
+	}
+
+	/**
+	 * Write the three files
+	 * @param filenameTasks Filename of the tasks file. The other two files are written to the same directory.
+	 * @return Filenames of all written files
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	public @NonNull List<@NonNull String> export(@NonNull String filenameTasks, @NonNull Format format) throws IOException {
+		final String filenameRgroups = getSiblingFilename(filenameTasks, "rgroups");
+		final String filenameRunits = getSiblingFilename(filenameTasks, "runits");
+
+		try (RowWriter rowWriter = createRowWriter(filenameTasks, format, COLUMNS_TASKS)) {
+			for (int taskIx : results.getTaskIxsInExecutionOrder()) {
+				writeTaskRow(rowWriter, taskIx);
+			}
+		}
+
+		try (RowWriter rowWriter = createRowWriter(filenameRgroups, format, COLUMNS_RGROUPS)) {
+			for (int rgroupIx = 0; rgroupIx < results.getRgroupCount(); rgroupIx++) {
+				writeRgroupRow(rowWriter, rgroupIx);
+			}
+		}
+
+		try (RowWriter rowWriter = createRowWriter(filenameRunits, format, COLUMNS_RUNITS)) {
+			for (int runitIx = 0; runitIx < results.getRunitCount(); runitIx++) {
+				writeRunitRow(rowWriter, runitIx);
+			}
+		}
+
+		return List.of(filenameTasks, filenameRgroups, filenameRunits);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private void writeTaskRow(@NonNull RowWriter rowWriter, int taskIx) throws IOException {
+		final int runitIx = results.getTaskRunitIx(taskIx);
+		final int rgroupIx = results.getTaskRgroupIx(taskIx);
+
+		rowWriter.beginRow();
+		rowWriter.id("taskId", results.getTaskExternalId(taskIx));
+		rowWriter.string("name", results.getTaskName(taskIx));
+		rowWriter.number("duration", results.getTaskDurationOrg(taskIx));
+		rowWriter.number("durationDelta", results.getTaskDurationDelta(taskIx));
+		rowWriter.number("timeStarted", results.getTaskTimeStarted(taskIx));
+		rowWriter.number("timeFinished", results.getTaskTimeFinished(taskIx));
+		rowWriter.dateTime("startedAt", results.getTaskStartedAt(taskIx));
+		rowWriter.dateTime("finishedAt", results.getTaskFinishedAt(taskIx));
+		rowWriter.number("progressPercent", results.getTaskProgressPercent(taskIx));
+		rowWriter.id("runitId", runitIx != ColumnarResults.NO_IX ? results.getRunitExternalId(runitIx) : null);
+		rowWriter.id("rgroupId", rgroupIx != ColumnarResults.NO_IX ? results.getRgroupExternalId(rgroupIx) : null);
+		rowWriter.endRow();
+	}
+
+	private void writeRgroupRow(@NonNull RowWriter rowWriter, int rgroupIx) throws IOException {
+		rowWriter.beginRow();
+		rowWriter.id("rgroupId", results.getRgroupExternalId(rgroupIx));
+		rowWriter.string("name", results.getRgroupName(rgroupIx));
+		rowWriter.number("timeIdled", results.getRgroupTimeIdled(rgroupIx));
+		rowWriter.number("timeBusy", results.getRgroupTimeBusy(rgroupIx));
+		rowWriter.number("maxRunitsUsed", results.getRgroupMaxRunitsUsed(rgroupIx));
+		rowWriter.number("amountRunits", results.getRgroupRunitCount(rgroupIx));
+		rowWriter.number("tasksCompleted", results.getRgroupTasksCompletedCount(rgroupIx));
+		rowWriter.endRow();
+	}
+
+	private void writeRunitRow(@NonNull RowWriter rowWriter, int runitIx) throws IOException {
+		final List<Comparable<?>> rgroupExternalIds = new ArrayList<>(results.getRunitRgroupCount(runitIx));
+		for (int associationIx = 0; associationIx < results.getRunitRgroupCount(runitIx); associationIx++) {
+			rgroupExternalIds.add(results.getRgroupExternalId(results.getRunitRgroupIx(runitIx, associationIx)));
+		}
+
+		rowWriter.beginRow();
+		rowWriter.id("runitId", results.getRunitExternalId(runitIx));
+		rowWriter.string("name", results.getRunitName(runitIx));
+		rowWriter.number("timeIdled", results.getRunitTimeIdled(runitIx));
+		rowWriter.number("timeBusy", results.getRunitTimeBusy(runitIx));
+		rowWriter.number("tasksCompleted", results.getRunitTasksCompletedCount(runitIx));
+		rowWriter.idList("rgroupIds", rgroupExternalIds);
+		rowWriter.endRow();
+	}
+
+	private static @NonNull RowWriter createRowWriter(
+				@NonNull String filename,
+				@NonNull Format format,
+				@NonNull List<String> csvColumns
+			) throws IOException {
+		final Writer writer;
+		try {
+			writer = new BufferedWriter(
+					new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8),
+					BUFFER_SIZE
+				);
+		} catch (FileNotFoundException e) {
+			throw new IOException("file '" + filename + "' could not be created or overwritten");
+		}
+		return switch (format) {
+				case CSV -> new CsvRowWriter(writer, csvColumns);
+				case NDJSON -> new NdjsonRowWriter(writer);
+			};
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Writes one row at a time. The field names are only used by formats that repeat them in every row.
+	 */
+	private abstract static class RowWriter implements Closeable {
+		protected final @NonNull Writer writer;
+
+		RowWriter(@NonNull Writer writer) {
+			this.writer = writer;
+		}
+
+		abstract void beginRow() throws IOException;
+
+		abstract void endRow() throws IOException;
+
+		abstract void string(@NonNull String name, @Nullable String value) throws IOException;
+
+		abstract void number(@NonNull String name, long value) throws IOException;
+
+		/**
+		 * @param externalId Long or String ID (null if not available)
+		 */
+		abstract void id(@NonNull String name, @Nullable Comparable<?> externalId) throws IOException;
+
+		/**
+		 * @param externalIds Long or String IDs (null if not available)
+		 */
+		abstract void idList(@NonNull String name, @NonNull List<@Nullable Comparable<?>> externalIds) throws IOException;
+
+		void dateTime(@NonNull String name, @Nullable LocalDateTime value) throws IOException {
+			string(name, value != null ? value.format(DATE_TIME_FORMATTER) : null);
+		}
+
+		@Override
+		public void close() throws IOException {
+			writer.close();
+		}
+	}
+
+	private static final class CsvRowWriter extends RowWriter {
+		private boolean isFirstField = true;
+
+		CsvRowWriter(@NonNull Writer writer, @NonNull List<String> columns) throws IOException {
+			super(writer);
+			writer.write(String.join(",", columns));
+			writer.write('\n');
+		}
+
+		@Override
+		void beginRow() {
+			isFirstField = true;
+		}
+
+		@Override
+		void endRow() throws IOException {
+			writer.write('\n');
+		}
+
+		@Override
+		void string(@NonNull String name, @Nullable String value) throws IOException {
+			writeSeparator();
+			if (value != null) {
+				writeQuoted(value);
+			}
+		}
+
+		@Override
+		void number(@NonNull String name, long value) throws IOException {
+			writeSeparator();
+			writer.write(Long.toString(value));
+		}
+
+		@Override
+		void id(@NonNull String name, @Nullable Comparable<?> externalId) throws IOException {
+			writeSeparator();
+			writeId(externalId);
+		}
+
+		@Override
+		void dateTime(@NonNull String name, @Nullable LocalDateTime value) throws IOException {
+			// unquoted like in the input files
+			writeSeparator();
+			if (value != null) {
+				writer.write(value.format(DATE_TIME_FORMATTER));
+			}
+		}
+
+		@Override
+		void idList(@NonNull String name, @NonNull List<@Nullable Comparable<?>> externalIds) throws IOException {
+			writeSeparator();
+			if (externalIds.isEmpty()) {
+				writer.write("none");
+				return;
+			}
+			// same format as the lists in the input files, e.g. 20:30 or "ABC-10":"DEF-20"
+			boolean isFirstId = true;
+			for (Comparable<?> externalId : externalIds) {
+				if (! isFirstId) {
+					writer.write(':');
+				}
+				isFirstId = false;
+				writeId(externalId);
+			}
+		}
+
+		private void writeSeparator() throws IOException {
+			if (! isFirstField) {
+				writer.write(',');
+			}
+			isFirstField = false;
+		}
+
+		private void writeId(@Nullable Comparable<?> externalId) throws IOException {
+			switch (externalId) {
+				case null -> { }
+				case Long idLong -> writer.write(Long.toString(idLong));
+				default -> writeQuoted(externalId.toString());
+			}
+		}
+
+		private void writeQuoted(@NonNull String value) throws IOException {
+			writer.write('"');
+			writer.write(value.replace("\"", "\"\""));
+			writer.write('"');
+		}
+	}
+
+	private static final class NdjsonRowWriter extends RowWriter {
+		private final @NonNull JsonWriter jsonWriter;
+
+		NdjsonRowWriter(@NonNull Writer writer) {
+			super(writer);
+			// the JSON writer doesn't buffer, so closing the underlying writer is sufficient
+			jsonWriter = new JsonWriter(writer);
+			// allows one top-level value per line
+			jsonWriter.setStrictness(Strictness.LENIENT);
+			jsonWriter.setSerializeNulls(true);
+		}
+
+		@Override
+		void beginRow() throws IOException {
+			jsonWriter.beginObject();
+		}
+
+		@Override
+		void endRow() throws IOException {
+			jsonWriter.endObject();
+			writer.write('\n');
+		}
+
+		@Override
+		void string(@NonNull String name, @Nullable String value) throws IOException {
+			jsonWriter.name(name).value(value);
+		}
+
+		@Override
+		void number(@NonNull String name, long value) throws IOException {
+			jsonWriter.name(name).value(value);
+		}
+
+		@Override
+		void id(@NonNull String name, @Nullable Comparable<?> externalId) throws IOException {
+			jsonWriter.name(name);
+			writeId(externalId);
+		}
+
+		@Override
+		void idList(@NonNull String name, @NonNull List<@Nullable Comparable<?>> externalIds) throws IOException {
+			jsonWriter.name(name);
+			jsonWriter.beginArray();
+			for (Comparable<?> externalId : externalIds) {
+				writeId(externalId);
+			}
+			jsonWriter.endArray();
+		}
+
+		private void writeId(@Nullable Comparable<?> externalId) throws IOException {
+			switch (externalId) {
+				case null -> jsonWriter.nullValue();
+				case Long idLong -> jsonWriter.value(idLong);
+				default -> jsonWriter.value(externalId.toString());
+			}
+		}
+	}
+}
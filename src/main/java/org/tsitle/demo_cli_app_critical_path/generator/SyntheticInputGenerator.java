@@ -0,0 +1,303 @@
+package org.tsitle.demo_cli_app_critical_path.generator;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+import org.tsitle.demo_cli_app_critical_path.json.Serializer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a consistent set of synthetic input files (see docs/csv_files.md)
+ * and a matching configuration file for load-testing the application
+ */
+public final class SyntheticInputGenerator {
+	/**
+	 * Shape of the dependency graph of the generated tasks
+	 */
+	public enum DagShape {
+		/** independent chains of tasks, where every task depends on its predecessor */
+		CHAINS,
+		/** a root task that fans out to many parallel tasks which are then joined by a single task (repeated) */
+		FAN,
+		/** layers of tasks, where every task depends on random tasks of the previous layer */
+		LAYERED
+	}
+
+	/**
+	 * @param amountTasks Amount of tasks to generate
+	 * @param dagShape Shape of the dependency graph
+	 * @param shapeWidth Length of the chains (CHAINS), amount of parallel tasks per fan (FAN)
+	 *                   or amount of tasks per layer (LAYERED)
+	 * @param maxDependencies Maximum amount of dependencies per task (only used for LAYERED)
+	 * @param amountRgroups Amount of resource groups
+	 * @param runitsPerRgroup Amount of resource units per resource group
+	 * @param maxDuration Maximum task duration (the minimum is 1)
+	 * @param indicesType Type of the IDs in the generated files
+	 * @param seed Seed for the random number generator
+	 */
+	public record Settings(
+				int amountTasks,
+				@NonNull DagShape dagShape,
+				int shapeWidth,
+				int maxDependencies,
+				int amountRgroups,
+				int runitsPerRgroup,
+				int maxDuration,
+				AppConfig.@NonNull IndicesType indicesType,
+				long seed
+			) {
+		@SuppressWarnings("ConstantValue")
+		public void validate() throws InvalidInputDataException {
+			final String prefix = "SyntheticInputGenerator.Settings.";
+			if (amountTasks < 1) {
+				throw new InvalidInputDataException(prefix + "amountTasks must be >= 1");
+			}
+			if (dagShape == null) {
+				throw new InvalidInputDataException(prefix + "dagShape may not be null");
+			}
+			if (shapeWidth < 1) {
+				throw new InvalidInputDataException(prefix + "shapeWidth must be >= 1");
+			}
+			if (maxDependencies < 1) {
+				throw new InvalidInputDataException(prefix + "maxDependencies must be >= 1");
+			}
+			if (amountRgroups < 1) {
+				throw new InvalidInputDataException(prefix + "amountRgroups must be >= 1");
+			}
+			if (runitsPerRgroup < 1) {
+				throw new InvalidInputDataException(prefix + "runitsPerRgroup must be >= 1");
+			}
+			if (maxDuration < 1) {
+				throw new InvalidInputDataException(prefix + "maxDuration must be >= 1");
+			}
+			if (indicesType == null) {
+				throw new InvalidInputDataException(prefix + "indicesType may not be null");
+			}
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/** configuration that provides the settings that are not related to the input data (time unit, off-duty times) */
+	private static final String TEMPLATE_CONFIG_FILENAME = "rsc:config-g.json";
+
+	private static final String FILENAME_SUFFIX_TASKS = "-tasks.csv";
+	private static final String FILENAME_SUFFIX_RUNITS = "-runits.csv";
+	private static final String FILENAME_SUFFIX_RGROUPS = "-rgroups.csv";
+	private static final String FILENAME_SUFFIX_ASSOC_RUNITS_W_RGROUPS = "-assoc_runits_w_rgroups.csv";
+	private static final String FILENAME_SUFFIX_ASSOC_RGROUPS_W_TASKS = "-assoc_rgroups_w_tasks.csv";
+	private static final String FILENAME_SUFFIX_CONFIG = "-config.json";
+
+	private final @NonNull Settings settings;
+	private final @NonNull Path outputDir;
+	private final @NonNull String filenamePrefix;
+
+	public SyntheticInputGenerator(
+				@NonNull Settings settings,
+				@NonNull Path outputDir,
+				@NonNull String filenamePrefix
+			) throws InvalidInputDataException {
+		settings.validate();
+		this.settings = settings;
+		this.outputDir = outputDir.toAbsolutePath().normalize();
+		this.filenamePrefix = filenamePrefix;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Write all input files and the configuration file.
+	 * The same settings (including the seed) always produce the same files.
+	 * @return Path of the configuration file
+	 * @throws IOException If an I/O error occurs while writing the files
+	 */
+	public @NonNull Path generate() throws IOException {
+		Files.createDirectories(outputDir);
+
+		writeTasks(getOutputPath(FILENAME_SUFFIX_TASKS));
+		writeRunits(getOutputPath(FILENAME_SUFFIX_RUNITS));
+		writeRgroups(getOutputPath(FILENAME_SUFFIX_RGROUPS));
+		writeAssocRunitsWithRgroups(getOutputPath(FILENAME_SUFFIX_ASSOC_RUNITS_W_RGROUPS));
+		writeAssocRgroupsWithTasks(getOutputPath(FILENAME_SUFFIX_ASSOC_RGROUPS_W_TASKS));
+
+		final Path configPath = getOutputPath(FILENAME_SUFFIX_CONFIG);
+		writeAppConfig(configPath);
+		return configPath;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private @NonNull Path getOutputPath(@NonNull String filenameSuffix) {
+		return outputDir.resolve(filenamePrefix + filenameSuffix);
+	}
+
+	/**
+	 * Paths in the configuration file always use '/' as separator
+	 */
+	private @NonNull String getOutputPathForConfig(@NonNull String filenameSuffix) {
+		return getOutputPath(filenameSuffix).toString().replace('\\', '/');
+	}
+
+	private @NonNull String formatId(char typePrefix, long index) {
+		if (settings.indicesType() == AppConfig.IndicesType.NUM) {
+			return String.valueOf(index + 1);
+		}
+		return "\"" + typePrefix + "-" + String.format("%08d", index + 1) + "\"";
+	}
+
+	private @NonNull String formatTaskId(long taskIx) {
+		return formatId('T', taskIx);
+	}
+
+	private @NonNull String formatRunitId(long runitIx) {
+		return formatId('U', runitIx);
+	}
+
+	private @NonNull String formatRgroupId(long rgroupIx) {
+		return formatId('G', rgroupIx);
+	}
+
+	private void writeTasks(@NonNull Path path) throws IOException {
+		final Random random = new Random(settings.seed());
+		final int width = settings.shapeWidth();
+
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC\n");
+			StringBuilder deps = new StringBuilder();
+			final int[] chosenDeps = new int[settings.maxDependencies()];
+			for (int taskIx = 0; taskIx < settings.amountTasks(); taskIx++) {
+				deps.setLength(0);
+				switch (settings.dagShape()) {
+					case CHAINS -> {
+						if (taskIx % width != 0) {
+							appendDependency(deps, taskIx - 1);
+						}
+					}
+					case FAN -> {
+						// every fan consists of one root task, 'width' parallel tasks and one joining task
+						final int fanSize = width + 2;
+						final int fanStart = (taskIx / fanSize) * fanSize;
+						final int posInFan = taskIx - fanStart;
+						if (posInFan == 0 && fanStart > 0) {
+							appendDependency(deps, fanStart - 1);
+						} else if (posInFan > 0 && posInFan <= width) {
+							appendDependency(deps, fanStart);
+						} else if (posInFan == width + 1) {
+							for (int parallelIx = fanStart + 1; parallelIx <= fanStart + width; parallelIx++) {
+								appendDependency(deps, parallelIx);
+							}
+						}
+					}
+					case LAYERED -> {
+						final int layerStart = (taskIx / width) * width;
+						if (layerStart > 0) {
+							final int amountDeps = 1 + random.nextInt(Math.min(settings.maxDependencies(), width));
+							for (int depIx = 0; depIx < amountDeps; depIx++) {
+								chosenDeps[depIx] = layerStart - width + random.nextInt(width);
+								boolean isDuplicate = false;
+								for (int prevDepIx = 0; prevDepIx < depIx && ! isDuplicate; prevDepIx++) {
+									isDuplicate = (chosenDeps[prevDepIx] == chosenDeps[depIx]);
+								}
+								if (! isDuplicate) {
+									appendDependency(deps, chosenDeps[depIx]);
+								}
+							}
+						}
+					}
+				}
+				if (deps.isEmpty()) {
+					deps.append("none");
+				}
+				final int duration = 1 + random.nextInt(settings.maxDuration());
+				writer.write(formatTaskId(taskIx) + ",\"Task " + (taskIx + 1) + "\"," + duration + "," + deps + ",,\n");
+			}
+		}
+	}
+
+	private void appendDependency(@NonNull StringBuilder deps, long depTaskIx) {
+		if (! deps.isEmpty()) {
+			deps.append(':');
+		}
+		deps.append(formatTaskId(depTaskIx));
+	}
+
+	private void writeRunits(@NonNull Path path) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("RunitId,Name\n");
+			final long amountRunits = (long)settings.amountRgroups() * settings.runitsPerRgroup();
+			for (long runitIx = 0; runitIx < amountRunits; runitIx++) {
+				writer.write(formatRunitId(runitIx) + ",\"Resource Unit " + (runitIx + 1) + "\"\n");
+			}
+		}
+	}
+
+	private void writeRgroups(@NonNull Path path) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("RgroupId,Name\n");
+			for (int rgroupIx = 0; rgroupIx < settings.amountRgroups(); rgroupIx++) {
+				writer.write(formatRgroupId(rgroupIx) + ",\"Resource Group " + (rgroupIx + 1) + "\"\n");
+			}
+		}
+	}
+
+	private void writeAssocRunitsWithRgroups(@NonNull Path path) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("RgroupId,RunitsIdList\n");
+			for (int rgroupIx = 0; rgroupIx < settings.amountRgroups(); rgroupIx++) {
+				StringBuilder runits = new StringBuilder();
+				for (int runitIx = 0; runitIx < settings.runitsPerRgroup(); runitIx++) {
+					if (runitIx > 0) {
+						runits.append(':');
+					}
+					runits.append(formatRunitId((long)rgroupIx * settings.runitsPerRgroup() + runitIx));
+				}
+				writer.write(formatRgroupId(rgroupIx) + "," + runits + "\n");
+			}
+		}
+	}
+
+	private void writeAssocRgroupsWithTasks(@NonNull Path path) throws IOException {
+		// separate random number generator so that the tasks do not depend on the amount of resource groups
+		final Random random = new Random(settings.seed() ^ 0x5DEECE66DL);
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("TaskId,RgroupId\n");
+			for (int taskIx = 0; taskIx < settings.amountTasks(); taskIx++) {
+				writer.write(formatTaskId(taskIx) + "," + formatRgroupId(random.nextInt(settings.amountRgroups())) + "\n");
+			}
+		}
+	}
+
+	private void writeAppConfig(@NonNull Path path) throws IOException {
+		final AppConfig templateConfig = Deserializer.readAppConfigFromFile(TEMPLATE_CONFIG_FILENAME);
+
+		final AppConfig appConfig = new AppConfig(
+				new AppConfig.Debugging(false, false, false, false, false, false),
+				templateConfig.timeUnit(),
+				templateConfig.offDutyTimes(),
+				new AppConfig.InputData(
+						settings.indicesType(),
+						List.of(getOutputPathForConfig(FILENAME_SUFFIX_TASKS)),
+						false,
+						new AppConfig.InputDataBasic(settings.amountRgroups() * settings.runitsPerRgroup()),
+						new AppConfig.InputDataAdvanced(
+								List.of(getOutputPathForConfig(FILENAME_SUFFIX_RUNITS)),
+								List.of(getOutputPathForConfig(FILENAME_SUFFIX_RGROUPS)),
+								List.of(getOutputPathForConfig(FILENAME_SUFFIX_ASSOC_RUNITS_W_RGROUPS)),
+								List.of(getOutputPathForConfig(FILENAME_SUFFIX_ASSOC_RGROUPS_W_TASKS))
+							)
+					)
+			);
+		Files.writeString(path, Serializer.appConfigToJsonString(appConfig), StandardCharsets.UTF_8);
+	}
+}
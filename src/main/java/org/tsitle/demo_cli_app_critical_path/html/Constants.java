@@ -5,6 +5,7 @@ import java.util.List;
 class Constants {
 	static final String CSS_ID_SECT_GANTT_CHART = "section-gantt-chart";
 	static final String CSS_ID_GANTT_CHART_JS = "gantt-chart-js";
+	static final String CSS_ID_GANTT_CHART_DATA = "gantt-chart-data";
 	static final String CSS_ID_SECT_OVERVIEW_TASKS = "section-overview-tasks";
 	static final String CSS_ID_SECT_STATISTICS_MAIN = "section-statistics-main";
 	static final String CSS_ID_SUBSECT_STATISTICS_SUB_RG = "statistics-rg";
@@ -16,6 +17,14 @@ class Constants {
 	static final String CSS_CLASS_TABLE_HEAD_ROW = "cpm-table-head-row";
 	static final String CSS_CLASS_TABLE_BODY_ROW = "cpm-table-body-row";
 	static final String CSS_CLASS_CELL = "cpm-table-row-cell";
+	static final String CSS_CLASS_VTABLE = "cpm-vtable";
+	static final String CSS_ID_PREFIX_VTABLE_DATA = "vtable-data-";
+
+	/** minimum amount of tasks for which {@link HtmlTableMode#AUTO} writes virtualized tables */
+	static final int MIN_TASKS_FOR_VIRTUAL_TABLES = 2000;
+	/** height of a row in virtualized tables in pixels (all rows have the same height) */
+	static final int VTABLE_ROW_HEIGHT_PX = 24;
+	static final int VTABLE_VIEWPORT_HEIGHT_PX = 600;
 
 	static final String CSS_ROW_BG_COLOR_ODD = "#edfbff";
 	static final String CSS_ROW_BG_COLOR_EVEN = "#d7e4ea";
@@ -1,65 +1,146 @@
 package org.tsitle.demo_cli_app_critical_path.html;
 
 import com.google.common.html.HtmlEscapers;
+import com.google.gson.stream.JsonWriter;
 import io.github.tsitle.criticalpath.cpmresults.*;
-import io.github.tsitle.criticalpath.ResultsPostProcessing;
 import io.github.tsitle.criticalpath.dateformatters.DateFormatters;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.calendar.OffDutyTimesCache;
 import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.results.ColumnarResults;
 
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
 
 public final class CpmResultsToHtml {
+	/**
+	 * Layout of a table
+	 * @param cssId Optional ID of the table element
+	 * @param cssClassPrefix Prefix of the CSS classes of the rows and cells (e.g. "overview-tasks")
+	 * @param fieldIds Field IDs for the CSS classes of the cells
+	 * @param headers Column headers
+	 */
+	private record TableSpec(
+				@Nullable String cssId,
+				@NonNull String cssClassPrefix,
+				@NonNull List<@NonNull String> fieldIds,
+				@NonNull List<@NonNull String> headers
+			) { }
+
+	private static final TableSpec TABLE_SPEC_OVERVIEW_TASKS = new TableSpec(
+			null,
+			"overview-tasks",
+			Constants.FIELD_IDS_FOR_CSSCLASS_OVERVIEW_TASKS,
+			Constants.COLUMN_HEADERS_OVERVIEW_TASKS
+		);
+	private static final TableSpec TABLE_SPEC_STATS_RG = new TableSpec(
+			Constants.CSS_ID_SUBSECT_STATISTICS_SUB_RG,
+			"statistics-rg",
+			Constants.FIELD_IDS_FOR_CSSCLASS_STATS_RG,
+			Constants.COLUMN_HEADERS_STATS_RG
+		);
+	private static final TableSpec TABLE_SPEC_STATS_RU = new TableSpec(
+			Constants.CSS_ID_SUBSECT_STATISTICS_SUB_RU,
+			"statistics-ru",
+			Constants.FIELD_IDS_FOR_CSSCLASS_STATS_RU,
+			Constants.COLUMN_HEADERS_STATS_RU
+		);
+
 	private final @NonNull AppConfig appConfig;
-	private final @NonNull CpmResult cpmResult;
-	private final @NonNull CpmPostProcessedResult postProcessedResult;
+	private final @NonNull ColumnarResults results;
+	private final @NonNull OffDutyTimesCache offDutyTimesCache;
 	private final @NonNull String outputFilename;
-	private @Nullable OutputStream outputStream = null;
+	private final boolean useVirtualTables;
+	private @Nullable HtmlOutputSink outputSink = null;
 
+	/**
+	 * @param results Results including the post-processed tasks (e.g. if they are needed for other outputs as well)
+	 * @param offDutyTimesCache Off-duty times that have been prepared from {@code appConfig}
+	 */
 	public CpmResultsToHtml(
 				@NonNull AppConfig appConfig,
-				@NonNull CpmResult cpmResult,
-				@NonNull LocalDateTime presentDateTime,
-				@NonNull String outputFilename
+				@NonNull ColumnarResults results,
+				@NonNull OffDutyTimesCache offDutyTimesCache,
+				@NonNull String outputFilename,
+				@NonNull HtmlTableMode tableMode
 			) {
+		if (! results.hasPostProcessedResult()) {
+			throw new IllegalArgumentException("the results have not been post-processed");
+		}
 		this.appConfig = appConfig;
-		this.cpmResult = cpmResult;
+		this.results = results;
 		this.outputFilename = outputFilename;
+		this.offDutyTimesCache = offDutyTimesCache;
 
-		//
-		final ResultsPostProcessing rppObj = new ResultsPostProcessing(
-				appConfig.timeUnit(),
-				appConfig.offDutyTimes().workDays(),
-				appConfig.offDutyTimes().workHours(),
-				appConfig.offDutyTimes().holidaysAsLocalDates(),
-				presentDateTime,
-				cpmResult
-			);
-		this.postProcessedResult = rppObj.processTasks();
+		this.useVirtualTables = switch (tableMode) {
+				case DOM -> false;
+				case VIRTUAL -> true;
+				case AUTO -> results.getTaskCount() >= Constants.MIN_TASKS_FOR_VIRTUAL_TABLES;
+			};
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
 	// -----------------------------------------------------------------------------------------------------------------
 
-	public void output() throws IOException {
-		try (OutputStream os = new FileOutputStream(outputFilename)) {
-			outputStream = os;
-
-			internalOutput();
-		} catch (FileNotFoundException e) {
+	/**
+	 * Write the HTML document to the output file.
+	 * The document is written to a temporary file first and then moved into place,
+	 * so the output file never contains a partially written document (e.g. while a browser reloads it).
+	 * <p>
+	 * If the filename ends with {@code .gz}, the document is GZIP-compressed while it is written.
+	 * @return Size of the output file in bytes
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	public long output() throws IOException {
+		final Path outputPath = Paths.get(outputFilename).toAbsolutePath().normalize();
+		// not using Files.createTempFile() since that would restrict the file permissions to the owner
+		final Path tempPath = outputPath.resolveSibling("." + outputPath.getFileName() + ".tmp");
+		final boolean gzip = outputPath.getFileName().toString().toLowerCase().endsWith(".gz");
+		final HtmlOutputSink sink;
+		try {
+			sink = HtmlOutputSink.forFile(tempPath.toString(), gzip);  // throws IOException
+		} catch (IOException e) {
 			throw new IOException("file '" + outputFilename + "' could not be created or overwritten");
+		}
+		try {
+			try (sink) {
+				output(sink);
+			}
+			try {
+				Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return sink.getBytesWritten();
 		} catch (IOException e) {
 			throw new IOException("IOException while writing to '" + outputFilename + "': " + e.getMessage());
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	/**
+	 * Write the HTML document to a sink. The sink will not be closed.
+	 * @param sink Output sink (e.g. {@link HtmlOutputSink#forStdout()})
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	public void output(@NonNull HtmlOutputSink sink) throws IOException {
+		outputSink = sink;
+		try {
+			internalOutput();
+		} finally {
+			outputSink = null;
 		}
 	}
 
@@ -138,57 +219,48 @@ public final class CpmResultsToHtml {
 				CSS_OVERFLOW_HIDDEN_WS_NOWRAP + ";min-width:15px;max-width:250px;text-overflow:ellipsis; }");
 		writeln(2, "." + Constants.CSS_CLASS_CELL + ":nth-child(1) { border-left:0px solid black; }");
 
+		if (useVirtualTables) {
+			writeHeadStylesVirtualTables();
+		}
+
 		writeln(2, "#" + Constants.CSS_ID_SECT_GENERATION_TIME + " { border-top:1px solid black; }");
 
 		writeln(1, "</style>");
 	}
 
+	private void writeHeadStylesVirtualTables() throws IOException {
+		final String VT = "." + Constants.CSS_CLASS_VTABLE;
+
+		writeln(2, VT + " { background-color:" + Constants.CSS_TABLE_BG_COLOR + "; }");
+		writeln(2, VT + "-filter { margin:3px 5px; }");
+		writeln(2, VT + "-head, " + VT + "-viewport { scrollbar-gutter:stable; }");
+		writeln(2, VT + "-head { overflow:hidden; }");
+		writeln(2, VT + "-viewport { max-height:" + Constants.VTABLE_VIEWPORT_HEIGHT_PX + "px;overflow-y:auto; }");
+		writeln(2, VT + "-row { display:grid;grid-template-columns:var(--cpm-vtable-columns);" +
+				"height:" + Constants.VTABLE_ROW_HEIGHT_PX + "px;line-height:" + Constants.VTABLE_ROW_HEIGHT_PX + "px; }");
+		writeln(2, VT + "-row span { padding:0 5px;border-left:1px solid black;" +
+				"overflow:hidden;white-space:nowrap;text-overflow:ellipsis; }");
+		writeln(2, VT + "-row span:nth-child(1) { border-left:0px solid black; }");
+		writeln(2, VT + "-head span { font-weight:bold;cursor:pointer; }");
+		writeln(2, VT + "-head span.sorted-asc::after { content:' \\25B2'; }");
+		writeln(2, VT + "-head span.sorted-desc::after { content:' \\25BC'; }");
+		writeln(2, VT + "-row.odd { background-color:" + Constants.CSS_ROW_BG_COLOR_ODD + "; }");
+		writeln(2, VT + "-row.even { background-color:" + Constants.CSS_ROW_BG_COLOR_EVEN + "; }");
+	}
+
 	private void writeHeadline(int level, String hTag, String title) throws IOException {
 		writeln(level, "<div class=\"headline-wrapper\">" +
 				"<" + hTag + ">" + title + "</" + hTag + ">" +
 				"</div>");
 	}
 
-	private CpmPostProcessedSubResultTask createEmptyPpTask() {
-		CpmSubResultTask srTask = new CpmSubResultTask(
-				0,
-				"-",
-				Constants.TEXT_NO_TASKS_TO_DISPLAY,
-				0,
-				0,
-				null,
-				null,
-				new HashSet<>(),
-				new HashSet<>(),
-				false,
-				null,
-				null
-			);
-		return new CpmPostProcessedSubResultTask(srTask.id(), srTask);
-	}
-
-	private CpmSubResultRgroup createEmptySrRgroup() {
-		return new CpmSubResultRgroup(
-				0,
-				"-",
-				Constants.TEXT_NO_RGROUPS_TO_DISPLAY,
-				0L,
-				0L,
-				0,
-				new ArrayList<>()
-			);
-	}
-
-	private CpmSubResultRunit createEmptySrRunit() {
-		return new CpmSubResultRunit(
-				0,
-				"-",
-				Constants.TEXT_NO_RUNITS_TO_DISPLAY,
-				0L,
-				0L,
-				new HashSet<>(),
-				new HashSet<>()
-			);
+	/**
+	 * @return Cells of the placeholder row of an empty table
+	 */
+	private static @NonNull List<String> buildEmptyEntryCellValues(@NonNull String text, int amountCells) {
+		final List<String> resList = new ArrayList<>(Collections.nCopies(amountCells, "-"));
+		resList.set(1, text);
+		return resList;
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -197,7 +269,7 @@ public final class CpmResultsToHtml {
 		writeln(1, "<section id=\"" + Constants.CSS_ID_SECT_GANTT_CHART + "\">");
 		writeHeadline(2, "h2", "Gantt Chart For Optimum Order Of Task Completion");
 
-		if (cpmResult.resultsTasks().isEmpty()) {
+		if (results.getTaskCount() == 0) {
 			writeln(2, "<p>" + Constants.TEXT_NO_TASKS_TO_DISPLAY + "</p>");
 		} else {
 			writeln(2, "<div id=\"" + Constants.CSS_ID_GANTT_CHART_JS + "\"></div>");
@@ -211,78 +283,52 @@ public final class CpmResultsToHtml {
 	private void writeSectionOverviewTasks() throws IOException {
 		writeln(1, "<section id=\"" + Constants.CSS_ID_SECT_OVERVIEW_TASKS + "\">");
 		writeHeadline(2, "h2", "Overview Of Tasks In Execution Order");
-		writeln(2, "<div class=\"" + Constants.CSS_CLASS_TABLE + "\">");
 
-		writeOverviewTasksEntryHeader();
-
-		if (postProcessedResult.postProcessedTasks().isEmpty()) {
-			writeOverviewTasksEntryTask(createEmptyPpTask(), true);
-		}
-		for (CpmPostProcessedSubResultTask ppTask : postProcessedResult.postProcessedTasks()) {
-			writeOverviewTasksEntryTask(ppTask, false);
-		}
+		writeTable(
+				2,
+				TABLE_SPEC_OVERVIEW_TASKS,
+				results.getTaskCount() == 0 ?
+						buildEmptyEntryCellValues(Constants.TEXT_NO_TASKS_TO_DISPLAY, TABLE_SPEC_OVERVIEW_TASKS.fieldIds().size()) :
+						null,
+				results.getTaskIxsInExecutionOrder(),
+				this::buildOverviewTasksCellValues
+			);
 
-		writeln(2, "</div>");
 		writeln(1, "</section>");
 	}
 
-	private void writeOverviewTasksEntryHeader() throws IOException {
-		writeTableRow(
-				3,
-				Constants.CSS_CLASS_TABLE_HEAD_ROW + " overview-tasks-head",
-				"overview-tasks-head-content",
-				Constants.FIELD_IDS_FOR_CSSCLASS_OVERVIEW_TASKS,
-				Constants.COLUMN_HEADERS_OVERVIEW_TASKS
-			);
-	}
-
-	private void writeOverviewTasksEntryTask(CpmPostProcessedSubResultTask ppTask, boolean isEmptyEntry) throws IOException {
+	private @NonNull List<String> buildOverviewTasksCellValues(int taskIx) {
 		String runitStr = "-";
 		String rgroupStr = "-";
 		String durationStr = "-";
 		String timeStartedStr = "-";
 		String timeFinishedStr = "-";
-		if (! isEmptyEntry && ppTask.srTask().idOfRgroupThatFinishedTask() != null &&
-				ppTask.srTask().idOfRunitThatFinishedTask() != null) {
-			CpmSubResultRgroup rgroupObj = cpmResult.resultsRgroups().stream()
-					.filter(x ->
-							x.id() == ppTask.srTask().idOfRgroupThatFinishedTask()
-						)
-					.findFirst()
-					.orElseThrow(() -> new IllegalStateException("Could not find resource group for task id=" + ppTask.id()));
-			CpmSubResultRunit runitObj = rgroupObj.resultsRunits().stream()
-					.filter(x -> x.id() == ppTask.srTask().idOfRunitThatFinishedTask())
-					.findFirst()
-					.orElseThrow(() -> new IllegalStateException("Could not find resource unit for task id=" + ppTask.id()));
-			runitStr = runitObj.name() + " (ID " + getExternalIdForOutput(runitObj.externalId()) + ")";
-			rgroupStr = rgroupObj.name() + " (ID " + getExternalIdForOutput(rgroupObj.externalId()) + ")";
+		final int rgroupIx = results.getTaskRgroupIx(taskIx);
+		final int runitIx = results.getTaskRunitIx(taskIx);
+		if (rgroupIx != ColumnarResults.NO_IX && runitIx != ColumnarResults.NO_IX) {
+			runitStr = results.getRunitName(runitIx) + " (ID " + getExternalIdForOutput(results.getRunitExternalId(runitIx)) + ")";
+			rgroupStr = results.getRgroupName(rgroupIx) + " (ID " + getExternalIdForOutput(results.getRgroupExternalId(rgroupIx)) + ")";
 
 			final String timeUnitLabel = getTimeUnitLabel();
-			durationStr = ppTask.durationOrg() + timeUnitLabel +
-					" (+ " + ppTask.durationDelta() + timeUnitLabel + ")";
+			durationStr = results.getTaskDurationOrg(taskIx) + timeUnitLabel +
+					" (+ " + results.getTaskDurationDelta(taskIx) + timeUnitLabel + ")";
 
 			final DateTimeFormatter formatter = DateFormatters.getFormatterForTimeUnit(appConfig.timeUnit());
 
-			timeStartedStr = ppTask.taskStartedAdjustedDateTime().format(formatter);
-			timeFinishedStr = ppTask.taskFinishedAdjustedDateTime().format(formatter);
+			timeStartedStr = results.getTaskStartedAt(taskIx).format(formatter);
+			timeFinishedStr = results.getTaskFinishedAt(taskIx).format(formatter);
 		}
 
-		List<String> cellValues = List.of(
-				ppTask.srTask().externalId() != null ? getExternalIdForOutput(ppTask.srTask().externalId(), false) : "",
-				ppTask.srTask().name(),
+		return List.of(
+				results.getTaskExternalId(taskIx) != null ?
+						getExternalIdForOutput(results.getTaskExternalId(taskIx), false) : "",
+				results.getTaskName(taskIx),
 				durationStr,
 				timeStartedStr,
 				timeFinishedStr,
 				runitStr,
 				rgroupStr
 			);
-		writeTableRow(
-				3,
-				Constants.CSS_CLASS_TABLE_BODY_ROW + " overview-tasks-entry",
-				"overview-tasks-entry-content",
-				Constants.FIELD_IDS_FOR_CSSCLASS_OVERVIEW_TASKS,
-				cellValues
-			);
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -295,165 +341,104 @@ public final class CpmResultsToHtml {
 		final String timeUnitStr = appConfig.timeUnit().toString().toLowerCase();
 		writeln(3, "<ul>");
 		writeln(4, "<li><span>Minimum time required to complete all tasks: " +
-				postProcessedResult.totalTimeSpent() + " " + timeUnitStr + "</span><br />" +
-				"<span>(including " + postProcessedResult.totalOffDutyTimeDuringProjectsTimeSpan() +
+				results.getTotalTimeSpent() + " " + timeUnitStr + "</span><br />" +
+				"<span>(including " + results.getTotalOffDutyTimeDuringProjectsTimeSpan() +
 				" off-duty " + timeUnitStr + ")</span></li>");
-		final String idealWorkingTimeStr = "<br /><span>(the ideal would be " + cpmResult.timePassed() +
+		final String idealWorkingTimeStr = "<br /><span>(the ideal would be " + results.getTimePassed() +
 				" working " + timeUnitStr + ")</span>";
 		final String maybeProblemStr = " <span><strong>There might be a problem in the input data</strong></span>";
 		writeln(4, "<li><span>Minimum working time required to complete all tasks: " +
-				postProcessedResult.totalWorkingTime() + " working " + timeUnitStr + "</span>" +
-				(postProcessedResult.totalWorkingTime() == cpmResult.timePassed() ? "" : idealWorkingTimeStr) +
-				(postProcessedResult.totalWorkingTime() >= cpmResult.timePassed() ? "" : maybeProblemStr) +
+				results.getTotalWorkingTime() + " working " + timeUnitStr + "</span>" +
+				(results.getTotalWorkingTime() == results.getTimePassed() ? "" : idealWorkingTimeStr) +
+				(results.getTotalWorkingTime() >= results.getTimePassed() ? "" : maybeProblemStr) +
 				"</li>");
 		writeln(4, "<li><span>Minimum time left until all tasks have been completed: " +
-				postProcessedResult.timeLeftUntilProjectsEnd() + " " + timeUnitStr + "</span><br />" +
-				"<span>(including " + postProcessedResult.offDutyTimeLeftUntilProjectsEnd() +
+				results.getTimeLeftUntilProjectsEnd() + " " + timeUnitStr + "</span><br />" +
+				"<span>(including " + results.getOffDutyTimeLeftUntilProjectsEnd() +
 				" off-duty " + timeUnitStr + ")</span></li>");
 		writeln(4, "<li><span>Accumulated time that Resource Units idled: " +
-				cpmResult.timeIdled() + " working " + timeUnitStr + "</span><br />" +
+				results.getTimeIdled() + " working " + timeUnitStr + "</span><br />" +
 				"<span>(when there were pending Tasks but no new Task could be started<br />" +
 				"because there were no available Resource Units or the Task still had pending dependencies)</span></li>");
 		writeln(4, "<li><span>Maximum Resource Units used in parallel: " +
-				cpmResult.maxRunitsUsed() + "</span></li>");
+				results.getMaxRunitsUsed() + "</span></li>");
 		writeln(3, "</ul>");
 
 		writeHeadline(3, "h3", "Per Resource Group");
-		writeln(3, "<div id=\"" + Constants.CSS_ID_SUBSECT_STATISTICS_SUB_RG + "\" class=\"" + Constants.CSS_CLASS_TABLE + "\">");
-		writeStatisticsSubRgEntryHeader();
-		if (cpmResult.resultsRgroups().isEmpty()) {
-			writeStatisticsSubRgEntryRgroup(createEmptySrRgroup(), true);
-		}
-		for (CpmSubResultRgroup srRgroup : cpmResult.resultsRgroups().stream().sorted(Comparator.comparing(CpmSubResultRgroup::name)).toList()) {
-			writeStatisticsSubRgEntryRgroup(srRgroup, false);
-		}
-		writeln(3, "</div>");
+		writeTable(
+				3,
+				TABLE_SPEC_STATS_RG,
+				results.getRgroupCount() == 0 ?
+						buildEmptyEntryCellValues(Constants.TEXT_NO_RGROUPS_TO_DISPLAY, TABLE_SPEC_STATS_RG.fieldIds().size()) :
+						null,
+				results.getRgroupIxsByName(),
+				this::buildStatisticsSubRgCellValues
+			);
 
 		writeHeadline(3, "h3", "Per Resource Unit");
-		writeln(3, "<div id=\"" + Constants.CSS_ID_SUBSECT_STATISTICS_SUB_RU + "\" class=\"" + Constants.CSS_CLASS_TABLE + "\">");
-		writeStatisticsSubRuEntryHeader();
-		if (cpmResult.resultsRgroups().isEmpty()) {
-			writeStatisticsSubRuEntryRunit(createEmptySrRunit(), true);
-		}
-		List<CpmSubResultRunit> runitsForOutput = cpmResult.resultsRunits();
-		for (CpmSubResultRunit srRunit : runitsForOutput.stream().sorted(Comparator.comparing(CpmSubResultRunit::name)).toList()) {
-			writeStatisticsSubRuEntryRunit(srRunit, false);
-		}
-		writeln(3, "</div>");
+		writeTable(
+				3,
+				TABLE_SPEC_STATS_RU,
+				results.getRgroupCount() == 0 ?
+						buildEmptyEntryCellValues(Constants.TEXT_NO_RUNITS_TO_DISPLAY, TABLE_SPEC_STATS_RU.fieldIds().size()) :
+						null,
+				results.getRunitIxsByName(),
+				this::buildStatisticsSubRuCellValues
+			);
 
 		writeln(2, "</div>");
 		writeln(1, "</section>");
 	}
 
-	private void writeStatisticsSubRgEntryHeader() throws IOException {
-		writeTableRow(
-				4,
-				Constants.CSS_CLASS_TABLE_HEAD_ROW + " statistics-rg-head",
-				"statistics-rg-head-content",
-				Constants.FIELD_IDS_FOR_CSSCLASS_STATS_RG,
-				Constants.COLUMN_HEADERS_STATS_RG
-			);
-	}
-
 	private static String getHtmlForPercentage(long value, long total, String unit) {
 		double percentDbl = (total > 0L ? ((double)value / (double)total) * 100.0 : 0.0);
 		return String.format("%.0f%% (%d%s / %d%s)", percentDbl, value, unit, total, unit);
 	}
 
-	private @NonNull Set<CpmSubResultRgroup> getAssociatedRgroupsForRunit(@NonNull CpmSubResultRunit srRunit) {
-		Set<CpmSubResultRgroup> resSet = new LinkedHashSet<>();
-		for (Long rgroupId : srRunit.associatedRgroupIds()) {
-			CpmSubResultRgroup tmpSrRgroup = cpmResult.resultsRgroups().stream()
-					.filter(x -> x.id() == rgroupId)
-					.findFirst()
-					.orElseThrow(() -> new IllegalStateException("Could not find resource group with id=" + rgroupId));
-			resSet.add(tmpSrRgroup);
-		}
-		return resSet;
-	}
+	private @NonNull List<String> buildStatisticsSubRgCellValues(int rgroupIx) {
+		final String timeIdledStr = getHtmlForPercentage(
+				results.getRgroupTimeIdled(rgroupIx), results.getTimePassed(), getTimeUnitLabel());
 
-	private long getTasksCompletedCountForRgroup(CpmSubResultRgroup srRgroup) {
-		return cpmResult.resultsTasks().stream()
-				.filter(x ->
-						x.idOfRgroupThatFinishedTask() != null &&
-						x.idOfRgroupThatFinishedTask() == srRgroup.id()
-					)
-				.count();
-	}
+		final String timeBusyStr = getHtmlForPercentage(
+				results.getRgroupTimeBusy(rgroupIx), results.getTimePassed(), getTimeUnitLabel());
 
-	private void writeStatisticsSubRgEntryRgroup(CpmSubResultRgroup srRgroup, boolean isEmptyEntry) throws IOException {
-		String timeIdledStr = "-";
-		String timeBusyStr = "-";
-		String associatedTasksStr = "-";
-		String runitsUsedStr = "-";
-		if (! isEmptyEntry) {
-			timeIdledStr = getHtmlForPercentage(srRgroup.timeIdled(), cpmResult.timePassed(), getTimeUnitLabel());
+		final long associatedTasksLong = results.getRgroupTasksCompletedCount(rgroupIx);
+		final String associatedTasksStr = getHtmlForPercentage(associatedTasksLong, results.getTaskCount(), "");
 
-			timeBusyStr = getHtmlForPercentage(srRgroup.timeBusy(), cpmResult.timePassed(), getTimeUnitLabel());
-
-			long associatedTasksLong = getTasksCompletedCountForRgroup(srRgroup);
-			associatedTasksStr = getHtmlForPercentage(associatedTasksLong, cpmResult.resultsTasks().size(), "");
-
-			runitsUsedStr = getHtmlForPercentage(srRgroup.maxRunitsUsed(), srRgroup.resultsRunits().size(), "");
-		}
+		final String runitsUsedStr = getHtmlForPercentage(
+				results.getRgroupMaxRunitsUsed(rgroupIx), results.getRgroupRunitCount(rgroupIx), "");
 
-		List<String> cellValues = List.of(
-				getExternalIdForOutput(srRgroup.externalId(), false),
-				srRgroup.name(),
+		return List.of(
+				getExternalIdForOutput(results.getRgroupExternalId(rgroupIx), false),
+				results.getRgroupName(rgroupIx),
 				timeIdledStr,
 				timeBusyStr,
 				associatedTasksStr,
 				runitsUsedStr
 			);
-		writeTableRow(
-				4,
-				Constants.CSS_CLASS_TABLE_BODY_ROW + " statistics-rg-entry",
-				"statistics-rg-entry-content",
-				Constants.FIELD_IDS_FOR_CSSCLASS_STATS_RG,
-				cellValues
-			);
 	}
 
-	private void writeStatisticsSubRuEntryHeader() throws IOException {
-		writeTableRow(
-				4,
-				Constants.CSS_CLASS_TABLE_HEAD_ROW + " statistics-ru-head",
-				"statistics-ru-head-content",
-				Constants.FIELD_IDS_FOR_CSSCLASS_STATS_RU,
-				Constants.COLUMN_HEADERS_STATS_RU
-			);
-	}
-
-	private void writeStatisticsSubRuEntryRunit(CpmSubResultRunit srRunit, boolean isEmptyEntry)
-			throws IOException {
-		String timeIdledStr = "-";
-		String timeBusyStr = "-";
-		String associatedTasksStr = "-";
-		if (! isEmptyEntry) {
-			timeIdledStr = getHtmlForPercentage(srRunit.timeIdled(), cpmResult.timePassed(), getTimeUnitLabel());
+	private @NonNull List<String> buildStatisticsSubRuCellValues(int runitIx) {
+		final String timeIdledStr = getHtmlForPercentage(
+				results.getRunitTimeIdled(runitIx), results.getTimePassed(), getTimeUnitLabel());
 
-			timeBusyStr = getHtmlForPercentage(srRunit.timeBusy(), cpmResult.timePassed(), getTimeUnitLabel());
+		final String timeBusyStr = getHtmlForPercentage(
+				results.getRunitTimeBusy(runitIx), results.getTimePassed(), getTimeUnitLabel());
 
-			long associatedTasksRuLong = srRunit.tasksCompleted().size();
-			Set<CpmSubResultRgroup> tmpRgroups = getAssociatedRgroupsForRunit(srRunit);
-			long associatedTasksRgLong = tmpRgroups.stream().mapToLong(this::getTasksCompletedCountForRgroup).sum();
-			associatedTasksStr = getHtmlForPercentage(associatedTasksRuLong, associatedTasksRgLong, "");
+		final long associatedTasksRuLong = results.getRunitTasksCompletedCount(runitIx);
+		long associatedTasksRgLong = 0L;
+		for (int associationIx = 0; associationIx < results.getRunitRgroupCount(runitIx); associationIx++) {
+			associatedTasksRgLong += results.getRgroupTasksCompletedCount(results.getRunitRgroupIx(runitIx, associationIx));
 		}
+		final String associatedTasksStr = getHtmlForPercentage(associatedTasksRuLong, associatedTasksRgLong, "");
 
-		List<String> cellValues = List.of(
-				getExternalIdForOutput(srRunit.externalId(), false),
-				srRunit.name(),
+		return List.of(
+				getExternalIdForOutput(results.getRunitExternalId(runitIx), false),
+				results.getRunitName(runitIx),
 				timeIdledStr,
 				timeBusyStr,
 				associatedTasksStr
 			);
-		writeTableRow(
-				4,
-				Constants.CSS_CLASS_TABLE_BODY_ROW + " statistics-ru-entry",
-				"statistics-ru-entry-content",
-				Constants.FIELD_IDS_FOR_CSSCLASS_STATS_RU,
-				cellValues
-			);
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -501,37 +486,23 @@ public final class CpmResultsToHtml {
 	// -----------------------------------------------------------------------------------------------------------------
 
 	private void writeBodyScripts() throws IOException {
-		if (cpmResult.resultsTasks().isEmpty()) {
+		if (useVirtualTables) {
+			writeVirtualTablesScript();
+		}
+		if (results.getTaskCount() == 0) {
 			return;
 		}
+		writeGanttChartData();
+
 		writeln(1, "<script src=\"https://cdn.jsdelivr.net/npm/frappe-gantt/dist/frappe-gantt.umd.js\"></script>");
 
 		writeln(1, "<script type=\"text/javascript\">");
 
-		writeln(2, "const LOC_HOLIDAYS = [");
-		for (LocalDate holiday : appConfig.offDutyTimes().holidaysAsLocalDates()) {
-			writeln(3, "{");
-			writeln(4, "name: 'Holiday " + holiday.format(DateFormatters.onlyDate) + "',");
-			writeln(4, "date: '" + holiday.format(DateFormatters.onlyDate) + "'");
-			writeln(3, "},");
-		}
-		writeln(2, "];");
-
-		writeln(2, "const LOC_TASKS = [");
-		for (CpmPostProcessedSubResultTask ppTask : postProcessedResult.postProcessedTasks()) {
-			final String dependenciesStr = ppTask.srTask().dependenciesIds().stream()
-					.map(String::valueOf)
-					.collect(Collectors.joining(","));
-			writeln(3, "{");
-			writeln(4, "id: '" + ppTask.id() + "',");
-			writeln(4, "name: '" + ppTask.srTask().name() + "',");
-			writeln(4, "start: '" + ppTask.taskStartedAdjustedDateTime().format(DateFormatters.dateAndTime) + "',");
-			writeln(4, "end: '" + ppTask.taskFinishedAdjustedDateTime().format(DateFormatters.dateAndTime) + "',");
-			writeln(4, "progress: " + ppTask.progressPercent() + ",");
-			writeln(4, "dependencies: '" + dependenciesStr + "'");
-			writeln(3, "},");
-		}
-		writeln(2, "];");
+		writeln(2, "const LOC_DATA = JSON.parse(document.getElementById('" + Constants.CSS_ID_GANTT_CHART_DATA + "').textContent);");
+		writeln(2, "const LOC_HOLIDAYS = LOC_DATA.h.map((date) => ({name: 'Holiday ' + date, date: date}));");
+		writeln(2, "const LOC_TASKS = LOC_DATA.t.map((task) => ({" +
+				"id: task.i, name: task.n, start: task.s, end: task.e, progress: task.p, dependencies: task.d" +
+				"}));");
 
 		/*
 		 * Available view modes: Hour, Quarter Day, Half Day, Day, Week, Month, Year
@@ -558,6 +529,164 @@ public final class CpmResultsToHtml {
 		writeln(1, "</script>");
 	}
 
+	/**
+	 * Write the holidays and tasks for the Gantt chart as one JSON document with short keys
+	 * ({@code {"h":["<date>",...],"t":[{"i":"<id>","n":"<name>","s":"<start>","e":"<end>","p":<progress>,"d":"<ids>"},...]}}).
+	 * The script from {@link #writeBodyScripts()} maps it to the objects that are expected by Frappe Gantt.
+	 */
+	private void writeGanttChartData() throws IOException {
+		if (outputSink == null) {
+			return;
+		}
+		writeln(1, "<script type=\"application/json\" id=\"" + Constants.CSS_ID_GANTT_CHART_DATA + "\">");
+		outputSink.writeIndent(2);
+		try (JsonWriter jsonWriter = createJsonWriter()) {
+			jsonWriter.beginObject();
+
+			jsonWriter.name("h");
+			jsonWriter.beginArray();
+			for (LocalDate holiday : offDutyTimesCache.getHolidays()) {
+				jsonWriter.value(holiday.format(DateFormatters.onlyDate));
+			}
+			jsonWriter.endArray();
+
+			jsonWriter.name("t");
+			jsonWriter.beginArray();
+			final StringBuilder dependenciesSb = new StringBuilder();
+			for (int taskIx : results.getTaskIxsInExecutionOrder()) {
+				dependenciesSb.setLength(0);
+				for (int depIx = 0; depIx < results.getTaskDependencyCount(taskIx); depIx++) {
+					if (depIx > 0) {
+						dependenciesSb.append(',');
+					}
+					dependenciesSb.append(results.getTaskDependencyId(taskIx, depIx));
+				}
+				jsonWriter.beginObject();
+				jsonWriter.name("i").value(String.valueOf(results.getTaskId(taskIx)));
+				jsonWriter.name("n").value(results.getTaskName(taskIx));
+				jsonWriter.name("s").value(results.getTaskStartedAt(taskIx).format(DateFormatters.dateAndTime));
+				jsonWriter.name("e").value(results.getTaskFinishedAt(taskIx).format(DateFormatters.dateAndTime));
+				jsonWriter.name("p").value(results.getTaskProgressPercent(taskIx));
+				jsonWriter.name("d").value(dependenciesSb.toString());
+				jsonWriter.endObject();
+			}
+			jsonWriter.endArray();
+
+			jsonWriter.endObject();
+		}
+		outputSink.newLine();
+		writeln(1, "</script>");
+	}
+
+	/**
+	 * Renders the virtualized tables: only the rows in the visible part of a table (plus a few more) exist in the DOM.
+	 * Sorting (click on a column header, a third click restores the original order) and
+	 * filtering only rearrange the row indices.
+	 */
+	private void writeVirtualTablesScript() throws IOException {
+		writeln(1, "<script type=\"text/javascript\">");
+		writeln(2, "const VT_ROW_HEIGHT = " + Constants.VTABLE_ROW_HEIGHT_PX + ";");
+		writeln(2, "const VT_OVERSCAN = 10;");
+		writeln(2, "const VT_COLLATOR = new Intl.Collator(undefined, {numeric: true, sensitivity: 'base'});");
+		writeln(2, "class CpmVirtualTable {");
+		writeln(3, "constructor(container, data) {");
+		writeln(4, "this.headers = data.headers;");
+		writeln(4, "this.rows = data.rows;");
+		writeln(4, "this.rowsLowerCase = null;");
+		writeln(4, "this.sortColIx = -1;");
+		writeln(4, "this.sortDesc = false;");
+		writeln(4, "this.filterStr = '';");
+		writeln(4, "container.style.setProperty('--cpm-vtable-columns', 'repeat(' + this.headers.length + ', minmax(15px, 1fr))');");
+		writeln(4, "const filterInput = document.createElement('input');");
+		writeln(4, "filterInput.type = 'search';");
+		writeln(4, "filterInput.className = '" + Constants.CSS_CLASS_VTABLE + "-filter';");
+		writeln(4, "filterInput.placeholder = 'Filter ' + this.rows.length + ' rows';");
+		writeln(4, "filterInput.addEventListener('input', () => { this.filterStr = filterInput.value.toLowerCase(); this.updateView(); });");
+		writeln(4, "this.head = document.createElement('div');");
+		writeln(4, "this.head.className = '" + Constants.CSS_CLASS_VTABLE + "-row " + Constants.CSS_CLASS_VTABLE + "-head';");
+		writeln(4, "this.headers.forEach((header, colIx) => {");
+		writeln(5, "const cell = document.createElement('span');");
+		writeln(5, "cell.textContent = header;");
+		writeln(5, "cell.title = header;");
+		writeln(5, "cell.addEventListener('click', () => this.sortBy(colIx));");
+		writeln(5, "this.head.appendChild(cell);");
+		writeln(4, "});");
+		writeln(4, "this.viewport = document.createElement('div');");
+		writeln(4, "this.viewport.className = '" + Constants.CSS_CLASS_VTABLE + "-viewport';");
+		writeln(4, "this.spacer = document.createElement('div');");
+		writeln(4, "this.body = document.createElement('div');");
+		writeln(4, "this.spacer.appendChild(this.body);");
+		writeln(4, "this.viewport.appendChild(this.spacer);");
+		writeln(4, "this.viewport.addEventListener('scroll', () => this.render(false));");
+		writeln(4, "container.append(filterInput, this.head, this.viewport);");
+		writeln(4, "this.updateView();");
+		writeln(3, "}");
+		writeln(3, "sortBy(colIx) {");
+		writeln(4, "if (this.sortColIx !== colIx) {");
+		writeln(5, "this.sortColIx = colIx;");
+		writeln(5, "this.sortDesc = false;");
+		writeln(4, "} else if (! this.sortDesc) {");
+		writeln(5, "this.sortDesc = true;");
+		writeln(4, "} else {");
+		writeln(5, "this.sortColIx = -1;");
+		writeln(4, "}");
+		writeln(4, "Array.from(this.head.children).forEach((cell, ix) => {");
+		writeln(5, "cell.classList.toggle('sorted-asc', ix === this.sortColIx && ! this.sortDesc);");
+		writeln(5, "cell.classList.toggle('sorted-desc', ix === this.sortColIx && this.sortDesc);");
+		writeln(4, "});");
+		writeln(4, "this.updateView();");
+		writeln(3, "}");
+		writeln(3, "updateView() {");
+		writeln(4, "let view = [];");
+		writeln(4, "if (this.filterStr === '') {");
+		writeln(5, "view = Array.from(this.rows.keys());");
+		writeln(4, "} else {");
+		writeln(5, "if (this.rowsLowerCase === null) {");
+		writeln(6, "this.rowsLowerCase = this.rows.map((row) => row.join('\\u0000').toLowerCase());");
+		writeln(5, "}");
+		writeln(5, "this.rowsLowerCase.forEach((rowStr, rowIx) => { if (rowStr.includes(this.filterStr)) { view.push(rowIx); } });");
+		writeln(4, "}");
+		writeln(4, "if (this.sortColIx >= 0) {");
+		writeln(5, "const colIx = this.sortColIx;");
+		writeln(5, "const dir = (this.sortDesc ? -1 : 1);");
+		writeln(5, "view.sort((a, b) => dir * VT_COLLATOR.compare(this.rows[a][colIx], this.rows[b][colIx]) || a - b);");
+		writeln(4, "}");
+		writeln(4, "this.view = view;");
+		writeln(4, "this.spacer.style.height = (view.length * VT_ROW_HEIGHT) + 'px';");
+		writeln(4, "this.render(true);");
+		writeln(3, "}");
+		writeln(3, "render(force) {");
+		writeln(4, "const visibleRows = Math.ceil((this.viewport.clientHeight || " + Constants.VTABLE_VIEWPORT_HEIGHT_PX + ") / VT_ROW_HEIGHT);");
+		writeln(4, "const first = Math.max(0, Math.floor(this.viewport.scrollTop / VT_ROW_HEIGHT) - VT_OVERSCAN);");
+		writeln(4, "const last = Math.min(this.view.length, first + visibleRows + 2 * VT_OVERSCAN);");
+		writeln(4, "if (! force && first === this.first && last === this.last) {");
+		writeln(5, "return;");
+		writeln(4, "}");
+		writeln(4, "this.first = first;");
+		writeln(4, "this.last = last;");
+		writeln(4, "const fragment = document.createDocumentFragment();");
+		writeln(4, "for (let pos = first; pos < last; pos++) {");
+		writeln(5, "const rowElem = document.createElement('div');");
+		writeln(5, "rowElem.className = '" + Constants.CSS_CLASS_VTABLE + "-row ' + (pos % 2 === 0 ? 'odd' : 'even');");
+		writeln(5, "for (const value of this.rows[this.view[pos]]) {");
+		writeln(6, "const cell = document.createElement('span');");
+		writeln(6, "cell.textContent = value;");
+		writeln(6, "cell.title = value;");
+		writeln(6, "rowElem.appendChild(cell);");
+		writeln(5, "}");
+		writeln(5, "fragment.appendChild(rowElem);");
+		writeln(4, "}");
+		writeln(4, "this.body.style.transform = 'translateY(' + (first * VT_ROW_HEIGHT) + 'px)';");
+		writeln(4, "this.body.replaceChildren(fragment);");
+		writeln(3, "}");
+		writeln(2, "}");
+		writeln(2, "document.querySelectorAll('." + Constants.CSS_CLASS_VTABLE + "').forEach((container) => {");
+		writeln(3, "const data = JSON.parse(document.getElementById(container.dataset.source).textContent);");
+		writeln(3, "new CpmVirtualTable(container, data);");
+		writeln(2, "});");
+		writeln(1, "</script>");
+	}
+
 	private @NonNull String getGanttConfig_daysOnOffDutyColor(boolean getOffDuty) {
 		List<String> tmpCondList = new ArrayList<>();
 		Map<DayOfWeek, Integer> tmpMap = new HashMap<>() {{
@@ -569,8 +698,8 @@ public final class CpmResultsToHtml {
 				}
 			}};
 		for (DayOfWeek dow : tmpMap.keySet()) {
-			if ((getOffDuty && ! appConfig.offDutyTimes().workDays().contains(dow)) ||
-					(! getOffDuty && appConfig.offDutyTimes().workDays().contains(dow))) {
+			if ((getOffDuty && ! offDutyTimesCache.isWorkDay(dow)) ||
+					(! getOffDuty && offDutyTimesCache.isWorkDay(dow))) {
 				tmpCondList.add("d.getDay() === " + tmpMap.get(dow));
 			}
 		}
@@ -587,7 +716,7 @@ public final class CpmResultsToHtml {
 				put(DayOfWeek.SATURDAY, 6); put(DayOfWeek.SUNDAY, 0);
 			}};
 		for (DayOfWeek dow : tmpMap.keySet()) {
-			if (appConfig.offDutyTimes().workDays().contains(dow)) {
+			if (offDutyTimesCache.isWorkDay(dow)) {
 				tmpCondList.add("d.getDay() === " + tmpMap.get(dow));
 			}
 		}
@@ -632,6 +761,106 @@ public final class CpmResultsToHtml {
 			};
 	}
 
+	/**
+	 * Write a table either as HTML elements or as a virtualized table
+	 * @param emptyEntryCellValues Optional: cells of a placeholder row that is written before the entries
+	 * @param entryIxs Row indices of the entries in {@link #results} in the order of the table
+	 * @param cellValuesFct Builds the (unescaped) cells of an entry from its row index
+	 */
+	private void writeTable(
+				int level,
+				@NonNull TableSpec spec,
+				@Nullable List<String> emptyEntryCellValues,
+				int @NonNull [] entryIxs,
+				@NonNull IntFunction<List<String>> cellValuesFct
+			) throws IOException {
+		if (useVirtualTables) {
+			writeVirtualTable(level, spec, emptyEntryCellValues, entryIxs, cellValuesFct);
+			return;
+		}
+		final String cssIdAttr = (spec.cssId() != null ? "id=\"" + spec.cssId() + "\" " : "");
+		writeln(level, "<div " + cssIdAttr + "class=\"" + Constants.CSS_CLASS_TABLE + "\">");
+
+		writeTableRow(
+				level + 1,
+				Constants.CSS_CLASS_TABLE_HEAD_ROW + " " + spec.cssClassPrefix() + "-head",
+				spec.cssClassPrefix() + "-head-content",
+				spec.fieldIds(),
+				spec.headers()
+			);
+		final String cssClassesBodyRow = Constants.CSS_CLASS_TABLE_BODY_ROW + " " + spec.cssClassPrefix() + "-entry";
+		final String cssClassBodyCells = spec.cssClassPrefix() + "-entry-content";
+		if (emptyEntryCellValues != null) {
+			writeTableRow(level + 1, cssClassesBodyRow, cssClassBodyCells, spec.fieldIds(), emptyEntryCellValues);
+		}
+		for (int entryIx : entryIxs) {
+			writeTableRow(level + 1, cssClassesBodyRow, cssClassBodyCells, spec.fieldIds(), cellValuesFct.apply(entryIx));
+		}
+
+		writeln(level, "</div>");
+	}
+
+	/**
+	 * Write an empty container and the rows as a compact JSON document ({@code {"headers":[...],"rows":[[...],...]}}).
+	 * The rows are rendered by the script from {@link #writeVirtualTablesScript()}.
+	 */
+	private void writeVirtualTable(
+				int level,
+				@NonNull TableSpec spec,
+				@Nullable List<String> emptyEntryCellValues,
+				int @NonNull [] entryIxs,
+				@NonNull IntFunction<List<String>> cellValuesFct
+			) throws IOException {
+		if (outputSink == null) {
+			return;
+		}
+		final String dataId = Constants.CSS_ID_PREFIX_VTABLE_DATA + spec.cssClassPrefix();
+		final String cssIdAttr = (spec.cssId() != null ? "id=\"" + spec.cssId() + "\" " : "");
+		writeln(level, "<div " + cssIdAttr + "class=\"" + Constants.CSS_CLASS_VTABLE + "\" data-source=\"" + dataId + "\"></div>");
+		writeln(level, "<script type=\"application/json\" id=\"" + dataId + "\">");
+		outputSink.writeIndent(level + 1);
+		try (JsonWriter jsonWriter = createJsonWriter()) {
+			jsonWriter.beginObject();
+			jsonWriter.name("headers");
+			writeJsonStringArray(jsonWriter, spec.headers());
+			jsonWriter.name("rows");
+			jsonWriter.beginArray();
+			if (emptyEntryCellValues != null) {
+				writeJsonStringArray(jsonWriter, emptyEntryCellValues);
+			}
+			for (int entryIx : entryIxs) {
+				writeJsonStringArray(jsonWriter, cellValuesFct.apply(entryIx));
+			}
+			jsonWriter.endArray();
+			jsonWriter.endObject();
+		}
+		outputSink.newLine();
+		writeln(level, "</script>");
+	}
+
+	/**
+	 * Create a compact JSON writer for the output sink. Closing it does not close the sink.
+	 * <p>
+	 * The writer is HTML-safe: '<', '>', '&', '=' and '\'' are written as unicode escapes,
+	 * so the data can't end the surrounding script element.
+	 */
+	private @NonNull JsonWriter createJsonWriter() {
+		if (outputSink == null) {
+			throw new IllegalStateException("no output sink");
+		}
+		final JsonWriter resJsonWriter = new JsonWriter(outputSink.asWriter());
+		resJsonWriter.setHtmlSafe(true);
+		return resJsonWriter;
+	}
+
+	private static void writeJsonStringArray(@NonNull JsonWriter jsonWriter, @NonNull List<String> values) throws IOException {
+		jsonWriter.beginArray();
+		for (String value : values) {
+			jsonWriter.value(value);
+		}
+		jsonWriter.endArray();
+	}
+
 	private void writeTableRow(
 				int level,
 				String cssClassesRow,
@@ -652,17 +881,29 @@ public final class CpmResultsToHtml {
 	}
 
 	private void writeTableCell(int level, String cssClassCells, String fieldId, String cellValue) throws IOException {
+		if (outputSink == null) {
+			return;
+		}
 		final String htmlCellValue = escapeHtml(cellValue);
-		writeln(level, "<div class=\"" + Constants.CSS_CLASS_CELL + " " + cssClassCells + " " + cssClassCells + "-" + fieldId + "\">" +
-				"<span title=\"" + htmlCellValue + "\">" + htmlCellValue + "</span>" +
-				"</div>");
+		outputSink.writeIndent(level);
+		outputSink.write("<div class=\"" + Constants.CSS_CLASS_CELL + " ");
+		outputSink.write(cssClassCells);
+		outputSink.write(" ");
+		outputSink.write(cssClassCells);
+		outputSink.write("-");
+		outputSink.write(fieldId);
+		outputSink.write("\"><span title=\"");
+		outputSink.write(htmlCellValue);
+		outputSink.write("\">");
+		outputSink.write(htmlCellValue);
+		outputSink.write("</span></div>");
+		outputSink.newLine();
 	}
 
 	private void writeln(int level, String line) throws IOException {
-		if (outputStream == null) {
+		if (outputSink == null) {
 			return;
 		}
-		String tabs = String.join("", Collections.nCopies(level, "\t"));
-		outputStream.write((tabs + line + "\n").getBytes());
+		outputSink.writeln(level, line);
 	}
 }
@@ -0,0 +1,184 @@
+package org.tsitle.demo_cli_app_critical_path.html;
+
+import org.jspecify.annotations.NonNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffered, UTF-8 encoding sink for line-oriented output with indentation.
+ * Counts the bytes that are written to the underlying stream.
+ */
+public final class HtmlOutputSink implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_CACHED_INDENT_LEVEL = 16;
+	private static final String[] INDENTS = new String[MAX_CACHED_INDENT_LEVEL + 1];
+
+	static {
+		for (int level = 0; level <= MAX_CACHED_INDENT_LEVEL; level++) {
+			INDENTS[level] = "\t".repeat(level);
+		}
+	}
+
+	/**
+	 * Counts the bytes that are written to the wrapped stream
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+		private long amountBytes = 0;
+
+		CountingOutputStream(@NonNull OutputStream outputStream) {
+			super(outputStream);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			amountBytes++;
+		}
+
+		@Override
+		public void write(byte @NonNull [] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			amountBytes += len;
+		}
+	}
+
+	private final @NonNull Writer writer;
+	private final @NonNull CountingOutputStream countingStream;
+	private final boolean closeUnderlyingStream;
+
+	/**
+	 * @param countingStream Stream whose bytes are counted (e.g. the file stream below a GZIP stream)
+	 * @param outputStream Stream that the text is encoded into (either {@code countingStream} or a stream that writes to it)
+	 */
+	private HtmlOutputSink(
+				@NonNull CountingOutputStream countingStream,
+				@NonNull OutputStream outputStream,
+				boolean closeUnderlyingStream
+			) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+		this.countingStream = countingStream;
+		this.closeUnderlyingStream = closeUnderlyingStream;
+	}
+
+	private HtmlOutputSink(@NonNull CountingOutputStream countingStream, boolean closeUnderlyingStream) {
+		this(countingStream, countingStream, closeUnderlyingStream);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Create a sink that writes to a file. An existing file will be overwritten.
+	 * @param filename Output filename
+	 * @return New sink
+	 * @throws IOException If the file could not be created or overwritten
+	 */
+	public static @NonNull HtmlOutputSink forFile(@NonNull String filename) throws IOException {
+		return forFile(filename, false);
+	}
+
+	/**
+	 * Create a sink that writes to a file. An existing file will be overwritten.
+	 * @param filename Output filename
+	 * @param gzip If true, the output is GZIP-compressed while it is written
+	 * @return New sink
+	 * @throws IOException If the file could not be created or overwritten
+	 */
+	public static @NonNull HtmlOutputSink forFile(@NonNull String filename, boolean gzip) throws IOException {
+		Path path = Paths.get(filename).normalize();
+		final FileOutputStream fileOutputStream;
+		try {
+			fileOutputStream = new FileOutputStream(path.toFile());
+		} catch (FileNotFoundException e) {
+			throw new IOException("file '" + filename + "' could not be created or overwritten");
+		}
+		final CountingOutputStream countingStream = new CountingOutputStream(fileOutputStream);
+		if (! gzip) {
+			return new HtmlOutputSink(countingStream, true);
+		}
+		try {
+			return new HtmlOutputSink(countingStream, new GZIPOutputStream(countingStream, BUFFER_SIZE), true);
+		} catch (IOException e) {
+			fileOutputStream.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Create a sink that writes to {@link System#out}. Closing the sink will not close {@link System#out}.
+	 * @return New sink
+	 */
+	public static @NonNull HtmlOutputSink forStdout() {
+		return new HtmlOutputSink(new CountingOutputStream(System.out), false);
+	}
+
+	/**
+	 * Create a sink that writes to an arbitrary stream
+	 * @param outputStream Output stream
+	 * @param closeStream If true, closing the sink will close the stream as well
+	 * @return New sink
+	 */
+	public static @NonNull HtmlOutputSink forStream(@NonNull OutputStream outputStream, boolean closeStream) {
+		return new HtmlOutputSink(new CountingOutputStream(outputStream), closeStream);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	public void writeln(int level, @NonNull String line) throws IOException {
+		writeIndent(level);
+		writer.write(line);
+		writer.write('\n');
+	}
+
+	/**
+	 * Write the indentation for a new line. Use {@link #write(String)} and {@link #newLine()} for the line's content.
+	 */
+	public void writeIndent(int level) throws IOException {
+		if (level <= MAX_CACHED_INDENT_LEVEL) {
+			writer.write(INDENTS[level]);
+		} else {
+			writer.write("\t".repeat(level));
+		}
+	}
+
+	public void write(@NonNull String str) throws IOException {
+		writer.write(str);
+	}
+
+	public void newLine() throws IOException {
+		writer.write('\n');
+	}
+
+	/**
+	 * View of the sink as a {@link Writer} (e.g. for a JSON writer). Closing the view does not close the sink.
+	 */
+	public @NonNull Writer asWriter() {
+		return new FilterWriter(writer) {
+			@Override
+			public void close() {
+				// the sink is closed by its owner
+			}
+		};
+	}
+
+	/**
+	 * @return Amount of bytes that have been written to the file or stream so far
+	 *         (for GZIP files the compressed bytes; the total is known once the sink has been closed)
+	 */
+	public long getBytesWritten() {
+		return countingStream.amountBytes;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closeUnderlyingStream) {
+			writer.close();
+		} else {
+			writer.flush();
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package org.tsitle.demo_cli_app_critical_path.html;
+
+/**
+ * How the tables (task overview and statistics) are written to the HTML document
+ */
+public enum HtmlTableMode {
+	/** one HTML element per row and cell (fine for small projects, but very large documents for big ones) */
+	DOM,
+	/** compact JSON data arrays that an inline script renders on demand (only the visible rows, with sort and filter) */
+	VIRTUAL,
+	/** {@link #VIRTUAL} for large projects, otherwise {@link #DOM} */
+	AUTO
+}
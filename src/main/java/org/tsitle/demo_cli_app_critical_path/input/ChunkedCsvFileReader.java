@@ -0,0 +1,277 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import io.github.tsitle.criticalpath.rawdata.containers.BaseRawData;
+import io.github.tsitle.criticalpath.rawdata.filereaders.AbstractReadRawData;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a large local CSV file by memory-mapping it, splitting it into line-aligned chunks
+ * and parsing the chunks concurrently.
+ * <p>
+ * Chunk boundaries are only placed at line breaks outside of quoted fields, by the same rules as
+ * {@link CsvRecordReader} splits records (see {@link CsvQuoting}), so quoted values that contain commas
+ * or line breaks are never split.
+ * Every chunk is handed to its own reader instance together with a copy of the header line.
+ * The parsed data is merged in the order of the chunks, i.e. in the order of the file.
+ * Errors are reported with the lines of the chunk in the file, and line numbers in the messages of the readers
+ * (which count from the copy of the header line) are converted to line numbers of the file.
+ */
+public final class ChunkedCsvFileReader {
+	/** files smaller than this are read as a single stream */
+	public static final long MIN_FILE_SIZE_FOR_CHUNKING = 16L * 1024 * 1024;
+
+	private static final long MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+	private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
+	/** size of the mapped windows while searching for the chunk boundaries */
+	private static final long SCAN_WINDOW_SIZE = 512L * 1024 * 1024;
+
+	/** "line 12" in the messages of the readers */
+	private static final Pattern LINE_NUMBER_PATTERN = Pattern.compile("\\b([Ll]ine) (\\d+)\\b");
+
+	/**
+	 * @param start Offset of the first byte
+	 * @param end Offset after the last byte
+	 * @param firstLineNumber Line number of the first byte in the file (1 is the header)
+	 * @param lastLineNumber Line number of the last byte in the file
+	 */
+	record Chunk(long start, long end, long firstLineNumber, long lastLineNumber) {
+		@NonNull String describe(@NonNull Path path) {
+			return "'" + path + "', lines " + firstLineNumber + "-" + lastLineNumber;
+		}
+
+		/**
+		 * @return Message with the line numbers of the chunk converted to line numbers of the file
+		 */
+		@NonNull String convertLineNumbers(@Nullable String message) {
+			if (message == null) {
+				return "";
+			}
+			final Matcher matcher = LINE_NUMBER_PATTERN.matcher(message);
+			final StringBuilder sb = new StringBuilder();
+			while (matcher.find()) {
+				// line 1 of the chunk is the copy of the header, line 2 is the first line of the chunk
+				final long lineNumber = Long.parseLong(matcher.group(2)) - 2 + firstLineNumber;
+				matcher.appendReplacement(sb, matcher.group(1) + " " + (lineNumber < 1 ? 1 : lineNumber));
+			}
+			matcher.appendTail(sb);
+			return sb.toString();
+		}
+	}
+
+	private ChunkedCsvFileReader() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Read a CSV file with several threads
+	 * @param path Input file
+	 * @param outputSet Output set
+	 * @param readerSupplier Supplies one reader per chunk (readers are not shared between threads)
+	 * @throws IOException If an I/O error occurs while reading the file
+	 * @throws InvalidInputDataException If the file contains invalid data
+	 */
+	public static <T extends BaseRawData> void read(
+				@NonNull Path path,
+				@NonNull Set<T> outputSet,
+				@NonNull Supplier<? extends AbstractReadRawData<?, T>> readerSupplier
+			) throws IOException, InvalidInputDataException {
+		final long fileSize = Files.size(path);
+		final int parallelism = Runtime.getRuntime().availableProcessors();
+		read(path, outputSet, readerSupplier,
+				Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, fileSize / (parallelism * 4L))), parallelism);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param targetChunkSize Minimum size of a chunk in bytes (the last chunk may be smaller)
+	 * @throws InvalidInputDataException If the file contains invalid data or a record is contained in several chunks
+	 */
+	static <T extends BaseRawData> void read(
+				@NonNull Path path,
+				@NonNull Set<T> outputSet,
+				@NonNull Supplier<? extends AbstractReadRawData<?, T>> readerSupplier,
+				long targetChunkSize,
+				int parallelism
+			) throws IOException, InvalidInputDataException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long fileSize = channel.size();
+			final List<Chunk> chunks = new ArrayList<>();
+			final long headerEnd = findChunkBoundaries(channel, fileSize, targetChunkSize, chunks);
+			if (headerEnd < 0 || chunks.isEmpty()) {
+				// header only
+				try (InputStream is = new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize))) {
+					readerSupplier.get().readFromStream(is, outputSet);
+				}
+				return;
+			}
+			final byte[] headerBytes = new byte[(int)headerEnd];
+			channel.map(FileChannel.MapMode.READ_ONLY, 0, headerEnd).get(headerBytes);
+
+			final List<Set<T>> chunkSets = new ArrayList<>();
+			try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, chunks.size()))) {
+				final List<Future<Set<T>>> futures = new ArrayList<>();
+				for (Chunk chunk : chunks) {
+					final MappedByteBuffer chunkBuffer =
+							channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.end() - chunk.start());
+					futures.add(executor.submit(() -> readChunk(headerBytes, chunkBuffer, readerSupplier)));
+				}
+				for (int chunkIx = 0; chunkIx < futures.size(); chunkIx++) {
+					try {
+						chunkSets.add(futures.get(chunkIx).get());
+					} catch (ExecutionException e) {
+						executor.shutdownNow();
+						final Chunk chunk = chunks.get(chunkIx);
+						switch (e.getCause()) {
+							case IOException ioException -> throw new IOException(
+									chunk.describe(path) + ": " + chunk.convertLineNumbers(ioException.getMessage()));
+							case InvalidInputDataException invalidInputDataException -> throw new InvalidInputDataException(
+									chunk.describe(path) + ": " + chunk.convertLineNumbers(invalidInputDataException.getMessage()));
+							case RuntimeException runtimeException -> throw runtimeException;
+							default -> throw new IllegalStateException(e.getCause());
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IOException("interrupted while reading " + chunks.get(chunkIx).describe(path));
+					}
+				}
+			}
+
+			// the readers only see the records of their own chunk, so records in several chunks are detected here
+			final Set<T> readSet = new LinkedHashSet<>();
+			for (int chunkIx = 0; chunkIx < chunkSets.size(); chunkIx++) {
+				for (T item : chunkSets.get(chunkIx)) {
+					if (! readSet.add(item)) {
+						throw new InvalidInputDataException(chunks.get(chunkIx).describe(path) +
+								": duplicate record " + item + " (already contained in an earlier part of the file)");
+					}
+				}
+			}
+			outputSet.addAll(readSet);
+		}
+	}
+
+	private static <T extends BaseRawData> @NonNull Set<T> readChunk(
+				byte @NonNull [] headerBytes,
+				@NonNull ByteBuffer chunkBuffer,
+				@NonNull Supplier<? extends AbstractReadRawData<?, T>> readerSupplier
+			) throws IOException, InvalidInputDataException {
+		final Set<T> resSet = new LinkedHashSet<>();
+		try (InputStream is = new SequenceInputStream(
+					new ByteArrayInputStream(headerBytes),
+					new ByteBufferInputStream(chunkBuffer)
+				)) {
+			readerSupplier.get().readFromStream(is, resSet);
+		}
+		return resSet;
+	}
+
+	/**
+	 * Scan the file once and place a chunk boundary at the first line break outside of quoted fields
+	 * after every {@code targetChunkSize} bytes
+	 * @return Offset of the first byte after the header line or -1 if there is no line after the header
+	 */
+	static long findChunkBoundaries(
+				@NonNull FileChannel channel,
+				long fileSize,
+				long targetChunkSize,
+				@NonNull List<Chunk> chunks
+			) throws IOException {
+		final CsvQuoting quoting = new CsvQuoting(',');
+		long headerEnd = -1;
+		long chunkStart = -1;
+		long chunkFirstLineNumber = 2;
+		long lineNumber = 1;
+		boolean endsWithLineBreak = false;
+		for (long windowStart = 0; windowStart < fileSize; windowStart += SCAN_WINDOW_SIZE) {
+			final long windowSize = Math.min(SCAN_WINDOW_SIZE, fileSize - windowStart);
+			final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+			for (int ix = 0; ix < windowSize; ix++) {
+				final int b = window.get(ix) & 0xff;
+				final boolean isDelimiter = quoting.accept(b);
+				endsWithLineBreak = (b == '\n');
+				if (b != '\n') {
+					continue;
+				}
+				if (isDelimiter) {
+					final long pos = windowStart + ix;
+					if (headerEnd < 0) {
+						headerEnd = pos + 1;
+						chunkStart = headerEnd;
+					} else if (pos + 1 - chunkStart >= targetChunkSize) {
+						chunks.add(new Chunk(chunkStart, pos + 1, chunkFirstLineNumber, lineNumber));
+						chunkStart = pos + 1;
+						chunkFirstLineNumber = lineNumber + 1;
+					}
+				}
+				lineNumber++;
+			}
+		}
+		if (chunkStart >= 0 && chunkStart < fileSize) {
+			chunks.add(new Chunk(chunkStart, fileSize, chunkFirstLineNumber, lineNumber - (endsWithLineBreak ? 1 : 0)));
+		}
+		return (headerEnd < fileSize ? headerEnd : -1);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * {@link InputStream} that reads directly from a (mapped) {@link ByteBuffer} without copying it
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+		private final @NonNull ByteBuffer buffer;
+
+		ByteBufferInputStream(@NonNull ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return (buffer.hasRemaining() ? (buffer.get() & 0xff) : -1);
+		}
+
+		@Override
+		public int read(byte @NonNull [] bytes, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (! buffer.hasRemaining()) {
+				return -1;
+			}
+			final int amount = Math.min(len, buffer.remaining());
+			buffer.get(bytes, off, amount);
+			return amount;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
@@ -0,0 +1,264 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Splits the input files of a project (advanced input data) into independent components.
+ * <p>
+ * Two tasks belong to the same component if one depends on the other or if they share a resource group,
+ * directly or through other tasks. Resource groups that share a resource unit belong to the same component as well.
+ * The components are found with a union-find over the records of the input files, so they can be scheduled
+ * independently of each other.
+ * Resource groups and units that aren't associated with any task are added to the first component.
+ * <p>
+ * Every component is returned as the raw records of the input files (see docs/csv_files.md) per kind,
+ * with the columns of the first input file of each kind. The records are split, not copied,
+ * and can be parsed with the readers of the library through a {@link CsvRecordStream}.
+ */
+public final class ComponentDecomposer {
+	/**
+	 * Input data of one component: the records of every kind of input file
+	 */
+	public record Component(
+				CsvRecordReader.@NonNull Table tasks,
+				CsvRecordReader.@NonNull Table runits,
+				CsvRecordReader.@NonNull Table rgroups,
+				CsvRecordReader.@NonNull Table assocRunitsWithRgroups,
+				CsvRecordReader.@NonNull Table assocRgroupsWithTasks
+			) {
+		public int amountTasks() {
+			return tasks.records().size();
+		}
+
+		public int amountRunits() {
+			return runits.records().size();
+		}
+
+		public int amountRgroups() {
+			return rgroups.records().size();
+		}
+	}
+
+	private static final char NODE_TASK = 'T';
+	private static final char NODE_RGROUP = 'G';
+	private static final char NODE_RUNIT = 'U';
+
+	/** node number of every task, resource group and unit (key: node type plus unquoted ID) */
+	private final @NonNull Map<@NonNull String, @NonNull Integer> nodeNumbers = new HashMap<>();
+	/** union-find forest: parent of every node (roots are their own parent) */
+	private int @NonNull [] parents = new int[1024];
+	/** amount of nodes in the tree of every root */
+	private int @NonNull [] treeSizes = new int[1024];
+
+	private ComponentDecomposer() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return Components in the order of the first appearance of their tasks in the task files.
+	 *         A single component if the project can't be split.
+	 * @throws IOException If an input file can't be read
+	 * @throws InvalidInputDataException If an input file lacks a column
+	 */
+	public static @NonNull List<@NonNull Component> decompose(@NonNull InputFilenames inputFilenames)
+			throws IOException, InvalidInputDataException {
+		return new ComponentDecomposer().internalDecompose(inputFilenames);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private @NonNull List<@NonNull Component> internalDecompose(@NonNull InputFilenames inputFilenames)
+			throws IOException, InvalidInputDataException {
+		final CsvRecordReader.Table tasks = readInputKind(inputFilenames.tasks());
+		final CsvRecordReader.Table runits = readInputKind(inputFilenames.runits());
+		final CsvRecordReader.Table rgroups = readInputKind(inputFilenames.rgroups());
+		final CsvRecordReader.Table assocRunits = readInputKind(inputFilenames.assocRunitsWithRgroups());
+		final CsvRecordReader.Table assocTasks = readInputKind(inputFilenames.assocRgroupsWithTasks());
+
+		final int colTasksTaskId = tasks.getColumnIndex("TaskId");
+		final int colTasksDependencies = tasks.getColumnIndex("DependenciesTaskIdList");
+		final int colRunitsRunitId = runits.getColumnIndex("RunitId");
+		final int colRgroupsRgroupId = rgroups.getColumnIndex("RgroupId");
+		final int colAssocRunitsRgroupId = assocRunits.getColumnIndex("RgroupId");
+		final int colAssocRunitsRunitsIdList = assocRunits.getColumnIndex("RunitsIdList");
+		final int colAssocTasksTaskId = assocTasks.getColumnIndex("TaskId");
+		final int colAssocTasksRgroupId = assocTasks.getColumnIndex("RgroupId");
+
+		// union all nodes that are connected
+		for (List<String> fields : tasks.records()) {
+			final int taskNode = getNode(NODE_TASK, fields.get(colTasksTaskId));
+			for (String rawDependency : CsvRecordReader.splitIdList(fields.get(colTasksDependencies))) {
+				union(taskNode, getNode(NODE_TASK, rawDependency));
+			}
+		}
+		for (List<String> fields : assocTasks.records()) {
+			union(getNode(NODE_TASK, fields.get(colAssocTasksTaskId)), getNode(NODE_RGROUP, fields.get(colAssocTasksRgroupId)));
+		}
+		for (List<String> fields : assocRunits.records()) {
+			final int rgroupNode = getNode(NODE_RGROUP, fields.get(colAssocRunitsRgroupId));
+			for (String rawRunitId : CsvRecordReader.splitIdList(fields.get(colAssocRunitsRunitsIdList))) {
+				union(rgroupNode, getNode(NODE_RUNIT, rawRunitId));
+			}
+		}
+
+		// number the components in the order of their first task
+		final Map<Integer, Integer> componentIxByRoot = new HashMap<>();
+		for (List<String> fields : tasks.records()) {
+			componentIxByRoot.putIfAbsent(find(getNode(NODE_TASK, fields.get(colTasksTaskId))), componentIxByRoot.size());
+		}
+		final int amountComponents = Math.max(1, componentIxByRoot.size());
+
+		final ComponentBuilder[] builders = new ComponentBuilder[amountComponents];
+		for (int componentIx = 0; componentIx < amountComponents; componentIx++) {
+			builders[componentIx] = new ComponentBuilder();
+		}
+		for (List<String> fields : tasks.records()) {
+			builders[getComponentIx(componentIxByRoot, NODE_TASK, fields.get(colTasksTaskId))].tasks.add(fields);
+		}
+		for (List<String> fields : runits.records()) {
+			builders[getComponentIx(componentIxByRoot, NODE_RUNIT, fields.get(colRunitsRunitId))].runits.add(fields);
+		}
+		for (List<String> fields : rgroups.records()) {
+			builders[getComponentIx(componentIxByRoot, NODE_RGROUP, fields.get(colRgroupsRgroupId))].rgroups.add(fields);
+		}
+		for (List<String> fields : assocRunits.records()) {
+			builders[getComponentIx(componentIxByRoot, NODE_RGROUP, fields.get(colAssocRunitsRgroupId))]
+					.assocRunitsWithRgroups.add(fields);
+		}
+		for (List<String> fields : assocTasks.records()) {
+			builders[getComponentIx(componentIxByRoot, NODE_TASK, fields.get(colAssocTasksTaskId))]
+					.assocRgroupsWithTasks.add(fields);
+		}
+
+		final List<Component> resList = new ArrayList<>(amountComponents);
+		for (ComponentBuilder builder : builders) {
+			resList.add(builder.build(tasks, runits, rgroups, assocRunits, assocTasks));
+		}
+		return resList;
+	}
+
+	/**
+	 * Records of one component (the fields of the records are shared with the records of the input files)
+	 */
+	private static final class ComponentBuilder {
+		final @NonNull List<@NonNull List<@NonNull String>> tasks = new ArrayList<>();
+		final @NonNull List<@NonNull List<@NonNull String>> runits = new ArrayList<>();
+		final @NonNull List<@NonNull List<@NonNull String>> rgroups = new ArrayList<>();
+		final @NonNull List<@NonNull List<@NonNull String>> assocRunitsWithRgroups = new ArrayList<>();
+		final @NonNull List<@NonNull List<@NonNull String>> assocRgroupsWithTasks = new ArrayList<>();
+
+		@NonNull Component build(
+					CsvRecordReader.@NonNull Table allTasks,
+					CsvRecordReader.@NonNull Table allRunits,
+					CsvRecordReader.@NonNull Table allRgroups,
+					CsvRecordReader.@NonNull Table allAssocRunits,
+					CsvRecordReader.@NonNull Table allAssocTasks
+				) {
+			return new Component(
+					withRecords(allTasks, tasks),
+					withRecords(allRunits, runits),
+					withRecords(allRgroups, rgroups),
+					withRecords(allAssocRunits, assocRunitsWithRgroups),
+					withRecords(allAssocTasks, assocRgroupsWithTasks)
+				);
+		}
+
+		private static CsvRecordReader.@NonNull Table withRecords(
+					CsvRecordReader.@NonNull Table allRecords,
+					@NonNull List<@NonNull List<@NonNull String>> records
+				) {
+			return new CsvRecordReader.Table(
+					allRecords.filename(),
+					allRecords.columnNames(),
+					Collections.unmodifiableList(records)
+				);
+		}
+	}
+
+	/**
+	 * Read all files of one kind. The records of every further file are rearranged to the columns of the first file.
+	 */
+	private static CsvRecordReader.@NonNull Table readInputKind(@NonNull List<@NonNull String> filenames)
+			throws IOException, InvalidInputDataException {
+		if (filenames.isEmpty()) {
+			throw new InvalidInputDataException("no input files");
+		}
+		List<String> columnNames = null;
+		final List<List<String>> records = new ArrayList<>();
+		for (String filename : filenames) {
+			final CsvRecordReader.Table table = CsvRecordReader.read(filename);
+			if (columnNames == null) {
+				columnNames = table.columnNames();
+				records.addAll(table.records());
+				continue;
+			}
+			final int[] colIxs = new int[columnNames.size()];
+			for (int colIx = 0; colIx < colIxs.length; colIx++) {
+				colIxs[colIx] = table.getColumnIndex(columnNames.get(colIx));
+			}
+			for (List<String> fields : table.records()) {
+				final List<String> rearrangedFields = new ArrayList<>(colIxs.length);
+				for (int colIx : colIxs) {
+					rearrangedFields.add(fields.get(colIx));
+				}
+				records.add(rearrangedFields);
+			}
+		}
+		return new CsvRecordReader.Table(filenames.get(0), columnNames, records);
+	}
+
+	private int getComponentIx(@NonNull Map<Integer, Integer> componentIxByRoot, char nodeType, @NonNull String rawId) {
+		// resource groups and units without tasks are added to the first component
+		return componentIxByRoot.getOrDefault(find(getNode(nodeType, rawId)), 0);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private int getNode(char nodeType, @NonNull String rawId) {
+		final String key = nodeType + CsvRecordReader.unquote(rawId);
+		final Integer existingNode = nodeNumbers.get(key);
+		if (existingNode != null) {
+			return existingNode;
+		}
+		final int node = nodeNumbers.size();
+		if (node == parents.length) {
+			parents = Arrays.copyOf(parents, node * 2);
+			treeSizes = Arrays.copyOf(treeSizes, node * 2);
+		}
+		parents[node] = node;
+		treeSizes[node] = 1;
+		nodeNumbers.put(key, node);
+		return node;
+	}
+
+	private int find(int node) {
+		while (parents[node] != node) {
+			// path halving
+			parents[node] = parents[parents[node]];
+			node = parents[node];
+		}
+		return node;
+	}
+
+	private void union(int node1, int node2) {
+		int root1 = find(node1);
+		int root2 = find(node2);
+		if (root1 == root2) {
+			return;
+		}
+		// union by size keeps the trees flat
+		if (treeSizes[root1] < treeSizes[root2]) {
+			final int tmp = root1;
+			root1 = root2;
+			root2 = tmp;
+		}
+		parents[root2] = root1;
+		treeSizes[root1] += treeSizes[root2];
+	}
+}
@@ -0,0 +1,71 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+/**
+ * Tracks whether the characters of a CSV text are inside a quoted field (see docs/csv_files.md).
+ * <p>
+ * A quote only starts a quoted field if nothing but spaces or tabs precede it in the field.
+ * Inside a quoted field two quotes ({@code ""}) stand for one quote and a single quote ends the field.
+ * Any other quote, e.g. {@code 12"} in an unquoted field, is an ordinary character.
+ * <p>
+ * Shared by {@link CsvRecordReader} and {@link ChunkedCsvFileReader}, so records are split
+ * at the same line breaks no matter how a file is read. The characters of UTF-8 text may be passed as bytes,
+ * since all characters that matter here are ASCII.
+ */
+final class CsvQuoting {
+	/** only spaces or tabs since the start of the field */
+	private static final int FIELD_START = 0;
+	private static final int UNQUOTED = 1;
+	private static final int QUOTED = 2;
+	/** a quote in a quoted field: it ends the field unless another quote follows */
+	private static final int QUOTED_QUOTE = 3;
+
+	private final int separator;
+	private int state = FIELD_START;
+
+	/**
+	 * @param separator Field separator (e.g. ',' for records or ':' for ID lists)
+	 */
+	CsvQuoting(int separator) {
+		this.separator = separator;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param ch Next character
+	 * @return true if the character is a separator or a line break ('\n') outside of a quoted field
+	 */
+	boolean accept(int ch) {
+		switch (state) {
+			case QUOTED -> {
+				if (ch == '"') {
+					state = QUOTED_QUOTE;
+				}
+				return false;
+			}
+			case QUOTED_QUOTE -> {
+				if (ch == '"') {
+					state = QUOTED;
+					return false;
+				}
+				state = UNQUOTED;
+			}
+			case FIELD_START -> {
+				if (ch == '"') {
+					state = QUOTED;
+					return false;
+				}
+				if (ch != ' ' && ch != '\t') {
+					state = UNQUOTED;
+				}
+			}
+			default -> { }
+		}
+		if (ch == separator || ch == '\n') {
+			state = FIELD_START;
+			return true;
+		}
+		return false;
+	}
+}
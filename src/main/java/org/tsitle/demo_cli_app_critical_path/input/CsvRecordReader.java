@@ -0,0 +1,272 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal reader for input CSV files (see docs/csv_files.md) that keeps the fields as they are written in the file,
+ * so they can be rewritten without changing their quoting.
+ * <p>
+ * Records end at line breaks outside of quoted fields (see {@link CsvQuoting}),
+ * the header columns are looked up case-insensitively.
+ */
+public final class CsvRecordReader {
+	/**
+	 * @param filename Filename the table was read from (for error messages)
+	 * @param columnNames Unquoted names of the columns in the order of the header
+	 * @param records Raw fields of every record after the header
+	 */
+	public record Table(
+				@NonNull String filename,
+				@NonNull List<@NonNull String> columnNames,
+				@NonNull List<@NonNull List<@NonNull String>> records
+			) {
+		/**
+		 * @return Index of the column (the name is case-insensitive)
+		 * @throws InvalidInputDataException If the column doesn't exist
+		 */
+		public int getColumnIndex(@NonNull String columnName) throws InvalidInputDataException {
+			return findColumnIndex(filename, columnNames, columnName);
+		}
+	}
+
+	/**
+	 * Handles the records of a file that is streamed by {@link #readRecords(String, RecordHandlerFactory)}
+	 */
+	@FunctionalInterface
+	public interface RecordHandler {
+		/**
+		 * @param fields Raw fields of the record (at least as many as there are columns)
+		 * @param lineNumber Line number of the start of the record (1 is the header)
+		 */
+		void handle(@NonNull List<@NonNull String> fields, int lineNumber) throws InvalidInputDataException;
+	}
+
+	/**
+	 * Creates the {@link RecordHandler} once the header has been read (e.g. to look up the column indices)
+	 */
+	@FunctionalInterface
+	public interface RecordHandlerFactory {
+		@NonNull RecordHandler create(@NonNull List<@NonNull String> columnNames) throws InvalidInputDataException;
+	}
+
+	private CsvRecordReader() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Read the whole file into memory
+	 * @param filename Input filename (may have 'rsc:' prefix to read from the 'resources' folder)
+	 * @throws IOException If the file can't be read
+	 * @throws InvalidInputDataException If the file has no header or a record has too few fields
+	 */
+	public static @NonNull Table read(@NonNull String filename) throws IOException, InvalidInputDataException {
+		final List<List<String>> records = new ArrayList<>();
+		final List<String> columnNames = readRecords(
+				filename,
+				(tmpColumnNames) -> (fields, lineNumber) -> records.add(Collections.unmodifiableList(fields))
+			);
+		return new Table(filename, columnNames, Collections.unmodifiableList(records));
+	}
+
+	/**
+	 * Stream the records of the file (only the current record is kept in memory)
+	 * @param filename Input filename (may have 'rsc:' prefix to read from the 'resources' folder)
+	 * @return Unquoted names of the columns in the order of the header
+	 * @throws IOException If the file can't be read
+	 * @throws InvalidInputDataException If the file has no header, a record has too few fields
+	 *                                   or the handler rejects a record
+	 */
+	public static @NonNull List<@NonNull String> readRecords(
+				@NonNull String filename,
+				@NonNull RecordHandlerFactory handlerFactory
+			) throws IOException, InvalidInputDataException {
+		try (Reader reader = openReader(filename)) {
+			final RecordSplitter splitter = new RecordSplitter(filename, handlerFactory);
+			final char[] buffer = new char[64 * 1024];
+			int amountRead;
+			while ((amountRead = reader.read(buffer)) >= 0) {
+				for (int ix = 0; ix < amountRead; ix++) {
+					splitter.accept(buffer[ix]);
+				}
+			}
+			splitter.finish();
+			return splitter.getColumnNames();
+		}
+	}
+
+	/**
+	 * @return Index of the column (the name is case-insensitive)
+	 * @throws InvalidInputDataException If the column doesn't exist
+	 */
+	public static int findColumnIndex(
+				@NonNull String filename,
+				@NonNull List<@NonNull String> columnNames,
+				@NonNull String columnName
+			) throws InvalidInputDataException {
+		final String lowerName = columnName.toLowerCase(Locale.ROOT);
+		for (int colIx = 0; colIx < columnNames.size(); colIx++) {
+			if (columnNames.get(colIx).toLowerCase(Locale.ROOT).equals(lowerName)) {
+				return colIx;
+			}
+		}
+		throw new InvalidInputDataException("missing column '" + columnName + "' in '" + filename + "'");
+	}
+
+	/**
+	 * Split at the separator outside of quoted fields (see {@link CsvQuoting}). The fields keep their quotes.
+	 */
+	public static @NonNull List<@NonNull String> splitFields(@NonNull String rawRecord, char separator) {
+		final List<String> resList = new ArrayList<>();
+		final CsvQuoting quoting = new CsvQuoting(separator);
+		int fieldStartIx = 0;
+		for (int ix = 0; ix < rawRecord.length(); ix++) {
+			final char ch = rawRecord.charAt(ix);
+			if (quoting.accept(ch) && ch == separator) {
+				resList.add(rawRecord.substring(fieldStartIx, ix).trim());
+				fieldStartIx = ix + 1;
+			}
+		}
+		resList.add(rawRecord.substring(fieldStartIx).trim());
+		return resList;
+	}
+
+	/**
+	 * @return Raw IDs of an ID list like {@code 20:30} or {@code "ABC-10":"DEF-20"} (none for {@code none})
+	 */
+	public static @NonNull List<@NonNull String> splitIdList(@NonNull String rawIdList) {
+		final String idList = unquote(rawIdList);
+		if (idList.isEmpty() || idList.equalsIgnoreCase("none")) {
+			return List.of();
+		}
+		return splitFields(rawIdList, ':');
+	}
+
+	/**
+	 * @return Value of the field without the enclosing quotes and with unescaped inner quotes
+	 */
+	public static @NonNull String unquote(@NonNull String rawField) {
+		final String trimmed = rawField.trim();
+		if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+			return trimmed.substring(1, trimmed.length() - 1).replace("\"\"", "\"");
+		}
+		return trimmed;
+	}
+
+	public static @NonNull String quote(@NonNull String value) {
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	static @NonNull Reader openReader(@NonNull String filename) throws IOException {
+		if (! filename.startsWith("rsc:")) {
+			final Path path = Paths.get(filename).normalize();
+			try {
+				return Files.newBufferedReader(path, StandardCharsets.UTF_8);
+			} catch (NoSuchFileException e) {
+				throw new IOException("file '" + filename + "' not found (absolute path '" + path.toAbsolutePath() + "')");
+			}
+		}
+		final InputStream is = CsvRecordReader.class.getClassLoader().getResourceAsStream(filename.substring(4));
+		if (is == null) {
+			throw new IOException("file '" + filename.substring(4) + "' not found");
+		}
+		return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Collects the characters of a record until a line break outside of quoted fields
+	 * (also used by {@link CsvRecordStream} to split the records of a file chunk by chunk)
+	 */
+	static final class RecordSplitter {
+		private final @NonNull String filename;
+		private final @NonNull RecordHandlerFactory handlerFactory;
+		private final @NonNull StringBuilder currentRecord = new StringBuilder();
+		private final @NonNull CsvQuoting quoting = new CsvQuoting(',');
+		private boolean isFirstChar = true;
+		private int lineNumber = 1;
+		private int recordLineNumber = 1;
+		private List<String> columnNames = null;
+		private RecordHandler handler = null;
+
+		RecordSplitter(@NonNull String filename, @NonNull RecordHandlerFactory handlerFactory) {
+			this.filename = filename;
+			this.handlerFactory = handlerFactory;
+		}
+
+		void accept(char ch) throws InvalidInputDataException {
+			if (isFirstChar) {
+				isFirstChar = false;
+				// a byte order mark would become part of the first column name
+				if (ch == '\uFEFF') {
+					return;
+				}
+			}
+			final boolean isDelimiter = quoting.accept(ch);
+			if (ch == '\n') {
+				lineNumber++;
+				if (isDelimiter) {
+					finishRecord();
+					recordLineNumber = lineNumber;
+					return;
+				}
+			}
+			currentRecord.append(ch);
+		}
+
+		void finish() throws InvalidInputDataException {
+			finishRecord();
+			if (columnNames == null) {
+				throw new InvalidInputDataException("missing header in '" + filename + "'");
+			}
+		}
+
+		@NonNull List<@NonNull String> getColumnNames() {
+			return columnNames;
+		}
+
+		private void finishRecord() throws InvalidInputDataException {
+			final int length = currentRecord.length();
+			if (length > 0 && currentRecord.charAt(length - 1) == '\r') {
+				currentRecord.setLength(length - 1);
+			}
+			final String rawRecord = currentRecord.toString();
+			currentRecord.setLength(0);
+			if (rawRecord.isBlank()) {
+				return;
+			}
+
+			final List<String> fields = splitFields(rawRecord, ',');
+			if (columnNames == null) {
+				final List<String> tmpColumnNames = new ArrayList<>(fields.size());
+				fields.forEach((rawName) -> tmpColumnNames.add(unquote(rawName)));
+				columnNames = Collections.unmodifiableList(tmpColumnNames);
+				handler = handlerFactory.create(columnNames);
+				return;
+			}
+			if (fields.size() < columnNames.size()) {
+				throw new InvalidInputDataException("line " + recordLineNumber + " in '" + filename + "' has " +
+						fields.size() + " instead of " + columnNames.size() + " fields");
+			}
+			handler.handle(fields, recordLineNumber);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * CSV text that is produced chunk by chunk while it is being read, e.g. by the readers of the library.
+ * <p>
+ * Only the current chunk (about {@value #CHUNK_SIZE} characters) is kept in memory,
+ * so neither the rewritten file nor a copy of its bytes ever exists as a whole.
+ */
+public final class CsvRecordStream extends InputStream {
+	/** minimum amount of characters per chunk (a chunk always ends after a complete record) */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * Creates the handler that writes the records of the file to the stream once the header has been read
+	 */
+	@FunctionalInterface
+	public interface RecordWriterFactory {
+		/**
+		 * @param columnNames Unquoted names of the columns in the order of the header
+		 * @param out Text of the current chunk: the factory appends the header line,
+		 *            the handler appends the line of every record
+		 */
+		CsvRecordReader.@NonNull RecordHandler create(@NonNull List<@NonNull String> columnNames, @NonNull StringBuilder out)
+				throws InvalidInputDataException;
+	}
+
+	/**
+	 * Appends the next chunk of the CSV text
+	 */
+	@FunctionalInterface
+	private interface ChunkProducer {
+		/**
+		 * @return false if this has been the last chunk
+		 */
+		boolean produce(@NonNull StringBuilder out) throws IOException, InvalidInputDataException;
+	}
+
+	private final @NonNull ChunkProducer producer;
+	private final @Nullable Reader reader;
+	private final @NonNull StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 1024);
+	private byte @NonNull [] chunkBytes = new byte[0];
+	private int chunkBytesIx = 0;
+	private boolean isAtEnd = false;
+
+	private CsvRecordStream(@NonNull ChunkProducer producer, @Nullable Reader reader) {
+		this.producer = producer;
+		this.reader = reader;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Stream the records of a file after they have been rewritten record by record
+	 * @param filename Input filename (may have 'rsc:' prefix to read from the 'resources' folder)
+	 * @param writerFactory Writes the header and the records to the stream
+	 * @throws IOException If the file can't be opened
+	 */
+	public static @NonNull CsvRecordStream rewrite(@NonNull String filename, @NonNull RecordWriterFactory writerFactory)
+			throws IOException {
+		final Reader reader = CsvRecordReader.openReader(filename);
+		final StringBuilder[] out = new StringBuilder[1];
+		final CsvRecordReader.RecordSplitter splitter = new CsvRecordReader.RecordSplitter(
+				filename,
+				(columnNames) -> writerFactory.create(columnNames, out[0])
+			);
+		final char[] buffer = new char[CHUNK_SIZE];
+		return new CsvRecordStream(
+				(chunkOut) -> {
+					out[0] = chunkOut;
+					while (chunkOut.length() < CHUNK_SIZE) {
+						final int amountRead = reader.read(buffer);
+						if (amountRead < 0) {
+							splitter.finish();
+							return false;
+						}
+						for (int ix = 0; ix < amountRead; ix++) {
+							splitter.accept(buffer[ix]);
+						}
+					}
+					return true;
+				},
+				reader
+			);
+	}
+
+	/**
+	 * Stream records that are already in memory
+	 * @param columnNames Unquoted names of the columns (written as they are)
+	 * @param records Raw fields of the records (written as they are, i.e. with their quotes)
+	 */
+	public static @NonNull CsvRecordStream of(
+				@NonNull List<@NonNull String> columnNames,
+				@NonNull List<@NonNull List<@NonNull String>> records
+			) {
+		final Iterator<List<String>> recordIter = records.iterator();
+		final boolean[] isHeaderWritten = {false};
+		return new CsvRecordStream(
+				(chunkOut) -> {
+					if (! isHeaderWritten[0]) {
+						isHeaderWritten[0] = true;
+						appendLine(chunkOut, columnNames);
+					}
+					while (chunkOut.length() < CHUNK_SIZE) {
+						if (! recordIter.hasNext()) {
+							return false;
+						}
+						appendLine(chunkOut, recordIter.next());
+					}
+					return true;
+				},
+				null
+			);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Override
+	public int read() throws IOException {
+		if (! fillChunkBytes()) {
+			return -1;
+		}
+		return chunkBytes[chunkBytesIx++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte @NonNull [] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (! fillChunkBytes()) {
+			return -1;
+		}
+		final int amount = Math.min(len, chunkBytes.length - chunkBytesIx);
+		System.arraycopy(chunkBytes, chunkBytesIx, b, off, amount);
+		chunkBytesIx += amount;
+		return amount;
+	}
+
+	@Override
+	public void close() throws IOException {
+		isAtEnd = true;
+		chunkBytes = new byte[0];
+		chunkBytesIx = 0;
+		if (reader != null) {
+			reader.close();
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return false if the end of the stream has been reached
+	 * @throws InvalidInputDataException If the input file contains invalid data
+	 *                                   (not wrapped, so the callers report it like any other invalid input)
+	 */
+	private boolean fillChunkBytes() throws IOException {
+		while (chunkBytesIx == chunkBytes.length) {
+			if (isAtEnd) {
+				return false;
+			}
+			chunk.setLength(0);
+			isAtEnd = ! producer.produce(chunk);
+			chunkBytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+			chunkBytesIx = 0;
+		}
+		return true;
+	}
+
+	private static void appendLine(@NonNull StringBuilder out, @NonNull List<@NonNull String> fields) {
+		for (int colIx = 0; colIx < fields.size(); colIx++) {
+			if (colIx > 0) {
+				out.append(',');
+			}
+			out.append(fields.get(colIx));
+		}
+		out.append('\n');
+	}
+}
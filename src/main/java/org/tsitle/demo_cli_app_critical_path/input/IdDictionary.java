@@ -0,0 +1,231 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dictionary of the string IDs of the input files (indices type STR) that maps them to dense numerical IDs,
+ * so the input files can be parsed with the readers for numerical IDs and every ID string is kept only once.
+ * <p>
+ * The numerical IDs (codes) are assigned per kind of ID in the sort order of the strings, starting at 1,
+ * so comparing two codes gives the same result as comparing their strings.
+ * IDs that are only referenced (e.g. a dependency on an unknown task) get codes after all defined IDs.
+ * <p>
+ * The codes are only mapped back to the strings for the output.
+ */
+public final class IdDictionary {
+	/** dictionary that doesn't map any ID (for numerical IDs) */
+	public static final IdDictionary IDENTITY = new IdDictionary(new String[0], new String[0], new String[0]);
+
+	/** original ID of every code (at index {@code code - 1}) */
+	private final @NonNull String @NonNull [] taskIds;
+	private final @NonNull String @NonNull [] rgroupIds;
+	private final @NonNull String @NonNull [] runitIds;
+
+	private IdDictionary(
+				@NonNull String @NonNull [] taskIds,
+				@NonNull String @NonNull [] rgroupIds,
+				@NonNull String @NonNull [] runitIds
+			) {
+		this.taskIds = taskIds;
+		this.rgroupIds = rgroupIds;
+		this.runitIds = runitIds;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Collect the IDs of all input files and assign their codes
+	 * @throws IOException If an input file can't be read
+	 * @throws InvalidInputDataException If an input file lacks a column or a record has too few fields
+	 */
+	public static @NonNull Encoder encoder(@NonNull InputFilenames inputFilenames) throws IOException, InvalidInputDataException {
+		final Encoder encoder = new Encoder();
+		encoder.tasks.defineIds(inputFilenames.tasks(), "TaskId");
+		encoder.rgroups.defineIds(inputFilenames.rgroups(), "RgroupId");
+		encoder.runits.defineIds(inputFilenames.runits(), "RunitId");
+		return encoder;
+	}
+
+	/**
+	 * @param externalId External ID of a task in the results
+	 * @return Original string ID if {@code externalId} is a code of this dictionary, otherwise {@code externalId}
+	 */
+	public @Nullable Comparable<?> decodeTaskId(@Nullable Comparable<?> externalId) {
+		return decode(taskIds, externalId);
+	}
+
+	public @Nullable Comparable<?> decodeRgroupId(@Nullable Comparable<?> externalId) {
+		return decode(rgroupIds, externalId);
+	}
+
+	public @Nullable Comparable<?> decodeRunitId(@Nullable Comparable<?> externalId) {
+		return decode(runitIds, externalId);
+	}
+
+	/**
+	 * @return Amount of IDs in the dictionary (all kinds)
+	 */
+	public int size() {
+		return taskIds.length + rgroupIds.length + runitIds.length;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static @Nullable Comparable<?> decode(@NonNull String @NonNull [] ids, @Nullable Comparable<?> externalId) {
+		if (externalId instanceof Long code && code >= 1 && code <= ids.length) {
+			return ids[(int)(code - 1)];
+		}
+		return externalId;
+	}
+
+	/**
+	 * Rewrites the input files with codes instead of string IDs (see docs/csv_files.md).
+	 * Not thread-safe, since codes are added for unknown IDs.
+	 */
+	public static final class Encoder {
+		private final @NonNull IdSpace tasks = new IdSpace();
+		private final @NonNull IdSpace rgroups = new IdSpace();
+		private final @NonNull IdSpace runits = new IdSpace();
+
+		private Encoder() { }
+
+		/**
+		 * @return Stream of the tasks file with codes in the columns {@code TaskId} and {@code DependenciesTaskIdList}
+		 *         (the records are rewritten while the stream is read)
+		 */
+		public @NonNull InputStream transcodeTasks(@NonNull String filename) throws IOException {
+			return transcode(filename, Map.of("TaskId", tasks, "DependenciesTaskIdList", tasks), Set.of("DependenciesTaskIdList"));
+		}
+
+		public @NonNull InputStream transcodeRunits(@NonNull String filename) throws IOException {
+			return transcode(filename, Map.of("RunitId", runits), Set.of());
+		}
+
+		public @NonNull InputStream transcodeRgroups(@NonNull String filename) throws IOException {
+			return transcode(filename, Map.of("RgroupId", rgroups), Set.of());
+		}
+
+		public @NonNull InputStream transcodeAssocRunitsWithRgroups(@NonNull String filename) throws IOException {
+			return transcode(filename, Map.of("RgroupId", rgroups, "RunitsIdList", runits), Set.of("RunitsIdList"));
+		}
+
+		public @NonNull InputStream transcodeAssocRgroupsWithTasks(@NonNull String filename) throws IOException {
+			return transcode(filename, Map.of("TaskId", tasks, "RgroupId", rgroups), Set.of());
+		}
+
+		/**
+		 * @return Dictionary of all codes that have been assigned so far
+		 */
+		public @NonNull IdDictionary buildDictionary() {
+			return new IdDictionary(tasks.toArray(), rgroups.toArray(), runits.toArray());
+		}
+
+		/**
+		 * @param idSpaces ID space of every column that contains IDs
+		 * @param listColumnNames Columns that contain ID lists like {@code "A":"B"}
+		 */
+		private static @NonNull InputStream transcode(
+					@NonNull String filename,
+					@NonNull Map<@NonNull String, @NonNull IdSpace> idSpaces,
+					@NonNull Set<@NonNull String> listColumnNames
+				) throws IOException {
+			return CsvRecordStream.rewrite(filename, (columnNames, sb) -> {
+					final IdSpace[] idSpaceByColIx = new IdSpace[columnNames.size()];
+					final boolean[] isListByColIx = new boolean[columnNames.size()];
+					for (Map.Entry<String, IdSpace> entry : idSpaces.entrySet()) {
+						final int colIx = CsvRecordReader.findColumnIndex(filename, columnNames, entry.getKey());
+						idSpaceByColIx[colIx] = entry.getValue();
+						isListByColIx[colIx] = listColumnNames.contains(entry.getKey());
+					}
+					sb.append(String.join(",", columnNames)).append('\n');
+					return (fields, lineNumber) -> {
+							for (int colIx = 0; colIx < fields.size(); colIx++) {
+								if (colIx > 0) {
+									sb.append(',');
+								}
+								final String rawField = fields.get(colIx);
+								if (colIx >= idSpaceByColIx.length || idSpaceByColIx[colIx] == null) {
+									sb.append(rawField);
+								} else if (! isListByColIx[colIx]) {
+									sb.append(idSpaceByColIx[colIx].encode(CsvRecordReader.unquote(rawField)));
+								} else {
+									appendEncodedIdList(sb, rawField, idSpaceByColIx[colIx]);
+								}
+							}
+							sb.append('\n');
+						};
+				});
+		}
+
+		private static void appendEncodedIdList(@NonNull StringBuilder sb, @NonNull String rawIdList, @NonNull IdSpace idSpace) {
+			final List<String> rawIds = CsvRecordReader.splitIdList(rawIdList);
+			if (rawIds.isEmpty()) {
+				// keeps 'none' as it is
+				sb.append(rawIdList);
+				return;
+			}
+			for (int idIx = 0; idIx < rawIds.size(); idIx++) {
+				if (idIx > 0) {
+					sb.append(':');
+				}
+				sb.append(idSpace.encode(CsvRecordReader.unquote(rawIds.get(idIx))));
+			}
+		}
+	}
+
+	/**
+	 * Codes of one kind of IDs
+	 */
+	private static final class IdSpace {
+		private final @NonNull Map<@NonNull String, @NonNull Long> codeById = new HashMap<>();
+		private final @NonNull List<@NonNull String> idsByCode = new ArrayList<>();
+
+		/**
+		 * Assign the codes of the IDs in the column of all files in the sort order of the IDs
+		 */
+		void defineIds(@NonNull List<@NonNull String> filenames, @NonNull String columnName)
+				throws IOException, InvalidInputDataException {
+			final Set<String> ids = new HashSet<>();
+			for (String filename : filenames) {
+				CsvRecordReader.readRecords(filename, (columnNames) -> {
+						final int colId = CsvRecordReader.findColumnIndex(filename, columnNames, columnName);
+						return (fields, lineNumber) -> ids.add(CsvRecordReader.unquote(fields.get(colId)));
+					});
+			}
+			final String[] sortedIds = ids.toArray(new String[0]);
+			Arrays.sort(sortedIds);
+			for (String id : sortedIds) {
+				encode(id);
+			}
+		}
+
+		long encode(@NonNull String id) {
+			final Long existingCode = codeById.get(id);
+			if (existingCode != null) {
+				return existingCode;
+			}
+			idsByCode.add(id);
+			final long code = idsByCode.size();
+			codeById.put(id, code);
+			return code;
+		}
+
+		@NonNull String @NonNull [] toArray() {
+			return idsByCode.toArray(new String[0]);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Expands input filenames that contain glob patterns (e.g. {@code shards/tasks-*.csv}
+ * or {@code tasks-{a,b}.csv}) into the list of matching files
+ */
+public final class InputFilePatterns {
+	private static final String GLOB_CHARS = "*?[{";
+
+	private InputFilePatterns() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	public static boolean isPattern(@NonNull String filename) {
+		if (filename.startsWith("rsc:")) {
+			return false;
+		}
+		for (int ix = 0; ix < filename.length(); ix++) {
+			if (GLOB_CHARS.indexOf(filename.charAt(ix)) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Expand a filename that may contain a glob pattern.
+	 * Filenames without a pattern (including 'rsc:' filenames) are returned unchanged.
+	 * @param filename Filename or glob pattern ('/' may be used as path separator on all platforms)
+	 * @return Matching filenames in lexicographical order
+	 * @throws IOException If no file matches the pattern or the directory could not be read
+	 */
+	public static @NonNull List<@NonNull String> expand(@NonNull String filename) throws IOException {
+		if (! isPattern(filename)) {
+			return List.of(filename);
+		}
+
+		final SplitPattern splitPattern = splitPattern(filename);
+		final Path baseDir = splitPattern.baseDir();
+		final boolean isRelativeToWorkingDir = splitPattern.isRelativeToWorkingDir();
+
+		if (! Files.isDirectory(baseDir)) {
+			throw new IOException("directory '" + splitPattern.baseDirStr() + "' of pattern '" + filename + "' not found " +
+					"(absolute path '" + baseDir.toAbsolutePath().normalize() + "')");
+		}
+		final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + splitPattern.patternStr());
+		final List<String> resList;
+		try (Stream<Path> paths = Files.walk(baseDir, splitPattern.maxDepth())) {
+			resList = paths
+					.filter(Files::isRegularFile)
+					.filter(path -> matcher.matches(baseDir.relativize(path)))
+					.map(path -> (isRelativeToWorkingDir ? baseDir.relativize(path) : path).toString())
+					.sorted()
+					.toList();
+		}
+		if (resList.isEmpty()) {
+			throw new IOException("no files match the pattern '" + filename + "'");
+		}
+		return resList;
+	}
+
+	/**
+	 * Expand several filenames that may contain glob patterns.
+	 * Files that match more than one of the entries are only contained once.
+	 * @param filenames Filenames or glob patterns
+	 * @return Matching filenames in the order of the entries, each entry's files in lexicographical order
+	 * @throws IOException If no file matches one of the patterns or a directory could not be read
+	 */
+	public static @NonNull List<@NonNull String> expand(@NonNull List<@NonNull String> filenames) throws IOException {
+		if (filenames.size() == 1) {
+			return expand(filenames.get(0));
+		}
+		final Set<String> resSet = new LinkedHashSet<>();
+		for (String filename : filenames) {
+			resSet.addAll(expand(filename));
+		}
+		return List.copyOf(resSet);
+	}
+
+	/**
+	 * @param filenameOrPattern Filename or glob pattern (not an 'rsc:' filename)
+	 * @return Directory that contains the file or, for patterns, below which all matching files are located
+	 */
+	public static @NonNull Path getBaseDir(@NonNull String filenameOrPattern) {
+		if (! isPattern(filenameOrPattern)) {
+			final Path parent = Paths.get(filenameOrPattern).toAbsolutePath().normalize().getParent();
+			return (parent != null ? parent : Paths.get(filenameOrPattern).toAbsolutePath().getRoot());
+		}
+		return splitPattern(filenameOrPattern).baseDir().toAbsolutePath().normalize();
+	}
+
+	/**
+	 * @return Maximum depth of matching files below {@link #getBaseDir(String)} (1 for plain filenames)
+	 */
+	public static int getMaxDepth(@NonNull String filenameOrPattern) {
+		return (isPattern(filenameOrPattern) ? splitPattern(filenameOrPattern).maxDepth() : 1);
+	}
+
+	/**
+	 * Check whether a (possibly no longer existing) file is matched by a filename or pattern
+	 * @param filenameOrPattern Filename or glob pattern (not an 'rsc:' filename)
+	 * @param path File to check
+	 */
+	public static boolean matches(@NonNull String filenameOrPattern, @NonNull Path path) {
+		final Path absPath = path.toAbsolutePath().normalize();
+		if (! isPattern(filenameOrPattern)) {
+			return absPath.equals(Paths.get(filenameOrPattern).toAbsolutePath().normalize());
+		}
+		final SplitPattern splitPattern = splitPattern(filenameOrPattern);
+		final Path absBaseDir = splitPattern.baseDir().toAbsolutePath().normalize();
+		if (! absPath.startsWith(absBaseDir)) {
+			return false;
+		}
+		return FileSystems.getDefault()
+				.getPathMatcher("glob:" + splitPattern.patternStr())
+				.matches(absBaseDir.relativize(absPath));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Pattern split into the base directory without glob characters and the remaining pattern
+	 */
+	private record SplitPattern(
+				@NonNull String baseDirStr,
+				@NonNull Path baseDir,
+				@NonNull String patternStr,
+				boolean isRelativeToWorkingDir,
+				int maxDepth
+			) { }
+
+	private static @NonNull SplitPattern splitPattern(@NonNull String filename) {
+		final String normalizedFilename = filename.replace('\\', '/');
+		final String[] segments = normalizedFilename.split("/", -1);
+		int firstPatternSegmentIx = 0;
+		while (firstPatternSegmentIx < segments.length && ! isPattern(segments[firstPatternSegmentIx])) {
+			firstPatternSegmentIx++;
+		}
+		final String baseDirStr = String.join("/", List.of(segments).subList(0, firstPatternSegmentIx));
+		final String patternStr = String.join("/", List.of(segments).subList(firstPatternSegmentIx, segments.length));
+		final boolean isRelativeToWorkingDir = (firstPatternSegmentIx == 0);
+		final Path baseDir;
+		if (isRelativeToWorkingDir) {
+			baseDir = Paths.get(".");
+		} else if (baseDirStr.isEmpty()) {
+			baseDir = Paths.get("/");
+		} else {
+			baseDir = Paths.get(baseDirStr);
+		}
+		final int maxDepth = segments.length - firstPatternSegmentIx;
+		return new SplitPattern(baseDirStr, baseDir, patternStr, isRelativeToWorkingDir, maxDepth);
+	}
+}
@@ -0,0 +1,17 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Input files of every kind (after expanding glob patterns).
+ * The lists of the resource files are empty for basic input data.
+ */
+public record InputFilenames(
+			@NonNull List<@NonNull String> tasks,
+			@NonNull List<@NonNull String> runits,
+			@NonNull List<@NonNull String> rgroups,
+			@NonNull List<@NonNull String> assocRunitsWithRgroups,
+			@NonNull List<@NonNull String> assocRgroupsWithTasks
+		) { }
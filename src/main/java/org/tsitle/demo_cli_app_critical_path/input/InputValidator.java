@@ -0,0 +1,557 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the input files (see docs/csv_files.md) for inconsistencies before the graph is built,
+ * so that all of them are reported at once with their file and line instead of failing on the first one
+ * somewhere inside the computation.
+ * <p>
+ * The files of every kind are scanned separately and kept as compact indexes, so that after a change
+ * only the files of the changed kinds have to be scanned again (e.g. in the watch mode).
+ * The checks across the kinds run in memory.
+ * The records are streamed, the IDs are kept in hash indexes and the dependencies are checked for cycles
+ * with an iterative topological sort, so the validation takes linear time in the size of the input.
+ * The resource checks are only done for advanced input data (if there are files with resource units).
+ * <p>
+ * Numerical IDs are compared by their value like the readers of the library do, so {@code 007} and {@code 7}
+ * are the same ID.
+ */
+public final class InputValidator {
+	/**
+	 * @param lineNumber Line of the record in the file (1 is the header)
+	 */
+	public record Problem(@NonNull String filename, int lineNumber, @NonNull String message) {
+		@Override
+		public @NonNull String toString() {
+			return filename + ":" + lineNumber + ": " + message;
+		}
+	}
+
+	/** amount of tasks of a cycle that are listed in its problem */
+	private static final int MAX_LISTED_CYCLE_TASKS = 10;
+
+	private final boolean areIdsNumerical;
+	private @NonNull TaskScan tasksScan = new TaskScan();
+	private @NonNull IdScan runitsScan = new IdScan();
+	private @NonNull IdScan rgroupsScan = new IdScan();
+	private @NonNull AssocScan assocRunitsWithRgroupsScan = new AssocScan();
+	private @NonNull AssocScan assocRgroupsWithTasksScan = new AssocScan();
+	/** problems of the current {@link #check()} */
+	private final @NonNull List<@NonNull Problem> problems = new ArrayList<>();
+
+	/**
+	 * @param areIdsNumerical The IDs are numbers (indices type NUM)
+	 */
+	public InputValidator(boolean areIdsNumerical) {
+		this.areIdsNumerical = areIdsNumerical;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Scan and check all input files at once
+	 * @return All problems that were found, in the order of the checks. Empty if the input is consistent.
+	 * @throws IOException If an input file can't be read
+	 * @throws InvalidInputDataException If an input file lacks a column or a record has too few fields
+	 */
+	public static @NonNull List<@NonNull Problem> validate(@NonNull InputFilenames inputFilenames, boolean areIdsNumerical)
+			throws IOException, InvalidInputDataException {
+		final InputValidator validator = new InputValidator(areIdsNumerical);
+		validator.scanTasks(inputFilenames.tasks());
+		validator.scanRunits(inputFilenames.runits());
+		validator.scanRgroups(inputFilenames.rgroups());
+		validator.scanAssocRunitsWithRgroups(inputFilenames.assocRunitsWithRgroups());
+		validator.scanAssocRgroupsWithTasks(inputFilenames.assocRgroupsWithTasks());
+		return validator.check();
+	}
+
+	/**
+	 * Replace the scanned tasks by the ones of these files
+	 * @throws IOException If an input file can't be read
+	 * @throws InvalidInputDataException If an input file lacks a column or a record has too few fields
+	 */
+	public void scanTasks(@NonNull List<@NonNull String> filenames) throws IOException, InvalidInputDataException {
+		final TaskScan scan = new TaskScan();
+		for (String filename : filenames) {
+			readTasks(filename, scan);
+		}
+		tasksScan = scan;
+	}
+
+	public void scanRunits(@NonNull List<@NonNull String> filenames) throws IOException, InvalidInputDataException {
+		final IdScan scan = new IdScan();
+		for (String filename : filenames) {
+			readIds(filename, "RunitId", "resource unit", scan);
+		}
+		runitsScan = scan;
+	}
+
+	public void scanRgroups(@NonNull List<@NonNull String> filenames) throws IOException, InvalidInputDataException {
+		final IdScan scan = new IdScan();
+		for (String filename : filenames) {
+			readIds(filename, "RgroupId", "resource group", scan);
+		}
+		rgroupsScan = scan;
+	}
+
+	public void scanAssocRunitsWithRgroups(@NonNull List<@NonNull String> filenames)
+			throws IOException, InvalidInputDataException {
+		final AssocScan scan = new AssocScan();
+		for (String filename : filenames) {
+			readAssocs(filename, "RgroupId", "RunitsIdList", true, scan);
+		}
+		assocRunitsWithRgroupsScan = scan;
+	}
+
+	public void scanAssocRgroupsWithTasks(@NonNull List<@NonNull String> filenames)
+			throws IOException, InvalidInputDataException {
+		final AssocScan scan = new AssocScan();
+		for (String filename : filenames) {
+			readAssocs(filename, "TaskId", "RgroupId", false, scan);
+		}
+		assocRgroupsWithTasksScan = scan;
+	}
+
+	/**
+	 * Check the scanned files against each other (doesn't read any file)
+	 * @return All problems that were found, in the order of the checks. Empty if the input is consistent.
+	 */
+	public @NonNull List<@NonNull Problem> check() {
+		problems.clear();
+		final IdIndex tasks = tasksScan.index;
+		final IdIndex runits = runitsScan.index;
+		final IdIndex rgroups = rgroupsScan.index;
+
+		problems.addAll(tasksScan.problems);
+		checkDependencies();
+
+		if (! runitsScan.hasFiles) {
+			return List.copyOf(problems);
+		}
+		problems.addAll(runitsScan.problems);
+		problems.addAll(rgroupsScan.problems);
+
+		final boolean[] rgroupHasRunit = new boolean[rgroups.size()];
+		final AssocScan runitAssocs = assocRunitsWithRgroupsScan;
+		problems.addAll(runitAssocs.problems);
+		for (int assocIx = 0; assocIx < runitAssocs.size(); assocIx++) {
+			final String rgroupId = runitAssocs.ownerIds.get(assocIx);
+			final int rgroupIx = rgroups.indexOf(rgroupId);
+			if (rgroupIx < 0) {
+				addProblem(runitAssocs, assocIx, "unknown resource group '" + rgroupId + "'");
+			}
+			final int memberEndIx = runitAssocs.memberStarts.get(assocIx + 1);
+			for (int memberIx = runitAssocs.memberStarts.get(assocIx); memberIx < memberEndIx; memberIx++) {
+				final String runitId = runitAssocs.memberIds.get(memberIx);
+				if (runits.indexOf(runitId) < 0) {
+					addProblem(runitAssocs, assocIx, "unknown resource unit '" + runitId + "'");
+				} else if (rgroupIx >= 0) {
+					rgroupHasRunit[rgroupIx] = true;
+				}
+			}
+		}
+
+		final boolean[] taskHasRgroup = new boolean[tasks.size()];
+		final boolean[] rgroupHasTask = new boolean[rgroups.size()];
+		final AssocScan taskAssocs = assocRgroupsWithTasksScan;
+		problems.addAll(taskAssocs.problems);
+		for (int assocIx = 0; assocIx < taskAssocs.size(); assocIx++) {
+			final String taskId = taskAssocs.ownerIds.get(assocIx);
+			final String rgroupId = taskAssocs.memberIds.get(taskAssocs.memberStarts.get(assocIx));
+			final int taskIx = tasks.indexOf(taskId);
+			final int rgroupIx = rgroups.indexOf(rgroupId);
+			if (taskIx < 0) {
+				addProblem(taskAssocs, assocIx, "unknown task '" + taskId + "'");
+			}
+			if (rgroupIx < 0) {
+				addProblem(taskAssocs, assocIx, "unknown resource group '" + rgroupId + "'");
+			}
+			if (taskIx >= 0 && rgroupIx >= 0) {
+				taskHasRgroup[taskIx] = true;
+				rgroupHasTask[rgroupIx] = true;
+			}
+		}
+
+		for (int taskIx = 0; taskIx < tasks.size(); taskIx++) {
+			if (! taskHasRgroup[taskIx]) {
+				addProblem(tasks, taskIx, "task '" + tasks.getId(taskIx) + "' is not associated with any resource group");
+			}
+		}
+		for (int rgroupIx = 0; rgroupIx < rgroups.size(); rgroupIx++) {
+			if (rgroupHasTask[rgroupIx] && ! rgroupHasRunit[rgroupIx]) {
+				addProblem(rgroups, rgroupIx, "resource group '" + rgroups.getId(rgroupIx) +
+						"' is associated with tasks but not with any resource unit");
+			}
+		}
+		return List.copyOf(problems);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private void readTasks(@NonNull String filename, @NonNull TaskScan scan)
+			throws IOException, InvalidInputDataException {
+		final IdIndex tasks = scan.index;
+		final int fileIx = tasks.addFilename(filename);
+		CsvRecordReader.readRecords(filename, (columnNames) -> {
+				final int colTaskId = CsvRecordReader.findColumnIndex(filename, columnNames, "TaskId");
+				final int colDependencies = CsvRecordReader.findColumnIndex(filename, columnNames, "DependenciesTaskIdList");
+				return (fields, lineNumber) -> {
+						final String taskId = normalizeId(fields.get(colTaskId), filename, lineNumber, scan.problems);
+						final int taskIx = tasks.add(taskId, fileIx, lineNumber);
+						if (taskIx < 0) {
+							scan.problems.add(new Problem(filename, lineNumber, "duplicate task '" + taskId +
+									"' (first in " + tasks.getLocation(tasks.indexOf(taskId)) + ")"));
+							return;
+						}
+						for (String rawDependency : CsvRecordReader.splitIdList(fields.get(colDependencies))) {
+							scan.dependencyOwners.add(taskIx);
+							scan.dependencyIds.add(normalizeId(rawDependency, filename, lineNumber, scan.problems));
+						}
+					};
+			});
+	}
+
+	private void readIds(
+				@NonNull String filename,
+				@NonNull String columnName,
+				@NonNull String label,
+				@NonNull IdScan scan
+			) throws IOException, InvalidInputDataException {
+		final IdIndex index = scan.index;
+		final int fileIx = index.addFilename(filename);
+		scan.hasFiles = true;
+		CsvRecordReader.readRecords(filename, (columnNames) -> {
+				final int colId = CsvRecordReader.findColumnIndex(filename, columnNames, columnName);
+				return (fields, lineNumber) -> {
+						final String id = normalizeId(fields.get(colId), filename, lineNumber, scan.problems);
+						if (index.add(id, fileIx, lineNumber) < 0) {
+							scan.problems.add(new Problem(filename, lineNumber, "duplicate " + label + " '" + id +
+									"' (first in " + index.getLocation(index.indexOf(id)) + ")"));
+						}
+					};
+			});
+	}
+
+	/**
+	 * @param isMemberList The member column contains an ID list like {@code "A":"B"} instead of a single ID
+	 */
+	private void readAssocs(
+				@NonNull String filename,
+				@NonNull String ownerColumnName,
+				@NonNull String memberColumnName,
+				boolean isMemberList,
+				@NonNull AssocScan scan
+			) throws IOException, InvalidInputDataException {
+		final int fileIx = scan.addFilename(filename);
+		CsvRecordReader.readRecords(filename, (columnNames) -> {
+				final int colOwnerId = CsvRecordReader.findColumnIndex(filename, columnNames, ownerColumnName);
+				final int colMemberIds = CsvRecordReader.findColumnIndex(filename, columnNames, memberColumnName);
+				return (fields, lineNumber) -> {
+						scan.ownerIds.add(normalizeId(fields.get(colOwnerId), filename, lineNumber, scan.problems));
+						if (isMemberList) {
+							for (String rawMemberId : CsvRecordReader.splitIdList(fields.get(colMemberIds))) {
+								scan.memberIds.add(normalizeId(rawMemberId, filename, lineNumber, scan.problems));
+							}
+						} else {
+							scan.memberIds.add(normalizeId(fields.get(colMemberIds), filename, lineNumber, scan.problems));
+						}
+						scan.memberStarts.add(scan.memberIds.size());
+						scan.fileIxs.add(fileIx);
+						scan.lineNumbers.add(lineNumber);
+					};
+			});
+	}
+
+	/**
+	 * @return Unquoted ID, numerical IDs in their canonical form (the same number is always the same string)
+	 */
+	private @NonNull String normalizeId(
+				@NonNull String rawId,
+				@NonNull String filename,
+				int lineNumber,
+				@NonNull List<@NonNull Problem> outputProblems
+			) {
+		final String id = CsvRecordReader.unquote(rawId);
+		if (! areIdsNumerical) {
+			return id;
+		}
+		try {
+			return Long.toString(Long.parseLong(id));
+		} catch (NumberFormatException e) {
+			outputProblems.add(new Problem(filename, lineNumber, "invalid numerical ID '" + id + "'"));
+			return id;
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Resolve the dependencies and sort the tasks topologically (Kahn's algorithm).
+	 * Tasks that can't be sorted are part of a cycle or depend on one.
+	 */
+	private void checkDependencies() {
+		final IdIndex tasks = tasksScan.index;
+		final IntList dependencyOwners = tasksScan.dependencyOwners;
+		final List<String> dependencyIds = tasksScan.dependencyIds;
+		final int amountTasks = tasks.size();
+		final IntList edgeFrom = new IntList();
+		final IntList edgeTo = new IntList();
+		for (int depIx = 0; depIx < dependencyIds.size(); depIx++) {
+			final int taskIx = dependencyOwners.get(depIx);
+			final int dependencyTaskIx = tasks.indexOf(dependencyIds.get(depIx));
+			if (dependencyTaskIx < 0) {
+				addProblem(tasks, taskIx, "task '" + tasks.getId(taskIx) + "' depends on unknown task '" +
+						dependencyIds.get(depIx) + "'");
+				continue;
+			}
+			edgeFrom.add(dependencyTaskIx);
+			edgeTo.add(taskIx);
+		}
+
+		// dependencies of every task in compressed form: predecessors[predecessorStarts[ix]..predecessorStarts[ix + 1]]
+		final int[] predecessorStarts = new int[amountTasks + 1];
+		final int[] successorStarts = new int[amountTasks + 1];
+		for (int edgeIx = 0; edgeIx < edgeFrom.size(); edgeIx++) {
+			predecessorStarts[edgeTo.get(edgeIx) + 1]++;
+			successorStarts[edgeFrom.get(edgeIx) + 1]++;
+		}
+		for (int taskIx = 0; taskIx < amountTasks; taskIx++) {
+			predecessorStarts[taskIx + 1] += predecessorStarts[taskIx];
+			successorStarts[taskIx + 1] += successorStarts[taskIx];
+		}
+		final int[] predecessors = new int[edgeFrom.size()];
+		final int[] successors = new int[edgeFrom.size()];
+		final int[] predecessorFill = Arrays.copyOf(predecessorStarts, amountTasks);
+		final int[] successorFill = Arrays.copyOf(successorStarts, amountTasks);
+		for (int edgeIx = 0; edgeIx < edgeFrom.size(); edgeIx++) {
+			predecessors[predecessorFill[edgeTo.get(edgeIx)]++] = edgeFrom.get(edgeIx);
+			successors[successorFill[edgeFrom.get(edgeIx)]++] = edgeTo.get(edgeIx);
+		}
+
+		final int[] inDegrees = new int[amountTasks];
+		final int[] queue = new int[amountTasks];
+		int queueTail = 0;
+		for (int taskIx = 0; taskIx < amountTasks; taskIx++) {
+			inDegrees[taskIx] = predecessorStarts[taskIx + 1] - predecessorStarts[taskIx];
+			if (inDegrees[taskIx] == 0) {
+				queue[queueTail++] = taskIx;
+			}
+		}
+		for (int queueHead = 0; queueHead < queueTail; queueHead++) {
+			final int taskIx = queue[queueHead];
+			for (int succIx = successorStarts[taskIx]; succIx < successorStarts[taskIx + 1]; succIx++) {
+				if (--inDegrees[successors[succIx]] == 0) {
+					queue[queueTail++] = successors[succIx];
+				}
+			}
+		}
+		if (queueTail < amountTasks) {
+			reportCycles(inDegrees, predecessorStarts, predecessors);
+		}
+	}
+
+	/**
+	 * Every unsorted task still has an unsorted dependency, so following those dependencies
+	 * always ends in a cycle. Every task is visited by at most one walk.
+	 */
+	private void reportCycles(int @NonNull [] inDegrees, int @NonNull [] predecessorStarts, int @NonNull [] predecessors) {
+		final IdIndex tasks = tasksScan.index;
+		final int[] walkNumbers = new int[inDegrees.length];
+		int walkNumber = 0;
+		for (int startTaskIx = 0; startTaskIx < inDegrees.length; startTaskIx++) {
+			if (inDegrees[startTaskIx] == 0 || walkNumbers[startTaskIx] != 0) {
+				continue;
+			}
+			walkNumber++;
+			int taskIx = startTaskIx;
+			while (walkNumbers[taskIx] == 0) {
+				walkNumbers[taskIx] = walkNumber;
+				taskIx = findUnsortedPredecessor(taskIx, inDegrees, predecessorStarts, predecessors);
+			}
+			// a walk that runs into an earlier walk ends in a cycle that has already been reported
+			if (walkNumbers[taskIx] != walkNumber) {
+				continue;
+			}
+
+			final StringBuilder sb = new StringBuilder("dependency cycle: '").append(tasks.getId(taskIx)).append('\'');
+			int cycleLength = 0;
+			int cycleTaskIx = taskIx;
+			do {
+				cycleTaskIx = findUnsortedPredecessor(cycleTaskIx, inDegrees, predecessorStarts, predecessors);
+				cycleLength++;
+				if (cycleLength < MAX_LISTED_CYCLE_TASKS) {
+					sb.append(" depends on '").append(tasks.getId(cycleTaskIx)).append('\'');
+				}
+			} while (cycleTaskIx != taskIx);
+			if (cycleLength >= MAX_LISTED_CYCLE_TASKS) {
+				sb.append(" ... depends on '").append(tasks.getId(taskIx)).append("' (").append(cycleLength).append(" tasks)");
+			}
+			addProblem(tasks, taskIx, sb.toString());
+		}
+	}
+
+	private static int findUnsortedPredecessor(
+				int taskIx,
+				int @NonNull [] inDegrees,
+				int @NonNull [] predecessorStarts,
+				int @NonNull [] predecessors
+			) {
+		for (int predIx = predecessorStarts[taskIx]; predIx < predecessorStarts[taskIx + 1]; predIx++) {
+			if (inDegrees[predecessors[predIx]] > 0) {
+				return predecessors[predIx];
+			}
+		}
+		throw new IllegalStateException("task without unsorted dependency");
+	}
+
+	private void addProblem(@NonNull IdIndex index, int ix, @NonNull String message) {
+		problems.add(new Problem(index.getFilename(ix), index.getLineNumber(ix), message));
+	}
+
+	private void addProblem(@NonNull AssocScan scan, int assocIx, @NonNull String message) {
+		problems.add(new Problem(scan.filenames.get(scan.fileIxs.get(assocIx)), scan.lineNumbers.get(assocIx), message));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Scanned tasks files
+	 */
+	private static final class TaskScan {
+		private final @NonNull IdIndex index = new IdIndex();
+		/** task index of every dependency in {@link #dependencyIds} */
+		private final @NonNull IntList dependencyOwners = new IntList();
+		/** normalized task IDs of the dependencies (resolved by {@link #check()}) */
+		private final @NonNull List<@NonNull String> dependencyIds = new ArrayList<>();
+		/** problems found while scanning (e.g. duplicate IDs) */
+		private final @NonNull List<@NonNull Problem> problems = new ArrayList<>();
+	}
+
+	/**
+	 * Scanned files of resource units or resource groups
+	 */
+	private static final class IdScan {
+		private final @NonNull IdIndex index = new IdIndex();
+		private final @NonNull List<@NonNull Problem> problems = new ArrayList<>();
+		private boolean hasFiles = false;
+	}
+
+	/**
+	 * Scanned association files: every record associates one owner ID with one or more member IDs
+	 * (resolved by {@link #check()})
+	 */
+	private static final class AssocScan {
+		private final @NonNull List<@NonNull String> ownerIds = new ArrayList<>();
+		/** member IDs of every record: memberIds[memberStarts[ix]..memberStarts[ix + 1]] */
+		private final @NonNull List<@NonNull String> memberIds = new ArrayList<>();
+		private final @NonNull IntList memberStarts = new IntList();
+		private final @NonNull List<@NonNull String> filenames = new ArrayList<>();
+		private final @NonNull IntList fileIxs = new IntList();
+		private final @NonNull IntList lineNumbers = new IntList();
+		private final @NonNull List<@NonNull Problem> problems = new ArrayList<>();
+
+		AssocScan() {
+			memberStarts.add(0);
+		}
+
+		int addFilename(@NonNull String filename) {
+			filenames.add(filename);
+			return filenames.size() - 1;
+		}
+
+		int size() {
+			return ownerIds.size();
+		}
+	}
+
+	/**
+	 * Index of the unquoted IDs of one kind of records with the file and line of every record
+	 */
+	private static final class IdIndex {
+		private final @NonNull Map<@NonNull String, @NonNull Integer> ixById = new HashMap<>();
+		private final @NonNull List<@NonNull String> ids = new ArrayList<>();
+		private final @NonNull List<@NonNull String> filenames = new ArrayList<>();
+		private final @NonNull IntList fileIxs = new IntList();
+		private final @NonNull IntList lineNumbers = new IntList();
+
+		int addFilename(@NonNull String filename) {
+			filenames.add(filename);
+			return filenames.size() - 1;
+		}
+
+		/**
+		 * @return Index of the new ID or -1 if the ID already exists
+		 */
+		int add(@NonNull String id, int fileIx, int lineNumber) {
+			if (ixById.putIfAbsent(id, ids.size()) != null) {
+				return -1;
+			}
+			ids.add(id);
+			fileIxs.add(fileIx);
+			lineNumbers.add(lineNumber);
+			return ids.size() - 1;
+		}
+
+		/**
+		 * @return Index of the ID or -1 if it doesn't exist
+		 */
+		int indexOf(@NonNull String id) {
+			final Integer ix = ixById.get(id);
+			return (ix == null ? -1 : ix);
+		}
+
+		int size() {
+			return ids.size();
+		}
+
+		@NonNull String getId(int ix) {
+			return ids.get(ix);
+		}
+
+		@NonNull String getFilename(int ix) {
+			return filenames.get(fileIxs.get(ix));
+		}
+
+		int getLineNumber(int ix) {
+			return lineNumbers.get(ix);
+		}
+
+		@NonNull String getLocation(int ix) {
+			return getFilename(ix) + ":" + getLineNumber(ix);
+		}
+	}
+
+	/**
+	 * Growable list of primitive ints (avoids boxing one object per record or dependency)
+	 */
+	private static final class IntList {
+		private int @NonNull [] values = new int[1024];
+		private int size = 0;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		int get(int ix) {
+			return values[ix];
+		}
+
+		int size() {
+			return size;
+		}
+	}
+}
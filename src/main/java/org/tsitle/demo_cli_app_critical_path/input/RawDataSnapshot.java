@@ -0,0 +1,236 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.rawdata.containers.BaseRawData;
+import org.jspecify.annotations.NonNull;
+
+import java.io.*;
+import java.lang.module.ModuleDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Binary snapshot of the parsed contents of all input files of one configuration.
+ * <p>
+ * The snapshot is keyed by the name, size and modification time of every input file
+ * plus some additional key parts (e.g. the indices type).
+ * If any of them changes, a different snapshot file is used and the input files are parsed again.
+ * <p>
+ * File format: magic bytes, the format version, the versions of this app and of the library,
+ * the full key (to rule out hash collisions) and then the parsed elements of every output set
+ * as serialized lists, in the order of the output sets.
+ * <p>
+ * The element classes are part of the library and only accessible through Java serialization.
+ * Therefore a snapshot is only loaded if it has been written by the same versions, and deserialization
+ * is restricted to the collection and container classes that a snapshot may contain.
+ * Since nothing in a valid snapshot can be larger than the snapshot file, the length of arrays
+ * and the amount of references and bytes are limited to the size of the file
+ * (a tampered snapshot can't make the collections allocate more than that).
+ * Snapshots of other versions are ignored, i.e. the input files are parsed again and the snapshot is replaced.
+ */
+public final class RawDataSnapshot {
+	private static final String MAGIC = "CPMRAW";
+	private static final int FORMAT_VERSION = 2;
+	private static final String FILE_EXTENSION = ".cpmraw";
+	private static final int MAX_DEPTH = 16;
+	private static final String ALLOWED_CLASSES =
+			"java.util.ArrayList;java.util.HashSet;java.util.LinkedHashSet;java.util.TreeSet;" +
+			// a plain 'java.lang.Object' isn't serializable, the pattern is only matched by the backing arrays
+			// that the collections check before allocating them
+			"java.lang.Object;" +
+			"java.lang.String;java.lang.Number;java.lang.Long;java.lang.Integer;java.lang.Boolean;java.lang.Enum;" +
+			"io.github.tsitle.criticalpath.rawdata.containers.*;" +
+			"!*";
+	private static final String VERSION_STAMP = buildVersionStamp();
+
+	private final @NonNull Path snapshotFile;
+	private final @NonNull String key;
+
+	private RawDataSnapshot(@NonNull Path snapshotFile, @NonNull String key) {
+		this.snapshotFile = snapshotFile;
+		this.key = key;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param snapshotDir Directory that contains the snapshot files (will be created if necessary)
+	 * @param keyParts Additional parts of the key, e.g. the indices type
+	 * @param inputFilenames All input files in the order in which they are read ('rsc:' filenames are allowed)
+	 * @throws IOException If an input file could not be accessed
+	 */
+	public static @NonNull RawDataSnapshot forInputFiles(
+				@NonNull Path snapshotDir,
+				@NonNull List<@NonNull String> keyParts,
+				@NonNull List<@NonNull String> inputFilenames
+			) throws IOException {
+		final StringBuilder sb = new StringBuilder(MAGIC).append('\n');
+		keyParts.forEach((keyPart) -> sb.append(keyPart).append('\n'));
+		for (String filename : inputFilenames) {
+			sb.append(filename);
+			if (! filename.startsWith("rsc:")) {
+				final Path path = Paths.get(filename).toAbsolutePath().normalize();
+				final BasicFileAttributes attrs;
+				try {
+					attrs = Files.readAttributes(path, BasicFileAttributes.class);
+				} catch (NoSuchFileException e) {
+					throw new IOException("file '" + filename + "' not found (absolute path '" + path + "')");
+				}
+				sb.append('\t').append(path)
+						.append('\t').append(attrs.size())
+						.append('\t').append(attrs.lastModifiedTime().toMillis());
+			}
+			sb.append('\n');
+		}
+		final String key = sb.toString();
+		return new RawDataSnapshot(snapshotDir.resolve(sha256Hex(key) + FILE_EXTENSION), key);
+	}
+
+	public @NonNull Path getSnapshotFile() {
+		return snapshotFile;
+	}
+
+	/**
+	 * Load the snapshot into the output sets.
+	 * The output sets are only modified if the whole snapshot could be read.
+	 * @param outputSets Output sets in the same order as when the snapshot was saved
+	 * @return false if there is no snapshot for the key or it has been written by other versions
+	 * @throws IOException If the snapshot file exists but is unreadable, corrupted or contains disallowed classes
+	 */
+	public boolean loadInto(@NonNull List<? extends Set<?>> outputSets) throws IOException {
+		if (! Files.isRegularFile(snapshotFile)) {
+			return false;
+		}
+		final List<List<?>> loadedLists = new ArrayList<>();
+		try (ObjectInputStream ois = new ObjectInputStream(
+					new BufferedInputStream(Files.newInputStream(snapshotFile), 64 * 1024))) {
+			ois.setObjectInputFilter(createInputFilter(Files.size(snapshotFile)));
+			if (! MAGIC.equals(ois.readUTF()) || ois.readInt() != FORMAT_VERSION ||
+					! VERSION_STAMP.equals(ois.readUTF()) || ! key.equals(readLongString(ois))) {
+				return false;
+			}
+			final int amountSets = ois.readInt();
+			if (amountSets != outputSets.size()) {
+				throw new IOException("snapshot contains " + amountSets + " sets instead of " + outputSets.size());
+			}
+			for (int setIx = 0; setIx < amountSets; setIx++) {
+				if (! (ois.readObject() instanceof List<?> list)) {
+					throw new IOException("set #" + (setIx + 1) + " is not a list");
+				}
+				loadedLists.add(list);
+			}
+		} catch (InvalidClassException e) {
+			throw new IOException("snapshot '" + snapshotFile + "' contains an incompatible or disallowed class: " +
+					e.getMessage());
+		} catch (ClassNotFoundException | ObjectStreamException | ClassCastException e) {
+			throw new IOException("snapshot '" + snapshotFile + "' is corrupted: " + e.getMessage());
+		}
+
+		for (int setIx = 0; setIx < outputSets.size(); setIx++) {
+			@SuppressWarnings("unchecked") final Set<Object> outputSet = (Set<Object>)outputSets.get(setIx);
+			outputSet.addAll(loadedLists.get(setIx));
+		}
+		return true;
+	}
+
+	/**
+	 * Save the output sets.
+	 * The snapshot is written to a temporary file first and then moved into place,
+	 * so concurrent readers never see a partially written snapshot.
+	 * @throws NotSerializableException If the elements of the sets can't be serialized
+	 * @throws IOException If the snapshot could not be written
+	 */
+	public void save(@NonNull List<? extends Set<?>> sets) throws IOException {
+		Files.createDirectories(snapshotFile.getParent());
+		final Path tempFile = Files.createTempFile(snapshotFile.getParent(), "snapshot-", ".tmp");
+		try {
+			try (ObjectOutputStream oos = new ObjectOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+				oos.writeUTF(MAGIC);
+				oos.writeInt(FORMAT_VERSION);
+				oos.writeUTF(VERSION_STAMP);
+				writeLongString(oos, key);
+				oos.writeInt(sets.size());
+				for (Set<?> set : sets) {
+					oos.writeObject(new ArrayList<>(set));
+				}
+			}
+			try {
+				Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param maxSize Maximum length of arrays and maximum amount of references and bytes in the stream
+	 * @return Filter that only accepts the classes that a snapshot may contain
+	 */
+	static @NonNull ObjectInputFilter createInputFilter(long maxSize) {
+		return ObjectInputFilter.Config.createFilter(
+				"maxdepth=" + MAX_DEPTH + ";maxarray=" + maxSize + ";maxrefs=" + maxSize + ";maxbytes=" + maxSize + ";" +
+				ALLOWED_CLASSES
+			);
+	}
+
+	/**
+	 * {@link DataOutput#writeUTF(String)} is limited to 64 KiB, which isn't enough for many sharded input files
+	 */
+	private static void writeLongString(@NonNull DataOutput out, @NonNull String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static @NonNull String readLongString(@NonNull DataInput in) throws IOException {
+		final int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("invalid key length " + length);
+		}
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return Versions of this app and of the library, whose classes are contained in the snapshots
+	 */
+	private static @NonNull String buildVersionStamp() {
+		return "app=" + getVersion(RawDataSnapshot.class) + ";lib=" + getVersion(BaseRawData.class);
+	}
+
+	/**
+	 * @return Version of the module or, if that isn't available, of the JAR file of the class
+	 */
+	private static @NonNull String getVersion(@NonNull Class<?> clazz) {
+		final ModuleDescriptor descriptor = clazz.getModule().getDescriptor();
+		if (descriptor != null && descriptor.rawVersion().isPresent()) {
+			return descriptor.rawVersion().get();
+		}
+		final String implementationVersion = clazz.getPackage().getImplementationVersion();
+		return (implementationVersion != null ? implementationVersion : "unknown");
+	}
+
+	private static @NonNull String sha256Hex(@NonNull String value) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
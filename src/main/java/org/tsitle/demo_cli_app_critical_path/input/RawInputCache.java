@@ -0,0 +1,192 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import io.github.tsitle.criticalpath.rawdata.containers.BaseRawData;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe cache for parsed input files that are shared between several runs (e.g. in batch mode).
+ * <p>
+ * Entries are keyed by the path, the modification time and the size of the file plus the reader type,
+ * so a file that changes between two runs will be parsed again.
+ * Files that are requested concurrently are only parsed once.
+ * The cached sets are read-only.
+ * <p>
+ * The cache also remembers which combinations of files have passed a check (see {@link #checkOnce(List, Check)}).
+ */
+public final class RawInputCache {
+	@FunctionalInterface
+	public interface Loader<T extends BaseRawData> {
+		void load(@NonNull Set<T> outputSet) throws IOException, InvalidInputDataException;
+	}
+
+	/**
+	 * Check of a combination of files that fails with an exception (see {@link #checkOnce(List, Check)})
+	 */
+	@FunctionalInterface
+	public interface Check {
+		void run() throws IOException, InvalidInputDataException;
+	}
+
+	/**
+	 * One file of a combination of files that is checked as a whole
+	 * @param filename Input filename (may have 'rsc:' prefix to read from the 'resources' folder)
+	 * @param role Identifies what the file is used for in the check (e.g. the kind of the input file)
+	 */
+	public record CheckedFile(@NonNull String filename, @NonNull String role) { }
+
+	private record CacheKey(
+				@NonNull String filename,
+				long lastModifiedMillis,
+				long size,
+				@NonNull String readerType
+			) { }
+
+	private final ConcurrentHashMap<CacheKey, CompletableFuture<Set<? extends BaseRawData>>> entries =
+			new ConcurrentHashMap<>();
+	/** combinations of files that have passed a check */
+	private final Set<List<CacheKey>> passedChecks = ConcurrentHashMap.newKeySet();
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Get the parsed data of a file from the cache or parse the file
+	 * @param filename Input filename (may have 'rsc:' prefix to read from the 'resources' folder)
+	 * @param readerType Identifies the reader (container type and indices type), e.g. the reader's class name
+	 * @param loader Parses the file
+	 * @return Read-only set of the parsed data
+	 * @throws IOException If an I/O error occurs while reading the file
+	 * @throws InvalidInputDataException If the file contains invalid data
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends BaseRawData> @NonNull Set<T> getOrLoad(
+				@NonNull String filename,
+				@NonNull String readerType,
+				@NonNull Loader<T> loader
+			) throws IOException, InvalidInputDataException {
+		final CacheKey key = buildCacheKey(filename, readerType);
+		if (key == null) {
+			// file does not exist: let the loader produce the error message
+			return loadReadOnly(loader);
+		}
+
+		final CompletableFuture<Set<? extends BaseRawData>> newFuture = new CompletableFuture<>();
+		final CompletableFuture<Set<? extends BaseRawData>> future = entries.putIfAbsent(key, newFuture);
+		if (future == null) {
+			try {
+				newFuture.complete(loadReadOnly(loader));
+			} catch (IOException | RuntimeException e) {
+				// don't cache failures
+				entries.remove(key, newFuture);
+				newFuture.completeExceptionally(e);
+				throw e;
+			}
+			return (Set<T>)newFuture.join();
+		}
+		try {
+			return (Set<T>)future.join();
+		} catch (CompletionException e) {
+			throw rethrow(e.getCause());
+		}
+	}
+
+	/**
+	 * Run a check of a combination of files unless it has already passed for the same versions of the files
+	 * (e.g. the validation of the input files of a run that uses the same files as an earlier run).
+	 * Checks that fail are run again the next time.
+	 * @param files Files of the combination (the order is significant)
+	 * @return false if the check has been skipped
+	 * @throws IOException If the check throws it
+	 * @throws InvalidInputDataException If the check throws it
+	 */
+	public boolean checkOnce(@NonNull List<@NonNull CheckedFile> files, @NonNull Check check)
+			throws IOException, InvalidInputDataException {
+		final List<CacheKey> keys = new ArrayList<>(files.size());
+		for (CheckedFile file : files) {
+			final CacheKey key = buildCacheKey(file.filename(), file.role());
+			if (key == null) {
+				// file does not exist: let the check produce the error message
+				check.run();
+				return true;
+			}
+			keys.add(key);
+		}
+		if (passedChecks.contains(keys)) {
+			return false;
+		}
+		check.run();
+		passedChecks.add(List.copyOf(keys));
+		return true;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Remove all entries of a file (e.g. of a temporary file that won't be read again)
+	 */
+	public void evict(@NonNull String filename) {
+		final String keyFilename = (filename.startsWith("rsc:") ?
+				filename : Paths.get(filename).normalize().toAbsolutePath().toString());
+		entries.keySet().removeIf((key) -> key.filename().equals(keyFilename));
+		passedChecks.removeIf((keys) -> keys.stream().anyMatch((key) -> key.filename().equals(keyFilename)));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static <T extends BaseRawData> @NonNull Set<T> loadReadOnly(@NonNull Loader<T> loader)
+			throws IOException, InvalidInputDataException {
+		Set<T> resSet = new LinkedHashSet<>();
+		loader.load(resSet);
+		return Collections.unmodifiableSet(resSet);
+	}
+
+	private static @Nullable CacheKey buildCacheKey(@NonNull String filename, @NonNull String readerType)
+			throws IOException {
+		if (filename.startsWith("rsc:")) {
+			// resources can't change while the application is running
+			return new CacheKey(filename, 0L, 0L, readerType);
+		}
+		final Path path = Paths.get(filename).normalize().toAbsolutePath();
+		if (! Files.isRegularFile(path)) {
+			return null;
+		}
+		final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+		return new CacheKey(path.toString(), attrs.lastModifiedTime().toMillis(), attrs.size(), readerType);
+	}
+
+	private static @NonNull IOException rethrow(@Nullable Throwable cause) {
+		if (cause instanceof IOException ioException) {
+			return new IOException(ioException.getMessage(), ioException);
+		}
+		if (cause instanceof UncheckedIOException uncheckedIOException) {
+			return uncheckedIOException.getCause();
+		}
+		if (cause instanceof InvalidInputDataException invalidInputDataException) {
+			throw new InvalidInputDataException(invalidInputDataException.getMessage());
+		}
+		if (cause instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		}
+		throw new IllegalStateException(cause);
+	}
+}
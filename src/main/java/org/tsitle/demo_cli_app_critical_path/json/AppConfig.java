@@ -40,10 +40,16 @@ public record AppConfig(
 
 	public record Holiday(@NonNull String templateStr, @NonNull LocalDate date) { }
 
+	/**
+	 * @param holidays Holidays (recurring holiday templates yield one entry per year)
+	 * @param holidayYears Optional: years for the recurring holiday templates
+	 *                     (null for {@link HolidayTemplateParser#DEFAULT_YEAR_RANGE})
+	 */
 	public record OffDutyTimes(
 				@NonNull Set<@NonNull DayOfWeek> workDays,
 				@NonNull Set<@NonNull CpmHourInterval> workHours,
-				@NonNull Set<@NonNull Holiday> holidays
+				@NonNull Set<@NonNull Holiday> holidays,
+				@Nullable String holidayYears
 			) {
 		@SuppressWarnings("ConstantValue")
 		public @NonNull Set<@NonNull LocalDate> holidaysAsLocalDates() {
@@ -70,6 +76,9 @@ public record AppConfig(
 					if (holidays != null) {
 						put("Holidays", holidaysAsLocalDates().toString());
 					}
+					if (holidayYears != null) {
+						put("Holiday Years", holidayYears);
+					}
 				}};
 		}
 
@@ -123,42 +132,32 @@ public record AppConfig(
 	}
 
 	public record InputDataAdvanced(
-				@NonNull String filenameRunits,
-				@NonNull String filenameRgroups,
-				@NonNull String filenameAssocRunitsWithRgroups,
-				@NonNull String filenameAssocRgroupsWithTasks
+				@NonNull List<@NonNull String> filenameRunits,
+				@NonNull List<@NonNull String> filenameRgroups,
+				@NonNull List<@NonNull String> filenameAssocRunitsWithRgroups,
+				@NonNull List<@NonNull String> filenameAssocRgroupsWithTasks
 			) {
 		@SuppressWarnings("ConstantValue")
 		public @NonNull Map<@NonNull String, @NonNull String> asMap() {
 			return new LinkedHashMap<>() {{
 					if (filenameRunits != null) {
-						put("Filename Runits", "\"" + escapeQuotes(filenameRunits) + "\"");
+						put("Filename Runits", formatFilenames(filenameRunits));
 					}
 					if (filenameRgroups != null) {
-						put("Filename Rgroups", "\"" + escapeQuotes(filenameRgroups) + "\"");
+						put("Filename Rgroups", formatFilenames(filenameRgroups));
 					}
 					if (filenameAssocRunitsWithRgroups != null) {
-						put("Filename AssocRunitsWithRgroups", "\"" + escapeQuotes(filenameAssocRunitsWithRgroups) + "\"");
+						put("Filename AssocRunitsWithRgroups", formatFilenames(filenameAssocRunitsWithRgroups));
 					}
 					if (filenameAssocRgroupsWithTasks != null) {
-						put("Filename AssocRgroupsWithTasks", "\"" + escapeQuotes(filenameAssocRgroupsWithTasks) + "\"");
+						put("Filename AssocRgroupsWithTasks", formatFilenames(filenameAssocRgroupsWithTasks));
 					}
 				}};
 		}
 
-		private static String escapeQuotes(String str) {
-			return str.replaceAll("\"", "\\\\\"");
-		}
-
-		private static void validateFn(boolean useBasicInputData, @Nullable String fn, String fieldName)
+		private static void validateFn(boolean useBasicInputData, @Nullable List<String> fns, String fieldName)
 				throws InvalidInputDataException {
-			final String prefix = "AppConfig.InputData.InputDataAdvanced.";
-			if (fn == null) {
-				throw new InvalidInputDataException(prefix + fieldName + " may not be null");
-			}
-			if (! useBasicInputData && fn.isBlank()) {
-				throw new InvalidInputDataException(prefix + fieldName + " may not be blank");
-			}
+			validateFilenames("AppConfig.InputData.InputDataAdvanced.", fieldName, fns, ! useBasicInputData);
 		}
 
 		public void validate(boolean useBasicInputData) throws InvalidInputDataException {
@@ -171,7 +170,7 @@ public record AppConfig(
 
 	public record InputData(
 				@NonNull IndicesType indicesType,
-				@NonNull String filenameTasks,
+				@NonNull List<@NonNull String> filenameTasks,
 				boolean useBasicInputData,
 				@NonNull InputDataBasic inputDataBasic,
 				@NonNull InputDataAdvanced inputDataAdvanced
@@ -183,7 +182,7 @@ public record AppConfig(
 						put("Indices Type", indicesType.toString());
 					}
 					if (filenameTasks != null) {
-						put("Filename Tasks", "\"" + escapeQuotes(filenameTasks) + "\"");
+						put("Filename Tasks", formatFilenames(filenameTasks));
 					}
 					if (useBasicInputData && inputDataBasic != null) {
 						put("Input Data (basic)", convertMapToString(inputDataBasic.asMap()));
@@ -193,10 +192,6 @@ public record AppConfig(
 				}};
 		}
 
-		private static String escapeQuotes(String str) {
-			return str.replaceAll("\"", "\\\\\"");
-		}
-
 		private @NonNull String convertMapToString(@NonNull Map<@NonNull String, @NonNull String> map) {
 			StringBuilder sb = new StringBuilder("[");
 			Iterator<String> keyIterator = map.keySet().iterator();
@@ -221,12 +216,7 @@ public record AppConfig(
 				throw new InvalidInputDataException(prefix + "indicesType may not be null");
 			}
 
-			if (filenameTasks == null) {
-				throw new InvalidInputDataException(prefix + "filenameTasks may not be null");
-			}
-			if (filenameTasks.isBlank()) {
-				throw new InvalidInputDataException(prefix + "filenameTasks may not be blank");
-			}
+			validateFilenames(prefix, "filenameTasks", filenameTasks, true);
 
 			if (inputDataBasic == null) {
 				throw new InvalidInputDataException(prefix + "inputDataBasic may not be null");
@@ -243,6 +233,45 @@ public record AppConfig(
 	// -----------------------------------------------------------------------------------------------------------------
 	// -----------------------------------------------------------------------------------------------------------------
 
+	/**
+	 * @param isRequired Whether the list must contain at least one filename and may not contain blank filenames
+	 */
+	private static void validateFilenames(
+				@NonNull String prefix,
+				@NonNull String fieldName,
+				@Nullable List<String> filenames,
+				boolean isRequired
+			) throws InvalidInputDataException {
+		if (filenames == null) {
+			throw new InvalidInputDataException(prefix + fieldName + " may not be null");
+		}
+		if (filenames.stream().anyMatch(Objects::isNull)) {
+			throw new InvalidInputDataException(prefix + fieldName + " may not contain null");
+		}
+		if (! isRequired) {
+			return;
+		}
+		if (filenames.isEmpty()) {
+			throw new InvalidInputDataException(prefix + fieldName + " may not be empty");
+		}
+		if (filenames.stream().anyMatch(String::isBlank)) {
+			throw new InvalidInputDataException(prefix + fieldName + " may not be blank");
+		}
+	}
+
+	/**
+	 * @return Single filename as quoted string, several filenames as list of quoted strings
+	 */
+	private static @NonNull String formatFilenames(@NonNull List<String> filenames) {
+		final List<String> quotedFilenames = filenames.stream()
+				.map((fn) -> "\"" + String.valueOf(fn).replaceAll("\"", "\\\\\"") + "\"")
+				.toList();
+		return (quotedFilenames.size() == 1 ? quotedFilenames.get(0) : quotedFilenames.toString());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
 	/**
 	 * Constructor used by GSON during deserialization
 	 */
@@ -290,4 +319,51 @@ public record AppConfig(
 		}
 		inputData.validate();
 	}
+
+	/**
+	 * @return Copy of this configuration with another amount of resource units for the basic input data
+	 */
+	public @NonNull AppConfig withAmountResourceUnits(int amountResourceUnits) {
+		return new AppConfig(
+				debugging,
+				timeUnit,
+				offDutyTimes,
+				new InputData(
+						inputData.indicesType(),
+						inputData.filenameTasks(),
+						inputData.useBasicInputData(),
+						new InputDataBasic(amountResourceUnits),
+						inputData.inputDataAdvanced()
+					)
+			);
+	}
+
+	/**
+	 * @return Copy with other input files for the tasks (only for advanced input data)
+	 */
+	public @NonNull AppConfig withTaskInputFiles(
+				@NonNull String filenameTasks,
+				@NonNull String filenameAssocRgroupsWithTasks
+			) {
+		assert (! inputData.useBasicInputData());
+
+		final InputDataAdvanced inputDataAdvanced = inputData.inputDataAdvanced();
+		return new AppConfig(
+				debugging,
+				timeUnit,
+				offDutyTimes,
+				new InputData(
+						inputData.indicesType(),
+						List.of(filenameTasks),
+						inputData.useBasicInputData(),
+						inputData.inputDataBasic(),
+						new InputDataAdvanced(
+								inputDataAdvanced.filenameRunits(),
+								inputDataAdvanced.filenameRgroups(),
+								inputDataAdvanced.filenameAssocRunitsWithRgroups(),
+								List.of(filenameAssocRgroupsWithTasks)
+							)
+					)
+			);
+	}
 }
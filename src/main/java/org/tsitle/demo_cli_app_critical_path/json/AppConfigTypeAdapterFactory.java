@@ -0,0 +1,401 @@
+package org.tsitle.demo_cli_app_critical_path.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.tsitle.criticalpath.CpmHourInterval;
+import io.github.tsitle.criticalpath.CpmTimeUnit;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming type adapter for {@link AppConfig} and its nested records.
+ * <p>
+ * Binding the records field by field avoids Gson's reflective record binding, which is one of the larger
+ * costs during the startup of the application.
+ * The JSON format is the same as with the reflective binding: unknown fields are ignored,
+ * missing fields become null (or false/0), unknown enum constants become null.
+ * Only {@link CpmHourInterval}, which belongs to the library, is still bound by Gson.
+ */
+final class AppConfigTypeAdapterFactory implements TypeAdapterFactory {
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> @Nullable TypeAdapter<T> create(@NonNull Gson gson, @NonNull TypeToken<T> type) {
+		if (type.getRawType() != AppConfig.class) {
+			return null;
+		}
+		return (TypeAdapter<T>)new AppConfigTypeAdapter(gson.getAdapter(CpmHourInterval.class)).nullSafe();
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static final class AppConfigTypeAdapter extends TypeAdapter<AppConfig> {
+		private final @NonNull TypeAdapter<CpmHourInterval> hourIntervalAdapter;
+
+		AppConfigTypeAdapter(@NonNull TypeAdapter<CpmHourInterval> hourIntervalAdapter) {
+			this.hourIntervalAdapter = hourIntervalAdapter;
+		}
+
+		// -------------------------------------------------------------------------------------------------------------
+
+		@Override
+		@SuppressWarnings("DataFlowIssue")
+		public AppConfig read(@NonNull JsonReader in) throws IOException {
+			AppConfig.Debugging debugging = null;
+			CpmTimeUnit timeUnit = null;
+			AppConfig.OffDutyTimes offDutyTimes = null;
+			AppConfig.InputData inputData = null;
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "debugging" -> debugging = readDebugging(in);
+					case "timeUnit" -> timeUnit = readEnum(in, CpmTimeUnit.class);
+					case "offDutyTimes" -> offDutyTimes = readOffDutyTimes(in);
+					case "inputData" -> inputData = readInputData(in);
+					default -> in.skipValue();
+				}
+			}
+			in.endObject();
+			return new AppConfig(debugging, timeUnit, offDutyTimes, inputData);
+		}
+
+		@Override
+		@SuppressWarnings("ConstantValue")
+		public void write(@NonNull JsonWriter out, @NonNull AppConfig value) throws IOException {
+			out.beginObject();
+			if (value.debugging() != null) {
+				out.name("debugging");
+				writeDebugging(out, value.debugging());
+			}
+			if (value.timeUnit() != null) {
+				out.name("timeUnit").value(value.timeUnit().name());
+			}
+			if (value.offDutyTimes() != null) {
+				out.name("offDutyTimes");
+				writeOffDutyTimes(out, value.offDutyTimes());
+			}
+			if (value.inputData() != null) {
+				out.name("inputData");
+				writeInputData(out, value.inputData());
+			}
+			out.endObject();
+		}
+
+		// -------------------------------------------------------------------------------------------------------------
+
+		private static AppConfig.@Nullable Debugging readDebugging(@NonNull JsonReader in) throws IOException {
+			if (skipNull(in)) {
+				return null;
+			}
+			boolean debugMain = false;
+			Boolean debugVerboseMain = null;
+			boolean debugCpgInternals = false;
+			Boolean debugCpgVerboseInternals = null;
+			boolean debugCpcInternals = false;
+			Boolean debugCpcVerboseInternals = null;
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "debugMain" -> debugMain = readBoolean(in);
+					case "debugVerboseMain" -> debugVerboseMain = readNullableBoolean(in);
+					case "debugCpgInternals" -> debugCpgInternals = readBoolean(in);
+					case "debugCpgVerboseInternals" -> debugCpgVerboseInternals = readNullableBoolean(in);
+					case "debugCpcInternals" -> debugCpcInternals = readBoolean(in);
+					case "debugCpcVerboseInternals" -> debugCpcVerboseInternals = readNullableBoolean(in);
+					default -> in.skipValue();
+				}
+			}
+			in.endObject();
+			return new AppConfig.Debugging(
+					debugMain,
+					debugVerboseMain,
+					debugCpgInternals,
+					debugCpgVerboseInternals,
+					debugCpcInternals,
+					debugCpcVerboseInternals
+				);
+		}
+
+		private static void writeDebugging(@NonNull JsonWriter out, AppConfig.@NonNull Debugging value) throws IOException {
+			out.beginObject();
+			out.name("debugMain").value(value.debugMain());
+			out.name("debugVerboseMain").value(value.debugVerboseMain());
+			out.name("debugCpgInternals").value(value.debugCpgInternals());
+			out.name("debugCpgVerboseInternals").value(value.debugCpgVerboseInternals());
+			out.name("debugCpcInternals").value(value.debugCpcInternals());
+			out.name("debugCpcVerboseInternals").value(value.debugCpcVerboseInternals());
+			out.endObject();
+		}
+
+		@SuppressWarnings("DataFlowIssue")
+		private AppConfig.@Nullable OffDutyTimes readOffDutyTimes(@NonNull JsonReader in) throws IOException {
+			if (skipNull(in)) {
+				return null;
+			}
+			Set<DayOfWeek> workDays = null;
+			Set<CpmHourInterval> workHours = null;
+			List<String> holidayTemplateStrs = null;
+			String holidayYears = null;
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "workDays" -> {
+						if (! skipNull(in)) {
+							workDays = new LinkedHashSet<>();
+							in.beginArray();
+							while (in.hasNext()) {
+								workDays.add(readEnum(in, DayOfWeek.class));
+							}
+							in.endArray();
+						}
+					}
+					case "workHours" -> {
+						if (! skipNull(in)) {
+							workHours = new LinkedHashSet<>();
+							in.beginArray();
+							while (in.hasNext()) {
+								workHours.add(hourIntervalAdapter.read(in));
+							}
+							in.endArray();
+						}
+					}
+					case "holidays" -> {
+						if (! skipNull(in)) {
+							holidayTemplateStrs = new ArrayList<>();
+							in.beginArray();
+							while (in.hasNext()) {
+								holidayTemplateStrs.add(readString(in));
+							}
+							in.endArray();
+						}
+					}
+					case "holidayYears" -> holidayYears = readString(in);
+					default -> in.skipValue();
+				}
+			}
+			in.endObject();
+			// the templates are expanded once all fields are known, since the year range may follow them
+			final Set<AppConfig.Holiday> holidays = (holidayTemplateStrs == null ? null :
+					HolidayTemplateParser.expandAll(holidayTemplateStrs, holidayYears));
+			return new AppConfig.OffDutyTimes(workDays, workHours, holidays, holidayYears);
+		}
+
+		@SuppressWarnings("ConstantValue")
+		private void writeOffDutyTimes(@NonNull JsonWriter out, AppConfig.@NonNull OffDutyTimes value) throws IOException {
+			out.beginObject();
+			if (value.workDays() != null) {
+				out.name("workDays").beginArray();
+				for (DayOfWeek dayOfWeek : value.workDays()) {
+					out.value(dayOfWeek == null ? null : dayOfWeek.name());
+				}
+				out.endArray();
+			}
+			if (value.workHours() != null) {
+				out.name("workHours").beginArray();
+				for (CpmHourInterval interval : value.workHours()) {
+					hourIntervalAdapter.write(out, interval);
+				}
+				out.endArray();
+			}
+			if (value.holidays() != null) {
+				out.name("holidays").beginArray();
+				// recurring templates have one holiday per year
+				final Set<String> writtenTemplateStrs = new HashSet<>();
+				for (AppConfig.Holiday holiday : value.holidays()) {
+					if (holiday == null) {
+						out.nullValue();
+					} else if (writtenTemplateStrs.add(holiday.templateStr())) {
+						out.value(holiday.templateStr());
+					}
+				}
+				out.endArray();
+			}
+			if (value.holidayYears() != null) {
+				out.name("holidayYears").value(value.holidayYears());
+			}
+			out.endObject();
+		}
+
+		@SuppressWarnings("DataFlowIssue")
+		private static AppConfig.@Nullable InputData readInputData(@NonNull JsonReader in) throws IOException {
+			if (skipNull(in)) {
+				return null;
+			}
+			AppConfig.IndicesType indicesType = null;
+			List<String> filenameTasks = null;
+			boolean useBasicInputData = false;
+			AppConfig.InputDataBasic inputDataBasic = null;
+			AppConfig.InputDataAdvanced inputDataAdvanced = null;
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "indicesType" -> indicesType = readEnum(in, AppConfig.IndicesType.class);
+					case "filenameTasks" -> filenameTasks = readFilenames(in);
+					case "useBasicInputData" -> useBasicInputData = readBoolean(in);
+					case "inputDataBasic" -> inputDataBasic = readInputDataBasic(in);
+					case "inputDataAdvanced" -> inputDataAdvanced = readInputDataAdvanced(in);
+					default -> in.skipValue();
+				}
+			}
+			in.endObject();
+			return new AppConfig.InputData(indicesType, filenameTasks, useBasicInputData, inputDataBasic, inputDataAdvanced);
+		}
+
+		@SuppressWarnings("ConstantValue")
+		private static void writeInputData(@NonNull JsonWriter out, AppConfig.@NonNull InputData value) throws IOException {
+			out.beginObject();
+			if (value.indicesType() != null) {
+				out.name("indicesType").value(value.indicesType().name());
+			}
+			writeFilenames(out.name("filenameTasks"), value.filenameTasks());
+			out.name("useBasicInputData").value(value.useBasicInputData());
+			if (value.inputDataBasic() != null) {
+				out.name("inputDataBasic").beginObject();
+				out.name("amountResourceUnits").value(value.inputDataBasic().amountResourceUnits());
+				out.endObject();
+			}
+			if (value.inputDataAdvanced() != null) {
+				final AppConfig.InputDataAdvanced inputDataAdvanced = value.inputDataAdvanced();
+				out.name("inputDataAdvanced").beginObject();
+				writeFilenames(out.name("filenameRunits"), inputDataAdvanced.filenameRunits());
+				writeFilenames(out.name("filenameRgroups"), inputDataAdvanced.filenameRgroups());
+				writeFilenames(out.name("filenameAssocRunitsWithRgroups"), inputDataAdvanced.filenameAssocRunitsWithRgroups());
+				writeFilenames(out.name("filenameAssocRgroupsWithTasks"), inputDataAdvanced.filenameAssocRgroupsWithTasks());
+				out.endObject();
+			}
+			out.endObject();
+		}
+
+		private static AppConfig.@Nullable InputDataBasic readInputDataBasic(@NonNull JsonReader in) throws IOException {
+			if (skipNull(in)) {
+				return null;
+			}
+			int amountResourceUnits = 0;
+			in.beginObject();
+			while (in.hasNext()) {
+				if (in.nextName().equals("amountResourceUnits") && ! skipNull(in)) {
+					amountResourceUnits = in.nextInt();
+				} else {
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return new AppConfig.InputDataBasic(amountResourceUnits);
+		}
+
+		@SuppressWarnings("DataFlowIssue")
+		private static AppConfig.@Nullable InputDataAdvanced readInputDataAdvanced(@NonNull JsonReader in) throws IOException {
+			if (skipNull(in)) {
+				return null;
+			}
+			List<String> filenameRunits = null;
+			List<String> filenameRgroups = null;
+			List<String> filenameAssocRunitsWithRgroups = null;
+			List<String> filenameAssocRgroupsWithTasks = null;
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "filenameRunits" -> filenameRunits = readFilenames(in);
+					case "filenameRgroups" -> filenameRgroups = readFilenames(in);
+					case "filenameAssocRunitsWithRgroups" -> filenameAssocRunitsWithRgroups = readFilenames(in);
+					case "filenameAssocRgroupsWithTasks" -> filenameAssocRgroupsWithTasks = readFilenames(in);
+					default -> in.skipValue();
+				}
+			}
+			in.endObject();
+			return new AppConfig.InputDataAdvanced(
+					filenameRunits,
+					filenameRgroups,
+					filenameAssocRunitsWithRgroups,
+					filenameAssocRgroupsWithTasks
+				);
+		}
+
+		// -------------------------------------------------------------------------------------------------------------
+
+		/**
+		 * @return true if the next value was null (and has been consumed)
+		 */
+		private static boolean skipNull(@NonNull JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return true;
+			}
+			return false;
+		}
+
+		private static boolean readBoolean(@NonNull JsonReader in) throws IOException {
+			return (! skipNull(in) && in.nextBoolean());
+		}
+
+		private static @Nullable Boolean readNullableBoolean(@NonNull JsonReader in) throws IOException {
+			return (skipNull(in) ? null : in.nextBoolean());
+		}
+
+		private static @Nullable String readString(@NonNull JsonReader in) throws IOException {
+			return (skipNull(in) ? null : in.nextString());
+		}
+
+		/**
+		 * Read a single filename or an array of filenames (each of which may be a glob pattern)
+		 */
+		private static @Nullable List<String> readFilenames(@NonNull JsonReader in) throws IOException {
+			if (skipNull(in)) {
+				return null;
+			}
+			if (in.peek() != JsonToken.BEGIN_ARRAY) {
+				return List.of(in.nextString());
+			}
+			final List<String> resList = new ArrayList<>();
+			in.beginArray();
+			while (in.hasNext()) {
+				// null entries are reported by the validation
+				resList.add(readString(in));
+			}
+			in.endArray();
+			return resList;
+		}
+
+		/**
+		 * Write a single filename as string and several filenames as array
+		 */
+		private static void writeFilenames(@NonNull JsonWriter out, @NonNull List<String> filenames) throws IOException {
+			if (filenames.size() == 1) {
+				out.value(filenames.get(0));
+				return;
+			}
+			out.beginArray();
+			for (String filename : filenames) {
+				out.value(filename);
+			}
+			out.endArray();
+		}
+
+		private static <E extends Enum<E>> @Nullable E readEnum(@NonNull JsonReader in, @NonNull Class<E> enumClass)
+				throws IOException {
+			final String name = readString(in);
+			if (name == null) {
+				return null;
+			}
+			try {
+				return Enum.valueOf(enumClass, name);
+			} catch (IllegalArgumentException e) {
+				// same as Gson: unknown constants become null and are reported by the validation
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package org.tsitle.demo_cli_app_critical_path.json;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * List of configuration files that are processed in one run of the application
+ */
+public record BatchManifest(
+			int parallelism,
+			@NonNull List<@NonNull Job> jobs
+		) {
+
+	public record Job(
+				@NonNull String configJsonFilename,
+				@Nullable String outputHtmlFilename
+			) {
+		@SuppressWarnings("ConstantValue")
+		public void validate(int jobIx) throws InvalidInputDataException {
+			final String prefix = "BatchManifest.jobs[" + jobIx + "].";
+			if (configJsonFilename == null) {
+				throw new InvalidInputDataException(prefix + "configJsonFilename may not be null");
+			}
+			if (configJsonFilename.isBlank()) {
+				throw new InvalidInputDataException(prefix + "configJsonFilename may not be blank");
+			}
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return Amount of jobs that may run concurrently (defaults to the amount of available processors)
+	 */
+	public int effectiveParallelism() {
+		return (parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	@SuppressWarnings("ConstantValue")
+	public void validate() throws InvalidInputDataException {
+		final String prefix = "BatchManifest.";
+		if (parallelism < 0) {
+			throw new InvalidInputDataException(prefix + "parallelism must be >= 0");
+		}
+		if (jobs == null) {
+			throw new InvalidInputDataException(prefix + "jobs may not be null");
+		}
+		for (int jobIx = 0; jobIx < jobs.size(); jobIx++) {
+			if (jobs.get(jobIx) == null) {
+				throw new InvalidInputDataException(prefix + "jobs may not contain null elements");
+			}
+			jobs.get(jobIx).validate(jobIx);
+		}
+	}
+}
@@ -5,18 +5,17 @@ import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
 import org.jspecify.annotations.NonNull;
 
 import java.io.*;
-import java.lang.reflect.Type;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public final class Deserializer {
-	private static class HolidayDeserializer implements JsonDeserializer<AppConfig.Holiday> {
-		@Override
-		public AppConfig.Holiday deserialize(JsonElement jElement, Type typeOfT, JsonDeserializationContext context)
-				throws JsonParseException {
-			String stringValue = jElement.getAsString();
-			return new AppConfig.Holiday(stringValue, HolidayTemplateParser.parse(stringValue));
-		}
+	/**
+	 * The Gson instance is only created when a JSON file is read for the first time
+	 */
+	private static final class GsonHolder {
+		private static final Gson APP_CONFIG_GSON = new GsonBuilder()
+				.registerTypeAdapterFactory(new AppConfigTypeAdapterFactory())
+				.create();
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -31,44 +30,78 @@ public final class Deserializer {
 	 */
 	public static @NonNull AppConfig readAppConfigFromFile(@NonNull String filename)
 			throws InvalidInputDataException, IOException {
+		return readFromFile(filename, Deserializer::internalAppConfigRead);
+	}
+
+	/**
+	 * Read BatchManifest from a JSON file.
+	 * @param filename Input filename (may have 'rsc:' prefix to read from the 'resources' folder)
+	 * @return Deserialized JSON data
+	 * @throws InvalidInputDataException If the file contains invalid JSON
+	 * @throws IOException If an I/O error occurs while reading the file
+	 */
+	public static @NonNull BatchManifest readBatchManifestFromFile(@NonNull String filename)
+			throws InvalidInputDataException, IOException {
+		return readFromFile(filename, Deserializer::internalBatchManifestRead);
+	}
+
+	/**
+	 * Read PortfolioConfig from a JSON file.
+	 * @param filename Input filename (may have 'rsc:' prefix to read from the 'resources' folder)
+	 * @return Deserialized JSON data
+	 * @throws InvalidInputDataException If the file contains invalid JSON
+	 * @throws IOException If an I/O error occurs while reading the file
+	 */
+	public static @NonNull PortfolioConfig readPortfolioConfigFromFile(@NonNull String filename)
+			throws InvalidInputDataException, IOException {
+		return readFromFile(filename, Deserializer::internalPortfolioConfigRead);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@FunctionalInterface
+	private interface StreamReader<T> {
+		@NonNull T read(String errorMsgPrefix, @NonNull InputStream stream) throws InvalidInputDataException, IOException;
+	}
+
+	private static <T> @NonNull T readFromFile(@NonNull String filename, @NonNull StreamReader<T> streamReader)
+			throws InvalidInputDataException, IOException {
 		if (! filename.startsWith("rsc:")) {
 			Path path = Paths.get(filename).normalize();
 			File file = path.toFile();
 			try (InputStream is = new FileInputStream(file)) {  // throws FileNotFoundException
-				return readAppConfigFromStream(is);
+				return readFromStream(is, streamReader);
 			} catch (FileNotFoundException e) {
 				throw new IOException("file '" + filename + "' not found (absolute path '" + path.toAbsolutePath() + "')");
 			}
 		} else {
-			return readAppConfigFromResourcesFile(filename.substring(4));
+			return readFromResourcesFile(filename.substring(4), streamReader);
 		}
 	}
 
-	// -----------------------------------------------------------------------------------------------------------------
-	// -----------------------------------------------------------------------------------------------------------------
-
 	/**
-	 * Read AppConfig from a JSON stream.
+	 * Read JSON data from a stream.
 	 * @param stream Input stream
 	 * @return Deserialized JSON data
 	 * @throws InvalidInputDataException If the file contains invalid JSON
 	 * @throws IOException If an I/O error occurs while reading the file
 	 */
-	private static @NonNull AppConfig readAppConfigFromStream(@NonNull InputStream stream)
+	private static <T> @NonNull T readFromStream(@NonNull InputStream stream, @NonNull StreamReader<T> streamReader)
 			throws InvalidInputDataException, IOException {
 		final String errorMsgPrefix = "Error in input stream: ";
 
-		return internalAppConfigRead(errorMsgPrefix, stream);
+		return streamReader.read(errorMsgPrefix, stream);
 	}
 
 	/**
-	 * Read AppConfig from a JSON file in the resource folder.
+	 * Read JSON data from a file in the resource folder.
 	 * @param rscFilename Input filename
 	 * @return Deserialized JSON data
 	 * @throws InvalidInputDataException If the file contains invalid JSON
 	 * @throws IOException If an I/O error occurs while reading the file
 	 */
-	private static @NonNull AppConfig readAppConfigFromResourcesFile(@NonNull String rscFilename)
+	private static <T> @NonNull T readFromResourcesFile(@NonNull String rscFilename, @NonNull StreamReader<T> streamReader)
 			throws InvalidInputDataException, IOException {
 		final String errorMsgPrefix = "Error in file: '" + rscFilename + "': ";
 
@@ -76,7 +109,7 @@ public final class Deserializer {
 			if (is == null) {
 				throw new IOException("file '" + rscFilename + "' not found");
 			}
-			return internalAppConfigRead(errorMsgPrefix, is);
+			return streamReader.read(errorMsgPrefix, is);
 		}
 	}
 
@@ -85,10 +118,11 @@ public final class Deserializer {
 				@NonNull InputStream stream
 			) throws InvalidInputDataException, IOException {
 		try {
-			GsonBuilder gsonBldr = new GsonBuilder();
-			gsonBldr.registerTypeAdapter(AppConfig.Holiday.class, new HolidayDeserializer());
 			Reader reader = new InputStreamReader(stream);
-			AppConfig appConfig = gsonBldr.create().fromJson(reader, AppConfig.class);
+			AppConfig appConfig = GsonHolder.APP_CONFIG_GSON.fromJson(reader, AppConfig.class);
+			if (appConfig == null) {
+				throw new InvalidInputDataException(errorMsgPrefix + "empty JSON");
+			}
 			appConfig.validate();
 			return appConfig;
 		} catch (JsonSyntaxException e) {
@@ -99,4 +133,46 @@ public final class Deserializer {
 			throw new InvalidInputDataException(errorMsgPrefix + "could not parse JSON: " + e.getMessage());
 		}
 	}
+
+	private static @NonNull BatchManifest internalBatchManifestRead(
+				String errorMsgPrefix,
+				@NonNull InputStream stream
+			) throws InvalidInputDataException, IOException {
+		try {
+			Reader reader = new InputStreamReader(stream);
+			BatchManifest batchManifest = new Gson().fromJson(reader, BatchManifest.class);
+			if (batchManifest == null) {
+				throw new InvalidInputDataException(errorMsgPrefix + "empty JSON");
+			}
+			batchManifest.validate();
+			return batchManifest;
+		} catch (JsonSyntaxException e) {
+			throw new InvalidInputDataException(errorMsgPrefix + "syntax error in JSON: " + e.getMessage());
+		} catch (JsonIOException e) {
+			throw new IOException(errorMsgPrefix + "error while parsing JSON: " + e.getMessage());
+		} catch (JsonParseException e) {
+			throw new InvalidInputDataException(errorMsgPrefix + "could not parse JSON: " + e.getMessage());
+		}
+	}
+
+	private static @NonNull PortfolioConfig internalPortfolioConfigRead(
+				String errorMsgPrefix,
+				@NonNull InputStream stream
+			) throws InvalidInputDataException, IOException {
+		try {
+			Reader reader = new InputStreamReader(stream);
+			PortfolioConfig portfolioConfig = new Gson().fromJson(reader, PortfolioConfig.class);
+			if (portfolioConfig == null) {
+				throw new InvalidInputDataException(errorMsgPrefix + "empty JSON");
+			}
+			portfolioConfig.validate();
+			return portfolioConfig;
+		} catch (JsonSyntaxException e) {
+			throw new InvalidInputDataException(errorMsgPrefix + "syntax error in JSON: " + e.getMessage());
+		} catch (JsonIOException e) {
+			throw new IOException(errorMsgPrefix + "error while parsing JSON: " + e.getMessage());
+		} catch (JsonParseException e) {
+			throw new InvalidInputDataException(errorMsgPrefix + "could not parse JSON: " + e.getMessage());
+		}
+	}
 }
@@ -5,12 +5,144 @@ import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
 import java.time.DateTimeException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.Consumer;
 
+/**
+ * Compiles holiday templates (e.g. {@code <YEAR>-12-25}) into {@link Rule}s that are evaluated against a captured date.
+ * <p>
+ * Besides templates that yield a single date there are recurring rules that yield one date
+ * for every year of a {@link YearRange}:
+ * <ul>
+ *   <li>{@code <EVERY_YEAR>-12-25} - fixed date</li>
+ *   <li>{@code <EVERY_YEAR>-11-<THU#4>} - nth weekday of the month ({@code <MON#-1>} is the last Monday)</li>
+ *   <li>{@code <EASTER+1>} - relative to Easter Sunday</li>
+ * </ul>
+ */
 public class HolidayTemplateParser {
-	private record TemplatePartValue(String desc, int value, int delta) { }
+	/**
+	 * Value of a year, month or day field
+	 * @param value Fixed value (ignored if {@code isRelativeToNow})
+	 * @param isRelativeToNow Whether the field is {@code <YEAR>}, {@code <MONTH>} or {@code <DAY>}
+	 * @param delta Amount of years, months or days that are added to the date
+	 */
+	private record FieldValue(int value, boolean isRelativeToNow, int delta) { }
+
+	/**
+	 * @param dayOfWeek Day of the week
+	 * @param ordinal 1 for the first occurrence in the month, -1 for the last one
+	 */
+	private record WeekdayInMonth(@NonNull DayOfWeek dayOfWeek, int ordinal) { }
+
+	/**
+	 * Compiled holiday template
+	 */
+	public sealed interface Rule permits DateRule, EasterRule {
+		/**
+		 * @return Whether the rule yields one date for every year of a {@link YearRange}
+		 */
+		boolean isRecurring();
+
+		/**
+		 * Pass the dates of the rule to the consumer. Recurring rules skip years in which the date doesn't exist
+		 * (e.g. February 29th).
+		 * @param now Captured date that relative fields refer to
+		 * @param years Years for recurring rules
+		 * @throws DateTimeException If a rule that isn't recurring yields an invalid date
+		 */
+		void expand(@NonNull LocalDate now, @NonNull YearRange years, @NonNull Consumer<@NonNull LocalDate> consumer);
+	}
+
+	/**
+	 * @param year Null for {@code <EVERY_YEAR>}
+	 * @param day Null if {@code weekdayInMonth} is set
+	 */
+	private record DateRule(
+				@Nullable FieldValue year,
+				@NonNull FieldValue month,
+				@Nullable FieldValue day,
+				@Nullable WeekdayInMonth weekdayInMonth
+			) implements Rule {
+		@Override
+		public boolean isRecurring() {
+			return (year == null);
+		}
+
+		@Override
+		public void expand(@NonNull LocalDate now, @NonNull YearRange years, @NonNull Consumer<@NonNull LocalDate> consumer) {
+			if (year != null) {
+				final LocalDate date = evaluate(resolve(year, now.getYear()), now);
+				if (date == null) {
+					assert (weekdayInMonth != null);
+					throw new DateTimeException("the month has no " + weekdayInMonth.dayOfWeek() +
+							" #" + weekdayInMonth.ordinal());
+				}
+				consumer.accept(date);
+				return;
+			}
+			for (int tmpYear = years.firstYear(); tmpYear <= years.lastYear(); tmpYear++) {
+				try {
+					final LocalDate date = evaluate(tmpYear, now);
+					if (date != null) {
+						consumer.accept(date);
+					}
+				} catch (DateTimeException e) {
+					// the date doesn't exist in this year
+				}
+			}
+		}
+
+		/**
+		 * @return Date or null if the month has no such weekday
+		 */
+		private @Nullable LocalDate evaluate(int yearValue, @NonNull LocalDate now) {
+			final int monthValue = resolve(month, now.getMonthValue());
+			final int yearDelta = (year != null ? year.delta() : 0);
+			if (weekdayInMonth != null) {
+				final YearMonth yearMonth = YearMonth.of(yearValue, monthValue)
+						.plusYears(yearDelta)
+						.plusMonths(month.delta());
+				final LocalDate date = yearMonth.atDay(1).with(
+						TemporalAdjusters.dayOfWeekInMonth(weekdayInMonth.ordinal(), weekdayInMonth.dayOfWeek()));
+				return (YearMonth.from(date).equals(yearMonth) ? date : null);
+			}
+			assert (day != null);
+			return LocalDate.of(yearValue, monthValue, resolve(day, now.getDayOfMonth()))
+					.plusYears(yearDelta)
+					.plusMonths(month.delta())
+					.plusDays(day.delta());
+		}
+
+		private static int resolve(@NonNull FieldValue fieldValue, int valueOfNow) {
+			return (fieldValue.isRelativeToNow() ? valueOfNow : fieldValue.value());
+		}
+	}
+
+	/**
+	 * @param offsetDays Days relative to Easter Sunday
+	 */
+	private record EasterRule(int offsetDays) implements Rule {
+		@Override
+		public boolean isRecurring() {
+			return true;
+		}
+
+		@Override
+		public void expand(@NonNull LocalDate now, @NonNull YearRange years, @NonNull Consumer<@NonNull LocalDate> consumer) {
+			for (int tmpYear = years.firstYear(); tmpYear <= years.lastYear(); tmpYear++) {
+				consumer.accept(getEasterSunday(tmpYear).plusDays(offsetDays));
+			}
+		}
+	}
+
+	/**
+	 * Years that recurring rules are expanded for
+	 */
+	public record YearRange(int firstYear, int lastYear) { }
 
 	// -----------------------------------------------------------------------------------------------------------------
 	// -----------------------------------------------------------------------------------------------------------------
@@ -19,115 +151,219 @@ public class HolidayTemplateParser {
 	private static final String FIELD_DESC_MONTH = "month";
 	private static final String FIELD_DESC_DAY = "day";
 
+	private static final String KEYWORD_EVERY_YEAR = "EVERY_YEAR";
+	private static final String KEYWORD_EASTER = "EASTER";
+
+	/** used if the configuration doesn't specify the years for the recurring rules */
+	public static final String DEFAULT_YEAR_RANGE = "<YEAR>..<YEAR+1>";
+	private static final String YEAR_RANGE_SEPARATOR = "..";
+	private static final int MAX_YEARS_IN_RANGE = 500;
+
 	// -----------------------------------------------------------------------------------------------------------------
 	// -----------------------------------------------------------------------------------------------------------------
 
+	/**
+	 * Compile the templates and expand them in one batch against a single captured date
+	 * @param templateStrs Holiday templates (null elements are kept, so they can be reported by the validation)
+	 * @param yearRangeStr Years for the recurring rules (e.g. {@code 2025..2030} or {@code <YEAR>..<YEAR+2>}),
+	 *                     null for {@link #DEFAULT_YEAR_RANGE}
+	 */
+	public static @NonNull Set<AppConfig.@Nullable Holiday> expandAll(
+				@NonNull List<@Nullable String> templateStrs,
+				@Nullable String yearRangeStr
+			) throws InvalidInputDataException {
+		final LocalDate now = LocalDate.now();
+		final YearRange years = parseYearRange(yearRangeStr != null ? yearRangeStr : DEFAULT_YEAR_RANGE, now);
+
+		// every distinct template is compiled only once
+		final Set<String> compiledTemplateStrs = new HashSet<>();
+		final Set<AppConfig.Holiday> resSet = new LinkedHashSet<>();
+		for (String templateStr : templateStrs) {
+			if (templateStr == null) {
+				resSet.add(null);
+				continue;
+			}
+			if (! compiledTemplateStrs.add(templateStr)) {
+				continue;
+			}
+			final Rule rule = compile(templateStr);
+			try {
+				rule.expand(now, years, (date) -> resSet.add(new AppConfig.Holiday(templateStr, date)));
+			} catch (DateTimeException e) {
+				throw new InvalidInputDataException("Holiday template '" + templateStr + "' cannot be parsed: " +
+						e.getMessage());
+			}
+		}
+		return resSet;
+	}
+
+	/**
+	 * @return Single date of a template that isn't recurring
+	 */
 	public static @NonNull LocalDate parse(@Nullable String templateStr) throws InvalidInputDataException {
+		final Rule rule = compile(templateStr);
+		if (rule.isRecurring()) {
+			throw new InvalidInputDataException("Holiday template '" + templateStr + "' is recurring");
+		}
+		final List<LocalDate> resList = new ArrayList<>(1);
+		try {
+			rule.expand(LocalDate.now(), new YearRange(0, -1), resList::add);
+		} catch (DateTimeException e) {
+			throw new InvalidInputDataException("Holiday template '" + templateStr + "' cannot be parsed: " +
+					e.getMessage());
+		}
+		return resList.getFirst();
+	}
+
+	public static @NonNull Rule compile(@Nullable String templateStr) throws InvalidInputDataException {
 		if (templateStr == null) {
 			throw new InvalidInputDataException("Holiday template cannot be null");
 		}
 
 		List<String> templateParts = parseTemplateParts(templateStr);
+		if (templateParts.size() == 1) {
+			return compileEasterRule(templateStr, templateParts.getFirst().toUpperCase());
+		}
 
-		try {
-			TemplatePartValue tpvYear = convertYearToTPV(templateParts.get(0));
-			TemplatePartValue tpvMonth = convertMonthToTPV(templateParts.get(1));
-			TemplatePartValue tpvDay = convertDayToTPV(templateParts.get(2));
+		final String yearPart = templateParts.get(0);
+		final FieldValue tpvYear = (yearPart.equalsIgnoreCase(KEYWORD_EVERY_YEAR) ? null : convertYearToTPV(yearPart));
+		final FieldValue tpvMonth = convertMonthToTPV(templateParts.get(1));
+		final String dayPart = templateParts.get(2);
+		if (dayPart.indexOf('#') >= 0) {
+			return new DateRule(tpvYear, tpvMonth, null, parseWeekdayInMonth(dayPart));
+		}
+		return new DateRule(tpvYear, tpvMonth, convertDayToTPV(dayPart), null);
+	}
 
-			return getLocalDateFromTemplateParts(tpvYear, tpvMonth, tpvDay);
-		} catch (DateTimeException e) {
-			throw new InvalidInputDataException("Holiday template '" + templateStr + "' cannot be parsed: " +
-					e.getMessage());
+	/**
+	 * @param yearRangeStr E.g. {@code 2025..2030} or {@code <YEAR>..<YEAR+2>}
+	 * @param now Captured date that {@code <YEAR>} refers to
+	 */
+	public static @NonNull YearRange parseYearRange(
+				@NonNull String yearRangeStr,
+				@NonNull LocalDate now
+			) throws InvalidInputDataException {
+		final int separatorIx = yearRangeStr.indexOf(YEAR_RANGE_SEPARATOR);
+		if (separatorIx < 0) {
+			throw new InvalidInputDataException("Invalid holiday year range: '" + yearRangeStr +
+					"' (expected '<first>" + YEAR_RANGE_SEPARATOR + "<last>')");
+		}
+		final int firstYear = resolveYear(yearRangeStr.substring(0, separatorIx), now);
+		final int lastYear = resolveYear(yearRangeStr.substring(separatorIx + YEAR_RANGE_SEPARATOR.length()), now);
+		if (lastYear < firstYear) {
+			throw new InvalidInputDataException("Invalid holiday year range: '" + yearRangeStr +
+					"' - the last year is before the first year");
+		}
+		if (lastYear - firstYear >= MAX_YEARS_IN_RANGE) {
+			throw new InvalidInputDataException("Invalid holiday year range: '" + yearRangeStr +
+					"' - may not span more than " + MAX_YEARS_IN_RANGE + " years");
 		}
+		return new YearRange(firstYear, lastYear);
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
 	// -----------------------------------------------------------------------------------------------------------------
 
 	private static @NonNull List<String> parseTemplateParts(String templateStr) throws InvalidInputDataException {
-		final String originalTemplateStr = templateStr;
-
 		boolean inBrackets = false;
 		List<String> templateParts = new ArrayList<>();
 		StringBuilder currentPart = new StringBuilder();
 		boolean havePendingData = false;
 		boolean areBracketsAllowed = true;
-		while (! templateStr.isEmpty()) {
-			boolean addToCurrentPart = false;
-			boolean moveToParts = false;
-			if (templateStr.charAt(0) == '<') {
+		for (int ix = 0; ix < templateStr.length(); ix++) {
+			final char ch = templateStr.charAt(ix);
+			if (ch == '<') {
 				if (inBrackets) {
 					throw new InvalidInputDataException("Nested brackets found in Holiday template: '" +
-							originalTemplateStr + "'");
+							templateStr + "'");
 				}
 				if (! areBracketsAllowed) {
 					throw new InvalidInputDataException("Unexpected '<' found in Holiday template: '" +
-							originalTemplateStr + "'");
+							templateStr + "'");
 				}
 				inBrackets = true;
-			} else if (templateStr.charAt(0) == '>') {
+			} else if (ch == '>') {
 				if (! inBrackets) {
 					throw new InvalidInputDataException("Unmatched '>' found in Holiday template: '" +
-							originalTemplateStr + "'");
+							templateStr + "'");
 				}
 				inBrackets = false;
 				areBracketsAllowed = false;
-			} else if (templateStr.charAt(0) == '-' && ! inBrackets) {
-				moveToParts = true;
-			} else {
-				addToCurrentPart = true;
-			}
-			if (moveToParts) {
+			} else if (ch == '-' && ! inBrackets) {
 				templateParts.add(currentPart.toString().strip());
-				currentPart = new StringBuilder();
+				currentPart.setLength(0);
 				havePendingData = false;
 				areBracketsAllowed = true;
-			} else if (addToCurrentPart) {
-				currentPart.append(templateStr.charAt(0));
+			} else {
+				currentPart.append(ch);
 				havePendingData = true;
 			}
-			templateStr = templateStr.substring(1);
 		}
 		if (havePendingData) {
 			templateParts.add(currentPart.toString().strip());
 		}
-		if (templateParts.size() != 3) {
+		final boolean isEaster = (templateParts.size() == 1 &&
+				templateParts.getFirst().toUpperCase().startsWith(KEYWORD_EASTER));
+		if (templateParts.size() != 3 && ! isEaster) {
 			throw new InvalidInputDataException("Invalid Holiday template: '" +
-					originalTemplateStr + "' - invalid number of segments");
+					templateStr + "' - invalid number of segments");
 		}
 		return templateParts;
 	}
 
-	private static @NonNull TemplatePartValue convertYearToTPV(String templatePart) throws InvalidInputDataException {
-		return convertXxxToTPV(FIELD_DESC_YEAR, templatePart, "\\d{4}", "YEAR.*");
+	private static @NonNull Rule compileEasterRule(
+				String templateStr,
+				String templatePartUpper
+			) throws InvalidInputDataException {
+		final FieldValue tpv = parseOneTemplatePart(KEYWORD_EASTER, templatePartUpper);
+		if (tpv == null) {
+			throw new InvalidInputDataException("Invalid Holiday template: '" + templateStr + "'");
+		}
+		return new EasterRule(tpv.delta());
+	}
+
+	private static @NonNull FieldValue convertYearToTPV(String templatePart) throws InvalidInputDataException {
+		return convertXxxToTPV(FIELD_DESC_YEAR, templatePart, 4, "YEAR");
 	}
 
-	private static @NonNull TemplatePartValue convertMonthToTPV(String templatePart) throws InvalidInputDataException {
-		return convertXxxToTPV(FIELD_DESC_MONTH, templatePart, "\\d{2}", "MONTH.*");
+	private static @NonNull FieldValue convertMonthToTPV(String templatePart) throws InvalidInputDataException {
+		return convertXxxToTPV(FIELD_DESC_MONTH, templatePart, 2, "MONTH");
 	}
 
-	private static @NonNull TemplatePartValue convertDayToTPV(String templatePart) throws InvalidInputDataException {
-		return convertXxxToTPV(FIELD_DESC_DAY, templatePart, "\\d{2}", "DAY.*");
+	private static @NonNull FieldValue convertDayToTPV(String templatePart) throws InvalidInputDataException {
+		return convertXxxToTPV(FIELD_DESC_DAY, templatePart, 2, "DAY");
 	}
 
-	private static @NonNull TemplatePartValue convertXxxToTPV(
+	private static @NonNull FieldValue convertXxxToTPV(
 				String desc,
 				String templatePart,
-				String regexNum,
-				String regexAlphaNum
+				int amountDigits,
+				String keyword
 			) throws InvalidInputDataException {
 		validateTemplatePartStr(desc, templatePart);
-		if (templatePart.matches(regexNum)) {
+		if (isNumber(templatePart, amountDigits)) {
 			int value = parseNumber(templatePart);
 			validateTemplatePartNumber(desc, value);
-			return new TemplatePartValue(desc, value, 0);
+			return new FieldValue(value, false, 0);
 		}
-		final String templatePartUpper = templatePart.toUpperCase();
-		if (templatePartUpper.matches(regexAlphaNum)) {
-			return parseOneTemplatePart(desc, templatePartUpper);
+		final FieldValue resTpv = parseOneTemplatePart(keyword, templatePart.toUpperCase());
+		if (resTpv == null) {
+			throwForTemplatePart(desc, templatePart);
+		}
+		return resTpv;
+	}
+
+	private static boolean isNumber(String templatePart, int amountDigits) {
+		if (templatePart.length() != amountDigits) {
+			return false;
 		}
-		throwForTemplatePart(desc, templatePart);
-		return new TemplatePartValue(desc, 0, 0);  // only for compiler
+		for (int ix = 0; ix < amountDigits; ix++) {
+			final char ch = templatePart.charAt(ix);
+			if (ch < '0' || ch > '9') {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	private static void validateTemplatePartStr(String desc, String templatePart) throws InvalidInputDataException {
@@ -160,88 +396,102 @@ public class HolidayTemplateParser {
 		}
 	}
 
-	private static @NonNull TemplatePartValue parseOneTemplatePart(String desc, String templateStr) throws InvalidInputDataException {
-		final String originalTemplateStr = templateStr;
-
-		StringBuilder partDesc = new StringBuilder();
-		boolean havePartArithmetic = false;
-		boolean partArithmetic = false;
-		StringBuilder partValue = new StringBuilder();
-		StringBuilder currentPart = new StringBuilder();
-		boolean havePendingData = false;
-		while (! templateStr.isEmpty()) {
-			if (templateStr.charAt(0) == '+' || templateStr.charAt(0) == '-') {
-				if (havePartArithmetic) {
-					throw new InvalidInputDataException("Unexpected '" + templateStr.charAt(0) +
-							"' found in Holiday template field '" + desc + "': '" + originalTemplateStr + "'");
-				}
-				partArithmetic = (templateStr.charAt(0) == '+');
-				havePartArithmetic = true;
-				partDesc = new StringBuilder(currentPart.toString().strip());
-				currentPart = new StringBuilder();
-				havePendingData = false;
-			} else {
-				currentPart.append(templateStr.charAt(0));
-				havePendingData = true;
-			}
-			templateStr = templateStr.substring(1);
+	/**
+	 * Parse a bracketed field like {@code YEAR}, {@code MONTH+1} or {@code EASTER-2}
+	 * @param keyword Expected keyword
+	 * @param templatePartUpper Field in upper case (without the brackets)
+	 * @return Value relative to now or null if the field doesn't start with the keyword
+	 */
+	private static @Nullable FieldValue parseOneTemplatePart(
+				String keyword,
+				String templatePartUpper
+			) throws InvalidInputDataException {
+		final int operatorIx = indexOfOperator(templatePartUpper);
+		final String partDesc = (operatorIx < 0 ? templatePartUpper : templatePartUpper.substring(0, operatorIx)).strip();
+		if (! partDesc.startsWith(keyword)) {
+			return null;
 		}
-		if (havePendingData) {
-			String pending = currentPart.toString().strip();
-			if (! havePartArithmetic) {
-				partDesc.append(pending);
-			} else {
-				partValue.append(pending);
-			}
+		if (! partDesc.equals(keyword)) {
+			throwForTemplatePart(keyword.toLowerCase(), partDesc);
+		}
+		if (operatorIx < 0) {
+			return new FieldValue(0, true, 0);
 		}
 
-		final String partDescAsStr = partDesc.toString();
-		final String partValueAsStr = partValue.toString();
-		if (havePartArithmetic && partValueAsStr.isBlank()) {
-			throw new InvalidInputDataException("Invalid Holiday template field '" + desc + "': '" +
-					originalTemplateStr + "' - value in arithmetic operation cannot be blank");
+		final String partValue = templatePartUpper.substring(operatorIx + 1).strip();
+		if (partValue.isBlank()) {
+			throw new InvalidInputDataException("Invalid Holiday template field '" + keyword.toLowerCase() + "': '" +
+					templatePartUpper + "' - value in arithmetic operation cannot be blank");
 		}
+		if (indexOfOperator(partValue) >= 0) {
+			throw new InvalidInputDataException("Unexpected '" + partValue.charAt(indexOfOperator(partValue)) +
+					"' found in Holiday template field '" + keyword.toLowerCase() + "': '" + templatePartUpper + "'");
+		}
+		final boolean isAddition = (templatePartUpper.charAt(operatorIx) == '+');
+		return new FieldValue(0, true, parseNumber(partValue) * (isAddition ? 1 : -1));
+	}
 
-		switch (desc) {
-			case FIELD_DESC_YEAR: if (! partDescAsStr.equals("YEAR")) { throwForTemplatePart(desc, partDescAsStr); } break;
-			case FIELD_DESC_MONTH: if (! partDescAsStr.equals("MONTH")) { throwForTemplatePart(desc, partDescAsStr); } break;
-			default: if (! partDescAsStr.equals("DAY")) { throwForTemplatePart(desc, partDescAsStr); } break;
+	private static int indexOfOperator(String str) {
+		for (int ix = 0; ix < str.length(); ix++) {
+			if (str.charAt(ix) == '+' || str.charAt(ix) == '-') {
+				return ix;
+			}
 		}
+		return -1;
+	}
 
-		final int deltaValueAsInt = (havePartArithmetic ? (parseNumber(partValueAsStr) * (partArithmetic ? 1 : -1)) : 0);
+	/**
+	 * Parse a day field like {@code THU#4} (fourth Thursday) or {@code MON#-1} (last Monday)
+	 */
+	private static @NonNull WeekdayInMonth parseWeekdayInMonth(String templatePart) throws InvalidInputDataException {
+		final String templatePartUpper = templatePart.toUpperCase();
+		final int hashIx = templatePartUpper.indexOf('#');
+		final String dayOfWeekStr = templatePartUpper.substring(0, hashIx).strip();
+		DayOfWeek resDayOfWeek = null;
+		for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+			if (dayOfWeekStr.length() >= 3 && dayOfWeek.name().startsWith(dayOfWeekStr)) {
+				resDayOfWeek = dayOfWeek;
+				break;
+			}
+		}
+		if (resDayOfWeek == null) {
+			throwForTemplatePart(FIELD_DESC_DAY, templatePart);
+		}
+		final int ordinal = parseNumber(templatePartUpper.substring(hashIx + 1).strip());
+		if (ordinal == 0 || ordinal < -5 || ordinal > 5) {
+			throw new InvalidInputDataException("Holiday template field '" + FIELD_DESC_DAY + "' has invalid value " +
+					"(is=" + ordinal + ", must be 1..5 or -1..-5)");
+		}
+		return new WeekdayInMonth(resDayOfWeek, ordinal);
+	}
 
-		LocalDate tmpNow = LocalDate.now();
-		final int absValueAsInt = switch (desc) {
-				case FIELD_DESC_YEAR -> tmpNow.getYear();
-				case FIELD_DESC_MONTH -> tmpNow.getMonthValue();
-				default -> tmpNow.getDayOfMonth();
-			};
-		return new TemplatePartValue(desc, absValueAsInt, deltaValueAsInt);
+	private static int resolveYear(String yearStr, LocalDate now) throws InvalidInputDataException {
+		final FieldValue tpvYear = convertYearToTPV(yearStr.strip().replace("<", "").replace(">", ""));
+		return (tpvYear.isRelativeToNow() ? now.getYear() : tpvYear.value()) + tpvYear.delta();
 	}
 
 	private static void throwForTemplatePart(String desc, String templatePart) throws InvalidInputDataException {
 		throw new InvalidInputDataException("Holiday template field '" + desc + "' has invalid value '" + templatePart + "'");
 	}
 
-	private static @NonNull LocalDate getLocalDateFromTemplateParts(
-				TemplatePartValue tpvYear,
-				TemplatePartValue tpvMonth,
-				TemplatePartValue tpvDay
-			) {
-		LocalDate tmp = LocalDate.of(
-				tpvYear.value(),
-				tpvMonth.value(),
-				tpvDay.value()
-			);
-		if (tpvYear.delta() != 0) {
-			tmp = (tpvYear.delta() > 0 ? tmp.plusYears(tpvYear.delta()) : tmp.minusYears(tpvYear.delta() * -1));
-		}
-		if (tpvMonth.delta() != 0) {
-			tmp = (tpvMonth.delta() > 0 ? tmp.plusMonths(tpvMonth.delta()) : tmp.minusMonths(tpvMonth.delta() * -1));
-		}
-		if (tpvDay.delta() != 0) {
-			tmp = (tpvDay.delta() > 0 ? tmp.plusDays(tpvDay.delta()) : tmp.minusDays(tpvDay.delta() * -1));
-		}
-		return tmp;
+	/**
+	 * Easter Sunday of the Gregorian calendar (anonymous Gregorian algorithm)
+	 */
+	private static @NonNull LocalDate getEasterSunday(int year) {
+		final int a = year % 19;
+		final int b = year / 100;
+		final int c = year % 100;
+		final int d = b / 4;
+		final int e = b % 4;
+		final int f = (b + 8) / 25;
+		final int g = (b - f + 1) / 3;
+		final int h = (19 * a + b - d - g + 15) % 30;
+		final int i = c / 4;
+		final int k = c % 4;
+		final int l = (32 + 2 * e + 2 * i - h - k) % 7;
+		final int m = (a + 11 * h + 22 * l) / 451;
+		final int month = (h + l - 7 * m + 114) / 31;
+		final int day = (h + l - 7 * m + 114) % 31 + 1;
+		return LocalDate.of(year, month, day);
 	}
 }
@@ -0,0 +1,119 @@
+package org.tsitle.demo_cli_app_critical_path.json;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Several projects whose tasks are scheduled jointly against the resource pool of one configuration file
+ * @param configJsonFilename Configuration file with advanced input data. Its resource units, resource groups and
+ *                           associations between both form the shared pool, its task files are ignored.
+ * @param parallelism Amount of priority orders that are evaluated concurrently (0 = amount of available processors)
+ * @param maxPriorityOrders Upper limit for the amount of generated priority orders (0 = {@link #DEFAULT_MAX_PRIORITY_ORDERS})
+ * @param priorityOrders Optional: priority orders to evaluate (lists of project names, highest priority first).
+ *                       Generated if not specified.
+ * @param outputReportFilename Optional: write the combined report to this JSON file
+ * @param projects Projects in their default priority order
+ */
+public record PortfolioConfig(
+			@NonNull String configJsonFilename,
+			int parallelism,
+			int maxPriorityOrders,
+			@Nullable List<@NonNull List<@NonNull String>> priorityOrders,
+			@Nullable String outputReportFilename,
+			@NonNull List<@NonNull Project> projects
+		) {
+	/** enough for all permutations of up to five projects */
+	public static final int DEFAULT_MAX_PRIORITY_ORDERS = 120;
+
+	/**
+	 * @param name Unique name of the project. Is used as prefix for the task IDs in the joint schedule.
+	 * @param filenameTasks Input file for the tasks of the project
+	 * @param filenameAssocRgroupsWithTasks Input file for the associations between the shared resource groups
+	 *                                      and the tasks of the project
+	 */
+	public record Project(
+				@NonNull String name,
+				@NonNull String filenameTasks,
+				@NonNull String filenameAssocRgroupsWithTasks
+			) {
+		@SuppressWarnings("ConstantValue")
+		public void validate(int projectIx) throws InvalidInputDataException {
+			final String prefix = "PortfolioConfig.projects[" + projectIx + "].";
+			if (name == null || name.isEmpty()) {
+				throw new InvalidInputDataException(prefix + "name may not be null or empty");
+			}
+			for (int ix = 0; ix < name.length(); ix++) {
+				final char ch = name.charAt(ix);
+				if (! (Character.isLetterOrDigit(ch) || ch == '_' || ch == '-')) {
+					throw new InvalidInputDataException(prefix + "name may only contain letters, digits, '_' and '-'");
+				}
+			}
+			if (filenameTasks == null || filenameTasks.isBlank()) {
+				throw new InvalidInputDataException(prefix + "filenameTasks may not be null or blank");
+			}
+			if (filenameAssocRgroupsWithTasks == null || filenameAssocRgroupsWithTasks.isBlank()) {
+				throw new InvalidInputDataException(prefix + "filenameAssocRgroupsWithTasks may not be null or blank");
+			}
+		}
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return Amount of priority orders that may be evaluated concurrently (defaults to the amount of available processors)
+	 */
+	public int effectiveParallelism() {
+		return (parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	public int effectiveMaxPriorityOrders() {
+		return (maxPriorityOrders > 0 ? maxPriorityOrders : DEFAULT_MAX_PRIORITY_ORDERS);
+	}
+
+	@SuppressWarnings("ConstantValue")
+	public void validate() throws InvalidInputDataException {
+		final String prefix = "PortfolioConfig.";
+		if (configJsonFilename == null || configJsonFilename.isBlank()) {
+			throw new InvalidInputDataException(prefix + "configJsonFilename may not be null or blank");
+		}
+		if (parallelism < 0) {
+			throw new InvalidInputDataException(prefix + "parallelism must be >= 0");
+		}
+		if (maxPriorityOrders < 0) {
+			throw new InvalidInputDataException(prefix + "maxPriorityOrders must be >= 0");
+		}
+		if (projects == null || projects.isEmpty()) {
+			throw new InvalidInputDataException(prefix + "projects may not be null or empty");
+		}
+		final Set<String> names = new HashSet<>();
+		for (int projectIx = 0; projectIx < projects.size(); projectIx++) {
+			if (projects.get(projectIx) == null) {
+				throw new InvalidInputDataException(prefix + "projects may not contain null elements");
+			}
+			projects.get(projectIx).validate(projectIx);
+			if (! names.add(projects.get(projectIx).name())) {
+				throw new InvalidInputDataException(prefix + "projects[" + projectIx + "].name '" +
+						projects.get(projectIx).name() + "' is not unique");
+			}
+		}
+		if (priorityOrders != null) {
+			if (priorityOrders.isEmpty()) {
+				throw new InvalidInputDataException(prefix + "priorityOrders may not be empty");
+			}
+			for (int orderIx = 0; orderIx < priorityOrders.size(); orderIx++) {
+				final List<String> order = priorityOrders.get(orderIx);
+				// every project has to appear exactly once
+				if (order == null || order.size() != names.size() || ! names.equals(new HashSet<>(order))) {
+					throw new InvalidInputDataException(prefix + "priorityOrders[" + orderIx +
+							"] must contain every project name exactly once");
+				}
+			}
+		}
+	}
+}
@@ -2,27 +2,33 @@ package org.tsitle.demo_cli_app_critical_path.json;
 
 import com.google.gson.*;
 import org.jspecify.annotations.NonNull;
+import org.tsitle.demo_cli_app_critical_path.metrics.RunMetrics;
+import org.tsitle.demo_cli_app_critical_path.portfolio.PortfolioReport;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
 
 @SuppressWarnings("unused")
 public class Serializer {
 	@SuppressWarnings("unused")
-	private static class HolidaySerializer implements JsonSerializer<AppConfig.Holiday> {
-		@Override
-		public JsonElement serialize(AppConfig.Holiday holiday, Type typeOfSrc, JsonSerializationContext context) {
-			return new JsonPrimitive(holiday.templateStr());
+	public static @NonNull String appConfigToJsonString(@NonNull AppConfig appConfig) throws IOException {
+		try {
+			return buildGsonObj().toJson(appConfig);
+		} catch (JsonIOException e) {
+			throw new IOException("JsonIOException while producing JSON: " + e.getMessage());
 		}
 	}
 
-	// -----------------------------------------------------------------------------------------------------------------
-	// -----------------------------------------------------------------------------------------------------------------
+	public static @NonNull String runMetricsReportToJsonString(RunMetrics.@NonNull Report report) throws IOException {
+		try {
+			return buildGsonObj().toJson(report);
+		} catch (JsonIOException e) {
+			throw new IOException("JsonIOException while producing JSON: " + e.getMessage());
+		}
+	}
 
-	@SuppressWarnings("unused")
-	public static @NonNull String appConfigToJsonString(@NonNull AppConfig appConfig) throws IOException {
+	public static @NonNull String portfolioReportToJsonString(@NonNull PortfolioReport report) throws IOException {
 		try {
-			return buildGsonObj().toJson(appConfig);
+			return buildGsonObj().toJson(report);
 		} catch (JsonIOException e) {
 			throw new IOException("JsonIOException while producing JSON: " + e.getMessage());
 		}
@@ -33,7 +39,7 @@ public class Serializer {
 
 	private static @NonNull Gson buildGsonObj() {
 		GsonBuilder gsonBldr = new GsonBuilder();
-		gsonBldr.registerTypeAdapter(AppConfig.Holiday.class, new HolidaySerializer());
+		gsonBldr.registerTypeAdapterFactory(new AppConfigTypeAdapterFactory());
 		return gsonBldr.setPrettyPrinting().disableHtmlEscaping().create();
 	}
 }
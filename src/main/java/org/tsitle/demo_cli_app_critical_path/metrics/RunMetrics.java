@@ -0,0 +1,182 @@
+package org.tsitle.demo_cli_app_critical_path.metrics;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Records wall time, CPU time, allocated bytes, GC activity and row counts for the stages of one run.
+ * <p>
+ * The thread CPU time and the allocated bytes are those of the thread that runs the stage.
+ * Work done by helper threads (e.g. while reading the input files) is only included in the process CPU time.
+ */
+public final class RunMetrics {
+	/**
+	 * Metrics of a single stage
+	 * @param name Name of the stage
+	 * @param wallTimeNanos Elapsed time
+	 * @param threadCpuTimeNanos CPU time of the calling thread (-1 if not supported by the JVM)
+	 * @param processCpuTimeNanos CPU time of all threads of the process (-1 if not supported by the JVM)
+	 * @param allocatedBytes Bytes allocated by the calling thread (-1 if not supported by the JVM)
+	 * @param gcCount Amount of garbage collections
+	 * @param gcTimeMillis Accumulated time of the garbage collections
+	 * @param counts Row counts etc.
+	 */
+	public record StageMetrics(
+				@NonNull String name,
+				long wallTimeNanos,
+				long threadCpuTimeNanos,
+				long processCpuTimeNanos,
+				long allocatedBytes,
+				long gcCount,
+				long gcTimeMillis,
+				@NonNull Map<@NonNull String, @NonNull Long> counts
+			) { }
+
+	/**
+	 * The report that is written as JSON
+	 * @param startedAt Local date and time when the metrics were started
+	 * @param javaVersion Version of the JVM
+	 * @param availableProcessors Amount of CPU cores available to the JVM
+	 * @param totalWallTimeNanos Elapsed time from the start of the metrics until the report was created
+	 * @param stages Stages in the order of their execution
+	 */
+	public record Report(
+				@NonNull String startedAt,
+				@NonNull String javaVersion,
+				int availableProcessors,
+				long totalWallTimeNanos,
+				@NonNull List<@NonNull StageMetrics> stages
+			) { }
+
+	private record Snapshot(
+				long wallTimeNanos,
+				long threadCpuTimeNanos,
+				long processCpuTimeNanos,
+				long allocatedBytes,
+				long gcCount,
+				long gcTimeMillis
+			) { }
+
+	private final @NonNull LocalDateTime startedAt = LocalDateTime.now();
+	private final long startedAtNanos = System.nanoTime();
+	private final @NonNull List<@NonNull StageMetrics> stages = Collections.synchronizedList(new ArrayList<>());
+
+	private final @NonNull ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+	private final com.sun.management.@Nullable ThreadMXBean extThreadMxBean;
+	private final com.sun.management.@Nullable OperatingSystemMXBean extOsMxBean;
+	private final @NonNull List<GarbageCollectorMXBean> gcMxBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
+	public RunMetrics() {
+		extThreadMxBean = (threadMxBean instanceof com.sun.management.ThreadMXBean tmp &&
+				tmp.isThreadAllocatedMemorySupported() ? tmp : null);
+		final OperatingSystemMXBean osMxBean = ManagementFactory.getOperatingSystemMXBean();
+		extOsMxBean = (osMxBean instanceof com.sun.management.OperatingSystemMXBean tmp ? tmp : null);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Measurement of one stage that is in progress
+	 */
+	public final class StageTimer {
+		private final @NonNull String name;
+		private final @NonNull Snapshot start;
+		private final @NonNull Map<@NonNull String, @NonNull Long> counts = new LinkedHashMap<>();
+
+		private StageTimer(@NonNull String name) {
+			this.name = name;
+			this.start = takeSnapshot();
+		}
+
+		public @NonNull StageTimer count(@NonNull String key, long value) {
+			counts.put(key, value);
+			return this;
+		}
+
+		/**
+		 * Finish the measurement. Must be called on the thread that started it.
+		 */
+		public void stop() {
+			final Snapshot end = takeSnapshot();
+			stages.add(new StageMetrics(
+					name,
+					end.wallTimeNanos() - start.wallTimeNanos(),
+					diffOrUnsupported(start.threadCpuTimeNanos(), end.threadCpuTimeNanos()),
+					diffOrUnsupported(start.processCpuTimeNanos(), end.processCpuTimeNanos()),
+					diffOrUnsupported(start.allocatedBytes(), end.allocatedBytes()),
+					end.gcCount() - start.gcCount(),
+					end.gcTimeMillis() - start.gcTimeMillis(),
+					Collections.unmodifiableMap(new LinkedHashMap<>(counts))
+				));
+		}
+	}
+
+	public @NonNull StageTimer startStage(@NonNull String name) {
+		return new StageTimer(name);
+	}
+
+	public @NonNull Report buildReport() {
+		return new Report(
+				startedAt.toString(),
+				Runtime.version().toString(),
+				Runtime.getRuntime().availableProcessors(),
+				System.nanoTime() - startedAtNanos,
+				List.copyOf(stages)
+			);
+	}
+
+	/**
+	 * Print one line per stage
+	 */
+	public static void printSummary(@NonNull Report report, @NonNull Consumer<String> output) {
+		output.accept("Metrics:");
+		for (StageMetrics stage : report.stages()) {
+			final StringBuilder sb = new StringBuilder();
+			sb.append(String.format("  - %-20s wall=%9.1f ms", stage.name(), stage.wallTimeNanos() / 1e6));
+			if (stage.threadCpuTimeNanos() >= 0) {
+				sb.append(String.format(", cpu=%9.1f ms", stage.threadCpuTimeNanos() / 1e6));
+			}
+			if (stage.allocatedBytes() >= 0) {
+				sb.append(String.format(", alloc=%9.1f MiB", stage.allocatedBytes() / (1024.0 * 1024.0)));
+			}
+			sb.append(", gc=").append(stage.gcCount()).append(" (").append(stage.gcTimeMillis()).append(" ms)");
+			stage.counts().forEach((key, value) -> sb.append(", ").append(key).append('=').append(value));
+			output.accept(sb.toString());
+		}
+		output.accept(String.format("  - %-20s wall=%9.1f ms", "total", report.totalWallTimeNanos() / 1e6));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private @NonNull Snapshot takeSnapshot() {
+		long gcCount = 0;
+		long gcTimeMillis = 0;
+		for (GarbageCollectorMXBean gcMxBean : gcMxBeans) {
+			// both values are -1 if not available for this collector
+			gcCount += Math.max(0, gcMxBean.getCollectionCount());
+			gcTimeMillis += Math.max(0, gcMxBean.getCollectionTime());
+		}
+		return new Snapshot(
+				System.nanoTime(),
+				(threadMxBean.isCurrentThreadCpuTimeSupported() ? threadMxBean.getCurrentThreadCpuTime() : -1),
+				(extOsMxBean != null ? extOsMxBean.getProcessCpuTime() : -1),
+				(extThreadMxBean != null ? extThreadMxBean.getCurrentThreadAllocatedBytes() : -1),
+				gcCount,
+				gcTimeMillis
+			);
+	}
+
+	private static long diffOrUnsupported(long start, long end) {
+		return (start < 0 || end < 0 ? -1 : end - start);
+	}
+}
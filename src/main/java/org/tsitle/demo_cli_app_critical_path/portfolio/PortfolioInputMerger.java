@@ -0,0 +1,247 @@
+package org.tsitle.demo_cli_app_critical_path.portfolio;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.jspecify.annotations.NonNull;
+import org.tsitle.demo_cli_app_critical_path.input.CsvRecordReader;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.PortfolioConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Merges the task files of all projects of a portfolio into one task file (and one file with the associations
+ * between resource groups and tasks) per priority order.
+ * <p>
+ * The projects are written in the priority order and their task IDs are made unique:
+ * numerical IDs are offset by {@code (position in the priority order + 1) * NUM_ID_STRIDE},
+ * string IDs are prefixed with the name of the project ({@code alpha.T101}).
+ * Dependencies may only refer to tasks of the same project.
+ * <p>
+ * The input files are read once, the merged files are written for every priority order.
+ * Thread-safe after construction.
+ */
+public final class PortfolioInputMerger {
+	/** numerical task IDs of the projects must be smaller than this */
+	public static final long NUM_ID_STRIDE = 1_000_000_000_000L;
+
+	private static final List<String> TASK_COLUMNS = List.of(
+			"TaskId", "Name", "Duration", "DependenciesTaskIdList", "StartedAtUTC", "FinishedAtUTC"
+		);
+	private static final List<String> ASSOC_COLUMNS = List.of("TaskId", "RgroupId");
+
+	/**
+	 * Merged input files of one priority order
+	 * @param filenameTasks Merged task file
+	 * @param filenameAssocRgroupsWithTasks Merged file with the associations between resource groups and tasks
+	 * @param projectIxByTaskId Index of the project (in the portfolio configuration) of every merged task ID
+	 */
+	public record MergedInput(
+				@NonNull String filenameTasks,
+				@NonNull String filenameAssocRgroupsWithTasks,
+				@NonNull Map<@NonNull String, @NonNull Integer> projectIxByTaskId
+			) {
+		/**
+		 * @param externalId External ID of a task of the joint schedule
+		 * @return Index of the project of the task
+		 * @throws IllegalStateException If the task is not part of any project
+		 */
+		public int findProjectIx(@NonNull Comparable<?> externalId) {
+			final Integer projectIx = projectIxByTaskId.get(String.valueOf(externalId));
+			if (projectIx == null) {
+				throw new IllegalStateException("task '" + externalId + "' is not part of any project");
+			}
+			return projectIx;
+		}
+	}
+
+	/**
+	 * Input files of one project
+	 * @param taskIds Unquoted task IDs of the project
+	 */
+	private record ProjectInput(
+				PortfolioConfig.@NonNull Project project,
+				CsvRecordReader.@NonNull Table tasks,
+				int @NonNull [] taskColumnIndices,
+				CsvRecordReader.@NonNull Table assocRgroupsWithTasks,
+				int @NonNull [] assocColumnIndices,
+				@NonNull Set<@NonNull String> taskIds
+			) { }
+
+	private final AppConfig.@NonNull IndicesType indicesType;
+	private final @NonNull List<@NonNull ProjectInput> projectInputs;
+
+	private PortfolioInputMerger(AppConfig.@NonNull IndicesType indicesType, @NonNull List<@NonNull ProjectInput> projectInputs) {
+		this.indicesType = indicesType;
+		this.projectInputs = projectInputs;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Read the input files of all projects
+	 * @throws IOException If an input file can't be read
+	 * @throws InvalidInputDataException If an input file lacks a column, has duplicate task IDs
+	 *                                   or invalid numerical task IDs
+	 */
+	public static @NonNull PortfolioInputMerger read(
+				@NonNull List<PortfolioConfig.@NonNull Project> projects,
+				AppConfig.@NonNull IndicesType indicesType
+			) throws IOException, InvalidInputDataException {
+		final List<ProjectInput> projectInputs = new ArrayList<>();
+		for (PortfolioConfig.Project project : projects) {
+			final CsvRecordReader.Table tasks = CsvRecordReader.read(project.filenameTasks());
+			final CsvRecordReader.Table assoc = CsvRecordReader.read(project.filenameAssocRgroupsWithTasks());
+			final int[] taskColumnIndices = getColumnIndices(tasks, TASK_COLUMNS);
+			final int[] assocColumnIndices = getColumnIndices(assoc, ASSOC_COLUMNS);
+
+			final Set<String> taskIds = new HashSet<>();
+			for (List<String> fields : tasks.records()) {
+				final String taskId = CsvRecordReader.unquote(fields.get(taskColumnIndices[0]));
+				if (indicesType == AppConfig.IndicesType.NUM) {
+					parseNumTaskId(taskId, project.name());
+				}
+				if (! taskIds.add(taskId)) {
+					throw new InvalidInputDataException("duplicate task ID '" + taskId + "' in project '" +
+							project.name() + "'");
+				}
+			}
+			projectInputs.add(new ProjectInput(project, tasks, taskColumnIndices, assoc, assocColumnIndices,
+					Collections.unmodifiableSet(taskIds)));
+		}
+		return new PortfolioInputMerger(indicesType, List.copyOf(projectInputs));
+	}
+
+	public int getAmountTasks(int projectIx) {
+		return projectInputs.get(projectIx).taskIds().size();
+	}
+
+	/**
+	 * Write the merged input files for one priority order
+	 * @param projectIxOrder Indices of the projects (in the portfolio configuration), highest priority first
+	 * @param outputDir Directory for the merged files (must exist)
+	 * @param filenamePrefix Prefix for the names of the merged files
+	 * @throws InvalidInputDataException If a task depends on a task that is not part of the same project
+	 *                                   or an association refers to an unknown task
+	 */
+	public @NonNull MergedInput writeMergedInput(
+				@NonNull List<@NonNull Integer> projectIxOrder,
+				@NonNull Path outputDir,
+				@NonNull String filenamePrefix
+			) throws IOException, InvalidInputDataException {
+		final Path pathTasks = outputDir.resolve(filenamePrefix + "-tasks.csv");
+		final Path pathAssoc = outputDir.resolve(filenamePrefix + "-assoc_rgroups_w_tasks.csv");
+		final Map<String, Integer> projectIxByTaskId = new HashMap<>();
+
+		try (Writer writerTasks = Files.newBufferedWriter(pathTasks, StandardCharsets.UTF_8);
+				Writer writerAssoc = Files.newBufferedWriter(pathAssoc, StandardCharsets.UTF_8)) {
+			writerTasks.write(String.join(",", TASK_COLUMNS) + "\n");
+			writerAssoc.write(String.join(",", ASSOC_COLUMNS) + "\n");
+
+			final StringBuilder sb = new StringBuilder();
+			for (int position = 0; position < projectIxOrder.size(); position++) {
+				final int projectIx = projectIxOrder.get(position);
+				final ProjectInput projectInput = projectInputs.get(projectIx);
+
+				for (List<String> fields : projectInput.tasks().records()) {
+					final int[] colIxs = projectInput.taskColumnIndices();
+					final String rawTaskId = fields.get(colIxs[0]);
+					final String mappedRawTaskId = mapTaskId(rawTaskId, projectInput, position);
+					projectIxByTaskId.put(CsvRecordReader.unquote(mappedRawTaskId), projectIx);
+
+					sb.setLength(0);
+					sb.append(mappedRawTaskId);
+					sb.append(',').append(fields.get(colIxs[1]));
+					sb.append(',').append(fields.get(colIxs[2]));
+					sb.append(',').append(mapDependencies(fields.get(colIxs[3]), projectInput, position, rawTaskId));
+					sb.append(',').append(fields.get(colIxs[4]));
+					sb.append(',').append(fields.get(colIxs[5]));
+					writerTasks.write(sb.append('\n').toString());
+				}
+
+				for (List<String> fields : projectInput.assocRgroupsWithTasks().records()) {
+					final int[] colIxs = projectInput.assocColumnIndices();
+					final String rawTaskId = fields.get(colIxs[0]);
+					if (! projectInput.taskIds().contains(CsvRecordReader.unquote(rawTaskId))) {
+						throw new InvalidInputDataException("'" + projectInput.assocRgroupsWithTasks().filename() +
+								"' refers to task '" + CsvRecordReader.unquote(rawTaskId) + "' that is not part of project '" +
+								projectInput.project().name() + "'");
+					}
+					writerAssoc.write(mapTaskId(rawTaskId, projectInput, position) + "," + fields.get(colIxs[1]) + "\n");
+				}
+			}
+		}
+		return new MergedInput(pathTasks.toString(), pathAssoc.toString(), Collections.unmodifiableMap(projectIxByTaskId));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static int @NonNull [] getColumnIndices(
+				CsvRecordReader.@NonNull Table table,
+				@NonNull List<@NonNull String> columnNames
+			) throws InvalidInputDataException {
+		final int[] resArr = new int[columnNames.size()];
+		for (int ix = 0; ix < columnNames.size(); ix++) {
+			resArr[ix] = table.getColumnIndex(columnNames.get(ix));
+		}
+		return resArr;
+	}
+
+	private static long parseNumTaskId(@NonNull String taskId, @NonNull String projectName) throws InvalidInputDataException {
+		final long value;
+		try {
+			value = Long.parseLong(taskId);
+		} catch (NumberFormatException e) {
+			throw new InvalidInputDataException("invalid numerical task ID '" + taskId + "' in project '" + projectName + "'");
+		}
+		if (value < 0 || value >= NUM_ID_STRIDE) {
+			throw new InvalidInputDataException("task ID '" + taskId + "' in project '" + projectName +
+					"' is out of range (0.." + (NUM_ID_STRIDE - 1) + ")");
+		}
+		return value;
+	}
+
+	/**
+	 * @return Task ID in the joint schedule (quoted if the original ID is quoted)
+	 */
+	private @NonNull String mapTaskId(
+				@NonNull String rawTaskId,
+				@NonNull ProjectInput projectInput,
+				int position
+			) throws InvalidInputDataException {
+		final String taskId = CsvRecordReader.unquote(rawTaskId);
+		if (indicesType == AppConfig.IndicesType.NUM) {
+			return Long.toString((position + 1) * NUM_ID_STRIDE + parseNumTaskId(taskId, projectInput.project().name()));
+		}
+		final String mappedTaskId = projectInput.project().name() + "." + taskId;
+		return (rawTaskId.startsWith("\"") ? CsvRecordReader.quote(mappedTaskId) : mappedTaskId);
+	}
+
+	private @NonNull String mapDependencies(
+				@NonNull String rawDependencies,
+				@NonNull ProjectInput projectInput,
+				int position,
+				@NonNull String rawTaskId
+			) throws InvalidInputDataException {
+		final String dependencies = CsvRecordReader.unquote(rawDependencies);
+		if (dependencies.isEmpty() || dependencies.equalsIgnoreCase("none")) {
+			return rawDependencies;
+		}
+		final StringJoiner sj = new StringJoiner(":");
+		for (String rawDependency : CsvRecordReader.splitFields(rawDependencies, ':')) {
+			if (! projectInput.taskIds().contains(CsvRecordReader.unquote(rawDependency))) {
+				throw new InvalidInputDataException("task '" + CsvRecordReader.unquote(rawTaskId) + "' of project '" +
+						projectInput.project().name() + "' depends on task '" + CsvRecordReader.unquote(rawDependency) +
+						"' that is not part of the project");
+			}
+			sj.add(mapTaskId(rawDependency, projectInput, position));
+		}
+		return sj.toString();
+	}
+}
@@ -0,0 +1,72 @@
+package org.tsitle.demo_cli_app_critical_path.portfolio;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Combined report of a portfolio run that is written as JSON
+ * @param createdAt Local date and time when the report was created
+ * @param timeUnit Time unit of all times in the report
+ * @param priorityOrders Evaluated priority orders, best first
+ * @param projects End of every project in the best priority order (in the order of the portfolio configuration)
+ * @param resourceGroups Utilization of the shared resource groups in the best priority order
+ * @param resourceUnits Utilization of the shared resource units in the best priority order
+ */
+public record PortfolioReport(
+			@NonNull String createdAt,
+			@NonNull String timeUnit,
+			@NonNull List<@NonNull OrderScore> priorityOrders,
+			@NonNull List<@NonNull ProjectEnd> projects,
+			@NonNull List<@NonNull ResourceUtilization> resourceGroups,
+			@NonNull List<@NonNull ResourceUtilization> resourceUnits
+		) {
+	/**
+	 * @param projectNames Names of the projects, highest priority first
+	 * @param timePassed End of the last task of all projects
+	 * @param sumOfProjectEnds Sum of the ends of all projects (tie-breaker for equal {@code timePassed})
+	 */
+	public record OrderScore(
+				@NonNull List<@NonNull String> projectNames,
+				long timePassed,
+				long sumOfProjectEnds
+			) { }
+
+	/**
+	 * @param timeFinished End of the last task of the project
+	 * @param finishedAt Post-processed date and time of {@code timeFinished}
+	 */
+	public record ProjectEnd(
+				@NonNull String name,
+				int amountTasks,
+				long timeFinished,
+				@NonNull String finishedAt
+			) { }
+
+	/**
+	 * @param utilization {@code timeBusy / (timeBusy + timeIdled)}, 0 if both are 0
+	 */
+	public record ResourceUtilization(
+				@NonNull String externalId,
+				@NonNull String name,
+				long timeBusy,
+				long timeIdled,
+				double utilization
+			) {
+		public static @NonNull ResourceUtilization of(
+					@NonNull Comparable<?> externalId,
+					@NonNull String name,
+					long timeBusy,
+					long timeIdled
+				) {
+			final long timeTotal = timeBusy + timeIdled;
+			return new ResourceUtilization(
+					String.valueOf(externalId),
+					name,
+					timeBusy,
+					timeIdled,
+					(timeTotal > 0 ? (double)timeBusy / timeTotal : 0.0)
+				);
+		}
+	}
+}
@@ -0,0 +1,947 @@
+package org.tsitle.demo_cli_app_critical_path.results;
+
+import io.github.tsitle.criticalpath.cpmresults.CpmPostProcessedResult;
+import io.github.tsitle.criticalpath.cpmresults.CpmPostProcessedSubResultTask;
+import io.github.tsitle.criticalpath.cpmresults.CpmResult;
+import io.github.tsitle.criticalpath.cpmresults.CpmSubResultRgroup;
+import io.github.tsitle.criticalpath.cpmresults.CpmSubResultRunit;
+import io.github.tsitle.criticalpath.cpmresults.CpmSubResultTask;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.input.IdDictionary;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Read-only columnar view of a {@link CpmResult} (and optionally its {@link CpmPostProcessedResult})
+ * that is built once and read by all outputs (console, HTML file and exports).
+ * <p>
+ * Every value of the tasks, resource groups and resource units is kept in a primitive array with one entry per row
+ * instead of one object per row with boxed IDs and hash sets, and the relations between the rows
+ * (e.g. the dependencies of a task) are kept in compressed sparse row (CSR) arrays:
+ * the entries of row {@code ix} are at {@code [starts[ix], starts[ix + 1])} of the values array.
+ * So the result objects don't have to be kept for the outputs.
+ * <p>
+ * The rows are referenced by their index:
+ * tasks in the order of {@link CpmResult#resultsTasks()}, resource groups in the order of
+ * {@link CpmResult#resultsRgroups()} and resource units in the order of {@link CpmResult#resultsRunits()}.
+ * The external IDs are already mapped back by the {@link IdDictionary}.
+ * <p>
+ * The views of independent parts of a project (e.g. its components) can be merged into one view
+ * (see {@link #merge(List)}).
+ */
+public final class ColumnarResults {
+	/** index of a resource group or unit for tasks that haven't been finished by one */
+	public static final int NO_IX = -1;
+
+	private static final long NO_DATE_TIME = Long.MIN_VALUE;
+
+	private final long timePassed;
+	private final long timeIdled;
+	private final int maxRunitsUsed;
+
+	// tasks
+	private final long @NonNull [] taskIds;
+	private final @Nullable Comparable<?> @NonNull [] taskExternalIds;
+	private final @Nullable String @NonNull [] taskNames;
+	private final long @NonNull [] taskTimesStarted;
+	private final long @NonNull [] taskTimesFinished;
+	private final int @NonNull [] taskRunitIxs;
+	private final int @NonNull [] taskRgroupIxs;
+	/** internal IDs of the dependencies (CSR) */
+	private final int @NonNull [] taskDependencyStarts;
+	private final long @NonNull [] taskDependencyIds;
+
+	// resource groups
+	private final long @NonNull [] rgroupIds;
+	private final @Nullable Comparable<?> @NonNull [] rgroupExternalIds;
+	private final @Nullable String @NonNull [] rgroupNames;
+	private final long @NonNull [] rgroupTimesIdled;
+	private final long @NonNull [] rgroupTimesBusy;
+	private final int @NonNull [] rgroupMaxRunitsUsed;
+	private final int @NonNull [] rgroupTasksCompletedCounts;
+	/** indices of the resource units of the group (CSR) */
+	private final int @NonNull [] rgroupRunitStarts;
+	private final int @NonNull [] rgroupRunitIxs;
+	private final int @NonNull [] rgroupIxsByName;
+
+	// resource units
+	private final long @NonNull [] runitIds;
+	private final @Nullable Comparable<?> @NonNull [] runitExternalIds;
+	private final @Nullable String @NonNull [] runitNames;
+	private final long @NonNull [] runitTimesIdled;
+	private final long @NonNull [] runitTimesBusy;
+	/** internal IDs of the completed tasks (CSR) */
+	private final int @NonNull [] runitTaskStarts;
+	private final long @NonNull [] runitTaskIds;
+	/** indices of the associated resource groups (CSR) */
+	private final int @NonNull [] runitRgroupStarts;
+	private final int @NonNull [] runitRgroupIxs;
+	private final int @NonNull [] runitIxsByName;
+
+	private final @Nullable PostProcessedColumns postProcessed;
+
+	/**
+	 * Columns of the post-processed tasks (same order as the tasks)
+	 * @param executionOrder Task indices in the order of {@link CpmPostProcessedResult#postProcessedTasks()}
+	 * @param startedAt Adjusted date and time as seconds since the epoch in UTC (or {@link #NO_DATE_TIME})
+	 */
+	private record PostProcessedColumns(
+				long totalTimeSpent,
+				long totalOffDutyTimeDuringProjectsTimeSpan,
+				long totalWorkingTime,
+				long timeLeftUntilProjectsEnd,
+				long offDutyTimeLeftUntilProjectsEnd,
+				int @NonNull [] executionOrder,
+				long @NonNull [] durationsOrg,
+				long @NonNull [] durationsDelta,
+				long @NonNull [] startedAt,
+				long @NonNull [] finishedAt,
+				byte @NonNull [] progressPercents
+			) { }
+
+	private ColumnarResults(@NonNull CpmResult cpmResult, @NonNull IdDictionary idDictionary) {
+		timePassed = cpmResult.timePassed();
+		timeIdled = cpmResult.timeIdled();
+		maxRunitsUsed = cpmResult.maxRunitsUsed();
+
+		final List<CpmSubResultTask> tasks = cpmResult.resultsTasks();
+		final List<CpmSubResultRgroup> rgroups = cpmResult.resultsRgroups();
+		final List<CpmSubResultRunit> runits = cpmResult.resultsRunits();
+
+		final LongIndexMap rgroupIxById = new LongIndexMap(rgroups.size());
+		for (int rgroupIx = 0; rgroupIx < rgroups.size(); rgroupIx++) {
+			rgroupIxById.put(rgroups.get(rgroupIx).id(), rgroupIx);
+		}
+		final LongIndexMap runitIxById = new LongIndexMap(runits.size());
+		for (int runitIx = 0; runitIx < runits.size(); runitIx++) {
+			runitIxById.put(runits.get(runitIx).id(), runitIx);
+		}
+
+		// tasks
+		final int amountTasks = tasks.size();
+		taskIds = new long[amountTasks];
+		taskExternalIds = new Comparable<?>[amountTasks];
+		taskNames = new String[amountTasks];
+		taskTimesStarted = new long[amountTasks];
+		taskTimesFinished = new long[amountTasks];
+		taskRunitIxs = new int[amountTasks];
+		taskRgroupIxs = new int[amountTasks];
+		rgroupTasksCompletedCounts = new int[rgroups.size()];
+		taskDependencyStarts = buildStarts(amountTasks, (taskIx) -> tasks.get(taskIx).dependenciesIds());
+		taskDependencyIds = new long[taskDependencyStarts[amountTasks]];
+		for (int taskIx = 0; taskIx < amountTasks; taskIx++) {
+			final CpmSubResultTask srTask = tasks.get(taskIx);
+			taskIds[taskIx] = srTask.id();
+			taskExternalIds[taskIx] = idDictionary.decodeTaskId(srTask.externalId());
+			taskNames[taskIx] = srTask.name();
+			taskTimesStarted[taskIx] = srTask.timeStarted();
+			taskTimesFinished[taskIx] = srTask.timeFinished();
+			taskRunitIxs[taskIx] = findIx(runitIxById, srTask.idOfRunitThatFinishedTask(), "resource unit", srTask.id());
+			taskRgroupIxs[taskIx] = findIx(rgroupIxById, srTask.idOfRgroupThatFinishedTask(), "resource group", srTask.id());
+			if (taskRgroupIxs[taskIx] != NO_IX) {
+				rgroupTasksCompletedCounts[taskRgroupIxs[taskIx]]++;
+			}
+			int valueIx = taskDependencyStarts[taskIx];
+			for (Long dependencyId : srTask.dependenciesIds()) {
+				taskDependencyIds[valueIx++] = dependencyId;
+			}
+		}
+
+		// resource groups
+		final int amountRgroups = rgroups.size();
+		rgroupIds = new long[amountRgroups];
+		rgroupExternalIds = new Comparable<?>[amountRgroups];
+		rgroupNames = new String[amountRgroups];
+		rgroupTimesIdled = new long[amountRgroups];
+		rgroupTimesBusy = new long[amountRgroups];
+		rgroupMaxRunitsUsed = new int[amountRgroups];
+		rgroupRunitStarts = buildStarts(amountRgroups, (rgroupIx) -> rgroups.get(rgroupIx).resultsRunits());
+		rgroupRunitIxs = new int[rgroupRunitStarts[amountRgroups]];
+		for (int rgroupIx = 0; rgroupIx < amountRgroups; rgroupIx++) {
+			final CpmSubResultRgroup srRgroup = rgroups.get(rgroupIx);
+			rgroupIds[rgroupIx] = srRgroup.id();
+			rgroupExternalIds[rgroupIx] = idDictionary.decodeRgroupId(srRgroup.externalId());
+			rgroupNames[rgroupIx] = srRgroup.name();
+			rgroupTimesIdled[rgroupIx] = srRgroup.timeIdled();
+			rgroupTimesBusy[rgroupIx] = srRgroup.timeBusy();
+			rgroupMaxRunitsUsed[rgroupIx] = (int)srRgroup.maxRunitsUsed();
+			int valueIx = rgroupRunitStarts[rgroupIx];
+			for (CpmSubResultRunit srRunit : srRgroup.resultsRunits()) {
+				rgroupRunitIxs[valueIx++] = findIx(runitIxById, srRunit.id(), "resource unit", srRgroup.id());
+			}
+		}
+		rgroupIxsByName = sortIxsByName(rgroupNames);
+
+		// resource units
+		final int amountRunits = runits.size();
+		runitIds = new long[amountRunits];
+		runitExternalIds = new Comparable<?>[amountRunits];
+		runitNames = new String[amountRunits];
+		runitTimesIdled = new long[amountRunits];
+		runitTimesBusy = new long[amountRunits];
+		runitTaskStarts = buildStarts(amountRunits, (runitIx) -> runits.get(runitIx).tasksCompleted());
+		runitTaskIds = new long[runitTaskStarts[amountRunits]];
+		runitRgroupStarts = buildStarts(amountRunits, (runitIx) -> runits.get(runitIx).associatedRgroupIds());
+		runitRgroupIxs = new int[runitRgroupStarts[amountRunits]];
+		for (int runitIx = 0; runitIx < amountRunits; runitIx++) {
+			final CpmSubResultRunit srRunit = runits.get(runitIx);
+			runitIds[runitIx] = srRunit.id();
+			runitExternalIds[runitIx] = idDictionary.decodeRunitId(srRunit.externalId());
+			runitNames[runitIx] = srRunit.name();
+			runitTimesIdled[runitIx] = srRunit.timeIdled();
+			runitTimesBusy[runitIx] = srRunit.timeBusy();
+			int valueIx = runitTaskStarts[runitIx];
+			for (Long taskId : srRunit.tasksCompleted()) {
+				runitTaskIds[valueIx++] = taskId;
+			}
+			valueIx = runitRgroupStarts[runitIx];
+			for (Long rgroupId : srRunit.associatedRgroupIds()) {
+				runitRgroupIxs[valueIx++] = findIx(rgroupIxById, rgroupId, "resource group", srRunit.id());
+			}
+		}
+		runitIxsByName = sortIxsByName(runitNames);
+
+		postProcessed = null;
+	}
+
+	private ColumnarResults(@NonNull ColumnarResults other, @NonNull PostProcessedColumns postProcessed) {
+		timePassed = other.timePassed;
+		timeIdled = other.timeIdled;
+		maxRunitsUsed = other.maxRunitsUsed;
+		taskIds = other.taskIds;
+		taskExternalIds = other.taskExternalIds;
+		taskNames = other.taskNames;
+		taskTimesStarted = other.taskTimesStarted;
+		taskTimesFinished = other.taskTimesFinished;
+		taskRunitIxs = other.taskRunitIxs;
+		taskRgroupIxs = other.taskRgroupIxs;
+		taskDependencyStarts = other.taskDependencyStarts;
+		taskDependencyIds = other.taskDependencyIds;
+		rgroupIds = other.rgroupIds;
+		rgroupExternalIds = other.rgroupExternalIds;
+		rgroupNames = other.rgroupNames;
+		rgroupTimesIdled = other.rgroupTimesIdled;
+		rgroupTimesBusy = other.rgroupTimesBusy;
+		rgroupMaxRunitsUsed = other.rgroupMaxRunitsUsed;
+		rgroupTasksCompletedCounts = other.rgroupTasksCompletedCounts;
+		rgroupRunitStarts = other.rgroupRunitStarts;
+		rgroupRunitIxs = other.rgroupRunitIxs;
+		rgroupIxsByName = other.rgroupIxsByName;
+		runitIds = other.runitIds;
+		runitExternalIds = other.runitExternalIds;
+		runitNames = other.runitNames;
+		runitTimesIdled = other.runitTimesIdled;
+		runitTimesBusy = other.runitTimesBusy;
+		runitTaskStarts = other.runitTaskStarts;
+		runitTaskIds = other.runitTaskIds;
+		runitRgroupStarts = other.runitRgroupStarts;
+		runitRgroupIxs = other.runitRgroupIxs;
+		runitIxsByName = other.runitIxsByName;
+		this.postProcessed = postProcessed;
+	}
+
+	private ColumnarResults(@NonNull List<@NonNull ColumnarResults> parts) {
+		final int amountParts = parts.size();
+		timePassed = parts.stream().mapToLong((part) -> part.timePassed).max().orElse(0);
+
+		final int[] taskIxOffsets = buildIxOffsets(parts, (part) -> part.taskIds.length);
+		final int[] rgroupIxOffsets = buildIxOffsets(parts, (part) -> part.rgroupIds.length);
+		final int[] runitIxOffsets = buildIxOffsets(parts, (part) -> part.runitIds.length);
+		final long[] taskIdOffsets = buildIdOffsets(parts, (part) -> part.taskIds);
+		final long[] rgroupIdOffsets = buildIdOffsets(parts, (part) -> part.rgroupIds);
+		final long[] runitIdOffsets = buildIdOffsets(parts, (part) -> part.runitIds);
+
+		// tasks
+		taskIds = concatLongs(parts, (part) -> part.taskIds, taskIdOffsets);
+		taskExternalIds = concatObjects(parts, (part) -> part.taskExternalIds, Comparable<?>[]::new);
+		taskNames = concatObjects(parts, (part) -> part.taskNames, String[]::new);
+		taskTimesStarted = concatLongs(parts, (part) -> part.taskTimesStarted, null);
+		taskTimesFinished = concatLongs(parts, (part) -> part.taskTimesFinished, null);
+		taskRunitIxs = concatInts(parts, (part) -> part.taskRunitIxs, runitIxOffsets);
+		taskRgroupIxs = concatInts(parts, (part) -> part.taskRgroupIxs, rgroupIxOffsets);
+		taskDependencyStarts = concatStarts(parts, (part) -> part.taskDependencyStarts);
+		taskDependencyIds = concatLongs(parts, (part) -> part.taskDependencyIds, taskIdOffsets);
+
+		// resource groups
+		rgroupIds = concatLongs(parts, (part) -> part.rgroupIds, rgroupIdOffsets);
+		rgroupExternalIds = concatObjects(parts, (part) -> part.rgroupExternalIds, Comparable<?>[]::new);
+		rgroupNames = concatObjects(parts, (part) -> part.rgroupNames, String[]::new);
+		rgroupTimesIdled = concatLongs(parts, (part) -> part.rgroupTimesIdled, null);
+		rgroupTimesBusy = concatLongs(parts, (part) -> part.rgroupTimesBusy, null);
+		rgroupMaxRunitsUsed = concatInts(parts, (part) -> part.rgroupMaxRunitsUsed, null);
+		rgroupTasksCompletedCounts = concatInts(parts, (part) -> part.rgroupTasksCompletedCounts, null);
+		rgroupRunitStarts = concatStarts(parts, (part) -> part.rgroupRunitStarts);
+		rgroupRunitIxs = concatInts(parts, (part) -> part.rgroupRunitIxs, runitIxOffsets);
+		rgroupIxsByName = sortIxsByName(rgroupNames);
+
+		// resource units
+		runitIds = concatLongs(parts, (part) -> part.runitIds, runitIdOffsets);
+		runitExternalIds = concatObjects(parts, (part) -> part.runitExternalIds, Comparable<?>[]::new);
+		runitNames = concatObjects(parts, (part) -> part.runitNames, String[]::new);
+		runitTimesIdled = concatLongs(parts, (part) -> part.runitTimesIdled, null);
+		runitTimesBusy = concatLongs(parts, (part) -> part.runitTimesBusy, null);
+		runitTaskStarts = concatStarts(parts, (part) -> part.runitTaskStarts);
+		runitTaskIds = concatLongs(parts, (part) -> part.runitTaskIds, taskIdOffsets);
+		runitRgroupStarts = concatStarts(parts, (part) -> part.runitRgroupStarts);
+		runitRgroupIxs = concatInts(parts, (part) -> part.runitRgroupIxs, rgroupIxOffsets);
+		runitIxsByName = sortIxsByName(runitNames);
+
+		// the parts run on the same timeline, so these belong to the merged schedule and can't be added up
+		maxRunitsUsed = computeMaxRunitsUsed(taskTimesStarted, taskTimesFinished, taskRunitIxs);
+		timeIdled = computeTimeIdled(taskTimesStarted, taskTimesFinished, taskRunitIxs, runitIds.length);
+
+		final long amountPostProcessed = parts.stream().filter(ColumnarResults::hasPostProcessedResult).count();
+		if (amountPostProcessed == 0) {
+			postProcessed = null;
+			return;
+		}
+		if (amountPostProcessed != amountParts) {
+			throw new IllegalArgumentException("either all or none of the parts must have been post-processed");
+		}
+		// the part that ends last determines the time span of the project
+		ColumnarResults lastPart = parts.get(0);
+		for (ColumnarResults part : parts) {
+			if (part.timePassed > lastPart.timePassed) {
+				lastPart = part;
+			}
+		}
+		final PostProcessedColumns lastPostProcessed = lastPart.requirePostProcessed();
+		final long[] startedAt = concatLongs(parts, (part) -> part.requirePostProcessed().startedAt(), null);
+		final byte[] progressPercents = new byte[taskIds.length];
+		for (int partIx = 0; partIx < amountParts; partIx++) {
+			final byte[] partPercents = parts.get(partIx).requirePostProcessed().progressPercents();
+			System.arraycopy(partPercents, 0, progressPercents, taskIxOffsets[partIx], partPercents.length);
+		}
+		postProcessed = new PostProcessedColumns(
+				lastPostProcessed.totalTimeSpent(),
+				lastPostProcessed.totalOffDutyTimeDuringProjectsTimeSpan(),
+				lastPostProcessed.totalWorkingTime(),
+				lastPostProcessed.timeLeftUntilProjectsEnd(),
+				lastPostProcessed.offDutyTimeLeftUntilProjectsEnd(),
+				mergeExecutionOrders(parts, taskIxOffsets, startedAt),
+				concatLongs(parts, (part) -> part.requirePostProcessed().durationsOrg(), null),
+				concatLongs(parts, (part) -> part.requirePostProcessed().durationsDelta(), null),
+				startedAt,
+				concatLongs(parts, (part) -> part.requirePostProcessed().finishedAt(), null),
+				progressPercents
+			);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param idDictionary Maps the external IDs of the results back to the string IDs of the input files
+	 * @throws IllegalStateException If a task or resource unit references an unknown resource group or unit
+	 */
+	public static @NonNull ColumnarResults of(@NonNull CpmResult cpmResult, @NonNull IdDictionary idDictionary) {
+		return new ColumnarResults(cpmResult, idDictionary);
+	}
+
+	/**
+	 * Add the columns of the post-processed tasks. The arrays of this view are shared, not copied.
+	 * @param postProcessedResult Post-processed result of the same {@link CpmResult}
+	 * @throws IllegalStateException If a post-processed task is not one of the tasks of this view
+	 */
+	public @NonNull ColumnarResults withPostProcessedResult(@NonNull CpmPostProcessedResult postProcessedResult) {
+		final List<CpmPostProcessedSubResultTask> ppTasks = postProcessedResult.postProcessedTasks();
+		final int amountTasks = taskIds.length;
+		final LongIndexMap taskIxById = new LongIndexMap(amountTasks);
+		for (int taskIx = 0; taskIx < amountTasks; taskIx++) {
+			taskIxById.put(taskIds[taskIx], taskIx);
+		}
+
+		final int[] executionOrder = new int[ppTasks.size()];
+		final long[] durationsOrg = new long[amountTasks];
+		final long[] durationsDelta = new long[amountTasks];
+		final long[] startedAt = new long[amountTasks];
+		final long[] finishedAt = new long[amountTasks];
+		final byte[] progressPercents = new byte[amountTasks];
+		// tasks that haven't been post-processed have no dates
+		Arrays.fill(startedAt, NO_DATE_TIME);
+		Arrays.fill(finishedAt, NO_DATE_TIME);
+		for (int orderIx = 0; orderIx < ppTasks.size(); orderIx++) {
+			final CpmPostProcessedSubResultTask ppTask = ppTasks.get(orderIx);
+			final int taskIx = taskIxById.get(ppTask.id());
+			if (taskIx == LongIndexMap.NOT_FOUND) {
+				throw new IllegalStateException("Could not find task with id=" + ppTask.id());
+			}
+			executionOrder[orderIx] = taskIx;
+			durationsOrg[taskIx] = ppTask.durationOrg();
+			durationsDelta[taskIx] = ppTask.durationDelta();
+			startedAt[taskIx] = toEpochSecond(ppTask.taskStartedAdjustedDateTime());
+			finishedAt[taskIx] = toEpochSecond(ppTask.taskFinishedAdjustedDateTime());
+			progressPercents[taskIx] = (byte)ppTask.progressPercent();
+		}
+
+		return new ColumnarResults(this, new PostProcessedColumns(
+				postProcessedResult.totalTimeSpent(),
+				postProcessedResult.totalOffDutyTimeDuringProjectsTimeSpan(),
+				postProcessedResult.totalWorkingTime(),
+				postProcessedResult.timeLeftUntilProjectsEnd(),
+				postProcessedResult.offDutyTimeLeftUntilProjectsEnd(),
+				executionOrder,
+				durationsOrg,
+				durationsDelta,
+				startedAt,
+				finishedAt,
+				progressPercents
+			));
+	}
+
+	/**
+	 * Merge the views of independent parts of a project (e.g. its components) into one view of the whole project.
+	 * <p>
+	 * The rows of the parts are appended in the order of the parts. The internal IDs of every part are shifted
+	 * behind the ones of the previous parts, so they stay unique (the external IDs are kept).
+	 * The project takes as long as its longest part. All parts start at the start of the project,
+	 * so their timelines overlap: the maximum amount of resource units used in parallel and the idle time
+	 * of the resource units are computed again from the task intervals of the merged schedule
+	 * (see {@link #getMaxRunitsUsed()} and {@link #getTimeIdled()}), the values of the parts are not added up.
+	 * The post-processed totals are taken from the part that ends last
+	 * and the execution orders of the parts are merged by the start dates of the tasks.
+	 * @param parts Either all or none of them must have the post-processed result
+	 * @throws IllegalArgumentException If there are no parts or only some of them have been post-processed
+	 */
+	public static @NonNull ColumnarResults merge(@NonNull List<@NonNull ColumnarResults> parts) {
+		if (parts.isEmpty()) {
+			throw new IllegalArgumentException("no results to merge");
+		}
+		if (parts.size() == 1) {
+			return parts.get(0);
+		}
+		return new ColumnarResults(parts);
+	}
+
+	public boolean hasPostProcessedResult() {
+		return postProcessed != null;
+	}
+
+	public long getTimePassed() {
+		return timePassed;
+	}
+
+	/**
+	 * @return Accumulated time that the resource units idled.
+	 *         For merged views: the time in which the resource units weren't busy
+	 *         between the start of the project and the start of its last task,
+	 *         i.e. while there were tasks that hadn't been started yet
+	 */
+	public long getTimeIdled() {
+		return timeIdled;
+	}
+
+	/**
+	 * @return Maximum amount of resource units used in parallel.
+	 *         For merged views: the maximum amount of tasks that ran at the same time
+	 *         (every task occupies the resource unit that finished it)
+	 */
+	public int getMaxRunitsUsed() {
+		return maxRunitsUsed;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	public int getTaskCount() {
+		return taskIds.length;
+	}
+
+	public long getTaskId(int taskIx) {
+		return taskIds[taskIx];
+	}
+
+	public @Nullable Comparable<?> getTaskExternalId(int taskIx) {
+		return taskExternalIds[taskIx];
+	}
+
+	public @Nullable String getTaskName(int taskIx) {
+		return taskNames[taskIx];
+	}
+
+	public long getTaskTimeStarted(int taskIx) {
+		return taskTimesStarted[taskIx];
+	}
+
+	public long getTaskTimeFinished(int taskIx) {
+		return taskTimesFinished[taskIx];
+	}
+
+	/**
+	 * @return Index of the resource unit that finished the task or {@link #NO_IX}
+	 */
+	public int getTaskRunitIx(int taskIx) {
+		return taskRunitIxs[taskIx];
+	}
+
+	/**
+	 * @return Index of the resource group that finished the task or {@link #NO_IX}
+	 */
+	public int getTaskRgroupIx(int taskIx) {
+		return taskRgroupIxs[taskIx];
+	}
+
+	public int getTaskDependencyCount(int taskIx) {
+		return taskDependencyStarts[taskIx + 1] - taskDependencyStarts[taskIx];
+	}
+
+	/**
+	 * @param depIx 0 to {@link #getTaskDependencyCount(int)} - 1
+	 * @return Internal ID of the dependency
+	 */
+	public long getTaskDependencyId(int taskIx, int depIx) {
+		return taskDependencyIds[taskDependencyStarts[taskIx] + depIx];
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	public int getRgroupCount() {
+		return rgroupIds.length;
+	}
+
+	public long getRgroupId(int rgroupIx) {
+		return rgroupIds[rgroupIx];
+	}
+
+	public @Nullable Comparable<?> getRgroupExternalId(int rgroupIx) {
+		return rgroupExternalIds[rgroupIx];
+	}
+
+	public @Nullable String getRgroupName(int rgroupIx) {
+		return rgroupNames[rgroupIx];
+	}
+
+	public long getRgroupTimeIdled(int rgroupIx) {
+		return rgroupTimesIdled[rgroupIx];
+	}
+
+	public long getRgroupTimeBusy(int rgroupIx) {
+		return rgroupTimesBusy[rgroupIx];
+	}
+
+	public int getRgroupMaxRunitsUsed(int rgroupIx) {
+		return rgroupMaxRunitsUsed[rgroupIx];
+	}
+
+	/**
+	 * @return Amount of tasks that have been finished by the resource group
+	 */
+	public int getRgroupTasksCompletedCount(int rgroupIx) {
+		return rgroupTasksCompletedCounts[rgroupIx];
+	}
+
+	public int getRgroupRunitCount(int rgroupIx) {
+		return rgroupRunitStarts[rgroupIx + 1] - rgroupRunitStarts[rgroupIx];
+	}
+
+	/**
+	 * @param memberIx 0 to {@link #getRgroupRunitCount(int)} - 1
+	 * @return Index of the resource unit
+	 */
+	public int getRgroupRunitIx(int rgroupIx, int memberIx) {
+		return rgroupRunitIxs[rgroupRunitStarts[rgroupIx] + memberIx];
+	}
+
+	/**
+	 * @return Indices of the resource groups sorted by their names (the caller must not modify the array)
+	 */
+	public int @NonNull [] getRgroupIxsByName() {
+		return rgroupIxsByName;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	public int getRunitCount() {
+		return runitIds.length;
+	}
+
+	public long getRunitId(int runitIx) {
+		return runitIds[runitIx];
+	}
+
+	public @Nullable Comparable<?> getRunitExternalId(int runitIx) {
+		return runitExternalIds[runitIx];
+	}
+
+	public @Nullable String getRunitName(int runitIx) {
+		return runitNames[runitIx];
+	}
+
+	public long getRunitTimeIdled(int runitIx) {
+		return runitTimesIdled[runitIx];
+	}
+
+	public long getRunitTimeBusy(int runitIx) {
+		return runitTimesBusy[runitIx];
+	}
+
+	public int getRunitTasksCompletedCount(int runitIx) {
+		return runitTaskStarts[runitIx + 1] - runitTaskStarts[runitIx];
+	}
+
+	/**
+	 * @param completedIx 0 to {@link #getRunitTasksCompletedCount(int)} - 1
+	 * @return Internal ID of the completed task
+	 */
+	public long getRunitTaskCompletedId(int runitIx, int completedIx) {
+		return runitTaskIds[runitTaskStarts[runitIx] + completedIx];
+	}
+
+	public int getRunitRgroupCount(int runitIx) {
+		return runitRgroupStarts[runitIx + 1] - runitRgroupStarts[runitIx];
+	}
+
+	/**
+	 * @param associationIx 0 to {@link #getRunitRgroupCount(int)} - 1
+	 * @return Index of the associated resource group
+	 */
+	public int getRunitRgroupIx(int runitIx, int associationIx) {
+		return runitRgroupIxs[runitRgroupStarts[runitIx] + associationIx];
+	}
+
+	/**
+	 * @return Indices of the resource units sorted by their names (the caller must not modify the array)
+	 */
+	public int @NonNull [] getRunitIxsByName() {
+		return runitIxsByName;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// The following methods require the post-processed result
+
+	public long getTotalTimeSpent() {
+		return requirePostProcessed().totalTimeSpent();
+	}
+
+	public long getTotalOffDutyTimeDuringProjectsTimeSpan() {
+		return requirePostProcessed().totalOffDutyTimeDuringProjectsTimeSpan();
+	}
+
+	public long getTotalWorkingTime() {
+		return requirePostProcessed().totalWorkingTime();
+	}
+
+	public long getTimeLeftUntilProjectsEnd() {
+		return requirePostProcessed().timeLeftUntilProjectsEnd();
+	}
+
+	public long getOffDutyTimeLeftUntilProjectsEnd() {
+		return requirePostProcessed().offDutyTimeLeftUntilProjectsEnd();
+	}
+
+	/**
+	 * @return Task indices in execution order (the caller must not modify the array)
+	 */
+	public int @NonNull [] getTaskIxsInExecutionOrder() {
+		return requirePostProcessed().executionOrder();
+	}
+
+	public long getTaskDurationOrg(int taskIx) {
+		return requirePostProcessed().durationsOrg()[taskIx];
+	}
+
+	public long getTaskDurationDelta(int taskIx) {
+		return requirePostProcessed().durationsDelta()[taskIx];
+	}
+
+	/**
+	 * @return Date and time when the task starts, adjusted by the off-duty times (a new object for every call)
+	 */
+	public @Nullable LocalDateTime getTaskStartedAt(int taskIx) {
+		return fromEpochSecond(requirePostProcessed().startedAt()[taskIx]);
+	}
+
+	public @Nullable LocalDateTime getTaskFinishedAt(int taskIx) {
+		return fromEpochSecond(requirePostProcessed().finishedAt()[taskIx]);
+	}
+
+	public int getTaskProgressPercent(int taskIx) {
+		return requirePostProcessed().progressPercents()[taskIx];
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private @NonNull PostProcessedColumns requirePostProcessed() {
+		if (postProcessed == null) {
+			throw new IllegalStateException("the results have not been post-processed");
+		}
+		return postProcessed;
+	}
+
+	/**
+	 * @return Start offsets of the CSR rows, the last entry is the total amount of values
+	 */
+	private static int @NonNull [] buildStarts(int amountRows, @NonNull IntFunction<? extends Collection<?>> valuesFct) {
+		final int[] resStarts = new int[amountRows + 1];
+		for (int rowIx = 0; rowIx < amountRows; rowIx++) {
+			resStarts[rowIx + 1] = resStarts[rowIx] + valuesFct.apply(rowIx).size();
+		}
+		return resStarts;
+	}
+
+	private static int findIx(
+				@NonNull LongIndexMap ixById,
+				@Nullable Long id,
+				@NonNull String kind,
+				long referencingId
+			) {
+		if (id == null) {
+			return NO_IX;
+		}
+		final int resIx = ixById.get(id);
+		if (resIx == LongIndexMap.NOT_FOUND) {
+			throw new IllegalStateException("Could not find " + kind + " with id=" + id + " (referenced by id=" + referencingId + ")");
+		}
+		return resIx;
+	}
+
+	/**
+	 * @return Index of the first row of every part in the merged rows, the last entry is the total amount of rows
+	 */
+	private static int @NonNull [] buildIxOffsets(
+				@NonNull List<@NonNull ColumnarResults> parts,
+				@NonNull ToIntFunction<ColumnarResults> amountRowsFct
+			) {
+		final int[] resOffsets = new int[parts.size() + 1];
+		for (int partIx = 0; partIx < parts.size(); partIx++) {
+			resOffsets[partIx + 1] = resOffsets[partIx] + amountRowsFct.applyAsInt(parts.get(partIx));
+		}
+		return resOffsets;
+	}
+
+	/**
+	 * @return Amount that is added to the internal IDs of every part, so they are greater than the ones of all
+	 *         previous parts (the IDs of the first part are kept)
+	 */
+	private static long @NonNull [] buildIdOffsets(
+				@NonNull List<@NonNull ColumnarResults> parts,
+				@NonNull Function<ColumnarResults, long @NonNull []> idsFct
+			) {
+		final long[] resOffsets = new long[parts.size()];
+		boolean hasIds = false;
+		long nextId = 0;
+		for (int partIx = 0; partIx < parts.size(); partIx++) {
+			final long[] ids = idsFct.apply(parts.get(partIx));
+			if (ids.length == 0) {
+				continue;
+			}
+			final long minId = Arrays.stream(ids).min().orElseThrow();
+			final long maxId = Arrays.stream(ids).max().orElseThrow();
+			resOffsets[partIx] = (hasIds ? nextId - minId : 0);
+			nextId = maxId + resOffsets[partIx] + 1;
+			hasIds = true;
+		}
+		return resOffsets;
+	}
+
+	/**
+	 * @param offsets Added to the values of every part (null: the values are copied as they are)
+	 */
+	private static long @NonNull [] concatLongs(
+				@NonNull List<@NonNull ColumnarResults> parts,
+				@NonNull Function<ColumnarResults, long @NonNull []> valuesFct,
+				long @Nullable [] offsets
+			) {
+		final long[] resValues = new long[parts.stream().mapToInt((part) -> valuesFct.apply(part).length).sum()];
+		int resIx = 0;
+		for (int partIx = 0; partIx < parts.size(); partIx++) {
+			final long offset = (offsets == null ? 0 : offsets[partIx]);
+			for (long value : valuesFct.apply(parts.get(partIx))) {
+				resValues[resIx++] = value + offset;
+			}
+		}
+		return resValues;
+	}
+
+	/**
+	 * @param ixOffsets Added to the indices of every part except {@link #NO_IX}
+	 *                  (null: the values are copied as they are)
+	 */
+	private static int @NonNull [] concatInts(
+				@NonNull List<@NonNull ColumnarResults> parts,
+				@NonNull Function<ColumnarResults, int @NonNull []> valuesFct,
+				int @Nullable [] ixOffsets
+			) {
+		final int[] resValues = new int[parts.stream().mapToInt((part) -> valuesFct.apply(part).length).sum()];
+		int resIx = 0;
+		for (int partIx = 0; partIx < parts.size(); partIx++) {
+			final int offset = (ixOffsets == null ? 0 : ixOffsets[partIx]);
+			for (int value : valuesFct.apply(parts.get(partIx))) {
+				resValues[resIx++] = (value == NO_IX ? NO_IX : value + offset);
+			}
+		}
+		return resValues;
+	}
+
+	private static <T> @Nullable T @NonNull [] concatObjects(
+				@NonNull List<@NonNull ColumnarResults> parts,
+				@NonNull Function<ColumnarResults, @Nullable T @NonNull []> valuesFct,
+				@NonNull IntFunction<@Nullable T @NonNull []> arrayFct
+			) {
+		final T[] resValues = arrayFct.apply(parts.stream().mapToInt((part) -> valuesFct.apply(part).length).sum());
+		int resIx = 0;
+		for (ColumnarResults part : parts) {
+			final T[] values = valuesFct.apply(part);
+			System.arraycopy(values, 0, resValues, resIx, values.length);
+			resIx += values.length;
+		}
+		return resValues;
+	}
+
+	/**
+	 * @return Start offsets of the CSR rows of all parts (the rows of every part follow the ones of the previous parts)
+	 */
+	private static int @NonNull [] concatStarts(
+				@NonNull List<@NonNull ColumnarResults> parts,
+				@NonNull Function<ColumnarResults, int @NonNull []> startsFct
+			) {
+		final int[] resStarts = new int[parts.stream().mapToInt((part) -> startsFct.apply(part).length - 1).sum() + 1];
+		int rowOffset = 0;
+		int valueOffset = 0;
+		for (ColumnarResults part : parts) {
+			final int[] starts = startsFct.apply(part);
+			final int amountRows = starts.length - 1;
+			for (int rowIx = 0; rowIx < amountRows; rowIx++) {
+				resStarts[rowOffset + rowIx] = valueOffset + starts[rowIx];
+			}
+			rowOffset += amountRows;
+			valueOffset += starts[amountRows];
+		}
+		resStarts[rowOffset] = valueOffset;
+		return resStarts;
+	}
+
+	/**
+	 * Merge the execution orders of the parts by the start dates of the tasks.
+	 * The order within every part is kept, tasks that start at the same time are taken from the earlier part first.
+	 * @param startedAt Merged start dates
+	 */
+	private static int @NonNull [] mergeExecutionOrders(
+				@NonNull List<@NonNull ColumnarResults> parts,
+				int @NonNull [] taskIxOffsets,
+				long @NonNull [] startedAt
+			) {
+		final int[][] orders = new int[parts.size()][];
+		for (int partIx = 0; partIx < parts.size(); partIx++) {
+			orders[partIx] = parts.get(partIx).requirePostProcessed().executionOrder();
+		}
+		// position of the next task of every part in its execution order
+		final int[] headIxs = new int[parts.size()];
+		final IntToLongFunction headStartedAtFct =
+				(partIx) -> startedAt[taskIxOffsets[partIx] + orders[partIx][headIxs[partIx]]];
+		final PriorityQueue<Integer> queue = new PriorityQueue<>(
+				Comparator.comparingLong((Integer partIx) -> headStartedAtFct.applyAsLong(partIx))
+						.thenComparingInt((partIx) -> partIx)
+			);
+		int amountTasks = 0;
+		for (int partIx = 0; partIx < parts.size(); partIx++) {
+			amountTasks += orders[partIx].length;
+			if (orders[partIx].length > 0) {
+				queue.add(partIx);
+			}
+		}
+		final int[] resOrder = new int[amountTasks];
+		int resIx = 0;
+		while (! queue.isEmpty()) {
+			final int partIx = queue.poll();
+			resOrder[resIx++] = taskIxOffsets[partIx] + orders[partIx][headIxs[partIx]];
+			headIxs[partIx]++;
+			if (headIxs[partIx] < orders[partIx].length) {
+				queue.add(partIx);
+			}
+		}
+		return resOrder;
+	}
+
+	/**
+	 * Sort like {@code Comparator.comparing(name)}: entries with the same name keep their order
+	 */
+	/**
+	 * @return Maximum amount of tasks with a resource unit whose intervals {@code [started, finished)} overlap
+	 *         (a task that finishes at the time another one starts releases its unit first)
+	 */
+	static int computeMaxRunitsUsed(
+				long @NonNull [] timesStarted,
+				long @NonNull [] timesFinished,
+				int @NonNull [] runitIxs
+			) {
+		int amountIntervals = 0;
+		for (int taskIx = 0; taskIx < runitIxs.length; taskIx++) {
+			if (runitIxs[taskIx] != NO_IX && timesFinished[taskIx] > timesStarted[taskIx]) {
+				amountIntervals++;
+			}
+		}
+		final long[] sortedStarts = new long[amountIntervals];
+		final long[] sortedFinishes = new long[amountIntervals];
+		int intervalIx = 0;
+		for (int taskIx = 0; taskIx < runitIxs.length; taskIx++) {
+			if (runitIxs[taskIx] != NO_IX && timesFinished[taskIx] > timesStarted[taskIx]) {
+				sortedStarts[intervalIx] = timesStarted[taskIx];
+				sortedFinishes[intervalIx++] = timesFinished[taskIx];
+			}
+		}
+		Arrays.sort(sortedStarts);
+		Arrays.sort(sortedFinishes);
+		int resMax = 0;
+		int finishIx = 0;
+		for (int startIx = 0; startIx < sortedStarts.length; startIx++) {
+			while (sortedFinishes[finishIx] <= sortedStarts[startIx]) {
+				finishIx++;
+			}
+			resMax = Math.max(resMax, startIx + 1 - finishIx);
+		}
+		return resMax;
+	}
+
+	/**
+	 * @return Sum of the times in which the resource units weren't busy
+	 *         between the start of the project (0) and the start of its last task
+	 */
+	static long computeTimeIdled(
+				long @NonNull [] timesStarted,
+				long @NonNull [] timesFinished,
+				int @NonNull [] runitIxs,
+				int amountRunits
+			) {
+		long lastStart = 0;
+		for (long timeStarted : timesStarted) {
+			lastStart = Math.max(lastStart, timeStarted);
+		}
+		// the tasks of a resource unit don't overlap, so their busy times can be added up
+		long timeBusy = 0;
+		for (int taskIx = 0; taskIx < runitIxs.length; taskIx++) {
+			if (runitIxs[taskIx] != NO_IX) {
+				timeBusy += Math.max(0, Math.min(timesFinished[taskIx], lastStart) - Math.max(timesStarted[taskIx], 0));
+			}
+		}
+		return amountRunits * lastStart - timeBusy;
+	}
+
+	private static int @NonNull [] sortIxsByName(@Nullable String @NonNull [] names) {
+		final Integer[] ixs = new Integer[names.length];
+		for (int ix = 0; ix < names.length; ix++) {
+			ixs[ix] = ix;
+		}
+		Arrays.sort(ixs, Comparator.comparing((Integer ix) -> names[ix]));
+		return Arrays.stream(ixs).mapToInt(Integer::intValue).toArray();
+	}
+
+	private static long toEpochSecond(@Nullable LocalDateTime dateTime) {
+		return (dateTime == null ? NO_DATE_TIME : dateTime.toEpochSecond(ZoneOffset.UTC));
+	}
+
+	private static @Nullable LocalDateTime fromEpochSecond(long epochSecond) {
+		return (epochSecond == NO_DATE_TIME ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+	}
+}
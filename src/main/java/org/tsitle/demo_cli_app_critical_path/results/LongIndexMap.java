@@ -0,0 +1,101 @@
+package org.tsitle.demo_cli_app_critical_path.results;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to primitive {@code int} values (e.g. list indices).
+ * <p>
+ * Avoids boxing the keys and values, which matters when looking up IDs of tens of thousands of entries.
+ */
+final class LongIndexMap {
+	static final int NOT_FOUND = -1;
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private int[] values;
+	private boolean[] used;
+	private int size = 0;
+	private int mask;
+
+	LongIndexMap(int expectedSize) {
+		allocate(computeCapacity(expectedSize));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return Value for the key or {@link #NOT_FOUND}
+	 */
+	int get(long key) {
+		int slot = hash(key) & mask;
+		while (used[slot]) {
+			if (keys[slot] == key) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Store a value. An existing value for the same key will be replaced.
+	 */
+	void put(long key, int value) {
+		if ((size + 1) * 2 > keys.length) {
+			rehash(keys.length * 2);
+		}
+		int slot = hash(key) & mask;
+		while (used[slot]) {
+			if (keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		used[slot] = true;
+		keys[slot] = key;
+		values[slot] = value;
+		size++;
+	}
+
+	int size() {
+		return size;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static int computeCapacity(int expectedSize) {
+		// load factor of at most 0.5
+		final int minCapacity = Math.max(MIN_CAPACITY, expectedSize * 2);
+		return Integer.highestOneBit(minCapacity - 1) << 1;
+	}
+
+	private static int hash(long key) {
+		// finalizer of MurmurHash3
+		key ^= (key >>> 33);
+		key *= 0xff51afd7ed558ccdL;
+		key ^= (key >>> 33);
+		return (int)key;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+	}
+
+	private void rehash(int newCapacity) {
+		final long[] oldKeys = keys;
+		final int[] oldValues = values;
+		final boolean[] oldUsed = used;
+		allocate(newCapacity);
+		size = 0;
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (oldUsed[slot]) {
+				put(oldKeys[slot], oldValues[slot]);
+			}
+		}
+	}
+}
@@ -0,0 +1,207 @@
+package org.tsitle.demo_cli_app_critical_path.sweep;
+
+import io.github.tsitle.criticalpath.cpmresults.CpmResult;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tsitle.demo_cli_app_critical_path.concurrent.ParallelMap;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Searches the smallest amount of resource units whose schedule meets a deadline.
+ * <p>
+ * The search is a k-section: in every round up to {@code parallelism} amounts between the
+ * largest amount known to miss the deadline and the smallest amount known to meet it are evaluated concurrently.
+ * It assumes that adding resource units never delays the end of the project. This isn't checked:
+ * if a schedule of the library ends later with more resource units, the amount that is found still meets the deadline,
+ * but a smaller amount might meet it as well.
+ * <p>
+ * Only the results whose end can't be decided from the results evaluated so far are post-processed.
+ */
+public final class RunitsOptimizer {
+	/**
+	 * Evaluation of one amount of resource units
+	 * @param amountRunits Amount of resource units
+	 * @param cpmResult Result of the computation
+	 * @param projectEnd Post-processed date and time when the last task is finished.
+	 *                   Null if the result has been decided without post-processing it
+	 *                   (never for {@link Outcome#best()} and {@link Outcome#evaluationOfMaxAmount()}).
+	 * @param meetsDeadline Whether the project ends by the deadline
+	 */
+	public record Evaluation(
+				int amountRunits,
+				@NonNull CpmResult cpmResult,
+				@Nullable LocalDateTime projectEnd,
+				boolean meetsDeadline
+			) { }
+
+	/**
+	 * @param best Smallest amount that meets the deadline, null if even {@code maxAmountRunits} misses it
+	 * @param evaluationOfMaxAmount Evaluation of {@code maxAmountRunits}
+	 * @param amountEvaluations Total amount of evaluations
+	 * @param amountRounds Amount of rounds (the evaluations of a round run concurrently)
+	 * @param amountPostProcessed Amount of results that have been post-processed
+	 */
+	public record Outcome(
+				@Nullable Evaluation best,
+				@NonNull Evaluation evaluationOfMaxAmount,
+				int amountEvaluations,
+				int amountRounds,
+				int amountPostProcessed
+			) { }
+
+	private RunitsOptimizer() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Parse a deadline
+	 * @param deadlineStr Date ({@code 2026-06-30}, meaning the end of that day) or date and time ({@code 2026-06-30T12:00})
+	 * @throws IllegalArgumentException If the deadline is invalid
+	 */
+	public static @NonNull LocalDateTime parseDeadline(@NonNull String deadlineStr) {
+		try {
+			if (deadlineStr.contains("T")) {
+				return LocalDateTime.parse(deadlineStr);
+			}
+			return LocalDate.parse(deadlineStr).plusDays(1).atStartOfDay();
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("invalid date '" + deadlineStr + "' (expected 'YYYY-MM-DD' or 'YYYY-MM-DDTHH:MM')");
+		}
+	}
+
+	/**
+	 * @param maxAmountRunits Upper limit of the search (e.g. the amount of tasks)
+	 * @param deadline Latest date and time at which the project may end
+	 * @param computer Computes the result for one amount. Is called concurrently from several threads.
+	 * @param projectEndFunction Post-processes a result into the date and time when its last task is finished.
+	 *                           Is only called from the calling thread.
+	 * @param parallelism Maximum amount of concurrent computations per round
+	 */
+	public static @NonNull Outcome findSmallestAmountRunits(
+				int maxAmountRunits,
+				@NonNull LocalDateTime deadline,
+				@NonNull IntFunction<@NonNull CpmResult> computer,
+				@NonNull Function<@NonNull CpmResult, @NonNull LocalDateTime> projectEndFunction,
+				int parallelism
+			) {
+		final DeadlineCheck deadlineCheck = new DeadlineCheck(deadline, projectEndFunction);
+		final Evaluation evaluationOfMaxAmount = deadlineCheck.evaluateWithProjectEnd(
+				maxAmountRunits, computer.apply(maxAmountRunits));
+		int amountEvaluations = 1;
+		int amountRounds = 1;
+		if (! evaluationOfMaxAmount.meetsDeadline()) {
+			return new Outcome(null, evaluationOfMaxAmount, amountEvaluations, amountRounds, deadlineCheck.amountPostProcessed);
+		}
+
+		// no more resource units can be busy at the same time than with the largest amount,
+		// so the first round only evaluates that many (the schedule is the same if the end doesn't increase)
+		final int amountUsable = evaluationOfMaxAmount.cpmResult().maxRunitsUsed();
+		List<Integer> candidates = (amountUsable > 0 && amountUsable < maxAmountRunits ? List.of(amountUsable) : null);
+
+		// invariant: amountFailing misses the deadline (0 does implicitly), best.amountRunits() meets it
+		int amountFailing = 0;
+		Evaluation best = evaluationOfMaxAmount;
+		while (best.amountRunits() - amountFailing > 1) {
+			if (candidates == null) {
+				candidates = buildCandidates(amountFailing, best.amountRunits(), parallelism);
+			}
+			final List<CpmResult> cpmResults = ParallelMap.map(candidates, computer::apply, parallelism);
+			amountEvaluations += cpmResults.size();
+			amountRounds++;
+
+			// the candidates are in ascending order
+			for (int candidateIx = 0; candidateIx < candidates.size(); candidateIx++) {
+				final Evaluation evaluation = deadlineCheck.evaluate(candidates.get(candidateIx), cpmResults.get(candidateIx));
+				if (evaluation.meetsDeadline()) {
+					best = evaluation;
+					break;
+				}
+				amountFailing = evaluation.amountRunits();
+			}
+			candidates = null;
+		}
+		if (best.projectEnd() == null) {
+			best = deadlineCheck.evaluateWithProjectEnd(best.amountRunits(), best.cpmResult());
+		}
+		return new Outcome(best, evaluationOfMaxAmount, amountEvaluations, amountRounds, deadlineCheck.amountPostProcessed);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return Up to {@code parallelism} distinct amounts strictly between both limits, in ascending order
+	 */
+	private static @NonNull List<@NonNull Integer> buildCandidates(int amountFailing, int amountMeeting, int parallelism) {
+		final int gap = amountMeeting - amountFailing;
+		final int amountCandidates = Math.max(1, Math.min(parallelism, gap - 1));
+		final List<Integer> resList = new ArrayList<>();
+		for (int ix = 1; ix <= amountCandidates; ix++) {
+			final int candidate = amountFailing + (int)((long)gap * ix / (amountCandidates + 1));
+			if (candidate > amountFailing && candidate < amountMeeting &&
+					(resList.isEmpty() || resList.getLast() < candidate)) {
+				resList.add(candidate);
+			}
+		}
+		return resList;
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Decides whether a result meets the deadline, if possible without post-processing it.
+	 * <p>
+	 * The post-processing maps the times of the results to working times in ascending order,
+	 * so a result that doesn't take longer than one that meets the deadline meets it as well,
+	 * and a result that doesn't take less time than one that misses the deadline misses it as well.
+	 * Not thread-safe
+	 */
+	private static final class DeadlineCheck {
+		private final @NonNull LocalDateTime deadline;
+		private final @NonNull Function<@NonNull CpmResult, @NonNull LocalDateTime> projectEndFunction;
+		/** longest time passed that is known to meet the deadline */
+		private long maxTimePassedMeeting = -1;
+		/** shortest time passed that is known to miss the deadline */
+		private long minTimePassedMissing = Long.MAX_VALUE;
+		private int amountPostProcessed = 0;
+
+		DeadlineCheck(
+					@NonNull LocalDateTime deadline,
+					@NonNull Function<@NonNull CpmResult, @NonNull LocalDateTime> projectEndFunction
+				) {
+			this.deadline = deadline;
+			this.projectEndFunction = projectEndFunction;
+		}
+
+		@NonNull Evaluation evaluate(int amountRunits, @NonNull CpmResult cpmResult) {
+			final long timePassed = cpmResult.timePassed();
+			if (timePassed <= maxTimePassedMeeting) {
+				return new Evaluation(amountRunits, cpmResult, null, true);
+			}
+			if (timePassed >= minTimePassedMissing) {
+				return new Evaluation(amountRunits, cpmResult, null, false);
+			}
+			return evaluateWithProjectEnd(amountRunits, cpmResult);
+		}
+
+		@NonNull Evaluation evaluateWithProjectEnd(int amountRunits, @NonNull CpmResult cpmResult) {
+			final LocalDateTime projectEnd = projectEndFunction.apply(cpmResult);
+			amountPostProcessed++;
+			final boolean meetsDeadline = ! projectEnd.isAfter(deadline);
+			if (meetsDeadline) {
+				maxTimePassedMeeting = Math.max(maxTimePassedMeeting, cpmResult.timePassed());
+			} else {
+				minTimePassedMissing = Math.min(minTimePassedMissing, cpmResult.timePassed());
+			}
+			return new Evaluation(amountRunits, cpmResult, projectEnd, meetsDeadline);
+		}
+	}
+}
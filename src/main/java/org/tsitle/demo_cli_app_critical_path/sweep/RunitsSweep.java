@@ -0,0 +1,78 @@
+package org.tsitle.demo_cli_app_critical_path.sweep;
+
+import io.github.tsitle.criticalpath.cpmresults.CpmResult;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * What-if sweep over the amount of resource units in basic mode
+ */
+public final class RunitsSweep {
+	/** upper limit for the amount of values in a sweep specification */
+	public static final int MAX_AMOUNT_VALUES = 10_000;
+
+	/**
+	 * Result for one amount of resource units
+	 */
+	public record Entry(int amountRunits, @NonNull CpmResult cpmResult) { }
+
+	private RunitsSweep() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Parse a sweep specification.
+	 * <p>
+	 * The specification is a comma separated list of single values ({@code 4}),
+	 * ranges ({@code 1-20}) and ranges with a step width ({@code 2-32:2}).
+	 * @return Distinct values in ascending order
+	 * @throws IllegalArgumentException If the specification is invalid
+	 */
+	public static @NonNull List<@NonNull Integer> parseSpec(@NonNull String spec) {
+		final TreeSet<Integer> resSet = new TreeSet<>();
+		for (String part : spec.split(",", -1)) {
+			final String trimmedPart = part.trim();
+			if (trimmedPart.isEmpty()) {
+				throw new IllegalArgumentException("empty value in '" + spec + "'");
+			}
+			final int dashIx = trimmedPart.indexOf('-');
+			if (dashIx < 0) {
+				resSet.add(parseValue(trimmedPart, spec));
+			} else {
+				final int colonIx = trimmedPart.indexOf(':', dashIx);
+				final int valueFrom = parseValue(trimmedPart.substring(0, dashIx), spec);
+				final int valueTo = parseValue(trimmedPart.substring(dashIx + 1, colonIx < 0 ? trimmedPart.length() : colonIx), spec);
+				final int step = (colonIx < 0 ? 1 : parseValue(trimmedPart.substring(colonIx + 1), spec));
+				if (valueTo < valueFrom) {
+					throw new IllegalArgumentException("invalid range '" + trimmedPart + "'");
+				}
+				for (long value = valueFrom; value <= valueTo && resSet.size() <= MAX_AMOUNT_VALUES; value += step) {
+					resSet.add((int)value);
+				}
+			}
+			if (resSet.size() > MAX_AMOUNT_VALUES) {
+				throw new IllegalArgumentException("more than " + MAX_AMOUNT_VALUES + " values in '" + spec + "'");
+			}
+		}
+		return List.copyOf(resSet);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static int parseValue(@NonNull String valueStr, @NonNull String spec) {
+		final int value;
+		try {
+			value = Integer.parseInt(valueStr.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("invalid number '" + valueStr.trim() + "' in '" + spec + "'");
+		}
+		if (value < 1) {
+			throw new IllegalArgumentException("values must be >= 1 in '" + spec + "'");
+		}
+		return value;
+	}
+}
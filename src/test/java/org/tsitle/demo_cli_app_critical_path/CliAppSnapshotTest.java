@@ -0,0 +1,76 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.metrics.RunMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CliAppSnapshotTest {
+	private static final List<String> TASKS = List.of("1,A,2,none", "2,B,2,1", "3,C,1,1:2");
+
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void dataLoadedFromASnapshotIsNotValidatedAgain() throws IOException {
+		final AppConfig appConfig = TestProjects.writeBasic(tempDir, "snapshot", TASKS, 2);
+
+		final CliApp firstCliApp = createCliApp(appConfig);
+		firstCliApp.readInputData();
+		assertEquals(1, listSnapshotFiles().size());
+		assertTrue(getStageNames(firstCliApp).contains("validateInput"));
+
+		final CliApp secondCliApp = createCliApp(appConfig);
+		secondCliApp.readInputData();
+		assertFalse(getStageNames(secondCliApp).contains("validateInput"));
+		assertEquals(firstCliApp.getInputRawDataForGraph().tasks, secondCliApp.getInputRawDataForGraph().tasks);
+		assertEquals(3, secondCliApp.getInputRawDataForGraph().tasks.size());
+	}
+
+	@Test
+	void partialReadDoesNotWriteASnapshot() throws IOException {
+		final AppConfig appConfig = TestProjects.writeBasic(tempDir, "snapshot", TASKS, 2);
+
+		final CliApp cliApp = createCliApp(appConfig);
+		cliApp.readInputData(EnumSet.of(CliApp.InputKind.TASKS));
+		assertEquals(3, cliApp.getInputRawDataForGraph().tasks.size());
+		assertTrue(getStageNames(cliApp).contains("validateInput"));
+		assertEquals(List.of(), listSnapshotFiles());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private CliApp createCliApp(AppConfig appConfig) {
+		return TestProjects.createCliApp(
+				appConfig,
+				CliAppOptions.builder().rawDataSnapshotDir(tempDir.resolve("snapshots").toString()).build()
+			);
+	}
+
+	private List<Path> listSnapshotFiles() throws IOException {
+		final Path snapshotDir = tempDir.resolve("snapshots");
+		if (! Files.isDirectory(snapshotDir)) {
+			return List.of();
+		}
+		try (Stream<Path> paths = Files.list(snapshotDir)) {
+			return paths.toList();
+		}
+	}
+
+	private static List<String> getStageNames(CliApp cliApp) {
+		return cliApp.getRunMetrics().buildReport().stages().stream().map(RunMetrics.StageMetrics::name).toList();
+	}
+}
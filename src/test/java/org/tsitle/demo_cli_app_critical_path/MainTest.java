@@ -0,0 +1,77 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MainTest {
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void exactlyOneInputIsRequired() {
+		assertThrows(CommandLine.MissingParameterException.class, () -> parse());
+		assertThrows(CommandLine.MutuallyExclusiveArgsException.class, () -> parse("config.json", "--batch=batch.json"));
+		assertThrows(CommandLine.MutuallyExclusiveArgsException.class,
+				() -> parse("--portfolio=portfolio.json", "--batch=batch.json"));
+		parse("--portfolio=portfolio.json", "--decompose");
+	}
+
+	@Test
+	void atMostOneRunMode() {
+		parse("config.json", "--watch");
+		assertThrows(CommandLine.MutuallyExclusiveArgsException.class, () -> parse("config.json", "--watch", "--decompose"));
+		assertThrows(CommandLine.MutuallyExclusiveArgsException.class,
+				() -> parse("config.json", "--sweep-runits=1-4", "--optimize-deadline=2026-06-30"));
+	}
+
+	@Test
+	void optionsThatDontMakeSenseTogetherAreRejected() {
+		assertEquals("M: --batch can't be combined with --metrics, --watch",
+				execute("--batch=batch.json", "--metrics", "--watch"));
+		assertEquals("M: --portfolio can't be combined with --raw-data-cache",
+				execute("--portfolio=portfolio.json", "--raw-data-cache=cache"));
+		assertEquals("M: --sweep-runits can't be combined with --output-csv",
+				execute("config.json", "--sweep-runits=1-4", "--output-csv=out.csv"));
+		assertEquals("M: --decompose can't be combined with --encode-str-ids",
+				execute("config.json", "--decompose", "--encode-str-ids"));
+	}
+
+	@Test
+	void encodingRequiresStringIds() throws IOException {
+		TestProjects.writeBasic(tempDir, "num", List.of("1,A,2,none"), 1);
+		assertEquals("M: InvalidInputDataException: --encode-str-ids requires string IDs (\"indicesType\": \"STR\")",
+				execute(tempDir.resolve("num-config.json").toString(), "--encode-str-ids"));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static void parse(String... args) {
+		new CommandLine(new Main()).parseArgs(args);
+	}
+
+	/**
+	 * @return Error output of the failed execution
+	 */
+	private static String execute(String... args) {
+		final StringWriter err = new StringWriter();
+		final CommandLine commandLine = new CommandLine(new Main())
+				.setExecutionExceptionHandler(new Main.PrintExceptionMessageHandler())
+				.setColorScheme(CommandLine.Help.defaultColorScheme(CommandLine.Help.Ansi.OFF))
+				.setErr(new PrintWriter(err));
+		assertNotEquals(0, commandLine.execute(args));
+		return err.toString().strip();
+	}
+}
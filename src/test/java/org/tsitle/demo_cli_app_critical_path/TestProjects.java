@@ -0,0 +1,183 @@
+package org.tsitle.demo_cli_app_critical_path;
+
+import io.github.tsitle.criticalpath.cpmresults.CpmResult;
+import org.jspecify.annotations.NonNull;
+import org.tsitle.demo_cli_app_critical_path.input.IdDictionary;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+import org.tsitle.demo_cli_app_critical_path.json.Deserializer;
+import org.tsitle.demo_cli_app_critical_path.results.ColumnarResults;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes small projects (advanced input data with numerical IDs) into a directory
+ * and computes their results with the library, like {@link CliApp#start()} does
+ */
+public final class TestProjects {
+	/**
+	 * Records of the input files (without the header lines, see docs/csv_files.md)
+	 * @param tasks {@code TaskId,Name,Duration,DependenciesTaskIdList}
+	 * @param runits {@code RunitId,Name}
+	 * @param rgroups {@code RgroupId,Name}
+	 * @param assocRunitsWithRgroups {@code RgroupId,RunitsIdList}
+	 * @param assocRgroupsWithTasks {@code TaskId,RgroupId}
+	 */
+	public record Project(
+				@NonNull List<@NonNull String> tasks,
+				@NonNull List<@NonNull String> runits,
+				@NonNull List<@NonNull String> rgroups,
+				@NonNull List<@NonNull String> assocRunitsWithRgroups,
+				@NonNull List<@NonNull String> assocRgroupsWithTasks
+			) { }
+
+	private TestProjects() { }
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param name Prefix of the filenames
+	 * @return Configuration of the project (work days from Monday to Friday, 8 work hours, no holidays)
+	 */
+	public static @NonNull AppConfig write(@NonNull Path dir, @NonNull String name, @NonNull Project project)
+			throws IOException {
+		final String tasks = writeTasksCsv(dir, name, project.tasks());
+		final String runits = writeCsv(dir, name + "-runits.csv", "RunitId,Name", project.runits());
+		final String rgroups = writeCsv(dir, name + "-rgroups.csv", "RgroupId,Name", project.rgroups());
+		final String assocRunits = writeCsv(dir, name + "-assoc_runits_w_rgroups.csv",
+				"RgroupId,RunitsIdList", project.assocRunitsWithRgroups());
+		final String assocTasks = writeCsv(dir, name + "-assoc_rgroups_w_tasks.csv",
+				"TaskId,RgroupId", project.assocRgroupsWithTasks());
+		return writeConfig(dir, name, tasks, 0, runits, rgroups, assocRunits, assocTasks);
+	}
+
+	/**
+	 * @param name Prefix of the filenames
+	 * @param tasks Records of the tasks file ({@code TaskId,Name,Duration,DependenciesTaskIdList})
+	 * @return Configuration of the project with basic input data (see {@link #write(Path, String, Project)})
+	 */
+	public static @NonNull AppConfig writeBasic(
+				@NonNull Path dir,
+				@NonNull String name,
+				@NonNull List<@NonNull String> tasks,
+				int amountRunits
+			) throws IOException {
+		return writeConfig(dir, name, writeTasksCsv(dir, name, tasks), amountRunits, "", "", "", "");
+	}
+
+	/**
+	 * Read the input files and compute the results
+	 */
+	public static @NonNull CpmResult compute(@NonNull AppConfig appConfig) throws IOException {
+		final CliApp cliApp = createCliApp(appConfig, CliAppOptions.defaults());
+		cliApp.readInputData();
+		return cliApp.computeCpmResult(cliApp.buildCriticalPathGraph(cliApp.getInputRawDataForGraph()));
+	}
+
+	/**
+	 * Read the input files, compute the results and post-process them like the file outputs do
+	 */
+	public static @NonNull ColumnarResults computePostProcessed(@NonNull AppConfig appConfig) throws IOException {
+		final CliApp cliApp = createCliApp(appConfig, CliAppOptions.defaults());
+		cliApp.readInputData();
+		final CpmResult cpmResult = cliApp.computeCpmResult(cliApp.buildCriticalPathGraph(cliApp.getInputRawDataForGraph()));
+		return ColumnarResults.of(cpmResult, IdDictionary.IDENTITY).withPostProcessedResult(cliApp.postProcessResults(cpmResult));
+	}
+
+	/**
+	 * @return App without console output
+	 */
+	public static @NonNull CliApp createCliApp(@NonNull AppConfig appConfig, @NonNull CliAppOptions options) {
+		return new CliApp(appConfig, options, new PrintStream(OutputStream.nullOutputStream()), null);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * @param amountRunits Amount of resource units of the basic input data (0 for advanced input data)
+	 */
+	private static @NonNull AppConfig writeConfig(
+				@NonNull Path dir,
+				@NonNull String name,
+				@NonNull String tasks,
+				int amountRunits,
+				@NonNull String runits,
+				@NonNull String rgroups,
+				@NonNull String assocRunits,
+				@NonNull String assocTasks
+			) throws IOException {
+		final Path configPath = dir.resolve(name + "-config.json");
+		Files.writeString(configPath, """
+				{
+					"debugging": {
+						"debugMain": false,
+						"debugCpgInternals": false,
+						"debugCpcInternals": false
+					},
+					"timeUnit": "HOURS",
+					"offDutyTimes": {
+						"workDays": ["MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"],
+						"workHours": [{"hourStart": 8, "hourEnd": 16}],
+						"holidays": []
+					},
+					"inputData": {
+						"indicesType": "NUM",
+						"filenameTasks": "%s",
+						"useBasicInputData": %b,
+						"inputDataBasic": {
+							"amountResourceUnits": %d
+						},
+						"inputDataAdvanced": {
+							"filenameRunits": "%s",
+							"filenameRgroups": "%s",
+							"filenameAssocRunitsWithRgroups": "%s",
+							"filenameAssocRgroupsWithTasks": "%s"
+						}
+					}
+				}
+				""".formatted(tasks, (amountRunits > 0), amountRunits, runits, rgroups, assocRunits, assocTasks),
+				StandardCharsets.UTF_8);
+		return Deserializer.readAppConfigFromFile(configPath.toString());
+	}
+
+	private static @NonNull String writeTasksCsv(@NonNull Path dir, @NonNull String name, @NonNull List<@NonNull String> tasks)
+			throws IOException {
+		return writeCsv(dir, name + "-tasks.csv",
+				"TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC",
+				appendEmptyDates(tasks));
+	}
+
+	private static @NonNull List<@NonNull String> appendEmptyDates(@NonNull List<@NonNull String> records) {
+		final List<String> resList = new ArrayList<>(records.size());
+		for (String record : records) {
+			resList.add(record + ",,");
+		}
+		return resList;
+	}
+
+	/**
+	 * @return Filename with '/' as separator (the configuration file accepts it on all platforms)
+	 */
+	private static @NonNull String writeCsv(
+				@NonNull Path dir,
+				@NonNull String filename,
+				@NonNull String header,
+				@NonNull List<@NonNull String> records
+			) throws IOException {
+		final Path path = dir.resolve(filename);
+		final StringBuilder sb = new StringBuilder(header).append('\n');
+		for (String record : records) {
+			sb.append(record).append('\n');
+		}
+		Files.writeString(path, sb.toString(), StandardCharsets.UTF_8);
+		return path.toString().replace('\\', '/');
+	}
+}
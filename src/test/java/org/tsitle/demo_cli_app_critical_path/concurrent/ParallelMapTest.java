@@ -0,0 +1,46 @@
+package org.tsitle.demo_cli_app_critical_path.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelMapTest {
+	@Test
+	void resultsKeepTheOrderOfTheItems() {
+		final List<Integer> items = IntStream.rangeClosed(1, 200).boxed().toList();
+		final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		final List<String> results = ParallelMap.map(items, (item) -> {
+				threadNames.add(Thread.currentThread().getName());
+				return "#" + item;
+			}, 4);
+		assertEquals(IntStream.rangeClosed(1, 200).mapToObj((item) -> "#" + item).toList(), results);
+		assertTrue(threadNames.size() <= 4, threadNames.toString());
+	}
+
+	@Test
+	void emptyListAndParallelismBelowOne() {
+		assertEquals(List.of(), ParallelMap.map(List.<Integer>of(), (item) -> item, 8));
+		assertEquals(List.of(2, 4), ParallelMap.map(List.of(1, 2), (item) -> item * 2, 0));
+	}
+
+	@Test
+	void rethrowsTheExceptionOfTheFunction() {
+		final IllegalStateException e = assertThrows(IllegalStateException.class, () -> ParallelMap.map(
+				List.of(1, 2, 3),
+				(item) -> {
+					if (item == 2) {
+						throw new IllegalStateException("item " + item);
+					}
+					return item;
+				},
+				2
+			));
+		// the pool may rethrow a copy of the exception (of the same type) that wraps the original
+		assertTrue(e.getMessage().contains("item 2"), e.getMessage());
+	}
+}
@@ -0,0 +1,108 @@
+package org.tsitle.demo_cli_app_critical_path.export;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tsitle.demo_cli_app_critical_path.TestProjects;
+import org.tsitle.demo_cli_app_critical_path.input.CsvRecordReader;
+import org.tsitle.demo_cli_app_critical_path.input.IdDictionary;
+import org.tsitle.demo_cli_app_critical_path.results.ColumnarResults;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultsExporterTest {
+	private static final TestProjects.Project PROJECT = new TestProjects.Project(
+			List.of("1,\"Say \"\"hi\"\", please\",2,none", "2,B,3,1", "3,C,1,1"),
+			List.of("10,U1", "11,U2"),
+			List.of("100,G1", "200,G2"),
+			List.of("100,10", "200,10:11"),
+			List.of("1,100", "2,200", "3,200")
+		);
+
+	@TempDir
+	Path tempDir;
+
+	private ColumnarResults results;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@BeforeEach
+	void computeResults() throws IOException {
+		results = TestProjects.computePostProcessed(TestProjects.write(tempDir, "export", PROJECT));
+	}
+
+	@Test
+	void siblingFilenames() {
+		assertEquals(Path.of("out", "results-rgroups.csv").toString(),
+				ResultsExporter.getSiblingFilename(Path.of("out", "results.csv").toString(), "rgroups"));
+		assertEquals("results-runits", ResultsExporter.getSiblingFilename("results", "runits"));
+		assertEquals(".hidden-runits", ResultsExporter.getSiblingFilename(".hidden", "runits"));
+	}
+
+	@Test
+	void csvFilesCanBeReadLikeInputFiles() throws IOException {
+		final String filenameTasks = tempDir.resolve("results.csv").toString();
+		final List<String> filenames = new ResultsExporter(results).export(filenameTasks, ResultsExporter.Format.CSV);
+		assertEquals(3, filenames.size());
+
+		final CsvRecordReader.Table tasks = CsvRecordReader.read(filenames.get(0));
+		assertEquals(3, tasks.records().size());
+		final int taskIdIx = tasks.getColumnIndex("TaskId");
+		final int nameIx = tasks.getColumnIndex("Name");
+		final int startedAtIx = tasks.getColumnIndex("StartedAt");
+		final int rgroupIdIx = tasks.getColumnIndex("RgroupId");
+		// in the order of execution
+		final List<String> firstTask = tasks.records().get(0);
+		assertEquals("1", firstTask.get(taskIdIx));
+		assertEquals("Say \"hi\", please", CsvRecordReader.unquote(firstTask.get(nameIx)));
+		assertFalse(firstTask.get(startedAtIx).isEmpty());
+		assertEquals("100", firstTask.get(rgroupIdIx));
+
+		final CsvRecordReader.Table rgroups = CsvRecordReader.read(filenames.get(1));
+		assertEquals(2, rgroups.records().size());
+		final CsvRecordReader.Table runits = CsvRecordReader.read(filenames.get(2));
+		assertEquals(2, runits.records().size());
+		final int rgroupIdListIx = runits.getColumnIndex("RgroupIdList");
+		assertEquals(
+				List.of(List.of("100", "200"), List.of("200")),
+				runits.records().stream().map((fields) -> CsvRecordReader.splitIdList(fields.get(rgroupIdListIx))).toList()
+			);
+	}
+
+	@Test
+	void ndjsonFilesHaveOneObjectPerRow() throws IOException {
+		final String filenameTasks = tempDir.resolve("results.ndjson").toString();
+		final List<String> filenames = new ResultsExporter(results).export(filenameTasks, ResultsExporter.Format.NDJSON);
+		assertEquals(tempDir.resolve("results-rgroups.ndjson").toString(), filenames.get(1));
+
+		final List<String> taskLines = Files.readAllLines(Path.of(filenames.get(0)), StandardCharsets.UTF_8);
+		assertEquals(3, taskLines.size());
+		final JsonObject firstTask = JsonParser.parseString(taskLines.get(0)).getAsJsonObject();
+		assertEquals(1, firstTask.get("taskId").getAsLong());
+		assertEquals("Say \"hi\", please", firstTask.get("name").getAsString());
+		assertEquals(2, firstTask.get("timeFinished").getAsLong() - firstTask.get("timeStarted").getAsLong());
+		assertEquals(100, firstTask.get("rgroupId").getAsLong());
+
+		final List<String> runitLines = Files.readAllLines(Path.of(filenames.get(2)), StandardCharsets.UTF_8);
+		assertEquals(2, runitLines.size());
+		assertEquals(2, JsonParser.parseString(runitLines.get(0)).getAsJsonObject().getAsJsonArray("rgroupIds").size());
+	}
+
+	@Test
+	void resultsMustBePostProcessed() throws IOException {
+		final ColumnarResults notPostProcessed = ColumnarResults.of(
+				TestProjects.compute(TestProjects.write(tempDir, "plain", PROJECT)),
+				IdDictionary.IDENTITY
+			);
+		assertThrows(IllegalArgumentException.class, () -> new ResultsExporter(notPostProcessed));
+	}
+}
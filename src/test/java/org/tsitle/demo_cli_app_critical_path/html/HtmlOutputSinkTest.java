@@ -0,0 +1,94 @@
+package org.tsitle.demo_cli_app_critical_path.html;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HtmlOutputSinkTest {
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void writesIndentedUtf8Lines() throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (HtmlOutputSink sink = HtmlOutputSink.forStream(baos, true)) {
+			sink.writeln(0, "<p>");
+			sink.writeln(2, "Größe €");
+			sink.writeIndent(18);
+			sink.write("deep");
+			sink.newLine();
+		}
+		assertEquals("<p>\n\t\tGröße €\n" + "\t".repeat(18) + "deep\n", baos.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void closingTheWriterViewKeepsTheSinkOpen() throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (HtmlOutputSink sink = HtmlOutputSink.forStream(baos, false)) {
+			try (Writer writer = sink.asWriter()) {
+				writer.write("{}");
+			}
+			sink.writeln(0, "");
+		}
+		assertEquals("{}\n", baos.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void gzipFileContainsTheLines() throws IOException {
+		final Path path = tempDir.resolve("out.html.gz");
+		try (HtmlOutputSink sink = HtmlOutputSink.forFile(path.toString(), true)) {
+			for (int lineIx = 0; lineIx < 10_000; lineIx++) {
+				sink.writeln(1, "<tr><td>" + lineIx + "</td></tr>");
+			}
+		}
+		final String content;
+		try (InputStream is = new GZIPInputStream(Files.newInputStream(path))) {
+			content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		assertTrue(content.startsWith("\t<tr><td>0</td></tr>\n"));
+		assertTrue(content.endsWith("\t<tr><td>9999</td></tr>\n"));
+		assertEquals(10_000, content.lines().count());
+	}
+
+	@Test
+	void countsTheBytesOfTheStream() throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final HtmlOutputSink sink = HtmlOutputSink.forStream(baos, false);
+		sink.writeln(1, "€");
+		sink.close();
+		assertEquals(5, sink.getBytesWritten());
+		assertEquals(baos.size(), sink.getBytesWritten());
+	}
+
+	@Test
+	void countsTheCompressedBytesOfGzipFiles() throws IOException {
+		final Path path = tempDir.resolve("out.html.gz");
+		final HtmlOutputSink sink = HtmlOutputSink.forFile(path.toString(), true);
+		for (int lineIx = 0; lineIx < 10_000; lineIx++) {
+			sink.writeln(1, "<tr><td>" + lineIx + "</td></tr>");
+		}
+		sink.close();
+		assertEquals(Files.size(path), sink.getBytesWritten());
+		assertTrue(sink.getBytesWritten() < 10_000 * 20);
+	}
+
+	@Test
+	void unwritableFileIsReported() {
+		final Path path = tempDir.resolve("missing-dir").resolve("out.html");
+		final IOException e = assertThrows(IOException.class, () -> HtmlOutputSink.forFile(path.toString()));
+		assertEquals("file '" + path + "' could not be created or overwritten", e.getMessage());
+	}
+}
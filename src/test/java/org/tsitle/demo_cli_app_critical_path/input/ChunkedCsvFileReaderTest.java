@@ -0,0 +1,170 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import io.github.tsitle.criticalpath.rawdata.containers.ZzRawTask;
+import io.github.tsitle.criticalpath.rawdata.filereaders.ReadRawTasksOfIdLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedCsvFileReaderTest {
+	private static final String TASKS_HEADER = "TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC";
+
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void noBoundaryInsideQuotedLineBreaks() throws IOException {
+		final String content = "Id,Name\n" +
+				"1,\"first\nsecond, third\"\n" +
+				"2,\"say \"\"hi\"\"\n\"\n" +
+				"3,c\n";
+		assertEquals(
+				List.of(
+						"1,\"first\nsecond, third\"\n",
+						"2,\"say \"\"hi\"\"\n\"\n",
+						"3,c\n"
+					),
+				chunkTexts(content, 1)
+			);
+		assertEquals(
+				List.of(
+						new ChunkedCsvFileReader.Chunk(8, 32, 2, 3),
+						new ChunkedCsvFileReader.Chunk(32, 48, 4, 5),
+						new ChunkedCsvFileReader.Chunk(48, 52, 6, 6)
+					),
+				findChunks(content, 1)
+			);
+	}
+
+	@Test
+	void strayQuoteInUnquotedFieldDoesNotShiftTheBoundaries() throws IOException {
+		final String content = "Id,Name\n" +
+				"1,12\" pipe\n" +
+				"2,b\n" +
+				"3,\"c\"\n";
+		assertEquals(List.of("1,12\" pipe\n", "2,b\n", "3,\"c\"\n"), chunkTexts(content, 1));
+	}
+
+	@Test
+	void boundariesOfCrLfLineBreaks() throws IOException {
+		final String content = "Id,Name\r\n1,a\r\n2,\"b\r\nb\"\r\n3,c";
+		assertEquals(List.of("1,a\r\n", "2,\"b\r\nb\"\r\n", "3,c"), chunkTexts(content, 1));
+		final List<ChunkedCsvFileReader.Chunk> chunks = findChunks(content, 1);
+		assertEquals(2, chunks.get(0).lastLineNumber());
+		assertEquals(3, chunks.get(1).firstLineNumber());
+		assertEquals(4, chunks.get(1).lastLineNumber());
+		assertEquals(5, chunks.get(2).firstLineNumber());
+		assertEquals(5, chunks.get(2).lastLineNumber());
+	}
+
+	@Test
+	void boundaryExactlyOnALineBreak() throws IOException {
+		final String content = "Id,Name\n1,a\n2,b\n3,c\n";
+		// every record has 4 bytes: the target size is reached exactly at the line break
+		assertEquals(List.of("1,a\n", "2,b\n", "3,c\n"), chunkTexts(content, 4));
+		assertEquals(List.of("1,a\n2,b\n", "3,c\n"), chunkTexts(content, 5));
+		assertEquals(List.of("1,a\n2,b\n3,c\n"), chunkTexts(content, 100));
+		// no records after the header
+		assertEquals(List.of(), chunkTexts("Id,Name\n", 1));
+	}
+
+	@Test
+	void lineNumbersOfTheReadersAreConvertedToLinesOfTheFile() {
+		final ChunkedCsvFileReader.Chunk chunk = new ChunkedCsvFileReader.Chunk(100, 200, 7, 9);
+		assertEquals("invalid duration in line 8 (Line 9)", chunk.convertLineNumbers("invalid duration in line 3 (Line 4)"));
+		assertEquals("no line number", chunk.convertLineNumbers("no line number"));
+		assertEquals("'tasks.csv', lines 7-9", chunk.describe(Path.of("tasks.csv")));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void sameRecordsAsTheSingleThreadedReader() throws IOException {
+		final StringBuilder sb = new StringBuilder(TASKS_HEADER).append("\r\n");
+		for (int taskId = 1; taskId <= 200; taskId++) {
+			sb.append(taskId).append(",\"Task ").append(taskId);
+			if (taskId % 7 == 0) {
+				sb.append(",\n\"\"multi-line\"\"");
+			}
+			sb.append("\",").append(taskId % 5 + 1).append(',')
+					.append(taskId == 1 ? "none" : String.valueOf(taskId - 1)).append(",,")
+					.append(taskId % 3 == 0 ? "\r\n" : "\n");
+			if (taskId % 50 == 0) {
+				sb.append('\n');
+			}
+		}
+		final Path path = writeFile("tasks.csv", sb.toString());
+
+		final Set<ZzRawTask> singleSet = new LinkedHashSet<>();
+		try (InputStream is = Files.newInputStream(path)) {
+			new ReadRawTasksOfIdLong().readFromStream(is, singleSet);
+		}
+		final Set<ZzRawTask> chunkedSet = new LinkedHashSet<>();
+		ChunkedCsvFileReader.read(path, chunkedSet, ReadRawTasksOfIdLong::new, 256, 4);
+
+		assertEquals(200, singleSet.size());
+		assertEquals(
+				singleSet.stream().map(Object::toString).sorted().toList(),
+				chunkedSet.stream().map(Object::toString).sorted().toList()
+			);
+	}
+
+	@Test
+	void errorsNameTheLinesOfTheFile() throws IOException {
+		final List<String> lines = new ArrayList<>(List.of(TASKS_HEADER));
+		for (int taskId = 1; taskId <= 30; taskId++) {
+			lines.add(String.format("%02d,Task %02d,%s,none,,", taskId, taskId, (taskId == 25 ? "x" : "1")));
+		}
+		final Path path = writeFile("tasks.csv", String.join("\n", lines) + "\n");
+
+		final InvalidInputDataException e = assertThrows(InvalidInputDataException.class,
+				() -> ChunkedCsvFileReader.read(path, new LinkedHashSet<>(), ReadRawTasksOfIdLong::new, 100, 4));
+		// records of 20 bytes make chunks of 5 lines: task 25 is in line 26, the last line of the 5th chunk
+		assertTrue(e.getMessage().startsWith("'" + path + "', lines 22-26: "), e.getMessage());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private Path writeFile(String filename, String content) throws IOException {
+		final Path path = tempDir.resolve(filename);
+		Files.writeString(path, content, StandardCharsets.UTF_8);
+		return path;
+	}
+
+	private List<ChunkedCsvFileReader.Chunk> findChunks(String content, long targetChunkSize) throws IOException {
+		final Path path = writeFile("chunks.csv", content);
+		final List<ChunkedCsvFileReader.Chunk> chunks = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ChunkedCsvFileReader.findChunkBoundaries(channel, channel.size(), targetChunkSize, chunks);
+		}
+		return chunks;
+	}
+
+	private List<String> chunkTexts(String content, long targetChunkSize) throws IOException {
+		final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		final List<String> resList = new ArrayList<>();
+		for (ChunkedCsvFileReader.Chunk chunk : findChunks(content, targetChunkSize)) {
+			resList.add(new String(bytes, (int)chunk.start(), (int)(chunk.end() - chunk.start()), StandardCharsets.UTF_8));
+		}
+		return resList;
+	}
+}
@@ -0,0 +1,138 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.rawdata.containers.ZzRawTask;
+import io.github.tsitle.criticalpath.rawdata.filereaders.ReadRawTasksOfIdLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+	/** quoted separators, escaped quotes, a quoted line break, blank lines, CRLF and a byte order mark */
+	private static final String TASKS_CSV = "﻿TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC\r\n" +
+			"1,\"Task A, part 1\",2,none,,\r\n" +
+			"\r\n" +
+			"2, \"say \"\"hi\"\"\" ,3,1,,\n" +
+			"3,\"multi\r\nline\",1,1:2,,\r\n" +
+			"\n" +
+			"4,\"\"\"quoted\"\", \"\"twice\"\"\",4,2:3,,\r\n";
+
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void splitFieldsKeepsTheQuotes() {
+		assertEquals(List.of("1", "\"a, b\"", "", "c"), CsvRecordReader.splitFields("1,\"a, b\",, c ", ','));
+		assertEquals(List.of("\"say \"\"hi\"\", ok\"", "x"), CsvRecordReader.splitFields("\"say \"\"hi\"\", ok\",x", ','));
+		// a quote within an unquoted field is an ordinary character
+		assertEquals(List.of("12\" pipe", "b"), CsvRecordReader.splitFields("12\" pipe,b", ','));
+	}
+
+	@Test
+	void unquoteAndSplitIdLists() {
+		assertEquals("say \"hi\"", CsvRecordReader.unquote(" \"say \"\"hi\"\"\" "));
+		assertEquals("plain", CsvRecordReader.unquote("plain"));
+		assertEquals("\"", CsvRecordReader.unquote("\""));
+		assertEquals("x", CsvRecordReader.unquote(CsvRecordReader.quote("x")));
+		assertEquals("a\"b", CsvRecordReader.unquote(CsvRecordReader.quote("a\"b")));
+
+		assertEquals(List.of(), CsvRecordReader.splitIdList("none"));
+		assertEquals(List.of(), CsvRecordReader.splitIdList("\"\""));
+		assertEquals(List.of("20", "30"), CsvRecordReader.splitIdList("20:30"));
+		assertEquals(List.of("\"ABC:10\"", "\"DEF-20\""), CsvRecordReader.splitIdList("\"ABC:10\":\"DEF-20\""));
+	}
+
+	@Test
+	void readSkipsByteOrderMarkAndBlankLines() throws IOException {
+		final Path path = writeFile("tasks.csv", TASKS_CSV);
+		final List<Integer> lineNumbers = new ArrayList<>();
+		final List<List<String>> records = new ArrayList<>();
+		final List<String> columnNames = CsvRecordReader.readRecords(
+				path.toString(),
+				(tmpColumnNames) -> (fields, lineNumber) -> {
+					records.add(fields);
+					lineNumbers.add(lineNumber);
+				}
+			);
+
+		assertEquals(List.of("TaskId", "Name", "Duration", "DependenciesTaskIdList", "StartedAtUTC", "FinishedAtUTC"),
+				columnNames);
+		assertEquals(List.of(2, 4, 5, 8), lineNumbers);
+		assertEquals(List.of("1", "\"Task A, part 1\"", "2", "none", "", ""), records.get(0));
+		assertEquals("\"say \"\"hi\"\"\"", records.get(1).get(1));
+		assertEquals("multi\r\nline", CsvRecordReader.unquote(records.get(2).get(1)));
+		assertEquals("\"quoted\", \"twice\"", CsvRecordReader.unquote(records.get(3).get(1)));
+		assertEquals(List.of("2", "3"), CsvRecordReader.splitIdList(records.get(3).get(3)));
+	}
+
+	@Test
+	void tooFewFieldsAreReportedWithTheLineOfTheRecord() throws IOException {
+		final Path path = writeFile("tasks.csv", "Id,Name\n1,\"a\nb\"\n2\n");
+		final Exception e = assertThrows(Exception.class, () -> CsvRecordReader.read(path.toString()));
+		assertEquals("line 4 in '" + path + "' has 1 instead of 2 fields", e.getMessage());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * The validation and the ID encoding see the records of this reader, the computation those of the library
+	 */
+	@Test
+	void sameRecordsAsTheReaderOfTheLibrary() throws IOException {
+		final Path path = writeFile("tasks.csv", TASKS_CSV);
+		final Set<ZzRawTask> libraryTasks = new LinkedHashSet<>();
+		try (InputStream is = Files.newInputStream(path)) {
+			new ReadRawTasksOfIdLong().readFromStream(is, libraryTasks);
+		}
+
+		// write the values of this reader with the minimal quoting, so any difference in the splitting shows
+		final CsvRecordReader.Table table = CsvRecordReader.read(path.toString());
+		final List<List<String>> canonicalRecords = table.records().stream()
+				.map((fields) -> fields.stream().map(CsvRecordReaderTest::canonicalField).toList())
+				.toList();
+		final Set<ZzRawTask> rewrittenTasks = new LinkedHashSet<>();
+		try (InputStream is = CsvRecordStream.of(table.columnNames(), canonicalRecords)) {
+			new ReadRawTasksOfIdLong().readFromStream(is, rewrittenTasks);
+		}
+
+		assertEquals(4, libraryTasks.size());
+		assertEquals(
+				libraryTasks.stream().map(Object::toString).sorted().toList(),
+				rewrittenTasks.stream().map(Object::toString).sorted().toList()
+			);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private Path writeFile(String filename, String content) throws IOException {
+		final Path path = tempDir.resolve(filename);
+		Files.writeString(path, content, StandardCharsets.UTF_8);
+		return path;
+	}
+
+	/**
+	 * @return Value that is only quoted if it has to be
+	 */
+	private static String canonicalField(String rawField) {
+		final String value = CsvRecordReader.unquote(rawField);
+		if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+			return CsvRecordReader.quote(value);
+		}
+		return value;
+	}
+}
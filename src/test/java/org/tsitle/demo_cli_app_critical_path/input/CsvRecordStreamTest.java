@@ -0,0 +1,101 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordStreamTest {
+	/** enough records for several chunks */
+	private static final int AMOUNT_RECORDS = 20_000;
+
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void recordsInMemorySpanSeveralChunks() throws IOException {
+		final List<List<String>> records = new ArrayList<>();
+		final StringBuilder expected = new StringBuilder("TaskId,Name\n");
+		for (int ix = 0; ix < AMOUNT_RECORDS; ix++) {
+			// multibyte characters, so chunk boundaries in characters and bytes differ
+			records.add(List.of(String.valueOf(ix), "\"Größe, " + ix + "\""));
+			expected.append(ix).append(",\"Größe, ").append(ix).append("\"\n");
+		}
+
+		try (InputStream is = CsvRecordStream.of(List.of("TaskId", "Name"), records)) {
+			assertEquals(expected.toString(), new String(is.readAllBytes(), StandardCharsets.UTF_8));
+			assertEquals(-1, is.read());
+		}
+	}
+
+	@Test
+	void singleBytesAndEmptyRecords() throws IOException {
+		try (InputStream is = CsvRecordStream.of(List.of("RgroupId", "Name"), List.of())) {
+			final StringBuilder text = new StringBuilder();
+			int b;
+			while ((b = is.read()) >= 0) {
+				text.append((char) b);
+			}
+			assertEquals("RgroupId,Name\n", text.toString());
+		}
+	}
+
+	@Test
+	void rewrittenFileIsStreamedChunkByChunk() throws IOException {
+		final Path file = tempDir.resolve("runits.csv");
+		final StringBuilder content = new StringBuilder("RunitId,Name\n");
+		for (int ix = 0; ix < AMOUNT_RECORDS; ix++) {
+			content.append(ix).append(",\"Unit ").append(ix).append("\"\n");
+		}
+		// quoted separator and line break within the last record
+		content.append("last,\"a,\nb\"\n");
+		Files.writeString(file, content.toString(), StandardCharsets.UTF_8);
+
+		final int[] amountHandled = {0};
+		try (InputStream is = CsvRecordStream.rewrite(file.toString(), (columnNames, out) -> {
+					final int nameIx = CsvRecordReader.findColumnIndex(file.toString(), columnNames, "Name");
+					out.append(String.join(",", columnNames)).append('\n');
+					return (fields, lineNumber) -> {
+							amountHandled[0]++;
+							out.append(fields.get(0)).append(',')
+									.append(CsvRecordReader.quote(CsvRecordReader.unquote(fields.get(nameIx)).toUpperCase()))
+									.append('\n');
+						};
+				})) {
+			assertEquals('R', is.read());
+			assertTrue(amountHandled[0] > 0);
+			assertTrue(amountHandled[0] < AMOUNT_RECORDS, "the records are rewritten while the stream is read");
+
+			final String rest = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+			assertEquals(AMOUNT_RECORDS + 1, amountHandled[0]);
+			assertTrue(rest.startsWith("unitId,Name\n0,\"UNIT 0\"\n"));
+			assertTrue(rest.endsWith("\nlast,\"A,\nB\"\n"));
+		}
+	}
+
+	@Test
+	void invalidDataSurfacesWhileReading() throws IOException {
+		final Path file = tempDir.resolve("rgroups.csv");
+		Files.writeString(file, "RgroupId,Name\n1,A\n", StandardCharsets.UTF_8);
+
+		try (InputStream is = CsvRecordStream.rewrite(file.toString(), (columnNames, out) -> {
+					CsvRecordReader.findColumnIndex(file.toString(), columnNames, "RunitsIdList");
+					return (fields, lineNumber) -> { };
+				})) {
+			final InvalidInputDataException e = assertThrows(InvalidInputDataException.class, is::readAllBytes);
+			assertTrue(e.getMessage().contains("RunitsIdList"), e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdDictionaryTest {
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void codesFollowTheSortOrderOfTheIds() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				"TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC",
+				"Gamma,\"Task, third\",3,\"Alpha\":Beta,,",
+				"\"Alpha\",\"Task Ä\",1,none,,",
+				"Beta,Task B,2,Alpha,,"
+			);
+		final IdDictionary.Encoder encoder = IdDictionary.encoder(basicInput(tasks));
+		assertEquals(
+				"TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC\n" +
+						"3,\"Task, third\",3,1:2,,\n" +
+						"1,\"Task Ä\",1,none,,\n" +
+						"2,Task B,2,1,,\n",
+				readAll(encoder.transcodeTasks(tasks))
+			);
+		final IdDictionary dictionary = encoder.buildDictionary();
+		assertEquals(3, dictionary.size());
+		assertEquals("Alpha", dictionary.decodeTaskId(1L));
+		assertEquals("Beta", dictionary.decodeTaskId(2L));
+		assertEquals("Gamma", dictionary.decodeTaskId(3L));
+	}
+
+	@Test
+	void roundTripOfAllKinds() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				"TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC",
+				"print,Print,6,none,,",
+				"copy,Copy,4,print:missing,,"
+			);
+		final String runits = writeFile("runits.csv", "RunitId,Name", "printer-b,B", "printer-a,A");
+		final String rgroups = writeFile("rgroups.csv", "Name,RgroupId", "Printers,printers");
+		final String assocRunits = writeFile("assoc_runits.csv", "RgroupId,RunitsIdList", "printers,printer-a:printer-b");
+		final String assocTasks = writeFile("assoc_tasks.csv", "TaskId,RgroupId", "print,printers", "copy,printers");
+		final IdDictionary.Encoder encoder = IdDictionary.encoder(new InputFilenames(
+				List.of(tasks),
+				List.of(runits),
+				List.of(rgroups),
+				List.of(assocRunits),
+				List.of(assocTasks)
+			));
+
+		final List<String> lines = new ArrayList<>();
+		lines.addAll(readAll(encoder.transcodeTasks(tasks)).lines().skip(1).toList());
+		lines.addAll(readAll(encoder.transcodeRunits(runits)).lines().skip(1).toList());
+		lines.addAll(readAll(encoder.transcodeRgroups(rgroups)).lines().skip(1).toList());
+		lines.addAll(readAll(encoder.transcodeAssocRunitsWithRgroups(assocRunits)).lines().skip(1).toList());
+		lines.addAll(readAll(encoder.transcodeAssocRgroupsWithTasks(assocTasks)).lines().skip(1).toList());
+		assertEquals(
+				List.of(
+						"2,Print,6,none,,",
+						// unknown IDs get codes after all defined IDs
+						"1,Copy,4,2:3,,",
+						"2,B",
+						"1,A",
+						"Printers,1",
+						"1,1:2",
+						"2,1",
+						"1,1"
+					),
+				lines
+			);
+
+		final IdDictionary dictionary = encoder.buildDictionary();
+		assertEquals(3 + 2 + 1, dictionary.size());
+		assertEquals("copy", dictionary.decodeTaskId(1L));
+		assertEquals("print", dictionary.decodeTaskId(2L));
+		assertEquals("missing", dictionary.decodeTaskId(3L));
+		assertEquals("printer-a", dictionary.decodeRunitId(1L));
+		assertEquals("printer-b", dictionary.decodeRunitId(2L));
+		assertEquals("printers", dictionary.decodeRgroupId(1L));
+	}
+
+	@Test
+	void decodeKeepsIdsThatAreNoCodes() {
+		assertEquals(5L, IdDictionary.IDENTITY.decodeTaskId(5L));
+		assertEquals("x", IdDictionary.IDENTITY.decodeRgroupId("x"));
+		assertNull(IdDictionary.IDENTITY.decodeRunitId(null));
+		assertEquals(0, IdDictionary.IDENTITY.size());
+	}
+
+	@Test
+	void decodeKeepsCodesOutOfRange() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				"TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC",
+				"a,A,1,none,,"
+			);
+		final IdDictionary dictionary = IdDictionary.encoder(basicInput(tasks)).buildDictionary();
+		assertEquals(0L, dictionary.decodeTaskId(0L));
+		assertEquals("a", dictionary.decodeTaskId(1L));
+		assertEquals(2L, dictionary.decodeTaskId(2L));
+		assertEquals(1, dictionary.decodeTaskId(1));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private String writeFile(String filename, String... lines) throws IOException {
+		final Path path = tempDir.resolve(filename);
+		Files.writeString(path, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+		return path.toString();
+	}
+
+	private static String readAll(InputStream inputStream) throws IOException {
+		try (inputStream) {
+			return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static InputFilenames basicInput(String tasksFilename) {
+		return new InputFilenames(List.of(tasksFilename), List.of(), List.of(), List.of(), List.of());
+	}
+}
@@ -0,0 +1,158 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputValidatorTest {
+	private static final String TASKS_HEADER = "TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC";
+
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void sampleDataIsConsistent() throws IOException {
+		final InputFilenames inputFilenames = new InputFilenames(
+				List.of("rsc:sample-c-tasks-num.csv"),
+				List.of("rsc:sample-c-runits-num.csv"),
+				List.of("rsc:sample-c-rgroups-num.csv"),
+				List.of("rsc:sample-c-assoc_runits_w_rgroups-num.csv"),
+				List.of("rsc:sample-c-assoc_rgroups_w_tasks-num.csv")
+			);
+		assertEquals(List.of(), InputValidator.validate(inputFilenames, true));
+	}
+
+	@Test
+	void numericalIdsAreComparedByValue() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				TASKS_HEADER,
+				"007,A,1,none,,",
+				"8,B,1,7,,",
+				"9,C,1,\"007\":8,,"
+			);
+		assertEquals(List.of(), InputValidator.validate(basicInput(tasks), true));
+	}
+
+	@Test
+	void stringIdsAreComparedAsTheyAre() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				TASKS_HEADER,
+				"007,A,1,none,,",
+				"8,B,1,7,,"
+			);
+		assertEquals(
+				List.of(new InputValidator.Problem(tasks, 3, "task '8' depends on unknown task '7'")),
+				InputValidator.validate(basicInput(tasks), false)
+			);
+	}
+
+	@Test
+	void reportsDuplicateAndInvalidIds() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				TASKS_HEADER,
+				"7,A,1,none,,",
+				"007,B,1,none,,",
+				"x1,C,1,none,,"
+			);
+		final List<InputValidator.Problem> problems = InputValidator.validate(basicInput(tasks), true);
+		assertEquals(2, problems.size(), problems.toString());
+		assertEquals(3, problems.get(0).lineNumber());
+		assertTrue(problems.get(0).message().startsWith("duplicate task '7'"), problems.get(0).message());
+		assertEquals(new InputValidator.Problem(tasks, 4, "invalid numerical ID 'x1'"), problems.get(1));
+	}
+
+	@Test
+	void reportsEveryCycleOnce() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				TASKS_HEADER,
+				"1,A,1,3,,",
+				"2,B,1,1,,",
+				"3,C,1,2,,",
+				"4,D,1,1,,",
+				"5,E,1,6,,",
+				"6,F,1,5,,",
+				"7,G,1,none,,"
+			);
+		final List<InputValidator.Problem> problems = InputValidator.validate(basicInput(tasks), true);
+		assertEquals(2, problems.size(), problems.toString());
+		assertEquals("dependency cycle: '1' depends on '3' depends on '2' depends on '1'", problems.get(0).message());
+		assertEquals("dependency cycle: '5' depends on '6' depends on '5'", problems.get(1).message());
+	}
+
+	@Test
+	void reportsInconsistentResources() throws IOException {
+		final String tasks = writeFile("tasks.csv",
+				TASKS_HEADER,
+				"1,A,1,none,,",
+				"2,B,1,none,,",
+				"3,C,1,none,,"
+			);
+		final String runits = writeFile("runits.csv", "RunitId,Name", "10,U10");
+		final String rgroups = writeFile("rgroups.csv", "RgroupId,Name", "100,G100", "101,G101");
+		final String assocRunits = writeFile("assoc_runits.csv", "RgroupId,RunitsIdList", "100,10:11", "102,10");
+		final String assocTasks = writeFile("assoc_tasks.csv", "TaskId,RgroupId", "1,100", "2,101", "4,100");
+		final InputFilenames inputFilenames = new InputFilenames(
+				List.of(tasks),
+				List.of(runits),
+				List.of(rgroups),
+				List.of(assocRunits),
+				List.of(assocTasks)
+			);
+		assertEquals(
+				List.of(
+						new InputValidator.Problem(assocRunits, 2, "unknown resource unit '11'"),
+						new InputValidator.Problem(assocRunits, 3, "unknown resource group '102'"),
+						new InputValidator.Problem(assocTasks, 4, "unknown task '4'"),
+						new InputValidator.Problem(tasks, 4, "task '3' is not associated with any resource group"),
+						new InputValidator.Problem(rgroups, 3,
+								"resource group '101' is associated with tasks but not with any resource unit")
+					),
+				InputValidator.validate(inputFilenames, true)
+			);
+	}
+
+	@Test
+	void rescansOnlyTheChangedKind() throws IOException {
+		final String tasks1 = writeFile("tasks-1.csv", TASKS_HEADER, "1,A,1,none,,", "2,B,1,3,,");
+		final String tasks2 = writeFile("tasks-2.csv", TASKS_HEADER, "4,D,1,1,,");
+		final InputValidator validator = new InputValidator(true);
+		validator.scanTasks(List.of(tasks1, tasks2));
+		validator.scanRunits(List.of());
+		validator.scanRgroups(List.of());
+		validator.scanAssocRunitsWithRgroups(List.of());
+		validator.scanAssocRgroupsWithTasks(List.of());
+		assertEquals(
+				List.of(new InputValidator.Problem(tasks1, 3, "task '2' depends on unknown task '3'")),
+				validator.check()
+			);
+		// the problems of a check aren't carried over to the next one
+		assertEquals(validator.check(), validator.check());
+
+		writeFile("tasks-2.csv", TASKS_HEADER, "3,C,1,1,,");
+		validator.scanTasks(List.of(tasks1, tasks2));
+		assertEquals(List.of(), validator.check());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private String writeFile(String filename, String... lines) throws IOException {
+		final Path path = tempDir.resolve(filename);
+		Files.writeString(path, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+		return path.toString();
+	}
+
+	private static InputFilenames basicInput(String tasksFilename) {
+		return new InputFilenames(List.of(tasksFilename), List.of(), List.of(), List.of(), List.of());
+	}
+}
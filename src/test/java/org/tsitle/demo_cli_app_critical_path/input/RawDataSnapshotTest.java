@@ -0,0 +1,148 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.rawdata.containers.ZzRawTask;
+import io.github.tsitle.criticalpath.rawdata.filereaders.ReadRawTasksOfIdLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawDataSnapshotTest {
+	private static final String TASKS_CSV = "TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC\n" +
+			"1,First,2,none,,\n" +
+			"2,Second,3,1,,\n" +
+			"3,Third,1,1:2,,\n";
+
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void saveAndLoad() throws IOException {
+		final Path tasksPath = writeTasksFile();
+		final Set<ZzRawTask> tasks = readTasks(tasksPath);
+		final Set<String> strings = new LinkedHashSet<>(List.of("a", "b"));
+		createSnapshot(tasksPath, "indicesType=NUM").save(List.of(tasks, strings));
+
+		final Set<ZzRawTask> loadedTasks = new LinkedHashSet<>();
+		final Set<String> loadedStrings = new LinkedHashSet<>();
+		assertTrue(createSnapshot(tasksPath, "indicesType=NUM").loadInto(List.of(loadedTasks, loadedStrings)));
+		assertEquals(tasks, loadedTasks);
+		assertEquals(
+				tasks.stream().map(Object::toString).sorted().toList(),
+				loadedTasks.stream().map(Object::toString).sorted().toList()
+			);
+		assertEquals(strings, loadedStrings);
+
+		// other key parts and a different amount of sets
+		assertFalse(createSnapshot(tasksPath, "indicesType=STR").loadInto(List.of(new HashSet<>(), new HashSet<>())));
+		assertThrows(IOException.class, () -> createSnapshot(tasksPath, "indicesType=NUM").loadInto(List.of(new HashSet<>())));
+	}
+
+	@Test
+	void changedInputFileUsesAnotherSnapshot() throws IOException {
+		final Path tasksPath = writeTasksFile();
+		final RawDataSnapshot snapshot = createSnapshot(tasksPath, "indicesType=NUM");
+		snapshot.save(List.of(readTasks(tasksPath)));
+
+		Files.writeString(tasksPath, TASKS_CSV + "4,Fourth,1,3,,\n", StandardCharsets.UTF_8);
+		final RawDataSnapshot changedSnapshot = createSnapshot(tasksPath, "indicesType=NUM");
+		assertNotEquals(snapshot.getSnapshotFile(), changedSnapshot.getSnapshotFile());
+		assertFalse(changedSnapshot.loadInto(List.of(new HashSet<>())));
+	}
+
+	@Test
+	void snapshotOfOtherVersionsIsIgnored() throws IOException {
+		final Path tasksPath = writeTasksFile();
+		final RawDataSnapshot snapshot = createSnapshot(tasksPath, "indicesType=NUM");
+		snapshot.save(List.of(readTasks(tasksPath)));
+
+		// the version stamp starts with "app="
+		final byte[] bytes = Files.readAllBytes(snapshot.getSnapshotFile());
+		final int stampIx = indexOf(bytes, "app=".getBytes(StandardCharsets.US_ASCII));
+		assertTrue(stampIx > 0);
+		bytes[stampIx + 1] = 'q';
+		Files.write(snapshot.getSnapshotFile(), bytes);
+
+		final Set<ZzRawTask> loadedTasks = new LinkedHashSet<>();
+		assertFalse(createSnapshot(tasksPath, "indicesType=NUM").loadInto(List.of(loadedTasks)));
+		assertTrue(loadedTasks.isEmpty());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void filterAcceptsCollectionsWithinTheLimits() throws Exception {
+		final byte[] bytes = serialize(new ArrayList<>(List.of("a", 1L, 2, true)));
+		assertEquals(List.of("a", 1L, 2, true), deserialize(bytes, bytes.length));
+	}
+
+	@Test
+	void filterRejectsArraysLargerThanTheLimit() throws Exception {
+		final byte[] bytes = serialize(new ArrayList<>(Collections.nCopies(1000, 1L)));
+		assertEquals(1000, ((List<?>)deserialize(bytes, bytes.length)).size());
+		// the list checks its backing array before allocating it
+		assertThrows(InvalidClassException.class, () -> deserialize(bytes, 999));
+	}
+
+	@Test
+	void filterRejectsOtherClasses() throws Exception {
+		final byte[] bytes = serialize(new ArrayList<>(List.of(new Date())));
+		assertThrows(InvalidClassException.class, () -> deserialize(bytes, bytes.length));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private Path writeTasksFile() throws IOException {
+		final Path path = tempDir.resolve("tasks.csv");
+		Files.writeString(path, TASKS_CSV, StandardCharsets.UTF_8);
+		return path;
+	}
+
+	private RawDataSnapshot createSnapshot(Path tasksPath, String keyPart) throws IOException {
+		return RawDataSnapshot.forInputFiles(tempDir.resolve("snapshots"), List.of(keyPart), List.of(tasksPath.toString()));
+	}
+
+	private static Set<ZzRawTask> readTasks(Path path) throws IOException {
+		final Set<ZzRawTask> resSet = new LinkedHashSet<>();
+		try (InputStream is = Files.newInputStream(path)) {
+			new ReadRawTasksOfIdLong().readFromStream(is, resSet);
+		}
+		assertEquals(3, resSet.size());
+		return resSet;
+	}
+
+	private static byte[] serialize(Object object) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(object);
+		}
+		return baos.toByteArray();
+	}
+
+	private static Object deserialize(byte[] bytes, long maxSize) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			ois.setObjectInputFilter(RawDataSnapshot.createInputFilter(maxSize));
+			return ois.readObject();
+		}
+	}
+
+	private static int indexOf(byte[] bytes, byte[] pattern) {
+		for (int ix = 0; ix + pattern.length <= bytes.length; ix++) {
+			if (Arrays.equals(bytes, ix, ix + pattern.length, pattern, 0, pattern.length)) {
+				return ix;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,143 @@
+package org.tsitle.demo_cli_app_critical_path.input;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import io.github.tsitle.criticalpath.rawdata.containers.ZzRawTask;
+import io.github.tsitle.criticalpath.rawdata.filereaders.ReadRawTasksOfIdLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawInputCacheTest {
+	private static final String TASKS_CSV = "TaskId,Name,Duration,DependenciesTaskIdList,StartedAtUTC,FinishedAtUTC\n" +
+			"1,A,2,none,,\n" +
+			"2,B,3,1,,\n";
+
+	@TempDir
+	Path tempDir;
+
+	private final AtomicInteger amountLoads = new AtomicInteger();
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void fileIsParsedOncePerReaderType() throws IOException {
+		final Path path = writeFile(TASKS_CSV);
+		final RawInputCache cache = new RawInputCache();
+
+		final Set<ZzRawTask> first = cache.getOrLoad(path.toString(), "tasks-long", loader(path));
+		final Set<ZzRawTask> second = cache.getOrLoad(path.toString(), "tasks-long", loader(path));
+		assertSame(first, second);
+		assertEquals(2, first.size());
+		assertEquals(1, amountLoads.get());
+		assertThrows(UnsupportedOperationException.class, () -> first.clear());
+
+		// the same file with another reader and with a non-normalized path
+		cache.getOrLoad(path.toString(), "tasks-other", loader(path));
+		cache.getOrLoad(tempDir.resolve(".").resolve(path.getFileName()).toString(), "tasks-long", loader(path));
+		assertEquals(2, amountLoads.get());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void changedFileIsParsedAgain() throws IOException {
+		final Path path = writeFile(TASKS_CSV);
+		final RawInputCache cache = new RawInputCache();
+		cache.getOrLoad(path.toString(), "tasks-long", loader(path));
+
+		writeFile(TASKS_CSV + "3,C,1,2,,\n");
+		assertEquals(3, cache.getOrLoad(path.toString(), "tasks-long", loader(path)).size());
+		assertEquals(2, amountLoads.get());
+
+		cache.evict(path.toString());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void concurrentRequestsParseTheFileOnce() throws Exception {
+		final Path path = writeFile(TASKS_CSV);
+		final RawInputCache cache = new RawInputCache();
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Set<ZzRawTask>>> futures = new ArrayList<>();
+			for (int ix = 0; ix < 8; ix++) {
+				futures.add(executor.submit(() -> {
+					startLatch.await();
+					return cache.getOrLoad(path.toString(), "tasks-long", loader(path));
+				}));
+			}
+			startLatch.countDown();
+			final Set<ZzRawTask> first = futures.get(0).get(10, TimeUnit.SECONDS);
+			for (Future<Set<ZzRawTask>> future : futures) {
+				assertSame(first, future.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, amountLoads.get());
+	}
+
+	@Test
+	void failuresAreNotCached() throws IOException {
+		final Path path = writeFile(TASKS_CSV);
+		final RawInputCache cache = new RawInputCache();
+		assertThrows(InvalidInputDataException.class, () -> cache.getOrLoad(path.toString(), "tasks-long", (outputSet) -> {
+			amountLoads.incrementAndGet();
+			throw new InvalidInputDataException("broken");
+		}));
+		assertEquals(0, cache.size());
+		assertEquals(2, cache.getOrLoad(path.toString(), "tasks-long", loader(path)).size());
+		assertEquals(2, amountLoads.get());
+	}
+
+	@Test
+	void passedChecksAreSkipped() throws IOException {
+		final Path path = writeFile(TASKS_CSV);
+		final RawInputCache cache = new RawInputCache();
+		final List<RawInputCache.CheckedFile> files = List.of(new RawInputCache.CheckedFile(path.toString(), "tasks"));
+
+		assertThrows(InvalidInputDataException.class, () -> cache.checkOnce(files, () -> {
+			throw new InvalidInputDataException("invalid");
+		}));
+		assertTrue(cache.checkOnce(files, amountLoads::incrementAndGet));
+		assertFalse(cache.checkOnce(files, amountLoads::incrementAndGet));
+		// another role is another combination
+		assertTrue(cache.checkOnce(List.of(new RawInputCache.CheckedFile(path.toString(), "other")), amountLoads::incrementAndGet));
+		assertEquals(2, amountLoads.get());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private Path writeFile(String content) throws IOException {
+		final Path path = tempDir.resolve("tasks.csv");
+		Files.writeString(path, content, StandardCharsets.UTF_8);
+		return path;
+	}
+
+	private RawInputCache.Loader<ZzRawTask> loader(Path path) {
+		return (outputSet) -> {
+			amountLoads.incrementAndGet();
+			try (InputStream is = Files.newInputStream(path)) {
+				new ReadRawTasksOfIdLong().readFromStream(is, outputSet);
+			}
+		};
+	}
+}
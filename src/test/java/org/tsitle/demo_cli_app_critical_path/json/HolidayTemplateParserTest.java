@@ -0,0 +1,194 @@
+package org.tsitle.demo_cli_app_critical_path.json;
+
+import io.github.tsitle.criticalpath.exceptions.InvalidInputDataException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HolidayTemplateParserTest {
+	private static final LocalDate NOW = LocalDate.of(2026, 10, 18);
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void easterSundayOfKnownYears() {
+		assertEquals(List.of(LocalDate.of(2000, 4, 23)), expand("<EASTER>", 2000, 2000));
+		assertEquals(List.of(LocalDate.of(2019, 4, 21)), expand("<EASTER>", 2019, 2019));
+		assertEquals(
+				List.of(LocalDate.of(2024, 3, 31), LocalDate.of(2025, 4, 20), LocalDate.of(2026, 4, 5)),
+				expand("<EASTER>", 2024, 2026)
+			);
+	}
+
+	@Test
+	void easterRelativeDates() {
+		assertEquals(List.of(LocalDate.of(2026, 4, 3)), expand("<EASTER-2>", 2026, 2026));
+		assertEquals(List.of(LocalDate.of(2026, 4, 6)), expand("<easter+1>", 2026, 2026));
+		assertEquals(List.of(LocalDate.of(2026, 5, 25)), expand("<EASTER+50>", 2026, 2026));
+	}
+
+	@Test
+	void yearlyFixedDate() {
+		assertEquals(
+				List.of(LocalDate.of(2025, 12, 25), LocalDate.of(2026, 12, 25), LocalDate.of(2027, 12, 25)),
+				expand("<EVERY_YEAR>-12-25", 2025, 2027)
+			);
+		// years without February 29th are skipped
+		assertEquals(
+				List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2028, 2, 29)),
+				expand("<EVERY_YEAR>-02-29", 2023, 2028)
+			);
+	}
+
+	@Test
+	void nthWeekdayOfMonth() {
+		assertEquals(
+				List.of(LocalDate.of(2025, 11, 27), LocalDate.of(2026, 11, 26)),
+				expand("<EVERY_YEAR>-11-<THU#4>", 2025, 2026)
+			);
+		assertEquals(List.of(LocalDate.of(2026, 5, 25)), expand("<EVERY_YEAR>-05-<MON#-1>", 2026, 2026));
+		// February 2026 has only four Sundays
+		assertEquals(List.of(), expand("<EVERY_YEAR>-02-<SUN#5>", 2026, 2026));
+		assertEquals(List.of(LocalDate.of(2026, 9, 7)), expand("2026-09-<MONDAY#1>", 2026, 2026));
+	}
+
+	@Test
+	void singleDates() {
+		assertEquals(LocalDate.of(2026, 1, 1), HolidayTemplateParser.parse("2026-01-01"));
+		assertEquals(List.of(LocalDate.of(2026, 12, 25)), expand("<YEAR>-12-25", 2000, 2001));
+		assertEquals(List.of(LocalDate.of(2027, 10, 17)), expand("<YEAR+1>-<MONTH>-<DAY-1>", 2000, 2001));
+		assertEquals(List.of(LocalDate.of(2027, 1, 31)), expand("<YEAR>-<MONTH+3>-31", 2000, 2001));
+		assertFalse(HolidayTemplateParser.compile("<YEAR>-12-25").isRecurring());
+		assertTrue(HolidayTemplateParser.compile("<EVERY_YEAR>-12-25").isRecurring());
+		assertTrue(HolidayTemplateParser.compile("<EASTER>").isRecurring());
+	}
+
+	@Test
+	void parseRejectsRecurringAndInvalidDates() {
+		assertThrows(InvalidInputDataException.class, () -> HolidayTemplateParser.parse("<EVERY_YEAR>-12-25"));
+		assertThrows(InvalidInputDataException.class, () -> HolidayTemplateParser.parse("2026-02-30"));
+		assertThrows(InvalidInputDataException.class, () -> HolidayTemplateParser.parse(null));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void scannerRejectsMalformedTemplates() {
+		for (String templateStr : List.of(
+				"<<YEAR>>-01-01",
+				"YEAR>-01-01",
+				"<YEAR><YEAR>-01-01",
+				"2026-01",
+				"2026-01-01-01",
+				"",
+				"26-01-01",
+				"2026-13-01",
+				"2026-00-01",
+				"2026-01-32",
+				"2026- -01",
+				"<YEARS>-01-01",
+				"<YEAR+>-01-01",
+				"<YEAR+1+1>-01-01",
+				"<YEAR+x>-01-01",
+				"<EVERY_YEAR>-11-<XYZ#1>",
+				"<EVERY_YEAR>-11-<THU#0>",
+				"<EVERY_YEAR>-11-<THU#6>",
+				"<EASTERN>",
+				"<CHRISTMAS>"
+			)) {
+			assertThrows(
+					InvalidInputDataException.class,
+					() -> HolidayTemplateParser.compile(templateStr),
+					"template '" + templateStr + "'"
+				);
+		}
+	}
+
+	@Test
+	void scannerIgnoresCaseAndWhitespace() {
+		assertEquals(List.of(LocalDate.of(2026, 12, 25)), expand(" <year> - 12 - 25 ", 2000, 2001));
+		assertEquals(List.of(LocalDate.of(2026, 11, 26)), expand("<every_year>-11-<thu # 4>", 2026, 2026));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void parseYearRange() {
+		assertEquals(new HolidayTemplateParser.YearRange(2025, 2030), HolidayTemplateParser.parseYearRange("2025..2030", NOW));
+		assertEquals(new HolidayTemplateParser.YearRange(2026, 2026), HolidayTemplateParser.parseYearRange("2026..2026", NOW));
+		assertEquals(
+				new HolidayTemplateParser.YearRange(2025, 2028),
+				HolidayTemplateParser.parseYearRange("<YEAR-1>..<YEAR+2>", NOW)
+			);
+		assertEquals(
+				new HolidayTemplateParser.YearRange(2026, 2027),
+				HolidayTemplateParser.parseYearRange(HolidayTemplateParser.DEFAULT_YEAR_RANGE, NOW)
+			);
+		assertEquals(
+				new HolidayTemplateParser.YearRange(2026, 2030),
+				HolidayTemplateParser.parseYearRange(" <YEAR> .. 2030 ", NOW)
+			);
+	}
+
+	@Test
+	void parseYearRangeRejectsMalformedRanges() {
+		for (String yearRangeStr : List.of(
+				"2025",
+				"2025-2030",
+				"..2030",
+				"2025..",
+				"2025...2030",
+				"2030..2025",
+				"<YEAR+1>..<YEAR>",
+				"2000..2500",
+				"abcd..2030",
+				"25..30",
+				"<MONTH>..2030"
+			)) {
+			assertThrows(
+					InvalidInputDataException.class,
+					() -> HolidayTemplateParser.parseYearRange(yearRangeStr, NOW),
+					"year range '" + yearRangeStr + "'"
+				);
+		}
+		assertEquals(new HolidayTemplateParser.YearRange(2000, 2499), HolidayTemplateParser.parseYearRange("2000..2499", NOW));
+	}
+
+	@Test
+	void expandAllCompilesEveryTemplateOnce() {
+		final Set<AppConfig.Holiday> holidays = HolidayTemplateParser.expandAll(
+				List.of("<EVERY_YEAR>-12-25", "2026-01-01", "<EVERY_YEAR>-12-25"),
+				"2025..2026"
+			);
+		assertEquals(
+				List.of(
+						new AppConfig.Holiday("<EVERY_YEAR>-12-25", LocalDate.of(2025, 12, 25)),
+						new AppConfig.Holiday("<EVERY_YEAR>-12-25", LocalDate.of(2026, 12, 25)),
+						new AppConfig.Holiday("2026-01-01", LocalDate.of(2026, 1, 1))
+					),
+				new ArrayList<>(holidays)
+			);
+		assertThrows(
+				InvalidInputDataException.class,
+				() -> HolidayTemplateParser.expandAll(List.of("2026-02-30"), "2025..2026")
+			);
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private static List<LocalDate> expand(String templateStr, int firstYear, int lastYear) {
+		final List<LocalDate> resList = new ArrayList<>();
+		HolidayTemplateParser.compile(templateStr)
+				.expand(NOW, new HolidayTemplateParser.YearRange(firstYear, lastYear), resList::add);
+		return resList;
+	}
+}
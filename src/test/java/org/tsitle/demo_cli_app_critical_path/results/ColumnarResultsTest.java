@@ -0,0 +1,116 @@
+package org.tsitle.demo_cli_app_critical_path.results;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tsitle.demo_cli_app_critical_path.TestProjects;
+import org.tsitle.demo_cli_app_critical_path.input.IdDictionary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarResultsTest {
+	/**
+	 * Two tasks in parallel at the start, then one long task (2 resource units)
+	 */
+	private static final TestProjects.Project PROJECT_EARLY_PEAK = new TestProjects.Project(
+			List.of("1,A1,2,none", "2,A2,2,none", "3,A3,10,1:2"),
+			List.of("10,UA1", "11,UA2"),
+			List.of("100,GA"),
+			List.of("100,10:11"),
+			List.of("1,100", "2,100", "3,100")
+		);
+	/**
+	 * One task at the start, then two tasks in parallel (2 resource units)
+	 */
+	private static final TestProjects.Project PROJECT_LATE_PEAK = new TestProjects.Project(
+			List.of("1,B1,3,none", "2,B2,5,1", "3,B3,5,1"),
+			List.of("10,UB1", "11,UB2"),
+			List.of("100,GB"),
+			List.of("100,10:11"),
+			List.of("1,100", "2,100", "3,100")
+		);
+
+	@TempDir
+	Path tempDir;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void mergeOfComponentsWithOverlappingTimelines() throws IOException {
+		final ColumnarResults early = ColumnarResults.of(
+				TestProjects.compute(TestProjects.write(tempDir, "early", PROJECT_EARLY_PEAK)), IdDictionary.IDENTITY);
+		final ColumnarResults late = ColumnarResults.of(
+				TestProjects.compute(TestProjects.write(tempDir, "late", PROJECT_LATE_PEAK)), IdDictionary.IDENTITY);
+		final ColumnarResults merged = ColumnarResults.merge(List.of(early, late));
+
+		assertEquals(12, early.getTimePassed());
+		assertEquals(8, late.getTimePassed());
+		assertEquals(12, merged.getTimePassed());
+		assertEquals(6, merged.getTaskCount());
+		assertEquals(2, merged.getRgroupCount());
+		assertEquals(4, merged.getRunitCount());
+
+		// [0, 2): A1, A2, B1 - [2, 3): A3, B1 - [3, 8): A3, B2, B3
+		assertEquals(3, merged.getMaxRunitsUsed());
+		assertTrue(merged.getMaxRunitsUsed() < early.getMaxRunitsUsed() + late.getMaxRunitsUsed());
+		// the last task starts at 3: UA1 and UA2 are busy for 2 + 1, UB1 for 3 and UB2 for 0 of the 4 * 3
+		assertEquals(4, merged.getTimeIdled());
+
+		// the internal IDs are unique, the external IDs and the references are kept
+		final Set<Long> taskIds = new HashSet<>();
+		for (int taskIx = 0; taskIx < merged.getTaskCount(); taskIx++) {
+			assertTrue(taskIds.add(merged.getTaskId(taskIx)));
+		}
+		assertEquals(List.of("A1", "A2", "A3", "B1", "B2", "B3"), List.of(
+				merged.getTaskName(0), merged.getTaskName(1), merged.getTaskName(2),
+				merged.getTaskName(3), merged.getTaskName(4), merged.getTaskName(5)
+			));
+		assertEquals(merged.getTaskId(3), merged.getTaskDependencyId(4, 0));
+		for (int taskIx = 3; taskIx < 6; taskIx++) {
+			assertEquals(1, merged.getTaskRgroupIx(taskIx));
+			assertTrue(merged.getTaskRunitIx(taskIx) >= 2, "resource unit of task " + taskIx);
+		}
+		assertEquals("GB", merged.getRgroupName(1));
+		assertEquals(3, merged.getRgroupTasksCompletedCount(1));
+	}
+
+	@Test
+	void mergeRejectsEmptyAndKeepsSinglePart() throws IOException {
+		assertThrows(IllegalArgumentException.class, () -> ColumnarResults.merge(List.of()));
+		final ColumnarResults single = ColumnarResults.of(
+				TestProjects.compute(TestProjects.write(tempDir, "single", PROJECT_LATE_PEAK)), IdDictionary.IDENTITY);
+		assertSame(single, ColumnarResults.merge(List.of(single)));
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void maxRunitsUsedOfOverlappingIntervals() {
+		// two components on the same timeline: [0, 2) [0, 2) [2, 12) and [0, 3) [3, 8) [3, 8)
+		final long[] timesStarted = {0, 0, 2, 0, 3, 3};
+		final long[] timesFinished = {2, 2, 12, 3, 8, 8};
+		assertEquals(3, ColumnarResults.computeMaxRunitsUsed(timesStarted, timesFinished, new int[] {0, 1, 0, 2, 2, 3}));
+		// tasks without a resource unit and without a duration don't use a unit
+		assertEquals(2, ColumnarResults.computeMaxRunitsUsed(
+				timesStarted, timesFinished, new int[] {0, ColumnarResults.NO_IX, 0, 2, 2, ColumnarResults.NO_IX}));
+		assertEquals(1, ColumnarResults.computeMaxRunitsUsed(new long[] {0, 5, 5}, new long[] {5, 5, 9}, new int[] {0, 0, 0}));
+		assertEquals(0, ColumnarResults.computeMaxRunitsUsed(new long[0], new long[0], new int[0]));
+	}
+
+	@Test
+	void timeIdledUntilTheLastStart() {
+		final long[] timesStarted = {0, 0, 2, 0, 3, 3};
+		final long[] timesFinished = {2, 2, 12, 3, 8, 8};
+		assertEquals(4, ColumnarResults.computeTimeIdled(timesStarted, timesFinished, new int[] {0, 1, 0, 2, 2, 3}, 4));
+		// a resource unit without any task idles the whole time
+		assertEquals(4 + 3, ColumnarResults.computeTimeIdled(timesStarted, timesFinished, new int[] {0, 1, 0, 2, 2, 3}, 5));
+		assertEquals(0, ColumnarResults.computeTimeIdled(new long[] {0}, new long[] {4}, new int[] {0}, 1));
+	}
+}
@@ -0,0 +1,65 @@
+package org.tsitle.demo_cli_app_critical_path.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIndexMapTest {
+	@Test
+	void putGetAndReplace() {
+		final LongIndexMap map = new LongIndexMap(4);
+		assertEquals(LongIndexMap.NOT_FOUND, map.get(1));
+
+		map.put(1, 10);
+		map.put(-1, 11);
+		map.put(0, 12);
+		map.put(Long.MIN_VALUE, 13);
+		map.put(Long.MAX_VALUE, 14);
+		assertEquals(5, map.size());
+		assertEquals(10, map.get(1));
+		assertEquals(11, map.get(-1));
+		assertEquals(12, map.get(0));
+		assertEquals(13, map.get(Long.MIN_VALUE));
+		assertEquals(14, map.get(Long.MAX_VALUE));
+		assertEquals(LongIndexMap.NOT_FOUND, map.get(2));
+
+		map.put(1, 20);
+		assertEquals(5, map.size());
+		assertEquals(20, map.get(1));
+	}
+
+	@Test
+	void growsBeyondTheExpectedSize() {
+		final LongIndexMap map = new LongIndexMap(0);
+		// IDs that are multiples of a power of two fall into few slots without a good hash
+		for (int ix = 0; ix < 10_000; ix++) {
+			map.put(ix * 1024L, ix);
+		}
+		assertEquals(10_000, map.size());
+		for (int ix = 0; ix < 10_000; ix++) {
+			assertEquals(ix, map.get(ix * 1024L));
+			assertEquals(LongIndexMap.NOT_FOUND, map.get(ix * 1024L + 1));
+		}
+	}
+
+	@Test
+	void agreesWithHashMap() {
+		final Random random = new Random(42);
+		final LongIndexMap map = new LongIndexMap(1000);
+		final Map<Long, Integer> expected = new HashMap<>();
+		for (int ix = 0; ix < 50_000; ix++) {
+			// narrow range, so keys are replaced as well
+			final long key = random.nextInt(20_000) - 10_000L;
+			map.put(key, ix);
+			expected.put(key, ix);
+		}
+		assertEquals(expected.size(), map.size());
+		for (long key = -10_000; key < 10_000; key++) {
+			assertEquals((int) expected.getOrDefault(key, LongIndexMap.NOT_FOUND), map.get(key));
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package org.tsitle.demo_cli_app_critical_path.sweep;
+
+import io.github.tsitle.criticalpath.cpmresults.CpmResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tsitle.demo_cli_app_critical_path.TestProjects;
+import org.tsitle.demo_cli_app_critical_path.json.AppConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunitsOptimizerTest {
+	/**
+	 * Four tasks in parallel, then two tasks in a row: the project takes 12, 8, 8, 6, 6 and 6 hours
+	 * with 1 to 6 resource units
+	 */
+	private static final List<String> TASKS = List.of(
+			"1,A,2,none", "2,B,2,none", "3,C,2,none", "4,D,2,none", "5,E,2,1:2:3:4", "6,F,2,5"
+		);
+	private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 8, 0);
+
+	@TempDir
+	Path tempDir;
+
+	/** results for 1 to 6 resource units (index 0 is unused) */
+	private CpmResult[] cpmResults;
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@BeforeEach
+	void computeResults() throws IOException {
+		final AppConfig appConfig = TestProjects.writeBasic(tempDir, "optimizer", TASKS, 1);
+		cpmResults = new CpmResult[TASKS.size() + 1];
+		for (int amountRunits = 1; amountRunits <= TASKS.size(); amountRunits++) {
+			cpmResults[amountRunits] = TestProjects.compute(appConfig.withAmountResourceUnits(amountRunits));
+		}
+		assertEquals(List.of(12L, 8L, 8L, 6L, 6L, 6L), List.of(
+				cpmResults[1].timePassed(), cpmResults[2].timePassed(), cpmResults[3].timePassed(),
+				cpmResults[4].timePassed(), cpmResults[5].timePassed(), cpmResults[6].timePassed()
+			));
+		assertEquals(4, cpmResults[6].maxRunitsUsed());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	@Test
+	void deadlineThatCantBeMet() {
+		final RunitsOptimizer.Outcome outcome = optimize(START.plusHours(5), 4);
+		assertNull(outcome.best());
+		assertEquals(6, outcome.evaluationOfMaxAmount().amountRunits());
+		assertEquals(START.plusHours(6), outcome.evaluationOfMaxAmount().projectEnd());
+		assertFalse(outcome.evaluationOfMaxAmount().meetsDeadline());
+		assertEquals(1, outcome.amountEvaluations());
+		assertEquals(1, outcome.amountPostProcessed());
+	}
+
+	@Test
+	void deadlineMetAtTheLowerBound() {
+		for (int parallelism = 1; parallelism <= 4; parallelism++) {
+			final RunitsOptimizer.Outcome outcome = optimize(START.plusHours(12), parallelism);
+			assertNotNull(outcome.best());
+			assertEquals(1, outcome.best().amountRunits(), "parallelism " + parallelism);
+			assertEquals(START.plusHours(12), outcome.best().projectEnd());
+			assertTrue(outcome.best().meetsDeadline());
+		}
+	}
+
+	@Test
+	void smallestAmountOfAPlateau() {
+		for (int parallelism = 1; parallelism <= 4; parallelism++) {
+			// 4 to 6 resource units take 6 hours: the search starts with the 4 units that are busy at the same time
+			final RunitsOptimizer.Outcome outcome6 = optimize(START.plusHours(6), parallelism);
+			assertEquals(4, outcome6.best().amountRunits(), "parallelism " + parallelism);
+			assertEquals(START.plusHours(6), outcome6.best().projectEnd());
+			// 2 and 3 resource units take 8 hours
+			final RunitsOptimizer.Outcome outcome8 = optimize(START.plusHours(8), parallelism);
+			assertEquals(2, outcome8.best().amountRunits(), "parallelism " + parallelism);
+			assertEquals(START.plusHours(8), outcome8.best().projectEnd());
+		}
+	}
+
+	@Test
+	void resultsThatCanBeDecidedAreNotPostProcessed() {
+		final RunitsOptimizer.Outcome outcome = optimize(START.plusHours(6), 1);
+		// 6 (post-processed), 4 (as long as 6), 2 (post-processed), 3 (as long as 2),
+		// then 4 is post-processed as the chosen amount
+		assertEquals(4, outcome.amountEvaluations());
+		assertEquals(3, outcome.amountPostProcessed());
+		assertEquals(4, outcome.best().amountRunits());
+		assertEquals(START.plusHours(6), outcome.best().projectEnd());
+	}
+
+	@Test
+	void amountMeetsTheDeadlineIfMoreUnitsEndLater() {
+		// 5 resource units that end later than 4 don't stop the search from finding 4
+		final CpmResult[] nonMonotonicResults = cpmResults.clone();
+		nonMonotonicResults[5] = cpmResults[1];
+		final RunitsOptimizer.Outcome outcome = RunitsOptimizer.findSmallestAmountRunits(
+				TASKS.size(),
+				START.plusHours(6),
+				(amountRunits) -> nonMonotonicResults[amountRunits],
+				projectEndFunction(),
+				4
+			);
+		assertEquals(4, outcome.best().amountRunits());
+		assertTrue(outcome.best().meetsDeadline());
+	}
+
+	// -----------------------------------------------------------------------------------------------------------------
+	// -----------------------------------------------------------------------------------------------------------------
+
+	private RunitsOptimizer.Outcome optimize(LocalDateTime deadline, int parallelism) {
+		return RunitsOptimizer.findSmallestAmountRunits(
+				TASKS.size(),
+				deadline,
+				(amountRunits) -> cpmResults[amountRunits],
+				projectEndFunction(),
+				parallelism
+			);
+	}
+
+	/**
+	 * @return Project end without off-duty times
+	 */
+	private static Function<CpmResult, LocalDateTime> projectEndFunction() {
+		return (cpmResult) -> START.plusHours(cpmResult.timePassed());
+	}
+}
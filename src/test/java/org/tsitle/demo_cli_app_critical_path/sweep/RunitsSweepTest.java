@@ -0,0 +1,48 @@
+package org.tsitle.demo_cli_app_critical_path.sweep;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunitsSweepTest {
+	@Test
+	void valuesAndRanges() {
+		assertEquals(List.of(4), RunitsSweep.parseSpec("4"));
+		assertEquals(List.of(1, 2, 3, 4, 5), RunitsSweep.parseSpec("1-5"));
+		assertEquals(List.of(3), RunitsSweep.parseSpec("3-3"));
+		// distinct values in ascending order
+		assertEquals(List.of(1, 2, 3, 8, 10), RunitsSweep.parseSpec(" 10, 1-3 ,8,2"));
+	}
+
+	@Test
+	void rangesWithSteps() {
+		assertEquals(List.of(2, 4, 6, 8), RunitsSweep.parseSpec("2-8:2"));
+		// the upper limit is only included if a step hits it
+		assertEquals(List.of(1, 4, 7), RunitsSweep.parseSpec("1-9:3"));
+		assertEquals(List.of(5), RunitsSweep.parseSpec("5-6:10"));
+		// no overflow at the end of the int range
+		assertEquals(List.of(Integer.MAX_VALUE - 1), RunitsSweep.parseSpec((Integer.MAX_VALUE - 1) + "-" + Integer.MAX_VALUE + ":2"));
+	}
+
+	@Test
+	void limitOfTheAmountOfValues() {
+		assertEquals(
+				IntStream.rangeClosed(1, RunitsSweep.MAX_AMOUNT_VALUES).boxed().toList(),
+				RunitsSweep.parseSpec("1-" + RunitsSweep.MAX_AMOUNT_VALUES)
+			);
+		assertThrows(IllegalArgumentException.class, () -> RunitsSweep.parseSpec("1-" + (RunitsSweep.MAX_AMOUNT_VALUES + 1)));
+		// a huge range is rejected without building all of its values
+		assertThrows(IllegalArgumentException.class, () -> RunitsSweep.parseSpec("1-" + Integer.MAX_VALUE));
+		assertThrows(IllegalArgumentException.class, () -> RunitsSweep.parseSpec("1-10000,10001"));
+	}
+
+	@Test
+	void malformedSpecifications() {
+		for (String spec : List.of("", "1,,2", "1,", "a", "1-b", "2-1", "0", "0-3", "-1", "1-5:0", "1-5:x", "1.5", "1-2-3")) {
+			assertThrows(IllegalArgumentException.class, () -> RunitsSweep.parseSpec(spec), spec);
+		}
+	}
+}